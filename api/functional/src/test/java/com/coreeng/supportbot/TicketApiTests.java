@@ -107,16 +107,7 @@ public class TicketApiTests {
         TestKit.RoledTestKit asSupport = testKit.as(support);
         Ticket ticket = asSupport.ticket().create(builder -> builder.message("Team suggestions test"));
 
-        // Stub the Slack message fetch that the team-suggestions endpoint will make
-        Stub getMessageStub = slackWiremock.stubGetMessage(MessageToGet.builder()
-                .description("team-suggestions: get message")
-                .channelId(ticket.channelId())
-                .ts(ticket.queryTs())
-                .threadTs(ticket.queryTs())
-                .text(ticket.queryText())
-                .blocksJson(ticket.queryBlocksJson())
-                .userId(asSupport.user().slackUserId())
-                .build());
+        // The query message was stored when the ticket was created, so its author is read without Slack
 
         // Stub users.info to return an email that maps to a known team
         Stub userProfileStub = slackWiremock.stubGetUserProfileById(UserProfileToGet.builder()
@@ -140,7 +131,6 @@ public class TicketApiTests {
                 suggestions.suggestedTeams().size() + suggestions.otherTeams().size();
         assertThat(totalTeams).isGreaterThanOrEqualTo(3);
 
-        getMessageStub.assertIsCalled();
         userProfileStub.assertIsCalled();
     }
 
@@ -23,6 +23,8 @@ plugins {
 
     id("org.flywaydb.flyway") version "12.0.0"
     id("org.jooq.jooq-codegen-gradle") version "3.19.18"
+
+    id("me.champeau.jmh") version "0.7.3"
 }
 
 group = "com.coreeng"
@@ -82,13 +84,14 @@ dependencies {
     implementation("org.springframework.boot:spring-boot-starter-cache")
 
     implementation("org.springframework.boot:spring-boot-starter-jdbc")
-    runtimeOnly("org.postgresql:postgresql")
+    implementation("org.postgresql:postgresql")
     implementation("org.flywaydb:flyway-database-postgresql")
     implementation("org.flywaydb:flyway-core")
     implementation("org.jooq:jooq:3.19.18")
     implementation("org.jooq:jooq-meta:3.19.18")
     implementation("org.jooq:jooq-codegen:3.19.18")
 
+    implementation("com.squareup.okhttp3:okhttp:4.12.0")
     implementation("com.squareup.okhttp3:logging-interceptor:4.12.0")
     implementation("com.microsoft.kiota:microsoft-kiota-http-okHttp:1.9.1")
 
@@ -168,6 +171,15 @@ tasks.register<JavaExec>("regenPrLifecycleDiagram") {
     args(layout.projectDirectory.file("docs/diagrams/pr-lifecycle.generated.md").asFile.absolutePath)
 }
 
+// Microbenchmarks in src/jmh/java, comparing hot paths with the implementations they replaced. Not wired into
+// build/check — invoke via `make benchmark`, or `-PjmhIncludes=<regex>` to run a subset.
+jmh {
+    jmhVersion = "1.37"
+    includes = listOf(project.findProperty("jmhIncludes")?.toString() ?: ".*")
+    resultFormat = "JSON"
+    resultsFile = layout.buildDirectory.file("results/jmh/results.json")
+}
+
 tasks.withType<JavaCompile>().configureEach {
     options.compilerArgs.add("-Werror")
     options.errorprone(
@@ -203,13 +215,20 @@ tasks.withType<JavaCompile>().configureEach {
                 )
                 errorproneOptions.option("NullAway:JSpecifyMode", true)
                 errorproneOptions.option("NullAway:HandleTestAssertionLibraries", true)
+                // JMH state is set up in @Setup methods rather than constructors
+                errorproneOptions.option(
+                    "NullAway:CustomInitializerAnnotations",
+                    "org.openjdk.jmh.annotations.Setup"
+                )
                 errorproneOptions.option(
                     "NullAway:ExcludedFieldAnnotations",
                     "org.mockito.Mock,org.mockito.Spy,org.mockito.Captor,org.mockito.InjectMocks"
                 )
 
                 // Exclude generated code
-                errorproneOptions.excludedPaths.set(".*/com/coreeng/supportbot/dbschema/.*")
+                errorproneOptions.excludedPaths.set(
+                    ".*/com/coreeng/supportbot/dbschema/.*|.*/jmh-generated-sources/.*"
+                )
             }
         }
     )
@@ -0,0 +1,104 @@
+package com.coreeng.supportbot.util;
+
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Building a {@link TypeaheadIndex} and searching it a keystroke at a time, against the lower-case-and-contains
+ * scan over every label it replaced, at the sizes of the team (5k) and tag (1k) lists.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TypeaheadIndexBenchmark {
+    private static final List<String> WORDS = List.of(
+            "platform", "payments", "ingress", "networking", "vault", "dns", "data", "core", "api", "Ops", "K8s",
+            "search", "identity", "billing", "éclair", "team");
+    // As the Slack option suggestion handlers ask for
+    private static final int LIMIT = 100;
+
+    @Param({"5000", "1000"})
+    public int labelCount;
+
+    private List<String> labels;
+    private TypeaheadIndex<String> index;
+    // What a user types, one keystroke after another: every prefix of a few labels
+    private List<String> keystrokes;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        labels = labels(random, labelCount);
+        index = TypeaheadIndex.of(labels, Function.identity());
+        keystrokes = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            String label = labels.get(random.nextInt(labels.size()));
+            for (int end = 1; end <= Math.min(12, label.length()); end++) {
+                keystrokes.add(label.substring(0, end));
+            }
+        }
+    }
+
+    @Benchmark
+    public TypeaheadIndex<String> buildIndex() {
+        return TypeaheadIndex.of(labels, Function.identity());
+    }
+
+    @Benchmark
+    public ImmutableList<String> indexSearch() {
+        return index.search(nextKeystroke(), LIMIT);
+    }
+
+    // The scan the index replaced
+    @Benchmark
+    public ImmutableList<String> linearScan() {
+        String lowerQuery = nextKeystroke().toLowerCase(Locale.ROOT);
+        return labels.stream()
+                .filter(label -> label.toLowerCase(Locale.ROOT).contains(lowerQuery))
+                .limit(LIMIT)
+                .collect(ImmutableList.toImmutableList());
+    }
+
+    private String nextKeystroke() {
+        String query = keystrokes.get(next);
+        next = (next + 1) % keystrokes.size();
+        return query;
+    }
+
+    private static List<String> labels(Random random, int count) {
+        List<String> labels = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            StringBuilder label = new StringBuilder();
+            int words = 1 + random.nextInt(3);
+            for (int w = 0; w < words; w++) {
+                if (w > 0) {
+                    label.append(random.nextBoolean() ? " " : "-");
+                }
+                label.append(WORDS.get(random.nextInt(WORDS.size())));
+            }
+            label.append(' ').append(i);
+            labels.add(label.toString());
+        }
+        return labels;
+    }
+}
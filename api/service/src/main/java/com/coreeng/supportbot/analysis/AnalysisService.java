@@ -4,11 +4,17 @@ import com.coreeng.supportbot.analysis.ThreadsAwaitingAnalysisRepository.ThreadT
 import com.coreeng.supportbot.analysis.llm.LlmAnalysisService;
 import com.coreeng.supportbot.asyncjob.AsyncJobRepository;
 import com.coreeng.supportbot.config.AnalysisProps;
+import com.coreeng.supportbot.summarydata.ThreadCrawler;
 import com.google.common.collect.ImmutableList;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.HexFormat;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -37,7 +43,9 @@ import org.springframework.stereotype.Service;
  * ensuring only one analysis job can run at a time.
  *
  * <p>The analysis process runs asynchronously on a dedicated single-threaded executor
- * ({@code analysisTaskExecutor}) to avoid LLM rate limits and prevent double processing.
+ * ({@code analysisTaskExecutor}) to prevent double processing. Within a job, threads are fetched,
+ * analyzed and persisted as a pipeline, with up to {@code analysis.llm.concurrency} LLM calls in
+ * flight, paced by the {@link com.coreeng.supportbot.analysis.llm.LlmRateBudget}.
  *
  * <p>The service uses prompt versioning via {@code prompt_id} to avoid re-analyzing threads
  * when the prompt hasn't changed. The prompt ID is computed as a SHA-256 hash of the in-use
@@ -59,12 +67,14 @@ public class AnalysisService {
 
     private final ThreadsAwaitingAnalysisService threadsAwaitingAnalysisService;
     private final LlmAnalysisService llmAnalysisService;
+    private final ThreadCrawler threadCrawler;
     private final AnalysisRepository analysisRepository;
     private final AnalysisPromptRepository analysisPromptRepository;
     private final AnalysisProps analysisProps;
     private final ApplicationContext applicationContext;
 
-    private static final AnalysisStatus IDLE_STATUS = new AnalysisStatus(null, null, null, false, null);
+    private static final AnalysisStatus IDLE_STATUS =
+            new AnalysisStatus(null, null, null, false, null, null, null, null);
     private final AtomicReference<AnalysisStatus> currentStatus = new AtomicReference<>(IDLE_STATUS);
 
     /**
@@ -75,15 +85,19 @@ public class AnalysisService {
      * @param analyzedCount Number of threads successfully analyzed so far
      * @param running Whether the analysis job is currently running
      * @param error Error message if the job failed, null otherwise
+     * @param failedCount Number of threads that couldn't be fetched or analyzed
+     * @param queueDepth Number of fetched threads waiting for or in an LLM call
+     * @param threadsPerMinute Threads analyzed per minute since the job started
      */
-    // TODO: add failedCount field to make skipped/failed threads visible in progress panel.
-    //  This changes the /analysis/status API contract so needs an ADR update first.
     public record AnalysisStatus(
             @Nullable String jobId,
             @Nullable Integer exportedCount,
             @Nullable Integer analyzedCount,
             boolean running,
-            @Nullable String error) {}
+            @Nullable String error,
+            @Nullable Integer failedCount,
+            @Nullable Integer queueDepth,
+            @Nullable Double threadsPerMinute) {}
 
     /**
      * Resumes any pending analysis job on application startup.
@@ -145,9 +159,10 @@ public class AnalysisService {
      *   <li>Loads the prompt text from the version marked as in use</li>
      *   <li>Computes the prompt ID as a SHA-256 hash of the prompt content</li>
      *   <li>Finds all threads that need analysis (closed tickets without analysis for this prompt ID)</li>
-     *   <li>Analyzes each thread using the LLM</li>
-     *   <li>Persists valid analysis results immediately</li>
-     *   <li>Updates the in-memory status after each thread</li>
+     *   <li>Fetches the threads concurrently via {@link ThreadCrawler}</li>
+     *   <li>Analyzes them with up to {@code analysis.llm.concurrency} LLM calls at a time</li>
+     *   <li>Persists each valid analysis result as soon as its call returns</li>
+     *   <li>Updates the in-memory status as threads move through the stages</li>
      *   <li>Applies rate limiting between LLM calls</li>
      *   <li>Cleans up the async job record when complete</li>
      * </ol>
@@ -156,7 +171,8 @@ public class AnalysisService {
      */
     @Async("analysisTaskExecutor")
     public void runAsyncAnalysis(int days) {
-
+        // A run stopped by a shutdown keeps its job, so the next start resumes it
+        boolean interrupted = false;
         try {
             String prompt = loadPrompt();
             String promptId = computePromptId(prompt);
@@ -165,70 +181,175 @@ public class AnalysisService {
             // Find threads that need analysis (no analysis record with this prompt ID)
             ImmutableList<ThreadToAnalyze> threads = threadsAwaitingAnalysisService.find(days, promptId);
 
-            currentStatus.set(new AnalysisStatus(ASYNC_ID, threads.size(), 0, true, null));
-
-            int analyzedCount = 0;
-            boolean interrupted = false;
+            Progress progress = new Progress(threads.size());
+            progress.publish();
 
-            // Analyze each thread
-            for (ThreadToAnalyze thread : threads) {
+            // Fetch -> LLM -> persist: threads are fetched ahead concurrently and handed, in order, to up to
+            // analysis.llm.concurrency LLM calls; each result is persisted as soon as its call returns. A full
+            // LLM stage holds back the fetching.
+            Semaphore llmSlots = new Semaphore(analysisProps.llm().concurrency());
+            try (ExecutorService llmStage = Executors.newVirtualThreadPerTaskExecutor()) {
                 try {
-                    AnalysisRecord record = llmAnalysisService.analyzeThread(
-                            thread.channelId(), thread.threadTs(), thread.ticketId(), prompt);
-
-                    if (record == null || !record.isValid()) {
-                        log.warn("Skipping invalid analysis result for ticket {}", thread.ticketId());
-                    } else {
-                        // Add prompt ID to record
-                        AnalysisRecord recordWithPromptId = new AnalysisRecord(
-                                record.ticketId(),
-                                record.driver(),
-                                record.category(),
-                                record.feature(),
-                                record.summary(),
-                                promptId);
-
-                        // Persist immediately
-                        analysisRepository.upsert(recordWithPromptId);
-
-                        analyzedCount++;
-                        currentStatus.set(new AnalysisStatus(ASYNC_ID, threads.size(), analyzedCount, true, null));
-
-                        log.info("Analyzed thread {}/{}: ticket={}", analyzedCount, threads.size(), thread.ticketId());
-                    }
-
-                    // Rate limiting delay to avoid hitting LLM API limits
-                    Thread.sleep(analysisProps.llm().requestDelay().toMillis());
-
+                    threadCrawler.crawl(
+                            threads,
+                            thread -> new ThreadCrawler.ThreadRef(thread.channelId(), thread.threadTs()),
+                            crawled -> {
+                                ThreadToAnalyze thread = crawled.item();
+                                String threadText = crawled.text();
+                                if (threadText == null) {
+                                    log.error(
+                                            "Failed to fetch thread for ticket {}",
+                                            thread.ticketId(),
+                                            crawled.failure());
+                                    progress.onFailed();
+                                    return;
+                                }
+                                progress.onQueued();
+                                llmSlots.acquire();
+                                llmStage.execute(() -> {
+                                    try {
+                                        analyzeAndPersist(thread, threadText, prompt, promptId, progress);
+                                    } finally {
+                                        llmSlots.release();
+                                    }
+                                });
+                            });
                 } catch (InterruptedException e) {
                     Thread.currentThread().interrupt();
-                    log.warn("Analysis interrupted at ticket {}", thread.ticketId());
-                    interrupted = true;
-                    break;
-                } catch (Exception e) {
-                    log.error("Failed to analyze thread for ticket {}: {}", thread.ticketId(), e.getMessage(), e);
-                    // Continue with next thread
+                    llmStage.shutdownNow();
                 }
             }
+            // Also set when the interrupt came while waiting for the LLM stage to finish
+            interrupted = Thread.currentThread().isInterrupted();
 
+            int analyzed = progress.analyzed.get();
             if (interrupted) {
-                log.warn("Async job {} interrupted: analyzed {}/{} threads", ASYNC_ID, analyzedCount, threads.size());
-                currentStatus.set(new AnalysisStatus(
+                log.warn(
+                        "Async job {} interrupted: analyzed {}/{} threads, it will resume on the next start",
+                        ASYNC_ID,
+                        analyzed,
+                        threads.size());
+                currentStatus.set(progress.status(
+                        false, "Analysis interrupted after " + analyzed + "/" + threads.size() + " threads"));
+            } else {
+                log.info(
+                        "Async job {} completed: analyzed {}/{} threads, {} failed",
                         ASYNC_ID,
+                        analyzed,
                         threads.size(),
-                        analyzedCount,
-                        false,
-                        "Analysis interrupted after " + analyzedCount + "/" + threads.size() + " threads"));
+                        progress.failed.get());
+                currentStatus.set(progress.status(false, null));
+            }
+
+        } catch (Exception e) {
+            if (Thread.currentThread().isInterrupted()) {
+                interrupted = true;
+                log.warn("Async job {} interrupted, it will resume on the next start", ASYNC_ID);
             } else {
-                log.info("Async job {} completed: analyzed {}/{} threads", ASYNC_ID, analyzedCount, threads.size());
-                currentStatus.set(new AnalysisStatus(ASYNC_ID, threads.size(), analyzedCount, false, null));
+                log.error("Analysis job {} failed: {}", ASYNC_ID, e.getMessage(), e);
+                currentStatus.set(new AnalysisStatus(ASYNC_ID, 0, 0, false, e.toString(), 0, 0, null));
+            }
+        } finally {
+            if (!interrupted) {
+                asyncJobRepository.deleteJob(ASYNC_ID);
+            }
+        }
+    }
+
+    // Runs on the LLM stage. The analysis row is the ticket's checkpoint: a resumed job only finds
+    // the tickets without one, so the LLM isn't called again for tickets already done.
+    private void analyzeAndPersist(
+            ThreadToAnalyze thread, String threadText, String prompt, String promptId, Progress progress) {
+        try {
+            AnalysisRecord record =
+                    llmAnalysisService.analyzeThreadText(thread.threadTs(), threadText, thread.ticketId(), prompt);
+
+            if (record == null && Thread.currentThread().isInterrupted()) {
+                // Cut short waiting for the rate budget, the thread is analyzed when the job resumes
+                log.warn("Analysis interrupted at ticket {}", thread.ticketId());
+                return;
             }
+            if (record == null || !record.isValid()) {
+                log.warn("Skipping invalid analysis result for ticket {}", thread.ticketId());
+                progress.onFailed();
+            } else {
+                // Add prompt ID to record
+                AnalysisRecord recordWithPromptId = new AnalysisRecord(
+                        record.ticketId(),
+                        record.driver(),
+                        record.category(),
+                        record.feature(),
+                        record.summary(),
+                        promptId);
 
+                // Persist immediately
+                analysisRepository.upsert(recordWithPromptId);
+
+                int analyzed = progress.onAnalyzed();
+                log.info("Analyzed thread {}/{}: ticket={}", analyzed, progress.total, thread.ticketId());
+            }
+
+            // Rate limiting delay to avoid hitting LLM API limits; holds this call's LLM slot
+            Thread.sleep(analysisProps.llm().requestDelay().toMillis());
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Analysis interrupted at ticket {}", thread.ticketId());
         } catch (Exception e) {
-            log.error("Analysis job {} failed: {}", ASYNC_ID, e.getMessage(), e);
-            currentStatus.set(new AnalysisStatus(ASYNC_ID, 0, 0, false, e.toString()));
+            if (Thread.currentThread().isInterrupted()) {
+                log.warn("Analysis interrupted at ticket {}", thread.ticketId());
+                return;
+            }
+            log.error("Failed to analyze thread for ticket {}: {}", thread.ticketId(), e.getMessage(), e);
+            progress.onFailed();
         } finally {
-            asyncJobRepository.deleteJob(ASYNC_ID);
+            progress.onDequeued();
+        }
+    }
+
+    /** Counts of a running job, updated from the fetch and LLM stages and published as its {@link AnalysisStatus}. */
+    private class Progress {
+        private final int total;
+        private final long startedAt = System.nanoTime();
+        private final AtomicInteger analyzed = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final AtomicInteger queued = new AtomicInteger();
+
+        Progress(int total) {
+            this.total = total;
+        }
+
+        int onAnalyzed() {
+            int count = analyzed.incrementAndGet();
+            publish();
+            return count;
+        }
+
+        void onFailed() {
+            failed.incrementAndGet();
+            publish();
+        }
+
+        void onQueued() {
+            queued.incrementAndGet();
+            publish();
+        }
+
+        void onDequeued() {
+            queued.decrementAndGet();
+            publish();
+        }
+
+        // Synchronized so a stale snapshot from one stage can't overwrite a newer one from another
+        synchronized void publish() {
+            currentStatus.set(status(true, null));
+        }
+
+        AnalysisStatus status(boolean running, @Nullable String error) {
+            double minutes = (System.nanoTime() - startedAt) / (double) TimeUnit.MINUTES.toNanos(1);
+            int done = analyzed.get();
+            Double perMinute = minutes > 0 ? Math.round(done / minutes * 10) / 10.0 : null;
+            return new AnalysisStatus(ASYNC_ID, total, done, running, error, failed.get(), queued.get(), perMinute);
         }
     }
 
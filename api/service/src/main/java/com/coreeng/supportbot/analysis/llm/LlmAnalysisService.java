@@ -1,6 +1,7 @@
 package com.coreeng.supportbot.analysis.llm;
 
 import com.coreeng.supportbot.analysis.AnalysisRecord;
+import com.coreeng.supportbot.slack.client.SlackLane;
 import com.coreeng.supportbot.summarydata.ThreadService;
 import dev.langchain4j.model.chat.ChatModel;
 import lombok.RequiredArgsConstructor;
@@ -14,9 +15,10 @@ import org.springframework.stereotype.Service;
  *
  * <p>This service:
  * <ul>
- *   <li>Fetches thread content from Slack via {@link ThreadService}</li>
+ *   <li>Fetches thread content from Slack via {@link ThreadService}, unless the caller already has it</li>
  *   <li>Combines the thread with a prompt template</li>
- *   <li>Calls the LLM (configured via {@link dev.langchain4j.model.chat.ChatModel})</li>
+ *   <li>Calls the LLM (configured via {@link dev.langchain4j.model.chat.ChatModel}), within the
+ *   {@link LlmRateBudget}</li>
  *   <li>Parses the LLM response into structured {@link AnalysisRecord} data</li>
  * </ul>
  *
@@ -37,6 +39,7 @@ public class LlmAnalysisService {
 
     private final ChatModel chatModel;
     private final ThreadService threadService;
+    private final LlmRateBudget rateBudget;
 
     /**
      * Analyzes a single Slack thread using the LLM.
@@ -48,19 +51,42 @@ public class LlmAnalysisService {
      * @return Analysis record with extracted fields, or null if analysis fails
      */
     public @Nullable AnalysisRecord analyzeThread(String channelId, String threadTs, Long ticketId, String prompt) {
-        try {
-            // Fetch thread text from Slack
-            String threadText = threadService.getThreadAsText(channelId, threadTs);
+        String threadText;
+        try (SlackLane.Scope ignored = SlackLane.background.enter()) {
+            threadText = threadService.getThreadAsText(channelId, threadTs);
+        } catch (Exception e) {
+            log.error("Failed to fetch thread {}: {}", threadTs, e.getMessage(), e);
+            return null;
+        }
+        return analyzeThreadText(threadTs, threadText, ticketId, prompt);
+    }
 
+    /**
+     * Analyzes a thread whose text has already been fetched.
+     *
+     * @param threadTs Slack thread timestamp, for logging
+     * @param threadText The sanitised thread text
+     * @param ticketId Ticket ID to include in the analysis record
+     * @param prompt The prompt text to send to the LLM
+     * @return Analysis record with extracted fields, or null if analysis fails
+     */
+    public @Nullable AnalysisRecord analyzeThreadText(
+            String threadTs, String threadText, Long ticketId, String prompt) {
+        try {
             // Combine thread with the prompt
             String threadWithPrompt = buildPrompt(threadText, prompt);
 
-            // Call LLM
+            // Call LLM, once the rate budget allows
+            rateBudget.acquire(threadWithPrompt);
             log.debug("Calling LLM for thread {}", threadTs);
             String response = chatModel.chat(threadWithPrompt);
 
             // Parse response into structured data
             return parseResponse(response, ticketId);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Interrupted waiting for the LLM rate budget, thread {} not analyzed", threadTs);
+            return null;
         } catch (Exception e) {
             log.error("Failed to analyze thread {}: {}", threadTs, e.getMessage(), e);
             return null;
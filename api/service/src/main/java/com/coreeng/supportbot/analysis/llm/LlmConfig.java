@@ -17,6 +17,12 @@ import org.springframework.context.annotation.Configuration;
 @Slf4j
 public class LlmConfig {
 
+    @Bean
+    public LlmRateBudget llmRateBudget(AnalysisProps analysisProps) {
+        AnalysisProps.Llm llm = analysisProps.llm();
+        return new LlmRateBudget(llm.requestsPerMinute(), llm.tokensPerMinute());
+    }
+
     @Bean
     @ConditionalOnProperty(
             prefix = "analysis.llm.vertex",
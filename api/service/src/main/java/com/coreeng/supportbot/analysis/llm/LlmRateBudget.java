@@ -0,0 +1,70 @@
+package com.coreeng.supportbot.analysis.llm;
+
+import java.util.concurrent.TimeUnit;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Paces LLM calls to {@code analysis.llm.requests-per-minute} and {@code analysis.llm.tokens-per-minute}, so
+ * analysis running several calls at once stays within the model's quota.
+ *
+ * <p>Each budget is a bucket holding a minute's worth, refilled continuously; a call takes its share up front
+ * and waits until the bucket is back out of debt. A budget of zero is unlimited. A call's tokens are
+ * estimated from the length of its prompt, since the model only reports usage once the call is done.
+ */
+public class LlmRateBudget {
+    private static final int CHARS_PER_TOKEN = 4;
+
+    private final @Nullable Bucket requests;
+    private final @Nullable Bucket tokens;
+
+    public LlmRateBudget(int requestsPerMinute, int tokensPerMinute) {
+        this.requests = requestsPerMinute > 0 ? new Bucket(requestsPerMinute) : null;
+        this.tokens = tokensPerMinute > 0 ? new Bucket(tokensPerMinute) : null;
+    }
+
+    /**
+     * Waits until a call with {@code prompt} fits the budgets.
+     */
+    void acquire(String prompt) throws InterruptedException {
+        long waitNanos = reserve(prompt);
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    /**
+     * @return nanoseconds the call has to wait for the budgets, 0 if it may go straight away
+     */
+    long reserve(String prompt) {
+        long waitNanos = 0;
+        if (requests != null) {
+            waitNanos = requests.take(1);
+        }
+        if (tokens != null) {
+            waitNanos = Math.max(waitNanos, tokens.take(Math.max(1, prompt.length() / CHARS_PER_TOKEN)));
+        }
+        return waitNanos;
+    }
+
+    private static class Bucket {
+        private final double capacity;
+        private final double perNano;
+        private double available;
+        private long refilledAt = System.nanoTime();
+
+        Bucket(int perMinute) {
+            this.capacity = perMinute;
+            this.perNano = perMinute / (double) TimeUnit.MINUTES.toNanos(1);
+            this.available = capacity;
+        }
+
+        synchronized long take(long amount) {
+            long now = System.nanoTime();
+            available = Math.min(capacity, available + (now - refilledAt) * perNano);
+            refilledAt = now;
+            // A call bigger than the whole budget would never fit; it waits for a full bucket instead
+            available -= Math.min(amount, capacity);
+            return available >= 0 ? 0 : (long) Math.ceil(-available / perNano);
+        }
+    }
+}
@@ -42,7 +42,14 @@ public class AnalysisController {
         AnalysisService.AnalysisStatus status = analysisService.getStatus();
 
         return ResponseEntity.ok(new AnalysisStatusResponse(
-                status.jobId(), status.exportedCount(), status.analyzedCount(), status.running(), status.error()));
+                status.jobId(),
+                status.exportedCount(),
+                status.analyzedCount(),
+                status.running(),
+                status.error(),
+                status.failedCount(),
+                status.queueDepth(),
+                status.threadsPerMinute()));
     }
 
     @GetMapping("/prompt")
@@ -58,5 +65,8 @@ public class AnalysisController {
             @Nullable Integer exportedCount,
             @Nullable Integer analyzedCount,
             boolean running,
-            @Nullable String error) {}
+            @Nullable String error,
+            @Nullable Integer failedCount,
+            @Nullable Integer queueDepth,
+            @Nullable Double threadsPerMinute) {}
 }
@@ -19,9 +19,17 @@ public record AnalysisProps(Llm llm, Bundle bundle, Prompt prompt) {
         }
     }
 
+    /**
+     * @param concurrency LLM calls in flight at once
+     * @param requestsPerMinute LLM calls allowed per minute, 0 for no limit
+     * @param tokensPerMinute prompt tokens allowed per minute, 0 for no limit
+     */
     public record Llm(
             @DefaultValue("") String modelName,
             @DefaultValue("500ms") Duration requestDelay,
+            @DefaultValue("1") int concurrency,
+            @DefaultValue("0") int requestsPerMinute,
+            @DefaultValue("0") int tokensPerMinute,
             @DefaultValue Vertex vertex,
             @DefaultValue Proxy proxy) {
 
@@ -36,6 +44,15 @@ public record AnalysisProps(Llm llm, Bundle bundle, Prompt prompt) {
             if (requestDelay.isNegative()) {
                 throw new IllegalArgumentException("analysis.llm.request-delay must not be negative");
             }
+            if (concurrency <= 0) {
+                throw new IllegalArgumentException("analysis.llm.concurrency must be positive");
+            }
+            if (requestsPerMinute < 0) {
+                throw new IllegalArgumentException("analysis.llm.requests-per-minute must not be negative");
+            }
+            if (tokensPerMinute < 0) {
+                throw new IllegalArgumentException("analysis.llm.tokens-per-minute must not be negative");
+            }
             // Only the enabled provider's settings are required; the other side may stay blank.
             if (vertex.enabled() == proxy.enabled()) {
                 throw new IllegalArgumentException(
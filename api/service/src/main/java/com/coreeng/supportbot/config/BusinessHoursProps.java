@@ -0,0 +1,36 @@
+package com.coreeng.supportbot.config;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.Set;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Support working hours used to measure response and resolution times.
+ *
+ * @param timezone zone the working hours and holidays are expressed in
+ * @param workStart local time the working day starts
+ * @param workEnd local time the working day ends
+ * @param workDays days of the week that are working days
+ * @param holidays dates that are not working days even if they fall on a working day
+ */
+@ConfigurationProperties(prefix = "business-hours")
+public record BusinessHoursProps(
+        @DefaultValue("Europe/London") ZoneId timezone,
+        @DefaultValue("09:00") LocalTime workStart,
+        @DefaultValue("17:00") LocalTime workEnd,
+        @DefaultValue({"MONDAY", "TUESDAY", "WEDNESDAY", "THURSDAY", "FRIDAY"}) Set<DayOfWeek> workDays,
+        @DefaultValue Set<LocalDate> holidays) {
+
+    public BusinessHoursProps {
+        if (!workEnd.isAfter(workStart)) {
+            throw new IllegalArgumentException(
+                    "business-hours.work-end must be after work-start, got: " + workStart + " - " + workEnd);
+        }
+        workDays = Set.copyOf(workDays);
+        holidays = Set.copyOf(holidays);
+    }
+}
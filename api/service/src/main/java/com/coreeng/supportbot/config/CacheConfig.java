@@ -53,6 +53,46 @@ public class CacheConfig {
                         .build());
     }
 
+    // Query ref -> ticket, and query refs known to have no ticket. JdbcTicketRepository evicts
+    // both on every write, the TTL only bounds how long writes from another replica go unseen.
+    @Bean("ticket-by-query-cache")
+    public Cache ticketByQueryCache() {
+        return expiringCache("ticket-by-query", 10_000);
+    }
+
+    // Kept for seconds only: a ticket created on another replica must show up on this one before
+    // the thread's next messages are handled as if it had none.
+    @Bean("no-ticket-by-query-cache")
+    public Cache noTicketByQueryCache() {
+        return expiringCache("no-ticket-by-query", 50_000, 5, TimeUnit.SECONDS);
+    }
+
+    // Filter -> total for the ticket and escalation listings. Nothing evicts them, so a total can lag
+    // writes by up to the TTL, which is short enough for a page count.
+    @Bean("ticket-count-cache")
+    public Cache ticketCountCache() {
+        return expiringCache("ticket-count", 1_000, 30, TimeUnit.SECONDS);
+    }
+
+    @Bean("escalation-count-cache")
+    public Cache escalationCountCache() {
+        return expiringCache("escalation-count", 1_000, 30, TimeUnit.SECONDS);
+    }
+
+    private static CaffeineCache expiringCache(String name, long maximumSize) {
+        return expiringCache(name, maximumSize, 10, TimeUnit.MINUTES);
+    }
+
+    private static CaffeineCache expiringCache(String name, long maximumSize, long ttl, TimeUnit ttlUnit) {
+        return new CaffeineCache(
+                name,
+                Caffeine.newBuilder()
+                        .expireAfterWrite(ttl, ttlUnit)
+                        .maximumSize(maximumSize)
+                        .recordStats()
+                        .build());
+    }
+
     private static CaffeineCache caffeineCache(String name, long maximumSize) {
         return new CaffeineCache(
                 name,
@@ -24,6 +24,7 @@ public record ElevateProps(
         @DefaultValue("100") int maxPagesPerResource,
         @DefaultValue("20000") long maxTotalEntities,
         @DefaultValue("100000") long maxMaterializedRelationships,
+        @DefaultValue("3") int resourceFetchConcurrency,
         @DefaultValue("3") int syncRetryBurstAttempts,
         @DefaultValue("30s") Duration syncRetryInitialDelay,
         @DefaultValue("5m") Duration syncRetryMaxDelay,
@@ -68,6 +69,7 @@ public record ElevateProps(
         requirePositive("elevate.max-pages-per-resource", maxPagesPerResource);
         requirePositive("elevate.max-total-entities", maxTotalEntities);
         requirePositive("elevate.max-materialized-relationships", maxMaterializedRelationships);
+        requireRange("elevate.resource-fetch-concurrency", resourceFetchConcurrency, 1, 3);
         requireRange("elevate.sync-retry-burst-attempts", syncRetryBurstAttempts, 1, 10);
         requirePositive("elevate.sync-retry-initial-delay", syncRetryInitialDelay);
         requirePositive("elevate.sync-retry-max-delay", syncRetryMaxDelay);
@@ -95,7 +97,8 @@ public record ElevateProps(
                 + ", statusInterval=" + statusInterval + ", syncInterval=" + syncInterval + ", syncTimeout="
                 + syncTimeout + ", maxPagesPerResource=" + maxPagesPerResource + ", maxTotalEntities="
                 + maxTotalEntities + ", maxMaterializedRelationships=" + maxMaterializedRelationships
-                + ", syncRetryBurstAttempts=" + syncRetryBurstAttempts + ", syncRetryInitialDelay="
+                + ", resourceFetchConcurrency=" + resourceFetchConcurrency + ", syncRetryBurstAttempts="
+                + syncRetryBurstAttempts + ", syncRetryInitialDelay="
                 + syncRetryInitialDelay + ", syncRetryMaxDelay=" + syncRetryMaxDelay + ", agentName=" + agentName
                 + ", supportBotUrl=" + supportBotUrl + ", version=" + version + "]";
     }
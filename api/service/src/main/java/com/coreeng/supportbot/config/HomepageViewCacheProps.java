@@ -0,0 +1,17 @@
+package com.coreeng.supportbot.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Cache of rendered App Home views, shared by all users opening the same view.
+ *
+ * @param ttl how long a rendered view is served before it's rendered again, bounding how stale it can get
+ *     after changes that don't invalidate it
+ * @param maximumSize maximum number of distinct views (page and filter combinations) kept
+ */
+@ConfigurationProperties(prefix = "homepage.view-cache")
+public record HomepageViewCacheProps(
+        @DefaultValue("30s") Duration ttl,
+        @DefaultValue("100") long maximumSize) {}
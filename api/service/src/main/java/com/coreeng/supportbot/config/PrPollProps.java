@@ -0,0 +1,25 @@
+package com.coreeng.supportbot.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings of the PR lifecycle poll; the schedule itself is {@code pr-review-tracking.poll-cron}.
+ *
+ * @param maxConcurrency how many tracked PRs are processed at the same time
+ * @param batchSize how many PRs are fetched per call from providers that fetch several at once
+ */
+@ConfigurationProperties(prefix = "pr-review-tracking.poll")
+public record PrPollProps(@DefaultValue("8") int maxConcurrency, @DefaultValue("25") int batchSize) {
+
+    public PrPollProps {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException(
+                    "pr-review-tracking.poll.max-concurrency must be positive, got: " + maxConcurrency);
+        }
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException(
+                    "pr-review-tracking.poll.batch-size must be positive, got: " + batchSize);
+        }
+    }
+}
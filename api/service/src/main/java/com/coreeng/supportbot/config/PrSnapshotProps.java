@@ -0,0 +1,36 @@
+package com.coreeng.supportbot.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Reuse of PR metadata fetched on earlier polls while the provider reports the PR unchanged.
+ *
+ * @param maxAge age after which a PR is fetched in full even if the provider reports it unchanged; bounds
+ *     how long signals that change without bumping the PR (e.g. branch protection) can go unnoticed
+ * @param maximumSize maximum number of PRs kept; 0 disables the reuse
+ * @param httpCacheSize size of the GitHub REST response cache used for conditional requests; 0 disables it
+ */
+@ConfigurationProperties(prefix = "pr-review-tracking.snapshot")
+public record PrSnapshotProps(
+        @DefaultValue("30m") Duration maxAge,
+        @DefaultValue("10000") int maximumSize,
+        @DefaultValue("20MB") DataSize httpCacheSize) {
+
+    public PrSnapshotProps {
+        if (maxAge.isNegative()) {
+            throw new IllegalArgumentException(
+                    "pr-review-tracking.snapshot.max-age must not be negative, got: " + maxAge);
+        }
+        if (maximumSize < 0) {
+            throw new IllegalArgumentException(
+                    "pr-review-tracking.snapshot.maximum-size must not be negative, got: " + maximumSize);
+        }
+        if (httpCacheSize.isNegative()) {
+            throw new IllegalArgumentException(
+                    "pr-review-tracking.snapshot.http-cache-size must not be negative, got: " + httpCacheSize);
+        }
+    }
+}
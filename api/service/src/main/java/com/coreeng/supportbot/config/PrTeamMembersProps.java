@@ -0,0 +1,37 @@
+package com.coreeng.supportbot.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Caching of GitHub team and GitLab group members used to filter PR reviews to the owning team.
+ *
+ * @param refreshAfter age after which members are re-fetched in the background on the next lookup
+ * @param expireAfter age after which members are dropped; a failing re-fetch keeps serving them until then
+ * @param failureRetryAfter how long a failed first fetch is remembered before it's tried again
+ */
+@ConfigurationProperties(prefix = "pr-review-tracking.team-members")
+public record PrTeamMembersProps(
+        @DefaultValue("15m") Duration refreshAfter,
+        @DefaultValue("24h") Duration expireAfter,
+        @DefaultValue("1m") Duration failureRetryAfter) {
+
+    public PrTeamMembersProps {
+        requirePositive(refreshAfter, "refresh-after");
+        requirePositive(expireAfter, "expire-after");
+        requirePositive(failureRetryAfter, "failure-retry-after");
+        if (refreshAfter.compareTo(expireAfter) >= 0) {
+            throw new IllegalArgumentException(
+                    "pr-review-tracking.team-members.refresh-after must be shorter than expire-after, got: "
+                            + refreshAfter + " >= " + expireAfter);
+        }
+    }
+
+    private static void requirePositive(Duration duration, String name) {
+        if (duration.isZero() || duration.isNegative()) {
+            throw new IllegalArgumentException(
+                    "pr-review-tracking.team-members." + name + " must be positive, got: " + duration);
+        }
+    }
+}
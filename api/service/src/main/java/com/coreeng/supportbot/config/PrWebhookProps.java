@@ -0,0 +1,25 @@
+package com.coreeng.supportbot.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * GitHub and GitLab webhooks that update a tracked PR as soon as it changes, between lifecycle polls.
+ *
+ * @param enabled whether the webhook endpoints are exposed
+ * @param githubSecret secret GitHub signs deliveries with; GitHub deliveries are rejected when blank
+ * @param gitlabToken secret token GitLab sends with deliveries; GitLab deliveries are rejected when blank
+ */
+@ConfigurationProperties(prefix = "pr-review-tracking.webhook")
+public record PrWebhookProps(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("") String githubSecret,
+        @DefaultValue("") String gitlabToken) {
+
+    public PrWebhookProps {
+        if (enabled && githubSecret.isBlank() && gitlabToken.isBlank()) {
+            throw new IllegalArgumentException(
+                    "pr-review-tracking.webhook.github-secret or gitlab-token must be set when webhooks are enabled");
+        }
+    }
+}
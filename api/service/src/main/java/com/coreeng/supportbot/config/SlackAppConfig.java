@@ -2,6 +2,7 @@ package com.coreeng.supportbot.config;
 
 import com.coreeng.supportbot.slack.client.SlackClient;
 import com.coreeng.supportbot.slack.client.SlackClientImpl;
+import com.coreeng.supportbot.slack.client.SlackRateGovernor;
 import com.slack.api.bolt.App;
 import com.slack.api.bolt.AppConfig;
 import com.slack.api.jakarta_socket_mode.impl.JakartaSocketModeClientTyrusImpl;
@@ -56,6 +57,14 @@ public class SlackAppConfig {
         return new SlackSocketController(app, slackCreds, meterRegistry);
     }
 
+    @Bean
+    public SlackEventDispatcher slackEventDispatcher(
+            @Qualifier("slackHandler-executor") ExecutorService executor,
+            SlackDispatcherProps dispatcherProps,
+            MeterRegistry meterRegistry) {
+        return new SlackEventDispatcher(executor, dispatcherProps, meterRegistry);
+    }
+
     @Bean
     public SlackClient slackClient(
             App slackApp,
@@ -63,9 +72,16 @@ public class SlackAppConfig {
             @Qualifier("slack-user-cache") Cache userCache,
             @Qualifier("slack-group-cache") Cache groupCache,
             @Qualifier("slack-channel-cache") Cache channelCache,
+            SlackRateLimitProps rateLimitProps,
             MeterRegistry meterRegistry) {
         return new SlackClientImpl(
-                slackApp.client(), permalinkCache, userCache, groupCache, channelCache, meterRegistry);
+                slackApp.client(),
+                permalinkCache,
+                userCache,
+                groupCache,
+                channelCache,
+                meterRegistry,
+                new SlackRateGovernor(rateLimitProps, meterRegistry));
     }
 
     /**
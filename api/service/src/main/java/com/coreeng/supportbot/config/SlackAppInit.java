@@ -32,6 +32,7 @@ public class SlackAppInit implements InitializingBean {
 
     private final App app;
     private final ExecutorService executor;
+    private final SlackEventDispatcher eventDispatcher;
     private final List<SlackEventHandler<? extends Event>> eventHandlers;
     private final List<SlackBlockActionHandler> actionHandlers;
     private final List<SlackViewSubmitHandler> submitHandlers;
@@ -82,8 +83,9 @@ public class SlackAppInit implements InitializingBean {
                         String eventType = event.getEvent().getType();
                         receivedCounter(TYPE_EVENT, eventType).increment();
 
+                        SlackEventDispatcher.ThreadKey threadKey = SlackEventDispatcher.ThreadKey.of(event.getEvent());
                         for (var handler : handlers) {
-                            executor.submit(() -> {
+                            eventDispatcher.dispatch(TYPE_EVENT, eventType, threadKey, () -> {
                                 Timer.Sample sample = Timer.start(meterRegistry);
                                 try {
                                     handler.applyUntyped(event, ctx);
@@ -0,0 +1,25 @@
+package com.coreeng.supportbot.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Limits applied by {@link SlackEventDispatcher} to incoming Slack events.
+ *
+ * @param maxInFlight how many event handlers may run at the same time, across all threads
+ * @param maxQueued how many accepted events may wait for a free slot before new ones are shed
+ */
+@ConfigurationProperties(prefix = "slack.dispatcher")
+public record SlackDispatcherProps(
+        @DefaultValue("32") int maxInFlight,
+        @DefaultValue("2000") int maxQueued) {
+
+    public SlackDispatcherProps {
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("slack.dispatcher.max-in-flight must be positive, got: " + maxInFlight);
+        }
+        if (maxQueued <= 0) {
+            throw new IllegalArgumentException("slack.dispatcher.max-queued must be positive, got: " + maxQueued);
+        }
+    }
+}
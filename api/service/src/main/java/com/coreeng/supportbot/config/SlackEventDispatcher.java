@@ -0,0 +1,240 @@
+package com.coreeng.supportbot.config;
+
+import com.slack.api.model.event.Event;
+import com.slack.api.model.event.MessageBotEvent;
+import com.slack.api.model.event.MessageChangedEvent;
+import com.slack.api.model.event.MessageDeletedEvent;
+import com.slack.api.model.event.MessageEvent;
+import com.slack.api.model.event.MessageFileShareEvent;
+import com.slack.api.model.event.MessageThreadBroadcastEvent;
+import com.slack.api.model.event.ReactionAddedEvent;
+import com.slack.api.model.event.ReactionRemovedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Runs Slack event handlers with per-thread ordering and a global concurrency limit.
+ *
+ * <p>Events that belong to the same Slack thread ({@code channelId} + thread root {@code ts}) are
+ * executed one after another in the order Slack delivered them, so a reply is never handled before
+ * the query it belongs to. Events from different threads run in parallel, but no more than
+ * {@link SlackDispatcherProps#maxInFlight()} at once, which keeps bursts from exhausting the DB pool.
+ * Once {@link SlackDispatcherProps#maxQueued()} events are waiting, new ones are shed.
+ */
+@Slf4j
+public class SlackEventDispatcher {
+    private final ExecutorService executor;
+    private final Semaphore permits;
+    private final int maxQueued;
+    private final MeterRegistry meterRegistry;
+
+    // Pending tasks per thread; a key is present while a drainer owns that lane. Guarded by itself.
+    private final Map<ThreadKey, ArrayDeque<PendingTask>> lanes = new HashMap<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public SlackEventDispatcher(ExecutorService executor, SlackDispatcherProps props, MeterRegistry meterRegistry) {
+        this.executor = executor;
+        this.permits = new Semaphore(props.maxInFlight(), true);
+        this.maxQueued = props.maxQueued();
+        this.meterRegistry = meterRegistry;
+
+        Gauge.builder("slack_notifications_queue_depth", queued, AtomicInteger::get)
+                .description("Slack notifications accepted but not yet started")
+                .register(meterRegistry);
+        Gauge.builder("slack_notifications_in_flight", inFlight, AtomicInteger::get)
+                .description("Slack notifications currently being processed")
+                .register(meterRegistry);
+        Gauge.builder("slack_notifications_active_threads", lanes, l -> {
+                    synchronized (l) {
+                        return l.size();
+                    }
+                })
+                .description("Slack threads with at least one pending or running notification")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Accepts a task for execution.
+     *
+     * @param key thread the task belongs to; {@code null} means the task has no ordering constraints
+     * @return {@code false} if the task was shed because the queue is full
+     */
+    public boolean dispatch(String type, String handler, @Nullable ThreadKey key, Runnable task) {
+        if (queued.incrementAndGet() > maxQueued) {
+            queued.decrementAndGet();
+            shedCounter(type, handler).increment();
+            log.atWarn()
+                    .addArgument(type)
+                    .addArgument(handler)
+                    .addArgument(key)
+                    .addArgument(maxQueued)
+                    .log("Shedding Slack notification(type: {}, handler: {}, thread: {}), queue is full({})");
+            return false;
+        }
+
+        PendingTask pending = new PendingTask(type, handler, task, System.nanoTime());
+        if (key == null) {
+            if (!submit(() -> run(pending), pending)) {
+                queued.decrementAndGet();
+                return false;
+            }
+            return true;
+        }
+
+        synchronized (lanes) {
+            ArrayDeque<PendingTask> lane = lanes.get(key);
+            if (lane != null) {
+                lane.addLast(pending);
+                return true;
+            }
+            lane = new ArrayDeque<>();
+            lane.addLast(pending);
+            lanes.put(key, lane);
+        }
+        if (!submit(() -> drain(key), pending)) {
+            // Nobody will drain this lane, so drop whatever got appended to it in the meantime
+            synchronized (lanes) {
+                ArrayDeque<PendingTask> orphaned = lanes.remove(key);
+                queued.addAndGet(-(orphaned != null ? orphaned.size() : 1));
+            }
+            return false;
+        }
+        return true;
+    }
+
+    private boolean submit(Runnable runnable, PendingTask pending) {
+        try {
+            executor.execute(runnable);
+            return true;
+        } catch (RejectedExecutionException e) {
+            // Only happens on shutdown
+            log.atWarn()
+                    .setCause(e)
+                    .addArgument(pending::type)
+                    .addArgument(pending::handler)
+                    .log("Executor rejected Slack notification(type: {}, handler: {})");
+            return false;
+        }
+    }
+
+    private void drain(ThreadKey key) {
+        while (true) {
+            PendingTask next;
+            synchronized (lanes) {
+                ArrayDeque<PendingTask> lane = lanes.get(key);
+                next = lane != null ? lane.pollFirst() : null;
+                if (next == null) {
+                    lanes.remove(key);
+                    return;
+                }
+            }
+            run(next);
+        }
+    }
+
+    private void run(PendingTask pending) {
+        permits.acquireUninterruptibly();
+        queued.decrementAndGet();
+        inFlight.incrementAndGet();
+        waitTimer(pending.type(), pending.handler())
+                .record(System.nanoTime() - pending.enqueuedAtNanos(), TimeUnit.NANOSECONDS);
+        try {
+            pending.task().run();
+        } catch (RuntimeException e) {
+            // Handlers do their own error reporting; this only guards the rest of the lane
+            log.atError()
+                    .setCause(e)
+                    .addArgument(pending::type)
+                    .addArgument(pending::handler)
+                    .log("Unhandled error in Slack notification(type: {}, handler: {})");
+        } finally {
+            inFlight.decrementAndGet();
+            permits.release();
+        }
+    }
+
+    private Counter shedCounter(String type, String handler) {
+        return Counter.builder("slack_notifications_shed_total")
+                .description("Total number of Slack notifications dropped because the dispatch queue was full")
+                .tag("type", type)
+                .tag("handler", handler)
+                .register(meterRegistry);
+    }
+
+    private Timer waitTimer(String type, String handler) {
+        return Timer.builder("slack_notifications_queue_wait_seconds")
+                .description("Time a Slack notification waited for its thread and a free processing slot")
+                .tag("type", type)
+                .tag("handler", handler)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private record PendingTask(String type, String handler, Runnable task, long enqueuedAtNanos) {}
+
+    /**
+     * Identifies a Slack thread: the channel and the {@code ts} of the thread's root message.
+     */
+    public record ThreadKey(String channelId, String threadTs) {
+
+        /**
+         * Derives the thread an event belongs to, or {@code null} for events that aren't tied to a
+         * message thread (e.g. App Home opens or user group updates).
+         */
+        @Nullable public static ThreadKey of(Event event) {
+            return switch (event) {
+                case MessageEvent e -> of(e.getChannel(), e.getThreadTs(), e.getTs());
+                case MessageBotEvent e -> of(e.getChannel(), e.getThreadTs(), e.getTs());
+                case MessageFileShareEvent e -> of(e.getChannel(), e.getThreadTs(), e.getTs());
+                case MessageThreadBroadcastEvent e -> of(e.getChannel(), e.getThreadTs(), e.getTs());
+                case MessageChangedEvent e ->
+                    e.getMessage() != null
+                            ? of(
+                                    e.getChannel(),
+                                    e.getMessage().getThreadTs(),
+                                    e.getMessage().getTs())
+                            : null;
+                case MessageDeletedEvent e ->
+                    of(
+                            e.getChannel(),
+                            e.getPreviousMessage() != null
+                                    ? e.getPreviousMessage().getThreadTs()
+                                    : null,
+                            e.getDeletedTs());
+                // Slack doesn't tell which thread a reacted message is in; reactions on a query
+                // (the case we act on) still land in the query's own thread lane.
+                case ReactionAddedEvent e ->
+                    e.getItem() != null
+                            ? of(e.getItem().getChannel(), null, e.getItem().getTs())
+                            : null;
+                case ReactionRemovedEvent e ->
+                    e.getItem() != null
+                            ? of(e.getItem().getChannel(), null, e.getItem().getTs())
+                            : null;
+                default -> null;
+            };
+        }
+
+        @Nullable private static ThreadKey of(
+                @Nullable String channelId, @Nullable String threadTs, @Nullable String ts) {
+            String rootTs = threadTs == null || threadTs.isEmpty() ? ts : threadTs;
+            if (channelId == null || channelId.isEmpty() || rootTs == null || rootTs.isEmpty()) {
+                return null;
+            }
+            return new ThreadKey(channelId, rootTs);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.coreeng.supportbot.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Limits applied when resolving permalinks that aren't stored yet through {@code chat.getPermalink}.
+ *
+ * @param maxConcurrency how many permalinks of one batch are resolved at the same time
+ * @param requestsPerSecond how many {@code chat.getPermalink} calls may be made per second, across all batches
+ */
+@ConfigurationProperties(prefix = "slack.permalinks")
+public record SlackPermalinkProps(
+        @DefaultValue("4") int maxConcurrency,
+        @DefaultValue("10") double requestsPerSecond) {
+
+    public SlackPermalinkProps {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException(
+                    "slack.permalinks.max-concurrency must be positive, got: " + maxConcurrency);
+        }
+        if (requestsPerSecond <= 0) {
+            throw new IllegalArgumentException(
+                    "slack.permalinks.requests-per-second must be positive, got: " + requestsPerSecond);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.coreeng.supportbot.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Client-side rate limiting of Slack Web API calls.
+ *
+ * @param enabled when {@code false}, calls are sent as soon as they're made and rate-limited calls fail
+ * @param maxRetries how many times a call rejected by Slack as rate limited is retried
+ * @param maxRetryAfter longest {@code Retry-After} a call waits out; calls asked to wait longer fail
+ * @param defaultRetryAfter how long to wait when Slack rate limits a call without a {@code Retry-After} header
+ */
+@ConfigurationProperties(prefix = "slack.rate-limit")
+public record SlackRateLimitProps(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("3") int maxRetries,
+        @DefaultValue("30s") Duration maxRetryAfter,
+        @DefaultValue("5s") Duration defaultRetryAfter) {
+
+    public SlackRateLimitProps {
+        if (maxRetries < 0) {
+            throw new IllegalArgumentException("slack.rate-limit.max-retries must not be negative, got: " + maxRetries);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.coreeng.supportbot.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * The mirror of Slack thread messages that thread reads are served from.
+ *
+ * @param backfillDays how many days of the monitored channels' history are mirrored at startup; {@code 0} mirrors
+ *     nothing at startup, and threads missing from the mirror are crawled when they're first read
+ */
+@ConfigurationProperties(prefix = "slack.thread-mirror")
+public record SlackThreadMirrorProps(@DefaultValue("0") int backfillDays) {
+
+    public SlackThreadMirrorProps {
+        if (backfillDays < 0) {
+            throw new IllegalArgumentException(
+                    "slack.thread-mirror.backfill-days must not be negative, got: " + backfillDays);
+        }
+    }
+}
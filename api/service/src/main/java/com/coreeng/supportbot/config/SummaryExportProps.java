@@ -0,0 +1,19 @@
+package com.coreeng.supportbot.config;
+
+import java.nio.file.Path;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param directory local directory the Knowledge Gap thread export is written to; blank uses a directory under
+ *     {@code java.io.tmpdir}. It should survive a restart of the service for an interrupted export to be resumed.
+ */
+@ConfigurationProperties(prefix = "summary-data.export")
+public record SummaryExportProps(@DefaultValue("") String directory) {
+
+    public Path directoryPath() {
+        return directory.isBlank()
+                ? Path.of(System.getProperty("java.io.tmpdir"), "supportbot-summary-export")
+                : Path.of(directory);
+    }
+}
@@ -0,0 +1,19 @@
+package com.coreeng.supportbot.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param maxConcurrency how many threads the summary export and the analysis fetch at the same time; their Slack
+ *     calls are paced by {@code slack.rate-limit} either way
+ */
+@ConfigurationProperties(prefix = "summary-data.crawl")
+public record ThreadCrawlProps(@DefaultValue("4") int maxConcurrency) {
+
+    public ThreadCrawlProps {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException(
+                    "summary-data.crawl.max-concurrency must be positive, got: " + maxConcurrency);
+        }
+    }
+}
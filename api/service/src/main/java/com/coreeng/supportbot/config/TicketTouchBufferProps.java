@@ -0,0 +1,16 @@
+package com.coreeng.supportbot.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Write-behind buffer for ticket {@code last_interacted_at} updates.
+ *
+ * @param enabled when {@code false}, every touch is written straight to the database
+ * @param flushInterval how often buffered touches are written in one batch
+ */
+@ConfigurationProperties(prefix = "ticket.touch-buffer")
+public record TicketTouchBufferProps(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("5s") Duration flushInterval) {}
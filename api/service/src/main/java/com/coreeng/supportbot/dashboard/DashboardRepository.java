@@ -6,7 +6,7 @@ import java.util.List;
 
 /**
  * Repository for dashboard analytics and SLA metrics.
- * All queries use aggregated_ticket_data and aggregated_escalation_data views.
+ * All queries use the ticket_facts and escalation_facts tables maintained by FactsRepository.
  */
 public interface DashboardRepository {
 
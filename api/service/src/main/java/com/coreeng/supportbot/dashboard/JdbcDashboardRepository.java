@@ -17,7 +17,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 /**
  * JDBC implementation of DashboardRepository using JOOQ for raw SQL queries.
- * All queries use the aggregated_ticket_data and aggregated_escalation_data views.
+ * All queries use the ticket_facts and escalation_facts tables.
  */
 @Repository
 @RequiredArgsConstructor
@@ -36,12 +36,8 @@ public class JdbcDashboardRepository implements DashboardRepository {
 
         String sql = """
             SELECT
-                EXTRACT(EPOCH FROM business_time_between(
-                    query_posted_ts,
-                    first_open_ts,
-                    'Europe/London'
-                )) AS duration
-            FROM aggregated_ticket_data
+                response_business_seconds AS duration
+            FROM ticket_facts
             WHERE first_open_ts IS NOT NULL
               AND query_posted_ts IS NOT NULL
               AND first_open_ts > query_posted_ts
@@ -67,12 +63,8 @@ public class JdbcDashboardRepository implements DashboardRepository {
         String sql = """
             WITH response_durations AS (
                 SELECT
-                    EXTRACT(EPOCH FROM business_time_between(
-                        query_posted_ts::timestamptz,
-                        first_open_ts::timestamptz,
-                        'Europe/London'
-                    )) AS duration
-                FROM aggregated_ticket_data
+                    response_business_seconds AS duration
+                FROM ticket_facts
                 WHERE first_open_ts IS NOT NULL
                   AND query_posted_ts IS NOT NULL
                   AND first_open_ts::timestamptz > query_posted_ts::timestamptz
@@ -100,7 +92,7 @@ public class JdbcDashboardRepository implements DashboardRepository {
 
         String sql = """
             SELECT COUNT(*) AS count
-            FROM aggregated_ticket_data
+            FROM ticket_facts
             WHERE ticket_id IS NULL
               %s
             """.formatted(dateFilter);
@@ -124,12 +116,8 @@ public class JdbcDashboardRepository implements DashboardRepository {
             FROM (
                 SELECT
                     ticket_id,
-                    EXTRACT(EPOCH FROM business_time_between(
-                        first_open_ts::timestamptz,
-                        last_closed_ts::timestamptz,
-                        'Europe/London'
-                    )) AS duration
-                FROM aggregated_ticket_data
+                    resolution_business_seconds AS duration
+                FROM ticket_facts
                 WHERE last_closed_ts IS NOT NULL
                   AND first_open_ts IS NOT NULL
                   AND last_closed_ts::timestamptz > first_open_ts::timestamptz
@@ -156,12 +144,8 @@ public class JdbcDashboardRepository implements DashboardRepository {
         String sql = """
             WITH durations AS (
                 SELECT
-                    EXTRACT(EPOCH FROM business_time_between(
-                        first_open_ts,
-                        last_closed_ts,
-                        'Europe/London'
-                    )) AS duration_seconds
-                FROM aggregated_ticket_data
+                    resolution_business_seconds AS duration_seconds
+                FROM ticket_facts
                 WHERE last_closed_ts IS NOT NULL
                   AND first_open_ts IS NOT NULL
                   AND last_closed_ts > first_open_ts
@@ -231,12 +215,8 @@ public class JdbcDashboardRepository implements DashboardRepository {
             WITH ticket_durations AS (
                 SELECT
                     date_trunc('week', first_open_ts::timestamptz) AS week,
-                    EXTRACT(EPOCH FROM business_time_between(
-                        first_open_ts::timestamptz,
-                        last_closed_ts::timestamptz,
-                        'Europe/London'
-                    )) AS duration
-                FROM aggregated_ticket_data
+                    resolution_business_seconds AS duration
+                FROM ticket_facts
                 WHERE last_closed_ts IS NOT NULL
                   AND first_open_ts IS NOT NULL
                   AND last_closed_ts::timestamptz > first_open_ts::timestamptz
@@ -271,7 +251,7 @@ public class JdbcDashboardRepository implements DashboardRepository {
         String sql = """
             WITH ages AS (
                 SELECT NOW() - first_open_ts::timestamptz AS age
-                FROM aggregated_ticket_data
+                FROM ticket_facts
                 WHERE last_closed_ts IS NULL
                   AND first_open_ts IS NOT NULL
                   %s
@@ -380,7 +360,7 @@ public class JdbcDashboardRepository implements DashboardRepository {
                 SELECT
                     %s AS time_bucket,
                     COUNT(DISTINCT query_id) AS count
-                FROM aggregated_ticket_data
+                FROM ticket_facts
                 WHERE query_posted_ts IS NOT NULL
                   AND query_posted_ts::date >= ?::date
                   AND query_posted_ts::date <= ?::date
@@ -391,7 +371,7 @@ public class JdbcDashboardRepository implements DashboardRepository {
                 SELECT
                     %s AS time_bucket,
                     COUNT(*) AS count
-                FROM aggregated_ticket_data
+                FROM ticket_facts
                 WHERE last_closed_ts IS NOT NULL
                   AND last_closed_ts::date >= ?::date
                   AND last_closed_ts::date <= ?::date
@@ -431,13 +411,13 @@ public class JdbcDashboardRepository implements DashboardRepository {
             SELECT MIN(activity_date) AS activity_date
             FROM (
                 SELECT query_posted_ts::date AS activity_date
-                FROM aggregated_ticket_data
+                FROM ticket_facts
                 WHERE query_posted_ts IS NOT NULL
                   AND query_posted_ts::date <= ?::date
                   %s
                 UNION ALL
                 SELECT last_closed_ts::date AS activity_date
-                FROM aggregated_ticket_data
+                FROM ticket_facts
                 WHERE last_closed_ts IS NOT NULL
                   AND last_closed_ts::date <= ?::date
                   %s
@@ -546,18 +526,14 @@ public class JdbcDashboardRepository implements DashboardRepository {
         String sql = """
             SELECT
                 unnest(ed.tags) AS tag,
-                AVG(EXTRACT(EPOCH FROM business_time_between(
-                    ed.open_ts,
-                    ed.resolved_ts,
-                    'Europe/London'
-                ))) / 3600 AS avg_duration
-            FROM aggregated_escalation_data ed
+                AVG(ed.resolution_business_seconds) / 3600 AS avg_duration
+            FROM escalation_facts ed
             WHERE ed.open_ts IS NOT NULL
               AND ed.resolved_ts IS NOT NULL
               AND ed.tags IS NOT NULL
               %s
             GROUP BY tag
-            HAVING AVG(EXTRACT(EPOCH FROM business_time_between(ed.open_ts, ed.resolved_ts, 'Europe/London'))) > 0
+            HAVING AVG(ed.resolution_business_seconds) > 0
             ORDER BY avg_duration DESC NULLS LAST
             LIMIT 15
             """.formatted(dateFilter);
@@ -579,7 +555,7 @@ public class JdbcDashboardRepository implements DashboardRepository {
             SELECT
                 unnest(ed.tags) AS tag,
                 COUNT(*) AS count
-            FROM aggregated_escalation_data ed
+            FROM escalation_facts ed
             WHERE ed.open_ts IS NOT NULL
               AND ed.tags IS NOT NULL
               %s
@@ -605,7 +581,7 @@ public class JdbcDashboardRepository implements DashboardRepository {
             SELECT
                 DATE_TRUNC('day', ed.open_ts::timestamptz) AS escalation_date,
                 COUNT(ed.escalation_id) AS escalations
-            FROM aggregated_escalation_data ed
+            FROM escalation_facts ed
             WHERE ed.open_ts IS NOT NULL
               %s
             GROUP BY escalation_date
@@ -629,8 +605,8 @@ public class JdbcDashboardRepository implements DashboardRepository {
             SELECT
                 COALESCE(ed.team_id, 'Unassigned') AS team_name,
                 COUNT(ed.escalation_id) AS total_escalations
-            FROM aggregated_escalation_data ed
-            INNER JOIN aggregated_ticket_data td ON ed.ticket_id = td.ticket_id
+            FROM escalation_facts ed
+            INNER JOIN ticket_facts td ON ed.ticket_id = td.ticket_id
             WHERE ed.open_ts IS NOT NULL
               %s
             GROUP BY ed.team_id
@@ -656,8 +632,8 @@ public class JdbcDashboardRepository implements DashboardRepository {
             SELECT
                 COALESCE(td.impact, 'Not yet tagged') AS impact_level,
                 COUNT(ed.escalation_id) AS total_escalations
-            FROM aggregated_escalation_data ed
-            INNER JOIN aggregated_ticket_data td ON ed.ticket_id = td.ticket_id
+            FROM escalation_facts ed
+            INNER JOIN ticket_facts td ON ed.ticket_id = td.ticket_id
             WHERE ed.open_ts IS NOT NULL
               %s
             GROUP BY td.impact
@@ -681,7 +657,7 @@ public class JdbcDashboardRepository implements DashboardRepository {
         return dsl.resultQuery("""
             WITH weeks AS (
                 SELECT DISTINCT DATE_TRUNC('week', first_open_ts::timestamptz) AS week
-                FROM aggregated_ticket_data
+                FROM ticket_facts
                 WHERE first_open_ts IS NOT NULL
             )
             SELECT
@@ -691,8 +667,8 @@ public class JdbcDashboardRepository implements DashboardRepository {
                 COUNT(DISTINCT CASE WHEN DATE_TRUNC('week', ed.open_ts::timestamptz) = w.week THEN ed.escalation_id END) AS escalated,
                 COUNT(DISTINCT CASE WHEN td.status = 'stale' AND DATE_TRUNC('week', td.first_open_ts::timestamptz) = w.week THEN td.ticket_id END) AS stale
             FROM weeks w
-            LEFT JOIN aggregated_ticket_data td ON 1=1
-            LEFT JOIN aggregated_escalation_data ed ON td.ticket_id = ed.ticket_id
+            LEFT JOIN ticket_facts td ON 1=1
+            LEFT JOIN escalation_facts ed ON td.ticket_id = ed.ticket_id
             GROUP BY w.week
             ORDER BY w.week
             """)
@@ -716,8 +692,8 @@ public class JdbcDashboardRepository implements DashboardRepository {
                     COUNT(DISTINCT CASE WHEN DATE_TRUNC('week', td.last_closed_ts::timestamptz) = DATE_TRUNC('week', now()) THEN td.ticket_id END) AS closed,
                     COUNT(DISTINCT CASE WHEN td.status = 'stale' AND DATE_TRUNC('week', td.first_open_ts::timestamptz) = DATE_TRUNC('week', now()) THEN td.ticket_id END) AS stale,
                     COUNT(DISTINCT CASE WHEN DATE_TRUNC('week', ed.open_ts::timestamptz) = DATE_TRUNC('week', now()) THEN ed.escalation_id END) AS escalated
-                FROM aggregated_ticket_data td
-                LEFT JOIN aggregated_escalation_data ed ON td.ticket_id = ed.ticket_id
+                FROM ticket_facts td
+                LEFT JOIN escalation_facts ed ON td.ticket_id = ed.ticket_id
             ),
             last_week AS (
                 SELECT
@@ -725,8 +701,8 @@ public class JdbcDashboardRepository implements DashboardRepository {
                     COUNT(DISTINCT CASE WHEN DATE_TRUNC('week', td.last_closed_ts::timestamptz) = DATE_TRUNC('week', now() - interval '1 week') THEN td.ticket_id END) AS closed,
                     COUNT(DISTINCT CASE WHEN td.status = 'stale' AND DATE_TRUNC('week', td.first_open_ts::timestamptz) = DATE_TRUNC('week', now() - interval '1 week') THEN td.ticket_id END) AS stale,
                     COUNT(DISTINCT CASE WHEN DATE_TRUNC('week', ed.open_ts::timestamptz) = DATE_TRUNC('week', now() - interval '1 week') THEN ed.escalation_id END) AS escalated
-                FROM aggregated_ticket_data td
-                LEFT JOIN aggregated_escalation_data ed ON td.ticket_id = ed.ticket_id
+                FROM ticket_facts td
+                LEFT JOIN escalation_facts ed ON td.ticket_id = ed.ticket_id
             )
             SELECT 'opened' AS metric, cw.opened AS this_week, lw.opened AS last_week FROM current_week cw, last_week lw
             UNION ALL
@@ -749,8 +725,8 @@ public class JdbcDashboardRepository implements DashboardRepository {
             SELECT
                 unnest(ed.tags) AS tag,
                 COUNT(*) AS count
-            FROM aggregated_escalation_data ed
-            INNER JOIN aggregated_ticket_data td ON ed.ticket_id = td.ticket_id
+            FROM escalation_facts ed
+            INNER JOIN ticket_facts td ON ed.ticket_id = td.ticket_id
             WHERE DATE_TRUNC('week', ed.open_ts::timestamptz) = DATE_TRUNC('week', now())
               AND ed.tags IS NOT NULL
             GROUP BY tag
@@ -771,12 +747,8 @@ public class JdbcDashboardRepository implements DashboardRepository {
             WITH tag_durations AS (
                 SELECT
                     unnest(td.tags) AS tag,
-                    EXTRACT(EPOCH FROM business_time_between(
-                        td.first_open_ts,
-                        td.last_closed_ts,
-                        'Europe/London'
-                    )) AS duration
-                FROM aggregated_ticket_data td
+                    td.resolution_business_seconds AS duration
+                FROM ticket_facts td
                 WHERE td.status = 'closed'
                   AND td.last_closed_ts IS NOT NULL
                   AND td.first_open_ts IS NOT NULL
@@ -5,6 +5,8 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -23,14 +25,19 @@ import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.HashSet;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeoutException;
-import java.util.function.Function;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
 import java.util.function.ToLongFunction;
 import javax.net.ssl.SSLException;
 import lombok.extern.slf4j.Slf4j;
@@ -64,11 +71,17 @@ public final class ElevateClient {
     private final Sleeper sleeper;
     private final Clock clock;
     private final InsightsResponseBudgetContext responseBudgetContext;
+    private final MeterRegistry meterRegistry;
 
     @Autowired
-    public ElevateClient(ElevateProps props, RestClient.Builder restClientBuilder, ObjectMapper objectMapper) {
+    public ElevateClient(
+            ElevateProps props,
+            RestClient.Builder restClientBuilder,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
         this.props = props;
         this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
         this.sleeper = Thread::sleep;
         this.clock = Clock.systemUTC();
         this.responseBudgetContext = new InsightsResponseBudgetContext();
@@ -80,9 +93,11 @@ public final class ElevateClient {
             RestClient.Builder restClientBuilder,
             ObjectMapper objectMapper,
             Sleeper sleeper,
-            Clock clock) {
+            Clock clock,
+            MeterRegistry meterRegistry) {
         this.props = props;
         this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
         this.sleeper = sleeper;
         this.clock = clock;
         this.responseBudgetContext = new InsightsResponseBudgetContext();
@@ -147,34 +162,50 @@ public final class ElevateClient {
         }
     }
 
-    public synchronized ElevateSnapshot fetchSnapshot() {
+    /**
+     * Fetches every page of the products, users and journeys collections, handing each page to {@code sink} as it
+     * arrives instead of holding the whole snapshot. Up to {@code elevate.resource-fetch-concurrency} collections are
+     * crawled at once, sharing the token, deadline and budgets; pages of one collection still arrive in order, from
+     * one thread at a time. Only product ids are kept, to check every journey's product once all crawls are done.
+     */
+    public synchronized void fetchSnapshot(ElevateSnapshotSink sink) {
         requireConfigured();
         FetchDeadline deadline = new FetchDeadline(clock.instant(), props.syncTimeout());
         responseBudgetContext.begin(props.maxInsightsSnapshotResponseBytes());
         try {
             TokenSession session = new TokenSession(authenticate(deadline));
             FetchBudget budget = new FetchBudget(props.maxTotalEntities(), props.maxMaterializedRelationships());
-            Resources<ElevateProduct> products =
-                    fetchAll("products", ElevateProduct.class, session, budget, deadline, ignored -> 0);
-            Resources<ElevateUser> users =
-                    fetchAll("users", ElevateUser.class, session, budget, deadline, ignored -> 0);
-            Resources<ElevateJourney> journeys = fetchAll(
-                    "journeys",
-                    ElevateJourney.class,
-                    session,
-                    budget,
-                    deadline,
-                    ElevateClient::distinctJourneyUserCount);
-            validateJourneyProducts(products.items(), journeys.items());
-            ElevateSnapshot snapshot = new ElevateSnapshot(
-                    products.items(),
-                    users.items(),
-                    journeys.items(),
-                    payloadsById(products, ElevateProduct::id),
-                    payloadsById(users, ElevateUser::id),
-                    payloadsById(journeys, ElevateJourney::id));
+            Set<String> productIds = new HashSet<>();
+            Set<String> journeyProductIds = new HashSet<>();
+            crawlConcurrently(
+                    () -> fetchAll(
+                            "products",
+                            ElevateProduct.class,
+                            session,
+                            budget,
+                            deadline,
+                            ignored -> 0,
+                            (items, payloads) -> {
+                                items.forEach(product -> productIds.add(product.id()));
+                                sink.products(items, payloads);
+                            }),
+                    () -> fetchAll("users", ElevateUser.class, session, budget, deadline, ignored -> 0, sink::users),
+                    () -> fetchAll(
+                            "journeys",
+                            ElevateJourney.class,
+                            session,
+                            budget,
+                            deadline,
+                            ElevateClient::distinctJourneyUserCount,
+                            (items, payloads) -> {
+                                items.forEach(journey -> journeyProductIds.add(journey.productId()));
+                                sink.journeys(items, payloads);
+                            }));
+            if (!productIds.containsAll(journeyProductIds)) {
+                throw new ElevateApiException(
+                        "Elevate returned a journey whose product was absent from the fetched snapshot");
+            }
             deadline.requireWithinLimit(clock);
-            return snapshot;
         } catch (ElevateApiException e) {
             throw e;
         } catch (RestClientResponseException e) {
@@ -188,6 +219,35 @@ public final class ElevateClient {
         }
     }
 
+    // Runs the crawls on virtual threads, in the order given when the limit is 1, and stops them all at the first
+    // failure, which is rethrown as it was thrown
+    private void crawlConcurrently(Runnable... crawls) {
+        int concurrency = Math.min(props.resourceFetchConcurrency(), crawls.length);
+        try (ExecutorService executor = Executors.newFixedThreadPool(
+                concurrency, Thread.ofVirtual().name("elevate-fetch-", 0).factory())) {
+            CompletionService<Boolean> completion = new ExecutorCompletionService<>(executor);
+            List<Future<Boolean>> running = new ArrayList<>();
+            for (Runnable crawl : crawls) {
+                running.add(completion.submit(crawl, true));
+            }
+            for (int finished = 0; finished < running.size(); finished++) {
+                try {
+                    completion.take().get();
+                } catch (ExecutionException e) {
+                    running.forEach(crawl -> crawl.cancel(true));
+                    if (e.getCause() instanceof RuntimeException failure) {
+                        throw failure;
+                    }
+                    throw new ElevateApiException("Elevate insights fetch failed", e);
+                } catch (InterruptedException e) {
+                    running.forEach(crawl -> crawl.cancel(true));
+                    Thread.currentThread().interrupt();
+                    throw new ElevateApiException("Elevate insights fetch was interrupted", e);
+                }
+            }
+        }
+    }
+
     private String authenticate(@Nullable FetchDeadline deadline) {
         MultiValueMap<String, String> form = new LinkedMultiValueMap<>();
         form.add("grant_type", "client_credentials");
@@ -215,23 +275,28 @@ public final class ElevateClient {
         return response.accessToken();
     }
 
-    private <T> Resources<T> fetchAll(
+    private <T> void fetchAll(
             String resource,
             Class<T> itemType,
             TokenSession session,
             FetchBudget budget,
             FetchDeadline deadline,
-            ToLongFunction<JsonNode> relationshipCount) {
-        List<T> result = new ArrayList<>();
-        List<JsonNode> payloads = new ArrayList<>();
+            ToLongFunction<JsonNode> relationshipCount,
+            BiConsumer<List<T>, List<JsonNode>> pages) {
+        Timer.Sample crawl = Timer.start(meterRegistry);
+        Timer pageTimer = Timer.builder("elevate_fetch_page_duration_seconds")
+                .description("Time taken to fetch one page of an Elevate insights collection, including retries")
+                .tag("resource", resource)
+                .register(meterRegistry);
         Set<String> seenCursors = new HashSet<>();
         @Nullable String cursor = null;
         int pagesFetched = 0;
         do {
             pagesFetched++;
+            Timer.Sample pageFetch = Timer.start(meterRegistry);
             Page<T> page = fetchPageWithRetry(resource, cursor, itemType, session, budget, deadline, relationshipCount);
-            result.addAll(page.items());
-            payloads.addAll(page.payloads());
+            pageFetch.stop(pageTimer);
+            pages.accept(page.items(), page.payloads());
             cursor = page.nextCursor();
             if (cursor != null && !seenCursors.add(cursor)) {
                 throw new ElevateApiException("Elevate returned a cyclic " + resource + " cursor");
@@ -241,7 +306,10 @@ public final class ElevateClient {
                         + props.maxPagesPerResource() + " pages");
             }
         } while (cursor != null);
-        return new Resources<>(List.copyOf(result), List.copyOf(payloads));
+        crawl.stop(Timer.builder("elevate_fetch_resource_duration_seconds")
+                .description("Time taken to crawl every page of an Elevate insights collection")
+                .tag("resource", resource)
+                .register(meterRegistry));
     }
 
     private static long distinctJourneyUserCount(JsonNode journey) {
@@ -254,19 +322,6 @@ public final class ElevateClient {
         return distinctUserIds.size();
     }
 
-    private static void validateJourneyProducts(List<ElevateProduct> products, List<ElevateJourney> journeys) {
-        Set<String> productIds = new HashSet<>();
-        for (ElevateProduct product : products) {
-            productIds.add(product.id());
-        }
-        for (ElevateJourney journey : journeys) {
-            if (!productIds.contains(journey.productId())) {
-                throw new ElevateApiException(
-                        "Elevate returned a journey whose product was absent from the fetched snapshot");
-            }
-        }
-    }
-
     private <T> Page<T> fetchPageWithRetry(
             String resource,
             @Nullable String cursor,
@@ -275,17 +330,18 @@ public final class ElevateClient {
             FetchBudget budget,
             FetchDeadline deadline,
             ToLongFunction<JsonNode> relationshipCount) {
+        String token = session.token();
         try {
             return withTransientRetries(
-                    () -> fetchPage(resource, cursor, itemType, session.token, budget, relationshipCount), deadline);
+                    () -> fetchPage(resource, cursor, itemType, token, budget, relationshipCount), deadline);
         } catch (RestClientResponseException e) {
             if (e.getStatusCode().value() != HttpStatus.UNAUTHORIZED.value()) {
                 throw e;
             }
             log.info("Elevate access token was rejected during sync; refreshing it once");
-            session.token = authenticate(deadline);
+            String refreshed = session.refresh(token, () -> authenticate(deadline));
             return withTransientRetries(
-                    () -> fetchPage(resource, cursor, itemType, session.token, budget, relationshipCount), deadline);
+                    () -> fetchPage(resource, cursor, itemType, refreshed, budget, relationshipCount), deadline);
         }
     }
 
@@ -452,15 +508,6 @@ public final class ElevateClient {
         return "Bearer " + token;
     }
 
-    private static <T, I> Map<I, JsonNode> payloadsById(Resources<T> resources, Function<T, I> id) {
-        Map<I, JsonNode> payloads = new LinkedHashMap<>();
-        for (int index = 0; index < resources.items().size(); index++) {
-            payloads.put(
-                    id.apply(resources.items().get(index)), resources.payloads().get(index));
-        }
-        return Map.copyOf(payloads);
-    }
-
     private static ElevateApiException httpFailure(RestClientResponseException failure) {
         return new ElevateApiException(
                 "Elevate returned HTTP " + failure.getStatusCode().value(), failure);
@@ -518,8 +565,6 @@ public final class ElevateClient {
             List<JsonNode> payloads,
             @Nullable String nextCursor) {}
 
-    private record Resources<T>(List<T> items, List<JsonNode> payloads) {}
-
     private static final class SizeLimitedClientHttpResponse implements ClientHttpResponse {
         private final ClientHttpResponse delegate;
         private final long maximumBytes;
@@ -699,6 +744,7 @@ public final class ElevateClient {
         }
     }
 
+    // Shared by the concurrent crawls
     private static final class FetchBudget {
         private final long maxEntities;
         private final long maxRelationships;
@@ -710,7 +756,7 @@ public final class ElevateClient {
             this.maxRelationships = maxRelationships;
         }
 
-        private void addEntities(String resource, long count) {
+        private synchronized void addEntities(String resource, long count) {
             entities = addWithinLimit(
                     entities,
                     count,
@@ -718,7 +764,7 @@ public final class ElevateClient {
                     "Elevate snapshot exceeded the configured total entity limit while fetching " + resource);
         }
 
-        private void addRelationships(String resource, long count) {
+        private synchronized void addRelationships(String resource, long count) {
             relationships = addWithinLimit(
                     relationships,
                     count,
@@ -751,6 +797,18 @@ public final class ElevateClient {
         private TokenSession(String token) {
             this.token = token;
         }
+
+        private synchronized String token() {
+            return token;
+        }
+
+        // Crawls rejected with the same token share one refresh rather than each fetching a new token
+        private synchronized String refresh(String rejected, Supplier<String> authenticate) {
+            if (token.equals(rejected)) {
+                token = authenticate.get();
+            }
+            return token;
+        }
     }
 
     @FunctionalInterface
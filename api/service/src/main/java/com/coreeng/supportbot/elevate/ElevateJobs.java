@@ -2,7 +2,11 @@ package com.coreeng.supportbot.elevate;
 
 import com.coreeng.supportbot.config.ElevateProps;
 import java.time.Clock;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import java.time.Instant;
+import java.util.concurrent.TimeUnit;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -17,6 +21,7 @@ public class ElevateJobs {
     private final ElevateRepository repository;
     private final ElevateErrorSanitizer errorSanitizer;
     private final Clock clock;
+    private final MeterRegistry meterRegistry;
 
     @Scheduled(
             fixedDelayString = "${elevate.status-interval:1h}",
@@ -50,14 +55,30 @@ public class ElevateJobs {
         Instant attemptedAt = clock.instant();
         repository.recordSyncAttempt(attemptedAt);
         try {
-            ElevateSnapshot snapshot = client.fetchSnapshot();
-            Instant completedAt = clock.instant();
-            repository.replaceSnapshot(snapshot, attemptedAt, completedAt);
+            ElevateSnapshotStage stage = repository.openStage();
+            ElevateSnapshotDelta delta;
+            long applyNanos;
+            try {
+                Timer.Sample fetch = Timer.start(meterRegistry);
+                client.fetchSnapshot(stage);
+                fetch.stop(syncTimer("fetch"));
+                Instant completedAt = clock.instant();
+                Timer.Sample apply = Timer.start(meterRegistry);
+                delta = repository.applyStage(stage, attemptedAt, completedAt);
+                applyNanos = apply.stop(syncTimer("apply"));
+            } catch (RuntimeException failure) {
+                discard(stage, failure);
+                throw failure;
+            }
+            recordDelta(delta);
             log.info(
-                    "Elevate insights sync succeeded ({} products, {} users, {} journeys)",
-                    snapshot.products().size(),
-                    snapshot.users().size(),
-                    snapshot.journeys().size());
+                    "Elevate insights sync succeeded ({} products, {} users, {} journeys; {} rows written in {} ms)",
+                    stage.productCount(),
+                    stage.userCount(),
+                    stage.journeyCount(),
+                    delta.total(),
+                    TimeUnit.NANOSECONDS.toMillis(applyNanos));
+            log.debug("Elevate insights sync wrote {}", delta);
             return true;
         } catch (RuntimeException failure) {
             String error = errorSanitizer.sanitize(failure);
@@ -66,4 +87,42 @@ public class ElevateJobs {
             return false;
         }
     }
+
+    // A stage that can't be deleted now is deleted by a later sync, so this failure doesn't replace the sync's own
+    private void discard(ElevateSnapshotStage stage, RuntimeException failure) {
+        try {
+            repository.discardStage(stage);
+        } catch (RuntimeException discardFailure) {
+            failure.addSuppressed(discardFailure);
+        }
+    }
+
+    private void recordDelta(ElevateSnapshotDelta delta) {
+        recordChange("products", delta.products());
+        recordChange("users", delta.users());
+        recordChange("journeys", delta.journeys());
+        recordChange("assignments", delta.assignments());
+        recordChange("integrity_items", delta.integrityItems());
+    }
+
+    private void recordChange(String table, ElevateSnapshotDelta.Change change) {
+        deltaRows(table, "inserted").record(change.inserted());
+        deltaRows(table, "updated").record(change.updated());
+        deltaRows(table, "deleted").record(change.deleted());
+    }
+
+    private DistributionSummary deltaRows(String table, String change) {
+        return DistributionSummary.builder("elevate_sync_delta_rows")
+                .description("Rows an Elevate insights sync wrote to a stored table")
+                .tag("table", table)
+                .tag("change", change)
+                .register(meterRegistry);
+    }
+
+    private Timer syncTimer(String phase) {
+        return Timer.builder("elevate_sync_duration_seconds")
+                .description("Time an Elevate insights sync spent fetching the snapshot and applying it")
+                .tag("phase", phase)
+                .register(meterRegistry);
+    }
 }
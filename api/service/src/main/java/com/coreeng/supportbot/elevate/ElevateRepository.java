@@ -3,42 +3,48 @@ package com.coreeng.supportbot.elevate;
 import static com.coreeng.supportbot.dbschema.Tables.ELEVATE_INTEGRITY_ITEMS;
 import static com.coreeng.supportbot.dbschema.Tables.ELEVATE_INTEGRITY_ITEM_SOURCE;
 import static com.coreeng.supportbot.dbschema.Tables.ELEVATE_JOURNEYS;
+import static com.coreeng.supportbot.dbschema.Tables.ELEVATE_JOURNEYS_STAGED;
 import static com.coreeng.supportbot.dbschema.Tables.ELEVATE_JOURNEY_USERS;
+import static com.coreeng.supportbot.dbschema.Tables.ELEVATE_JOURNEY_USERS_STAGED;
 import static com.coreeng.supportbot.dbschema.Tables.ELEVATE_PRODUCTS;
+import static com.coreeng.supportbot.dbschema.Tables.ELEVATE_PRODUCTS_STAGED;
+import static com.coreeng.supportbot.dbschema.Tables.ELEVATE_SNAPSHOT_STAGE;
 import static com.coreeng.supportbot.dbschema.Tables.ELEVATE_SYNC_STATE;
 import static com.coreeng.supportbot.dbschema.Tables.ELEVATE_USERS;
+import static com.coreeng.supportbot.dbschema.Tables.ELEVATE_USERS_STAGED;
 import static org.jooq.impl.DSL.falseCondition;
 import static org.jooq.impl.DSL.field;
 import static org.jooq.impl.DSL.lower;
 import static org.jooq.impl.DSL.noCondition;
 import static org.jooq.impl.DSL.selectCount;
 
+import com.coreeng.supportbot.dbschema.tables.ElevateIntegrityItemSource;
+import com.coreeng.supportbot.dbschema.tables.ElevateIntegrityItems;
 import com.coreeng.supportbot.dbschema.tables.ElevateJourneys;
 import com.coreeng.supportbot.dbschema.tables.ElevateProducts;
 import com.coreeng.supportbot.dbschema.tables.ElevateUsers;
 import com.coreeng.supportbot.util.Page;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.ImmutableList;
+import java.time.Duration;
 import java.time.Instant;
-import java.util.ArrayList;
-import java.util.LinkedHashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import org.jooq.Condition;
 import org.jooq.DSLContext;
 import org.jooq.Field;
-import org.jooq.JSONB;
-import org.jooq.Query;
 import org.jooq.Record;
 import org.jooq.Record1;
 import org.jooq.Select;
 import org.jooq.SortField;
 import org.jooq.Table;
+import org.jooq.TableField;
 import org.jspecify.annotations.Nullable;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Isolation;
@@ -47,7 +53,31 @@ import org.springframework.transaction.annotation.Transactional;
 @Repository
 @RequiredArgsConstructor
 public class ElevateRepository {
-    private static final int INSERT_BATCH_SIZE = 500;
+    private static final Duration ABANDONED_STAGE_AGE = Duration.ofDays(1);
+    private static final StagedTable<String> PRODUCTS = new StagedTable<>(
+            ELEVATE_PRODUCTS,
+            ELEVATE_PRODUCTS.RESOURCE_ID,
+            ELEVATE_PRODUCTS.CONTENT_HASH,
+            ELEVATE_PRODUCTS_STAGED,
+            ELEVATE_PRODUCTS_STAGED.STAGE_ID,
+            ELEVATE_PRODUCTS_STAGED.RESOURCE_ID,
+            ELEVATE_PRODUCTS_STAGED.CONTENT_HASH);
+    private static final StagedTable<UUID> USERS = new StagedTable<>(
+            ELEVATE_USERS,
+            ELEVATE_USERS.RESOURCE_ID,
+            ELEVATE_USERS.CONTENT_HASH,
+            ELEVATE_USERS_STAGED,
+            ELEVATE_USERS_STAGED.STAGE_ID,
+            ELEVATE_USERS_STAGED.RESOURCE_ID,
+            ELEVATE_USERS_STAGED.CONTENT_HASH);
+    private static final StagedTable<String> JOURNEYS = new StagedTable<>(
+            ELEVATE_JOURNEYS,
+            ELEVATE_JOURNEYS.RESOURCE_ID,
+            ELEVATE_JOURNEYS.CONTENT_HASH,
+            ELEVATE_JOURNEYS_STAGED,
+            ELEVATE_JOURNEYS_STAGED.STAGE_ID,
+            ELEVATE_JOURNEYS_STAGED.RESOURCE_ID,
+            ELEVATE_JOURNEYS_STAGED.CONTENT_HASH);
 
     private final DSLContext dsl;
     private final ObjectMapper objectMapper;
@@ -276,29 +306,70 @@ public class ElevateRepository {
         return page(content, total, query);
     }
 
+    /**
+     * Opens a stage to stream a fetched snapshot into. Stages left behind by syncs that never finished, e.g.
+     * because the service stopped, are deleted first.
+     */
+    public ElevateSnapshotStage openStage() {
+        dsl.deleteFrom(ELEVATE_SNAPSHOT_STAGE)
+                .where(ELEVATE_SNAPSHOT_STAGE.OPENED_AT.lt(Instant.now().minus(ABANDONED_STAGE_AGE)))
+                .execute();
+        UUID stageId = UUID.randomUUID();
+        dsl.insertInto(ELEVATE_SNAPSHOT_STAGE)
+                .set(ELEVATE_SNAPSHOT_STAGE.ID, stageId)
+                .execute();
+        return new ElevateSnapshotStage(dsl, objectMapper, stageId);
+    }
+
+    public void discardStage(ElevateSnapshotStage stage) {
+        dsl.deleteFrom(ELEVATE_SNAPSHOT_STAGE)
+                .where(ELEVATE_SNAPSHOT_STAGE.ID.eq(stage.id()))
+                .execute();
+    }
+
+    /**
+     * Makes the stored snapshot match the one in {@code stage}, writing only the rows that were added, changed or
+     * removed, and publishes a new snapshot version. Rows are compared by a hash of their content. The stage is
+     * deleted with the same transaction.
+     */
     @Transactional
-    public void replaceSnapshot(ElevateSnapshot snapshot, Instant attemptedAt, Instant completedAt) {
-        UUID snapshotVersion = UUID.randomUUID();
-        dsl.deleteFrom(ELEVATE_INTEGRITY_ITEMS).execute();
-        dsl.deleteFrom(ELEVATE_JOURNEY_USERS).execute();
-        dsl.deleteFrom(ELEVATE_JOURNEYS).execute();
-        dsl.deleteFrom(ELEVATE_USERS).execute();
-        dsl.deleteFrom(ELEVATE_PRODUCTS).execute();
-
-        insertProducts(snapshot.products(), snapshot.productPayloads());
-        insertUsers(snapshot.users(), snapshot.userPayloads());
-        insertJourneys(snapshot.journeys(), snapshot.journeyPayloads());
-        insertJourneyUsers(snapshot.journeys());
-        refreshIntegrityItems();
+    public ElevateSnapshotDelta applyStage(ElevateSnapshotStage stage, Instant attemptedAt, Instant completedAt) {
+        // Syncs on other replicas wait here rather than racing for the same rows
+        dsl.selectFrom(ELEVATE_SYNC_STATE)
+                .where(ELEVATE_SYNC_STATE.SINGLETON.isTrue())
+                .forUpdate()
+                .execute();
+        UUID stageId = stage.id();
+
+        // Journeys reference their product, so products are added before journeys and removed after them
+        int productsInserted = insertStaged(PRODUCTS, stageId);
+        int productsUpdated = updateStaged(PRODUCTS, stageId);
+        ElevateSnapshotDelta.Change users = new ElevateSnapshotDelta.Change(
+                insertStaged(USERS, stageId), updateStaged(USERS, stageId), deleteUnstaged(USERS, stageId));
+        int assignmentsDeleted = deleteUnstagedAssignments(stageId);
+        int journeysDeleted = deleteUnstaged(JOURNEYS, stageId);
+        ElevateSnapshotDelta.Change journeys = new ElevateSnapshotDelta.Change(
+                insertStaged(JOURNEYS, stageId), updateStaged(JOURNEYS, stageId), journeysDeleted);
+        ElevateSnapshotDelta.Change assignments =
+                new ElevateSnapshotDelta.Change(insertStagedAssignments(stageId), 0, assignmentsDeleted);
+        ElevateSnapshotDelta.Change products = new ElevateSnapshotDelta.Change(
+                productsInserted, productsUpdated, deleteUnstaged(PRODUCTS, stageId));
+
+        boolean changed = products.total() > 0 || users.total() > 0 || journeys.total() > 0 || assignments.total() > 0;
+        // Integrity items are derived from the other tables, so they can only change when one of those did
+        ElevateSnapshotDelta.Change integrityItems =
+                changed ? refreshIntegrityItems() : ElevateSnapshotDelta.Change.NONE;
 
         dsl.update(ELEVATE_SYNC_STATE)
                 .set(ELEVATE_SYNC_STATE.LAST_SYNC_ATTEMPT_AT, attemptedAt)
                 .set(ELEVATE_SYNC_STATE.LAST_SYNC_SUCCESS_AT, completedAt)
                 .set(ELEVATE_SYNC_STATE.LAST_SYNC_SUCCEEDED, true)
                 .setNull(ELEVATE_SYNC_STATE.LAST_SYNC_ERROR)
-                .set(ELEVATE_SYNC_STATE.SNAPSHOT_VERSION, snapshotVersion)
+                .set(ELEVATE_SYNC_STATE.SNAPSHOT_VERSION, UUID.randomUUID())
                 .where(ELEVATE_SYNC_STATE.SINGLETON.isTrue())
                 .execute();
+        discardStage(stage);
+        return new ElevateSnapshotDelta(products, users, journeys, assignments, integrityItems);
     }
 
     public void recordSyncAttempt(Instant attemptedAt) {
@@ -674,131 +745,113 @@ public class ElevateRepository {
         }
     }
 
-    private void insertProducts(List<ElevateProduct> products, Map<String, JsonNode> payloads) {
-        List<Query> inserts = new ArrayList<>(Math.min(products.size(), INSERT_BATCH_SIZE));
-        for (ElevateProduct product : products) {
-            addToBatch(
-                    inserts,
-                    dsl.insertInto(ELEVATE_PRODUCTS)
-                            .set(ELEVATE_PRODUCTS.RESOURCE_ID, product.id())
-                            .set(ELEVATE_PRODUCTS.SLUG, product.slug())
-                            .set(ELEVATE_PRODUCTS.NAME, product.name())
-                            .set(ELEVATE_PRODUCTS.CUSTOMER, product.customer())
-                            .set(ELEVATE_PRODUCTS.CREATED_AT, product.createdAt())
-                            .set(ELEVATE_PRODUCTS.LAST_UPDATED_AT, product.lastUpdatedAt())
-                            .set(ELEVATE_PRODUCTS.PAYLOAD, jsonb(payloadOrFallback(payloads, product.id(), product))));
-        }
-        executeBatch(inserts);
-    }
-
-    private void insertUsers(List<ElevateUser> users, Map<UUID, JsonNode> payloads) {
-        List<Query> inserts = new ArrayList<>(Math.min(users.size(), INSERT_BATCH_SIZE));
-        for (ElevateUser user : users) {
-            addToBatch(
-                    inserts,
-                    dsl.insertInto(ELEVATE_USERS)
-                            .set(ELEVATE_USERS.RESOURCE_ID, user.id())
-                            .set(ELEVATE_USERS.PRODUCT_ID, user.productId())
-                            .set(ELEVATE_USERS.NAME, user.name())
-                            .set(ELEVATE_USERS.DESCRIPTION, user.description())
-                            .set(ELEVATE_USERS.CREATED_AT, user.createdAt())
-                            .set(ELEVATE_USERS.LAST_UPDATED_AT, user.lastUpdatedAt())
-                            .set(ELEVATE_USERS.PAYLOAD, jsonb(payloadOrFallback(payloads, user.id(), user))));
-        }
-        executeBatch(inserts);
-    }
-
-    private void insertJourneys(List<ElevateJourney> journeys, Map<String, JsonNode> payloads) {
-        List<Query> inserts = new ArrayList<>(Math.min(journeys.size(), INSERT_BATCH_SIZE));
-        for (ElevateJourney journey : journeys) {
-            addToBatch(
-                    inserts,
-                    dsl.insertInto(ELEVATE_JOURNEYS)
-                            .set(ELEVATE_JOURNEYS.RESOURCE_ID, journey.id())
-                            .set(ELEVATE_JOURNEYS.SLUG, journey.slug())
-                            .set(ELEVATE_JOURNEYS.NAME, journey.name())
-                            .set(ELEVATE_JOURNEYS.PRODUCT_ID, journey.productId())
-                            .set(ELEVATE_JOURNEYS.PRODUCT_SLUG, journey.productSlug())
-                            .set(ELEVATE_JOURNEYS.USER_DESCRIPTION, journey.userDescription())
-                            .set(ELEVATE_JOURNEYS.PRIMARY_PROBLEMS, journey.primaryProblems())
-                            .set(ELEVATE_JOURNEYS.CREATED_AT, journey.createdAt())
-                            .set(ELEVATE_JOURNEYS.LAST_UPDATED_AT, journey.lastUpdatedAt())
-                            .set(ELEVATE_JOURNEYS.PAYLOAD, jsonb(payloadOrFallback(payloads, journey.id(), journey))));
-        }
-        executeBatch(inserts);
-    }
-
-    private void insertJourneyUsers(List<ElevateJourney> journeys) {
-        List<Query> inserts = new ArrayList<>(INSERT_BATCH_SIZE);
-        for (ElevateJourney journey : journeys) {
-            for (UUID userId : new LinkedHashSet<>(journey.userIds())) {
-                addToBatch(
-                        inserts,
-                        dsl.insertInto(ELEVATE_JOURNEY_USERS)
-                                .set(ELEVATE_JOURNEY_USERS.JOURNEY_ID, journey.id())
-                                .set(ELEVATE_JOURNEY_USERS.USER_ID, userId));
+    private <K> int insertStaged(StagedTable<K> table, UUID stageId) {
+        List<Field<?>> columns = List.of(table.live().fields());
+        return dsl.insertInto(table.live(), columns)
+                .select(dsl.select(columns.stream().map(table::stagedColumn).toList())
+                        .from(table.staged())
+                        .where(table.stageId().eq(stageId))
+                        .andNotExists(dsl.selectOne()
+                                .from(table.live())
+                                .where(table.id().eq(table.stagedId()))))
+                .execute();
+    }
+
+    private <K> int updateStaged(StagedTable<K> table, UUID stageId) {
+        Map<Field<?>, Field<?>> values = new LinkedHashMap<>();
+        for (Field<?> column : table.live().fields()) {
+            if (!column.equals(table.id())) {
+                values.put(column, table.stagedColumn(column));
             }
         }
-        executeBatch(inserts);
-    }
-
-    private void refreshIntegrityItems() {
-        dsl.insertInto(
-                        ELEVATE_INTEGRITY_ITEMS,
-                        ELEVATE_INTEGRITY_ITEMS.TYPE,
-                        ELEVATE_INTEGRITY_ITEMS.JOURNEY_ID,
-                        ELEVATE_INTEGRITY_ITEMS.JOURNEY_NAME,
-                        ELEVATE_INTEGRITY_ITEMS.JOURNEY_PRODUCT_ID,
-                        ELEVATE_INTEGRITY_ITEMS.USER_ID,
-                        ELEVATE_INTEGRITY_ITEMS.USER_NAME,
-                        ELEVATE_INTEGRITY_ITEMS.USER_PRODUCT_ID,
-                        ELEVATE_INTEGRITY_ITEMS.SORT_NAME,
-                        ELEVATE_INTEGRITY_ITEMS.SORT_ID,
-                        ELEVATE_INTEGRITY_ITEMS.SEARCH_TEXT)
-                .select(dsl.select(
-                                ELEVATE_INTEGRITY_ITEM_SOURCE.TYPE,
-                                ELEVATE_INTEGRITY_ITEM_SOURCE.JOURNEY_ID,
-                                ELEVATE_INTEGRITY_ITEM_SOURCE.JOURNEY_NAME,
-                                ELEVATE_INTEGRITY_ITEM_SOURCE.JOURNEY_PRODUCT_ID,
-                                ELEVATE_INTEGRITY_ITEM_SOURCE.USER_ID,
-                                ELEVATE_INTEGRITY_ITEM_SOURCE.USER_NAME,
-                                ELEVATE_INTEGRITY_ITEM_SOURCE.USER_PRODUCT_ID,
-                                ELEVATE_INTEGRITY_ITEM_SOURCE.SORT_NAME,
-                                ELEVATE_INTEGRITY_ITEM_SOURCE.SORT_ID,
-                                ELEVATE_INTEGRITY_ITEM_SOURCE.SEARCH_TEXT)
-                        .from(ELEVATE_INTEGRITY_ITEM_SOURCE))
+        return dsl.update(table.live())
+                .set(values)
+                .from(table.staged())
+                .where(table.stageId().eq(stageId))
+                .and(table.id().eq(table.stagedId()))
+                .and(table.hash().isDistinctFrom(table.stagedHash()))
                 .execute();
     }
 
-    private void addToBatch(List<Query> batch, Query query) {
-        batch.add(query);
-        if (batch.size() == INSERT_BATCH_SIZE) {
-            executeBatch(batch);
-        }
+    private <K> int deleteUnstaged(StagedTable<K> table, UUID stageId) {
+        return dsl.deleteFrom(table.live())
+                .whereNotExists(dsl.selectOne()
+                        .from(table.staged())
+                        .where(table.stageId().eq(stageId))
+                        .and(table.stagedId().eq(table.id())))
+                .execute();
     }
 
-    private void executeBatch(List<Query> batch) {
-        if (!batch.isEmpty()) {
-            dsl.batch(batch).execute();
-            batch.clear();
-        }
+    private int insertStagedAssignments(UUID stageId) {
+        var staged = ELEVATE_JOURNEY_USERS_STAGED;
+        return dsl.insertInto(ELEVATE_JOURNEY_USERS, ELEVATE_JOURNEY_USERS.JOURNEY_ID, ELEVATE_JOURNEY_USERS.USER_ID)
+                .select(dsl.select(staged.JOURNEY_ID, staged.USER_ID)
+                        .from(staged)
+                        .where(staged.STAGE_ID.eq(stageId))
+                        .andNotExists(dsl.selectOne()
+                                .from(ELEVATE_JOURNEY_USERS)
+                                .where(ELEVATE_JOURNEY_USERS.JOURNEY_ID.eq(staged.JOURNEY_ID))
+                                .and(ELEVATE_JOURNEY_USERS.USER_ID.eq(staged.USER_ID))))
+                .execute();
     }
 
-    private static <K> Object payloadOrFallback(Map<K, JsonNode> payloads, K id, Object fallback) {
-        @Nullable JsonNode payload = payloads.get(id);
-        return payload == null ? fallback : payload;
+    private int deleteUnstagedAssignments(UUID stageId) {
+        var staged = ELEVATE_JOURNEY_USERS_STAGED;
+        return dsl.deleteFrom(ELEVATE_JOURNEY_USERS)
+                .whereNotExists(dsl.selectOne()
+                        .from(staged)
+                        .where(staged.STAGE_ID.eq(stageId))
+                        .and(staged.JOURNEY_ID.eq(ELEVATE_JOURNEY_USERS.JOURNEY_ID))
+                        .and(staged.USER_ID.eq(ELEVATE_JOURNEY_USERS.USER_ID)))
+                .execute();
     }
 
-    private JSONB jsonb(Object value) {
-        return JSONB.valueOf(toJson(value));
+    private ElevateSnapshotDelta.Change refreshIntegrityItems() {
+        var stored = ELEVATE_INTEGRITY_ITEMS;
+        var source = ELEVATE_INTEGRITY_ITEM_SOURCE;
+        int deleted = dsl.deleteFrom(stored)
+                .whereNotExists(dsl.selectOne().from(source).where(sameIntegrityItem(stored, source)))
+                .execute();
+        var existing = ELEVATE_INTEGRITY_ITEMS.as("existing");
+        int inserted = dsl.insertInto(
+                        stored,
+                        stored.TYPE,
+                        stored.JOURNEY_ID,
+                        stored.JOURNEY_NAME,
+                        stored.JOURNEY_PRODUCT_ID,
+                        stored.USER_ID,
+                        stored.USER_NAME,
+                        stored.USER_PRODUCT_ID,
+                        stored.SORT_NAME,
+                        stored.SORT_ID,
+                        stored.SEARCH_TEXT)
+                .select(dsl.select(
+                                source.TYPE,
+                                source.JOURNEY_ID,
+                                source.JOURNEY_NAME,
+                                source.JOURNEY_PRODUCT_ID,
+                                source.USER_ID,
+                                source.USER_NAME,
+                                source.USER_PRODUCT_ID,
+                                source.SORT_NAME,
+                                source.SORT_ID,
+                                source.SEARCH_TEXT)
+                        .from(source)
+                        .whereNotExists(dsl.selectOne().from(existing).where(sameIntegrityItem(existing, source))))
+                .execute();
+        return new ElevateSnapshotDelta.Change(inserted, 0, deleted);
     }
 
-    private String toJson(Object value) {
-        try {
-            return objectMapper.writeValueAsString(value);
-        } catch (JsonProcessingException e) {
-            throw new ElevateApiException("Could not serialize Elevate snapshot", e);
-        }
+    // Sort and search columns are derived from these, so they match whenever these do
+    private static Condition sameIntegrityItem(ElevateIntegrityItems item, ElevateIntegrityItemSource source) {
+        return item.TYPE
+                .eq(source.TYPE)
+                .and(item.JOURNEY_ID.isNotDistinctFrom(source.JOURNEY_ID))
+                .and(item.JOURNEY_NAME.isNotDistinctFrom(source.JOURNEY_NAME))
+                .and(item.JOURNEY_PRODUCT_ID.isNotDistinctFrom(source.JOURNEY_PRODUCT_ID))
+                .and(item.USER_ID.isNotDistinctFrom(source.USER_ID))
+                .and(item.USER_NAME.isNotDistinctFrom(source.USER_NAME))
+                .and(item.USER_PRODUCT_ID.isNotDistinctFrom(source.USER_PRODUCT_ID));
     }
 
     private <T> T fromJson(String value, Class<T> type) {
@@ -809,6 +862,20 @@ public class ElevateRepository {
         }
     }
 
+    /** A stored table and its staging table, whose columns have the same names. */
+    private record StagedTable<K>(
+            Table<?> live,
+            TableField<?, K> id,
+            TableField<?, String> hash,
+            Table<?> staged,
+            TableField<?, UUID> stageId,
+            TableField<?, K> stagedId,
+            TableField<?, String> stagedHash) {
+        Field<?> stagedColumn(Field<?> liveColumn) {
+            return Objects.requireNonNull(staged.field(liveColumn.getName()), liveColumn.getName());
+        }
+    }
+
     private record ProductCounts(Field<Long> journeys, Field<Long> users, Field<Long> assignments) {}
 
     private record JourneyCounts(Field<Long> users, Field<Long> missingUsers, Field<Long> crossProductUsers) {}
@@ -0,0 +1,22 @@
+package com.coreeng.supportbot.elevate;
+
+/** Rows a sync wrote to each stored Elevate table to bring it in line with the fetched snapshot. */
+public record ElevateSnapshotDelta(
+        Change products, Change users, Change journeys, Change assignments, Change integrityItems) {
+
+    public boolean isEmpty() {
+        return total() == 0;
+    }
+
+    public int total() {
+        return products.total() + users.total() + journeys.total() + assignments.total() + integrityItems.total();
+    }
+
+    public record Change(int inserted, int updated, int deleted) {
+        public static final Change NONE = new Change(0, 0, 0);
+
+        public int total() {
+            return inserted + updated + deleted;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.coreeng.supportbot.elevate;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.util.List;
+
+/**
+ * Receives an Elevate snapshot one fetched page at a time, with the source JSON of each item at the same index.
+ * Collections are fetched concurrently, so the three methods may be called at the same time from different threads,
+ * but each is only called from one thread at a time.
+ */
+public interface ElevateSnapshotSink {
+    void products(List<ElevateProduct> products, List<JsonNode> payloads);
+
+    void users(List<ElevateUser> users, List<JsonNode> payloads);
+
+    void journeys(List<ElevateJourney> journeys, List<JsonNode> payloads);
+}
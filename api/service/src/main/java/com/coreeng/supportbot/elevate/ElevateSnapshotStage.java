@@ -0,0 +1,190 @@
+package com.coreeng.supportbot.elevate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.UUID;
+import org.jooq.DSLContext;
+import org.jspecify.annotations.Nullable;
+import org.postgresql.PGConnection;
+
+/**
+ * A fetched Elevate snapshot being written to the {@code elevate_*_staged} tables, one page per {@code COPY}, so
+ * pages don't have to be held until the whole snapshot is fetched. Opened, applied and discarded through
+ * {@link ElevateRepository}.
+ */
+public final class ElevateSnapshotStage implements ElevateSnapshotSink {
+    private final DSLContext dsl;
+    private final ObjectMapper objectMapper;
+    private final UUID id;
+    private int productCount;
+    private int userCount;
+    private int journeyCount;
+
+    ElevateSnapshotStage(DSLContext dsl, ObjectMapper objectMapper, UUID id) {
+        this.dsl = dsl;
+        this.objectMapper = objectMapper;
+        this.id = id;
+    }
+
+    UUID id() {
+        return id;
+    }
+
+    public int productCount() {
+        return productCount;
+    }
+
+    public int userCount() {
+        return userCount;
+    }
+
+    public int journeyCount() {
+        return journeyCount;
+    }
+
+    @Override
+    public void products(List<ElevateProduct> products, List<JsonNode> payloads) {
+        CsvRows rows = new CsvRows();
+        for (int index = 0; index < products.size(); index++) {
+            ElevateProduct product = products.get(index);
+            String payload = toJson(payloads.get(index));
+            rows.row(
+                    id,
+                    product.id(),
+                    product.slug(),
+                    product.name(),
+                    product.customer(),
+                    product.createdAt(),
+                    product.lastUpdatedAt(),
+                    payload,
+                    contentHash(product, payload));
+        }
+        copy(
+                "elevate_products_staged (stage_id, resource_id, slug, name, customer, created_at, last_updated_at,"
+                        + " payload, content_hash)",
+                rows);
+        productCount += products.size();
+    }
+
+    @Override
+    public void users(List<ElevateUser> users, List<JsonNode> payloads) {
+        CsvRows rows = new CsvRows();
+        for (int index = 0; index < users.size(); index++) {
+            ElevateUser user = users.get(index);
+            String payload = toJson(payloads.get(index));
+            rows.row(
+                    id,
+                    user.id(),
+                    user.productId(),
+                    user.name(),
+                    user.description(),
+                    user.createdAt(),
+                    user.lastUpdatedAt(),
+                    payload,
+                    contentHash(user, payload));
+        }
+        copy(
+                "elevate_users_staged (stage_id, resource_id, product_id, name, description, created_at,"
+                        + " last_updated_at, payload, content_hash)",
+                rows);
+        userCount += users.size();
+    }
+
+    @Override
+    public void journeys(List<ElevateJourney> journeys, List<JsonNode> payloads) {
+        CsvRows rows = new CsvRows();
+        CsvRows assignments = new CsvRows();
+        for (int index = 0; index < journeys.size(); index++) {
+            ElevateJourney journey = journeys.get(index);
+            String payload = toJson(payloads.get(index));
+            rows.row(
+                    id,
+                    journey.id(),
+                    journey.slug(),
+                    journey.name(),
+                    journey.productId(),
+                    journey.productSlug(),
+                    journey.userDescription(),
+                    journey.primaryProblems(),
+                    journey.createdAt(),
+                    journey.lastUpdatedAt(),
+                    payload,
+                    contentHash(journey, payload));
+            for (UUID userId : new LinkedHashSet<>(journey.userIds())) {
+                assignments.row(id, journey.id(), userId);
+            }
+        }
+        copy(
+                "elevate_journeys_staged (stage_id, resource_id, slug, name, product_id, product_slug,"
+                        + " user_description, primary_problems, created_at, last_updated_at, payload, content_hash)",
+                rows);
+        copy("elevate_journey_users_staged (stage_id, journey_id, user_id)", assignments);
+        journeyCount += journeys.size();
+    }
+
+    private void copy(String target, CsvRows rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        String sql = "COPY " + target + " FROM STDIN WITH (FORMAT csv)";
+        dsl.connection(connection ->
+                connection.unwrap(PGConnection.class).getCopyAPI().copyIn(sql, new StringReader(rows.toString())));
+    }
+
+    // Compared with the stored row's hash to tell whether the row changed
+    private String contentHash(Object row, String payload) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        digest.update(toJson(row).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(payload.getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new ElevateApiException("Could not serialize Elevate snapshot", e);
+        }
+    }
+
+    /** Rows in {@code COPY}'s CSV format, where an unquoted empty value is {@code NULL}. */
+    private static final class CsvRows {
+        private final StringBuilder csv = new StringBuilder();
+
+        private void row(@Nullable Object... values) {
+            for (int index = 0; index < values.length; index++) {
+                if (index > 0) {
+                    csv.append(',');
+                }
+                @Nullable Object value = values[index];
+                if (value != null) {
+                    csv.append('"').append(value.toString().replace("\"", "\"\"")).append('"');
+                }
+            }
+            csv.append('\n');
+        }
+
+        private boolean isEmpty() {
+            return csv.isEmpty();
+        }
+
+        @Override
+        public String toString() {
+            return csv.toString();
+        }
+    }
+}
@@ -6,6 +6,7 @@ import static com.slack.api.model.block.composition.BlockCompositions.plainText;
 
 import com.coreeng.supportbot.homepage.HomepageFilterMapper;
 import com.coreeng.supportbot.slack.SlackBlockSuggestionHandler;
+import com.coreeng.supportbot.util.TypeaheadIndex;
 import com.google.common.collect.ImmutableList;
 import com.slack.api.app_backend.interactive_components.response.BlockSuggestionResponse;
 import com.slack.api.app_backend.interactive_components.response.Option;
@@ -38,6 +39,7 @@ public class TagSuggestionHandler implements SlackBlockSuggestionHandler {
             Pattern.compile("^(homepage-filter-tags|escalation-tags|ticket-change-tags)$");
 
     private final TagsRegistry tagsRegistry;
+    private final TypeaheadIndex.Holder<Tag> tagIndex = new TypeaheadIndex.Holder<>(Tag::label);
 
     @Override
     public Pattern getPattern() {
@@ -62,10 +64,11 @@ public class TagSuggestionHandler implements SlackBlockSuggestionHandler {
         }
 
         // Reserve slots already used by special options (e.g. NO_TAGS) so total never exceeds the limit.
-        ImmutableList<Option> tagOptions = tagsRegistry.listAllTags().stream()
-                .filter(tag -> lowerQuery.isBlank()
-                        || tag.label().toLowerCase(Locale.ROOT).contains(lowerQuery))
-                .limit(SLACK_OPTIONS_LIMIT - options.size())
+        int limit = SLACK_OPTIONS_LIMIT - options.size();
+        // The tags list is cached, so its index is only rebuilt when the cache reloads
+        ImmutableList<Tag> tags = tagIndex.indexOf(tagsRegistry.listAllTags())
+                .search(lowerQuery.isBlank() ? "" : lowerQuery, limit);
+        ImmutableList<Option> tagOptions = tags.stream()
                 .map(tag -> Option.builder()
                         .text(plainText(tag.label()))
                         .value(tag.code())
@@ -5,9 +5,11 @@ import static com.google.common.collect.ImmutableList.toImmutableList;
 import static org.jooq.impl.DSL.excluded;
 import static org.jooq.impl.DSL.row;
 
+import com.coreeng.supportbot.facts.FactsRepository;
 import com.google.common.collect.ImmutableCollection;
 import com.google.common.collect.ImmutableList;
 import java.time.Instant;
+import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import org.jooq.DSLContext;
 import org.jooq.ResultQuery;
@@ -17,6 +19,7 @@ import org.springframework.stereotype.Repository;
 @RequiredArgsConstructor
 public class TagsRepository {
     private final DSLContext dsl;
+    private final FactsRepository factsRepository;
 
     public ImmutableList<Tag> listAll() {
         return fetchTags(dsl.select(TAG.LABEL, TAG.CODE).from(TAG));
@@ -37,13 +40,25 @@ public class TagsRepository {
         if (tags.isEmpty()) {
             return 0;
         }
-        return dsl.insertInto(TAG, TAG.LABEL, TAG.CODE)
+        Map<String, String> currentLabels = dsl.select(TAG.CODE, TAG.LABEL)
+                .from(TAG)
+                .where(TAG.CODE.in(tags.stream().map(Tag::code).toList()))
+                .fetchMap(TAG.CODE, TAG.LABEL);
+        int upserted = dsl.insertInto(TAG, TAG.LABEL, TAG.CODE)
                 .valuesOfRows(tags.stream().map(t -> row(t.label(), t.code())).toList())
                 .onConflict(TAG.CODE)
                 .doUpdate()
                 .set(TAG.LABEL, excluded(TAG.LABEL))
                 .setNull(TAG.DELETED_AT)
                 .execute();
+
+        // Ticket and escalation facts store tag labels, so relabelled tags have to be refreshed there
+        ImmutableList<String> relabelled = tags.stream()
+                .filter(t -> currentLabels.containsKey(t.code()) && !t.label().equals(currentLabels.get(t.code())))
+                .map(Tag::code)
+                .collect(toImmutableList());
+        factsRepository.refreshTags(relabelled);
+        return upserted;
     }
 
     public int deleteAllExcept(ImmutableList<String> codes) {
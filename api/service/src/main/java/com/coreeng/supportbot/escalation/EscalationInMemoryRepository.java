@@ -3,7 +3,6 @@ package com.coreeng.supportbot.escalation;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.collect.ImmutableList.toImmutableList;
-import static java.util.Collections.reverseOrder;
 import static java.util.Comparator.comparing;
 
 import com.coreeng.supportbot.slack.MessageTs;
@@ -124,17 +123,27 @@ public class EscalationInMemoryRepository implements EscalationRepository {
         checkArgument(query.page() >= 0);
         checkArgument(query.pageSize() > 0);
 
+        // Newest first, by id like JdbcEscalationRepository, so cursors mean the same in both
         ImmutableList<Escalation> queryResult = escalations.values().stream()
                 .filter(e -> filterEscalation(e, query))
-                .sorted(reverseOrder(comparing(Escalation::openedAt)))
+                .sorted(comparing((Escalation e) -> checkNotNull(e.id()).id()).reversed())
                 .collect(toImmutableList());
-        long fromIndex = query.page() * query.pageSize();
-        long toIndex = Math.min(queryResult.size(), (query.page() + 1) * query.pageSize());
+        EscalationId after = query.after();
+        long fromIndex = after == null
+                ? query.page() * query.pageSize()
+                : queryResult.stream()
+                        .takeWhile(e -> checkNotNull(e.id()).id() >= after.id())
+                        .count();
+        long toIndex = Math.min(queryResult.size(), fromIndex + query.pageSize());
+        ImmutableList<Escalation> content = queryResult.subList((int) fromIndex, (int) toIndex);
         return new Page<>(
-                queryResult.subList((int) fromIndex, (int) toIndex),
+                content,
                 query.page(),
                 queryResult.size() / query.pageSize() + 1,
-                queryResult.size());
+                queryResult.size(),
+                content.size() == query.pageSize()
+                        ? Long.toString(checkNotNull(content.getLast().id()).id())
+                        : null);
     }
 
     private boolean filterEscalation(Escalation escalation, EscalationQuery query) {
@@ -14,6 +14,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jspecify.annotations.NonNull;
 import org.jspecify.annotations.Nullable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -24,6 +25,7 @@ public class EscalationProcessingService {
     private final EscalationCreatedMessageMapper createdMessageMapper;
     private final SlackClient slackClient;
     private final EscalationTeamsRegistry escalationTeamsRegistry;
+    private final ApplicationEventPublisher publisher;
 
     @Nullable public Escalation createEscalation(CreateEscalationRequest request) {
         TicketId ticketId = checkNotNull(request.ticket().id());
@@ -39,6 +41,7 @@ public class EscalationProcessingService {
         }
 
         log.atInfo().addArgument(escalation::id).log("Escalation created: {}");
+        publisher.publishEvent(new EscalationCreated(checkNotNull(escalation.id())));
 
         String teamCode = checkNotNull(escalation.team());
         EscalationTeam team = escalationTeamsRegistry.findEscalationTeamByCode(teamCode);
@@ -85,6 +88,7 @@ public class EscalationProcessingService {
 
     private void resolve(Escalation escalation) {
         repository.markResolved(escalation, Instant.now());
+        publisher.publishEvent(new EscalationResolved(checkNotNull(escalation.id())));
     }
 
     @NonNull private Escalation findEscalation(EscalationId id) {
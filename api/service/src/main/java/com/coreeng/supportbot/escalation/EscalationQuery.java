@@ -4,11 +4,13 @@ import com.coreeng.supportbot.ticket.TicketId;
 import com.google.common.collect.ImmutableList;
 import java.time.LocalDate;
 import lombok.Builder;
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import org.jspecify.annotations.Nullable;
 
 @Getter
 @Builder(toBuilder = true)
+@EqualsAndHashCode
 public class EscalationQuery {
     @Builder.Default
     private long page = 0;
@@ -28,4 +30,6 @@ public class EscalationQuery {
     private @Nullable EscalationStatus status;
     private @Nullable String team;
     private boolean unlimited;
+    // Seeks past this escalation, in the id order escalations are listed in, instead of skipping page * pageSize
+    private @Nullable EscalationId after;
 }
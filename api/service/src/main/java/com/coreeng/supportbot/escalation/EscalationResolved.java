@@ -0,0 +1,3 @@
+package com.coreeng.supportbot.escalation;
+
+public record EscalationResolved(EscalationId escalationId) {}
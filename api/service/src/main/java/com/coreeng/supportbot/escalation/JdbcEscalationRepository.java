@@ -18,6 +18,7 @@ import static org.jooq.impl.DSL.selectOne;
 import static org.jooq.impl.DSL.value;
 
 import com.coreeng.supportbot.dbschema.enums.EscalationEventType;
+import com.coreeng.supportbot.facts.FactsRepository;
 import com.coreeng.supportbot.slack.MessageTs;
 import com.coreeng.supportbot.ticket.TicketId;
 import com.coreeng.supportbot.util.Page;
@@ -27,22 +28,35 @@ import com.google.common.collect.ImmutableListMultimap;
 import java.time.Instant;
 import java.time.ZoneOffset;
 import java.util.List;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jooq.Condition;
 import org.jooq.DSLContext;
+import org.jooq.OrderField;
 import org.jooq.Record;
 import org.jooq.SelectField;
 import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.Cache;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 @Repository
-@RequiredArgsConstructor
 @Slf4j
 @Transactional
 public class JdbcEscalationRepository implements EscalationRepository {
     private final DSLContext dsl;
+    private final FactsRepository factsRepository;
+    // Filter -> matching escalation count, so paging through one listing doesn't count it again for every page
+    private final Cache escalationCountCache;
+
+    public JdbcEscalationRepository(
+            DSLContext dsl,
+            FactsRepository factsRepository,
+            @Qualifier("escalation-count-cache") Cache escalationCountCache) {
+        this.dsl = dsl;
+        this.factsRepository = factsRepository;
+        this.escalationCountCache = escalationCountCache;
+    }
 
     @Nullable @Override
     public Escalation createIfNotExists(Escalation escalation) {
@@ -94,8 +108,10 @@ public class JdbcEscalationRepository implements EscalationRepository {
         dsl.insertInto(ESCALATION_LOG, ESCALATION_LOG.ESCALATION_ID, ESCALATION_LOG.EVENT, ESCALATION_LOG.DATE)
                 .values(id, EscalationEventType.opened, escalation.openedAt())
                 .execute();
+        EscalationId escalationId = new EscalationId(id);
+        factsRepository.refreshEscalation(escalationId);
 
-        return escalation.toBuilder().id(new EscalationId(id)).build();
+        return escalation.toBuilder().id(escalationId).build();
     }
 
     @Override
@@ -122,6 +138,8 @@ public class JdbcEscalationRepository implements EscalationRepository {
                 .execute();
         if (updatedRows == 0) {
             log.atWarn().addArgument(escalation::id).log("No updated escalation with id {}");
+        } else {
+            factsRepository.refreshEscalation(escalation.id());
         }
         return escalation;
     }
@@ -148,6 +166,7 @@ public class JdbcEscalationRepository implements EscalationRepository {
         dsl.insertInto(ESCALATION_LOG, ESCALATION_LOG.ESCALATION_ID, ESCALATION_LOG.EVENT, ESCALATION_LOG.DATE)
                 .values(escalation.id().id(), EscalationEventType.resolved, at)
                 .execute();
+        factsRepository.refreshEscalation(escalation.id());
 
         return escalation.toBuilder()
                 .resolvedAt(at)
@@ -193,26 +212,37 @@ public class JdbcEscalationRepository implements EscalationRepository {
     @Transactional(readOnly = true)
     @Override
     public ImmutableList<Escalation> listByTicketId(TicketId ticketId) {
-        return listByCondition(ESCALATION.TICKET_ID.eq(ticketId.id()), null, null);
+        return listByCondition(ESCALATION.TICKET_ID.eq(ticketId.id()), List.of(), null, null);
     }
 
     @Transactional(readOnly = true)
     @Override
     public Page<Escalation> findByQuery(EscalationQuery query) {
         Condition condition = queryToCondition(query);
+        EscalationId after = query.after();
+        Condition seekCondition = after == null ? noCondition() : ESCALATION.ID.lt(after.id());
 
-        Long offset = query.unlimited() ? null : query.page() * query.pageSize();
+        Long offset = query.unlimited() || after != null ? null : query.page() * query.pageSize();
         Long limit = query.unlimited() ? null : query.pageSize();
-        ImmutableList<Escalation> content = listByCondition(condition, offset, limit);
-
-        long totalEscalations = checkNotNull(
-                dsl.select(bigCount()).from(ESCALATION).where(condition).fetchOne(0, Long.class));
+        // Newest first; the primary key is the order, so a cursor seeks straight to the next page
+        ImmutableList<Escalation> content =
+                listByCondition(condition.and(seekCondition), List.of(ESCALATION.ID.desc()), offset, limit);
+
+        EscalationQuery countQuery =
+                query.toBuilder().page(0).pageSize(1).after(null).unlimited(true).build();
+        long totalEscalations = checkNotNull(escalationCountCache.get(countQuery, () -> checkNotNull(
+                dsl.select(bigCount()).from(ESCALATION).where(condition).fetchOne(0, Long.class))));
+        @Nullable String nextCursor = null;
+        if (!query.unlimited() && content.size() == query.pageSize()) {
+            nextCursor = Long.toString(checkNotNull(content.getLast().id()).id());
+        }
         return new Page<>(
                 content,
                 query.page(),
                 (int) Math.ceil((double) totalEscalations
                         / query.pageSize()), // Convert to double before dividing, then use Math.ceil to round up
-                totalEscalations);
+                totalEscalations,
+                nextCursor);
     }
 
     private Condition queryToCondition(EscalationQuery query) {
@@ -262,10 +292,11 @@ public class JdbcEscalationRepository implements EscalationRepository {
     }
 
     private ImmutableList<Escalation> listByCondition(
-            Condition condition, @Nullable Long offset, @Nullable Long limit) {
+            Condition condition, List<OrderField<?>> order, @Nullable Long offset, @Nullable Long limit) {
         List<Escalation> escalations = dsl.select(getSelectFields())
                 .from(ESCALATION)
                 .where(condition)
+                .orderBy(order)
                 .limit(
                         offset != null ? value(offset) : noField(Long.class),
                         limit != null ? value(limit) : noField(Long.class))
@@ -3,8 +3,8 @@ package com.coreeng.supportbot.escalation.rest;
 import static com.google.common.collect.ImmutableList.toImmutableList;
 
 import com.coreeng.supportbot.escalation.*;
-import com.coreeng.supportbot.slack.client.SlackClient;
 import com.coreeng.supportbot.slack.client.SlackGetMessageByTsRequest;
+import com.coreeng.supportbot.slack.permalink.PermalinkService;
 import com.coreeng.supportbot.ticket.*;
 import com.coreeng.supportbot.util.Page;
 import com.google.common.collect.ImmutableList;
@@ -30,7 +30,7 @@ public class EscalationController {
     private final EscalationQueryService escalationQueryService;
     private final TicketQueryService ticketQueryService;
     private final EscalationUIMapper mapper;
-    private final SlackClient slackClient;
+    private final PermalinkService permalinkService;
 
     @GetMapping
     public Page<EscalationUI> list(
@@ -41,10 +41,12 @@ public class EscalationController {
             @Nullable @RequestParam(required = false) LocalDate dateFrom,
             @Nullable @RequestParam(required = false) LocalDate dateTo,
             @Nullable @RequestParam(required = false) EscalationStatus status,
-            @Nullable @RequestParam(required = false) String team) {
+            @Nullable @RequestParam(required = false) String team,
+            @Nullable @RequestParam(required = false) EscalationId cursor) {
         Page<Escalation> escalationsPage = escalationQueryService.findByQuery(EscalationQuery.builder()
                 .page(page)
                 .pageSize(pageSize)
+                .after(cursor)
                 .ids(ImmutableList.copyOf(ids))
                 .ticketIds(ticketId != null ? ImmutableList.of(ticketId) : ImmutableList.of())
                 .dateFrom(dateFrom)
@@ -82,7 +84,12 @@ public class EscalationController {
                 })
                 .collect(toImmutableList());
 
-        return new Page<>(uiList, page, escalationsPage.totalPages(), escalationsPage.totalElements());
+        return new Page<>(
+                uiList,
+                page,
+                escalationsPage.totalPages(),
+                escalationsPage.totalElements(),
+                escalationsPage.nextCursor());
     }
 
     @GetMapping("/{id}/permalink")
@@ -92,7 +99,7 @@ public class EscalationController {
             return ResponseEntity.notFound().build();
         }
         try {
-            String permalink = slackClient.getPermalink(
+            String permalink = permalinkService.getPermalink(
                     new SlackGetMessageByTsRequest(escalation.channelId(), escalation.threadTs()));
             return ResponseEntity.ok(Map.of("permalink", permalink));
         } catch (Exception ex) {
@@ -0,0 +1,60 @@
+package com.coreeng.supportbot.facts;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.coreeng.supportbot.config.BusinessHoursProps;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import org.springframework.stereotype.Component;
+
+/**
+ * Measures time spent within support working hours, as configured by {@link BusinessHoursProps}.
+ *
+ * <p>Times are compared as wall-clock times in the configured timezone, so a working day is always
+ * {@code workEnd - workStart} long, including on daylight saving transitions.
+ */
+@Component
+public class BusinessCalendar {
+    private final BusinessHoursProps props;
+
+    public BusinessCalendar(BusinessHoursProps props) {
+        this.props = checkNotNull(props);
+    }
+
+    /**
+     * Working time between two instants, regardless of their order.
+     */
+    public Duration businessTimeBetween(Instant from, Instant to) {
+        checkNotNull(from);
+        checkNotNull(to);
+        LocalDateTime start = LocalDateTime.ofInstant(from.isBefore(to) ? from : to, props.timezone());
+        LocalDateTime end = LocalDateTime.ofInstant(from.isBefore(to) ? to : from, props.timezone());
+
+        Duration total = Duration.ZERO;
+        for (LocalDate day = start.toLocalDate(); !day.isAfter(end.toLocalDate()); day = day.plusDays(1)) {
+            if (!isWorkingDay(day)) {
+                continue;
+            }
+            LocalDateTime spanStart = max(day.atTime(props.workStart()), start);
+            LocalDateTime spanEnd = min(day.atTime(props.workEnd()), end);
+            if (spanEnd.isAfter(spanStart)) {
+                total = total.plus(Duration.between(spanStart, spanEnd));
+            }
+        }
+        return total;
+    }
+
+    public boolean isWorkingDay(LocalDate day) {
+        return props.workDays().contains(day.getDayOfWeek()) && !props.holidays().contains(day);
+    }
+
+    private static LocalDateTime max(LocalDateTime a, LocalDateTime b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+}
@@ -0,0 +1,28 @@
+package com.coreeng.supportbot.facts;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically repairs fact rows that drifted from their source, e.g. after a write that bypassed the
+ * repositories.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(value = "facts.consistency-check.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class FactsConsistencyJob {
+    private final FactsService factsService;
+
+    @Scheduled(cron = "${facts.consistency-check.cron}")
+    public void checkConsistency() {
+        try {
+            factsService.checkConsistency(true);
+        } catch (Exception e) {
+            log.atError().setCause(e).log("Error while checking facts consistency");
+        }
+    }
+}
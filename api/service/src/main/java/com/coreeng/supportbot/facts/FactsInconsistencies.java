@@ -0,0 +1,13 @@
+package com.coreeng.supportbot.facts;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * @param queryIds ids of queries whose ticket fact row is missing, stale or orphaned
+ * @param escalationIds ids of escalations whose fact row is missing, stale or orphaned
+ */
+public record FactsInconsistencies(ImmutableList<Long> queryIds, ImmutableList<Long> escalationIds) {
+    public boolean isEmpty() {
+        return queryIds.isEmpty() && escalationIds.isEmpty();
+    }
+}
@@ -0,0 +1,3 @@
+package com.coreeng.supportbot.facts;
+
+public record FactsRebuildResult(int ticketFacts, int escalationFacts) {}
@@ -0,0 +1,40 @@
+package com.coreeng.supportbot.facts;
+
+import com.coreeng.supportbot.escalation.EscalationId;
+import com.coreeng.supportbot.ticket.TicketId;
+import com.google.common.collect.ImmutableCollection;
+
+/**
+ * Persisted ticket and escalation facts read by dashboards and metrics.
+ *
+ * <p>A fact row holds a query/ticket or an escalation together with its first/last status log
+ * timestamps and tag arrays. Writers refresh the affected row in their own transaction; {@link
+ * #rebuild()} and {@link #findInconsistencies()} recompute rows from the same source.
+ */
+public interface FactsRepository {
+    void refreshQuery(long queryId);
+
+    void refreshTicket(TicketId ticketId);
+
+    void refreshEscalation(EscalationId escalationId);
+
+    /**
+     * Recomputes the tag labels of every ticket and escalation tagged with one of the codes.
+     */
+    void refreshTags(ImmutableCollection<String> tagCodes);
+
+    /**
+     * Recomputes all fact rows from scratch, blocking concurrent refreshes until done.
+     */
+    FactsRebuildResult rebuild();
+
+    /**
+     * Compares stored fact rows with freshly computed ones.
+     */
+    FactsInconsistencies findInconsistencies();
+
+    /**
+     * Recomputes the fact rows listed in {@code inconsistencies}.
+     */
+    void repair(FactsInconsistencies inconsistencies);
+}
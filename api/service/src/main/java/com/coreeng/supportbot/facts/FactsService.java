@@ -0,0 +1,66 @@
+package com.coreeng.supportbot.facts;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+/** Rebuilds and checks the ticket and escalation facts behind dashboards and metrics. */
+@Service
+@Slf4j
+public class FactsService {
+    private final FactsRepository repository;
+    private final AtomicInteger inconsistentTicketFacts = new AtomicInteger();
+    private final AtomicInteger inconsistentEscalationFacts = new AtomicInteger();
+
+    public FactsService(FactsRepository repository, MeterRegistry meterRegistry) {
+        this.repository = repository;
+        Gauge.builder("facts_inconsistent_rows", inconsistentTicketFacts, AtomicInteger::get)
+                .description("Fact rows that differed from their source in the last consistency check")
+                .tag("table", "ticket_facts")
+                .register(meterRegistry);
+        Gauge.builder("facts_inconsistent_rows", inconsistentEscalationFacts, AtomicInteger::get)
+                .description("Fact rows that differed from their source in the last consistency check")
+                .tag("table", "escalation_facts")
+                .register(meterRegistry);
+    }
+
+    public FactsRebuildResult rebuild() {
+        log.info("Rebuilding ticket and escalation facts");
+        FactsRebuildResult result = repository.rebuild();
+        inconsistentTicketFacts.set(0);
+        inconsistentEscalationFacts.set(0);
+        log.atInfo()
+                .addArgument(result::ticketFacts)
+                .addArgument(result::escalationFacts)
+                .log("Rebuilt {} ticket facts and {} escalation facts");
+        return result;
+    }
+
+    /**
+     * Finds fact rows that differ from a fresh computation and, if {@code repair} is set, recomputes
+     * them.
+     *
+     * @return the rows found inconsistent before any repair
+     */
+    public FactsInconsistencies checkConsistency(boolean repair) {
+        FactsInconsistencies inconsistencies = repository.findInconsistencies();
+        inconsistentTicketFacts.set(inconsistencies.queryIds().size());
+        inconsistentEscalationFacts.set(inconsistencies.escalationIds().size());
+        if (inconsistencies.isEmpty()) {
+            log.debug("Ticket and escalation facts are consistent");
+            return inconsistencies;
+        }
+
+        log.atWarn()
+                .addArgument(() -> inconsistencies.queryIds().size())
+                .addArgument(() -> inconsistencies.escalationIds().size())
+                .log("Found {} inconsistent ticket facts and {} inconsistent escalation facts");
+        if (repair) {
+            repository.repair(inconsistencies);
+            log.info("Repaired inconsistent facts");
+        }
+        return inconsistencies;
+    }
+}
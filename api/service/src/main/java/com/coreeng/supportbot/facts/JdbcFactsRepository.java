@@ -0,0 +1,272 @@
+package com.coreeng.supportbot.facts;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static java.util.stream.Collectors.joining;
+
+import com.coreeng.supportbot.escalation.EscalationId;
+import com.coreeng.supportbot.ticket.TicketId;
+import com.google.common.collect.ImmutableCollection;
+import com.google.common.collect.ImmutableList;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.jooq.DSLContext;
+import org.jooq.Record;
+import org.jooq.Result;
+import org.jspecify.annotations.Nullable;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Maintains {@code ticket_facts} and {@code escalation_facts} by upserting rows selected from the
+ * {@code ticket_facts_source} and {@code escalation_facts_source} views (see V38 migration).
+ *
+ * <p>Each refresh first locks the query, ticket or escalation row it recomputes. Under read committed
+ * the upsert then runs with a snapshot that includes everything committed by a concurrent writer of
+ * the same row, so the last writer to commit never stores facts that miss the other's changes.
+ *
+ * <p>Business-hours durations depend on the configured {@link BusinessCalendar}, so they can't be part
+ * of the source views. They are recomputed here for every refreshed row and are left out of the
+ * consistency check; a rebuild recomputes all of them, e.g. after the working hours change.
+ */
+@Repository
+@RequiredArgsConstructor
+@Transactional
+public class JdbcFactsRepository implements FactsRepository {
+    private static final List<String> TICKET_COLUMNS = List.of(
+            "query_id",
+            "ticket_id",
+            "status",
+            "impact",
+            "team_id",
+            "query_msg_ts",
+            "query_channel_id",
+            "query_posted_ts",
+            "first_open_ts",
+            "last_closed_ts",
+            "last_open_ts",
+            "last_stale_ts",
+            "tags",
+            "tags_ids");
+    private static final List<String> ESCALATION_COLUMNS =
+            List.of("escalation_id", "ticket_id", "team_id", "status", "open_ts", "resolved_ts", "tag_ids", "tags");
+
+    private static final FactsTable TICKET_FACTS = new FactsTable("ticket_facts", TICKET_COLUMNS);
+    private static final FactsTable ESCALATION_FACTS = new FactsTable("escalation_facts", ESCALATION_COLUMNS);
+
+    private final DSLContext dsl;
+    private final BusinessCalendar businessCalendar;
+
+    @Override
+    public void refreshQuery(long queryId) {
+        dsl.resultQuery("SELECT 1 FROM query WHERE id = ? FOR NO KEY UPDATE", queryId)
+                .fetch();
+        dsl.execute(TICKET_FACTS.upsertWhere("query_id = ?"), queryId);
+        refreshTicketDurations("query_id = ?", queryId);
+    }
+
+    @Override
+    public void refreshTicket(TicketId ticketId) {
+        checkNotNull(ticketId);
+        dsl.resultQuery("SELECT 1 FROM ticket WHERE id = ? FOR NO KEY UPDATE", ticketId.id())
+                .fetch();
+        dsl.execute(TICKET_FACTS.upsertWhere("ticket_id = ?"), ticketId.id());
+        refreshTicketDurations("ticket_id = ?", ticketId.id());
+    }
+
+    @Override
+    public void refreshEscalation(EscalationId escalationId) {
+        checkNotNull(escalationId);
+        dsl.resultQuery("SELECT 1 FROM escalation WHERE id = ? FOR NO KEY UPDATE", escalationId.id())
+                .fetch();
+        dsl.execute(ESCALATION_FACTS.upsertWhere("escalation_id = ?"), escalationId.id());
+        refreshEscalationDurations("escalation_id = ?", escalationId.id());
+    }
+
+    @Override
+    public void refreshTags(ImmutableCollection<String> tagCodes) {
+        checkNotNull(tagCodes);
+        if (tagCodes.isEmpty()) {
+            return;
+        }
+        String[] codes = tagCodes.toArray(String[]::new);
+        dsl.execute(
+                TICKET_FACTS.upsertWhere(
+                        "ticket_id IN (SELECT ticket_id FROM ticket_to_tag WHERE tag_code = ANY(?::text[]))"),
+                (Object) codes);
+        dsl.execute(
+                ESCALATION_FACTS.upsertWhere(
+                        "escalation_id IN (SELECT escalation_id FROM escalation_to_tag WHERE tag_code ="
+                                + " ANY(?::text[]))"),
+                (Object) codes);
+    }
+
+    @Override
+    public FactsRebuildResult rebuild() {
+        // Refreshes wait for the rebuild instead of racing it; dashboards keep reading the old rows
+        dsl.execute("LOCK TABLE ticket_facts, escalation_facts IN SHARE ROW EXCLUSIVE MODE");
+        dsl.execute("DELETE FROM ticket_facts");
+        dsl.execute("DELETE FROM escalation_facts");
+        int ticketFacts = dsl.execute(TICKET_FACTS.insertAll());
+        int escalationFacts = dsl.execute(ESCALATION_FACTS.insertAll());
+        refreshTicketDurations("TRUE");
+        refreshEscalationDurations("TRUE");
+        return new FactsRebuildResult(ticketFacts, escalationFacts);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public FactsInconsistencies findInconsistencies() {
+        return new FactsInconsistencies(
+                dsl.resultQuery(TICKET_FACTS.diff()).fetch(0, Long.class).stream()
+                        .collect(toImmutableList()),
+                dsl.resultQuery(ESCALATION_FACTS.diff()).fetch(0, Long.class).stream()
+                        .collect(toImmutableList()));
+    }
+
+    @Override
+    public void repair(FactsInconsistencies inconsistencies) {
+        checkNotNull(inconsistencies);
+        ImmutableList<Long> queryIds = inconsistencies.queryIds();
+        if (!queryIds.isEmpty()) {
+            Long[] ids = queryIds.toArray(Long[]::new);
+            // Rows with no source row left are orphans, the upsert alone would keep them
+            dsl.execute(
+                    "DELETE FROM ticket_facts f WHERE f.query_id = ANY(?::bigint[])"
+                            + " AND NOT EXISTS (SELECT 1 FROM ticket_facts_source s WHERE s.query_id = f.query_id)",
+                    (Object) ids);
+            dsl.execute(TICKET_FACTS.upsertWhere("query_id = ANY(?::bigint[])"), (Object) ids);
+            refreshTicketDurations("query_id = ANY(?::bigint[])", (Object) ids);
+        }
+        ImmutableList<Long> escalationIds = inconsistencies.escalationIds();
+        if (!escalationIds.isEmpty()) {
+            Long[] ids = escalationIds.toArray(Long[]::new);
+            dsl.execute(
+                    "DELETE FROM escalation_facts f WHERE f.escalation_id = ANY(?::bigint[])"
+                            + " AND NOT EXISTS (SELECT 1 FROM escalation_facts_source s"
+                            + " WHERE s.escalation_id = f.escalation_id)",
+                    (Object) ids);
+            dsl.execute(ESCALATION_FACTS.upsertWhere("escalation_id = ANY(?::bigint[])"), (Object) ids);
+            refreshEscalationDurations("escalation_id = ANY(?::bigint[])", (Object) ids);
+        }
+    }
+
+    private void refreshTicketDurations(String condition, Object... bindings) {
+        Result<Record> rows = dsl.resultQuery(
+                        "SELECT query_id, query_posted_ts, first_open_ts, last_closed_ts FROM ticket_facts WHERE "
+                                + condition,
+                        bindings)
+                .fetch();
+        if (rows.isEmpty()) {
+            return;
+        }
+        Long[] queryIds = new Long[rows.size()];
+        Double[] responseSeconds = new Double[rows.size()];
+        Double[] resolutionSeconds = new Double[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            Record row = rows.get(i);
+            OffsetDateTime firstOpen = row.get("first_open_ts", OffsetDateTime.class);
+            queryIds[i] = row.get("query_id", Long.class);
+            responseSeconds[i] = businessSeconds(row.get("query_posted_ts", OffsetDateTime.class), firstOpen);
+            resolutionSeconds[i] = businessSeconds(firstOpen, row.get("last_closed_ts", OffsetDateTime.class));
+        }
+        dsl.execute(
+                """
+                UPDATE ticket_facts f
+                SET response_business_seconds = v.response_seconds,
+                    resolution_business_seconds = v.resolution_seconds
+                FROM unnest(?::bigint[], ?::float8[], ?::float8[]) AS v(query_id, response_seconds, resolution_seconds)
+                WHERE f.query_id = v.query_id
+                  AND (f.response_business_seconds, f.resolution_business_seconds)
+                      IS DISTINCT FROM (v.response_seconds, v.resolution_seconds)
+                """,
+                queryIds,
+                responseSeconds,
+                resolutionSeconds);
+    }
+
+    private void refreshEscalationDurations(String condition, Object... bindings) {
+        Result<Record> rows = dsl.resultQuery(
+                        "SELECT escalation_id, open_ts, resolved_ts FROM escalation_facts WHERE " + condition,
+                        bindings)
+                .fetch();
+        if (rows.isEmpty()) {
+            return;
+        }
+        Long[] escalationIds = new Long[rows.size()];
+        Double[] resolutionSeconds = new Double[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            Record row = rows.get(i);
+            escalationIds[i] = row.get("escalation_id", Long.class);
+            resolutionSeconds[i] = businessSeconds(
+                    row.get("open_ts", OffsetDateTime.class), row.get("resolved_ts", OffsetDateTime.class));
+        }
+        dsl.execute(
+                """
+                UPDATE escalation_facts f
+                SET resolution_business_seconds = v.resolution_seconds
+                FROM unnest(?::bigint[], ?::float8[]) AS v(escalation_id, resolution_seconds)
+                WHERE f.escalation_id = v.escalation_id
+                  AND f.resolution_business_seconds IS DISTINCT FROM v.resolution_seconds
+                """,
+                escalationIds,
+                resolutionSeconds);
+    }
+
+    @Nullable private Double businessSeconds(@Nullable OffsetDateTime from, @Nullable OffsetDateTime to) {
+        if (from == null || to == null) {
+            return null;
+        }
+        Duration duration = businessCalendar.businessTimeBetween(from.toInstant(), to.toInstant());
+        return duration.getSeconds() + duration.getNano() / 1e9;
+    }
+
+    /**
+     * A fact table and its source view ({@code <table>_source}), keyed by the first column.
+     */
+    private record FactsTable(String table, List<String> columns) {
+        String key() {
+            return columns.getFirst();
+        }
+
+        String columnList() {
+            return String.join(", ", columns);
+        }
+
+        String insertAll() {
+            return "INSERT INTO %1$s (%2$s) SELECT %2$s FROM %1$s_source".formatted(table, columnList());
+        }
+
+        /**
+         * Upserts the source rows matching {@code condition}, skipping rows that haven't changed.
+         */
+        String upsertWhere(String condition) {
+            String assignments =
+                    columns.stream().skip(1).map(c -> c + " = excluded." + c).collect(joining(", "));
+            String stored = columns.stream().map(c -> table + "." + c).collect(joining(", "));
+            String excluded = columns.stream().map(c -> "excluded." + c).collect(joining(", "));
+            return """
+                INSERT INTO %1$s (%2$s)
+                SELECT %2$s FROM %1$s_source WHERE %3$s
+                ON CONFLICT (%4$s) DO UPDATE SET %5$s
+                WHERE (%6$s) IS DISTINCT FROM (%7$s)
+                """.formatted(table, columnList(), condition, key(), assignments, stored, excluded);
+        }
+
+        /**
+         * Keys of rows that are missing, different or orphaned compared to the source view.
+         */
+        String diff() {
+            return """
+                SELECT DISTINCT %3$s FROM (
+                    (SELECT %2$s FROM %1$s_source EXCEPT SELECT %2$s FROM %1$s)
+                    UNION ALL
+                    (SELECT %2$s FROM %1$s EXCEPT SELECT %2$s FROM %1$s_source)
+                ) diff
+                ORDER BY %3$s
+                """.formatted(table, columnList(), key());
+        }
+    }
+}
@@ -0,0 +1,4 @@
+@NullMarked
+package com.coreeng.supportbot.facts;
+
+import org.jspecify.annotations.NullMarked;
@@ -0,0 +1,65 @@
+package com.coreeng.supportbot.facts.rest;
+
+import com.coreeng.supportbot.facts.FactsInconsistencies;
+import com.coreeng.supportbot.facts.FactsRebuildResult;
+import com.coreeng.supportbot.facts.FactsService;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Operator endpoints to rebuild the dashboard facts and check them against their source.
+ */
+@RestController
+@RequestMapping("/facts")
+@RequiredArgsConstructor
+public class FactsController {
+    private static final int MAX_LISTED_IDS = 100;
+
+    private final FactsService factsService;
+
+    @PostMapping("/rebuild")
+    public ResponseEntity<RebuildResponse> rebuild() {
+        FactsRebuildResult result = factsService.rebuild();
+        return ResponseEntity.ok(new RebuildResponse(result.ticketFacts(), result.escalationFacts()));
+    }
+
+    @GetMapping("/consistency")
+    public ResponseEntity<ConsistencyResponse> checkConsistency() {
+        return ResponseEntity.ok(ConsistencyResponse.of(factsService.checkConsistency(false), false));
+    }
+
+    @PostMapping("/repair")
+    public ResponseEntity<ConsistencyResponse> repair() {
+        return ResponseEntity.ok(ConsistencyResponse.of(factsService.checkConsistency(true), true));
+    }
+
+    public record RebuildResponse(int ticketFacts, int escalationFacts) {}
+
+    /**
+     * Lists at most {@value #MAX_LISTED_IDS} ids per table; the counts are always complete.
+     */
+    public record ConsistencyResponse(
+            boolean consistent,
+            boolean repaired,
+            int inconsistentTicketFacts,
+            int inconsistentEscalationFacts,
+            List<Long> queryIds,
+            List<Long> escalationIds) {
+        static ConsistencyResponse of(FactsInconsistencies inconsistencies, boolean repaired) {
+            return new ConsistencyResponse(
+                    inconsistencies.isEmpty(),
+                    repaired && !inconsistencies.isEmpty(),
+                    inconsistencies.queryIds().size(),
+                    inconsistencies.escalationIds().size(),
+                    inconsistencies.queryIds().stream().limit(MAX_LISTED_IDS).toList(),
+                    inconsistencies.escalationIds().stream()
+                            .limit(MAX_LISTED_IDS)
+                            .toList());
+        }
+    }
+}
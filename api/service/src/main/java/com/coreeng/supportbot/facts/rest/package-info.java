@@ -0,0 +1,4 @@
+@NullMarked
+package com.coreeng.supportbot.facts.rest;
+
+import org.jspecify.annotations.NullMarked;
@@ -7,17 +7,19 @@ public interface GitHubClient {
     /**
      * Fetches PR metadata.
      *
-     * @param includeRequestedTeamMembers when {@code false}, skips expanding the PR's requested team
-     *     reviewers into member logins (an org Members:Read call) — leaving {@code
-     *     requestedTeamReviewerLogins} empty. Callers pass {@code false} when that list won't be used, so
-     *     repos that don't need it never make the call or require the scope.
+     * @param requestedTeamMembers expands the PR's requested team reviewers into member logins (an org
+     *     Members:Read call unless cached); {@code null} skips it, leaving {@code requestedTeamReviewerLogins}
+     *     empty. Callers pass {@code null} when that list won't be used, so repos that don't need it never make
+     *     the call or require the scope.
      */
-    GitHubPullRequest getPullRequest(String repositoryName, int pullNumber, boolean includeRequestedTeamMembers);
+    GitHubPullRequest getPullRequest(
+            String repositoryName, int pullNumber, @Nullable RequestedTeamMembers requestedTeamMembers);
 
-    /** Fetches PR metadata including requested-team-member resolution. */
-    default GitHubPullRequest getPullRequest(String repositoryName, int pullNumber) {
-        return getPullRequest(repositoryName, pullNumber, true);
-    }
+    /**
+     * Fetches only the PR itself, without its reviews or requested teams. Callers use it to tell whether
+     * PR metadata fetched earlier is still current.
+     */
+    GitHubPullRequestVersion getPullRequestVersion(String repositoryName, int pullNumber);
 
     /**
      * @return the file content, or {@code null} if the file does not exist (404)
@@ -1,9 +1,15 @@
 package com.coreeng.supportbot.github;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -20,6 +26,10 @@ import org.springframework.web.client.RestClientException;
  * <p>Never throws: any failure — transport error, GraphQL {@code errors}, or missing data — yields
  * {@code null} so the lifecycle degrades to "code owners not yet satisfied" rather than breaking the
  * poll. GitHub already does the CODEOWNERS path-matching; we only read the result.
+ *
+ * <p>{@link #fetchPullRequests} reads whole PRs — state, mergeability, reviews, review requests and
+ * {@code reviewDecision} — for many PRs across repositories in one aliased query, so the lifecycle poll
+ * doesn't pay several REST calls per PR.
  */
 public class GitHubGraphQlClient {
 
@@ -43,6 +53,48 @@ public class GitHubGraphQlClient {
               }
             }""";
 
+    // Everything GitHubPrSourceClient maps to PrMetadata. A page that doesn't hold every review or review
+    // request makes the PR fall back to the REST path, which pages through them.
+    private static final String PULL_REQUEST_FRAGMENT = """
+            fragment trackedPullRequest on PullRequest {
+              number
+              state
+              isDraft
+              createdAt
+              mergeable
+              author { login }
+              reviewDecision
+              reviews(first: 100) {
+                pageInfo { hasNextPage }
+                nodes { state submittedAt author { login } }
+              }
+              reviewRequests(first: 50) {
+                pageInfo { hasNextPage }
+                nodes {
+                  asCodeOwner
+                  requestedReviewer {
+                    ... on User { login url }
+                    ... on Team { combinedSlug url }
+                  }
+                }
+              }
+            }""";
+
+    // Members of the requested teams, for the requested-team review fallback; needs org Members: Read
+    private static final String REQUESTED_TEAM_MEMBERS = """
+            requestedTeams: reviewRequests(first: 50) {
+              nodes {
+                requestedReviewer {
+                  ... on Team {
+                    members(first: 100) {
+                      pageInfo { hasNextPage }
+                      nodes { login }
+                    }
+                  }
+                }
+              }
+            }""";
+
     private final RestClient restClient;
 
     public GitHubGraphQlClient(RestClient gitHubGraphQlRestClient) {
@@ -113,6 +165,230 @@ public class GitHubGraphQlClient {
         return new CodeownerReview(parseDecision(pr.path("reviewDecision")), extractCodeOwners(pr));
     }
 
+    /**
+     * Fetches many PRs in one query, grouped by repository. Like the rest of this class it never throws: a
+     * PR that couldn't be read completely — a GraphQL error on it, more reviews or review requests than one
+     * page holds, a review without author — is left out of the result, and a failed request returns an
+     * empty map. Closed PRs come back without reviews and requested teams, as from the REST path.
+     *
+     * @param reposWithRequestedTeamMembers repositories whose PRs also resolve the members of their
+     *     requested teams into {@code requestedTeamReviewerLogins}; left empty for the others
+     */
+    public Map<PullRequestRef, GitHubPullRequest> fetchPullRequests(
+            List<PullRequestRef> prs, Set<String> reposWithRequestedTeamMembers) {
+        Map<String, List<PullRequestRef>> byRepo = new LinkedHashMap<>();
+        for (PullRequestRef pr : prs) {
+            List<PullRequestRef> repoPrs = byRepo.computeIfAbsent(pr.repositoryName(), r -> new ArrayList<>());
+            if (!repoPrs.contains(pr)) {
+                repoPrs.add(pr);
+            }
+        }
+        List<String> declarations = new ArrayList<>();
+        Map<String, Object> variables = new HashMap<>();
+        StringBuilder selection = new StringBuilder();
+        List<List<PullRequestRef>> queried = new ArrayList<>();
+        for (Map.Entry<String, List<PullRequestRef>> entry : byRepo.entrySet()) {
+            String repositoryName = entry.getKey();
+            int slash = repositoryName.indexOf('/');
+            if (slash <= 0 || slash == repositoryName.length() - 1) {
+                LOG.atWarn()
+                        .addArgument(repositoryName)
+                        .log("Invalid GitHub repo name for GraphQL (expected org/repo): {}");
+                continue;
+            }
+            int r = queried.size();
+            declarations.add("$owner%d: String!, $name%d: String!".formatted(r, r));
+            variables.put("owner" + r, repositoryName.substring(0, slash));
+            variables.put("name" + r, repositoryName.substring(slash + 1));
+            String teamMembers = reposWithRequestedTeamMembers.contains(repositoryName) ? REQUESTED_TEAM_MEMBERS : "";
+            selection.append("  repo%d: repository(owner: $owner%d, name: $name%d) {\n".formatted(r, r, r));
+            for (PullRequestRef pr : entry.getValue()) {
+                selection.append("    pr%d: pullRequest(number: %d) { ...trackedPullRequest %s }\n"
+                        .formatted(pr.number(), pr.number(), teamMembers));
+            }
+            selection.append("  }\n");
+            queried.add(entry.getValue());
+        }
+        if (queried.isEmpty()) {
+            return Map.of();
+        }
+        String query = "query(" + String.join(", ", declarations) + ") {\n" + selection + "}\n" + PULL_REQUEST_FRAGMENT;
+        JsonNode root;
+        try {
+            root = restClient
+                    .post()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(Map.of("query", query, "variables", variables))
+                    .retrieve()
+                    .body(JsonNode.class);
+        } catch (RestClientException e) {
+            LOG.atWarn()
+                    .addArgument(prs::size)
+                    .addArgument(e::getMessage)
+                    .log("GitHub GraphQL request for a batch of {} PRs failed: {}");
+            return Map.of();
+        }
+        if (root == null) {
+            return Map.of();
+        }
+        // Field-level errors name the aliases they hit; only those PRs (or repositories) are dropped. An
+        // error without a path is about the whole query.
+        Set<String> failed = new HashSet<>();
+        for (JsonNode error : root.path("errors")) {
+            JsonNode path = error.path("path");
+            if (!path.isArray() || path.isEmpty()) {
+                LOG.atWarn()
+                        .addArgument(prs::size)
+                        .addArgument(error::toString)
+                        .log("GitHub GraphQL batch of {} PRs failed: {}");
+                return Map.of();
+            }
+            failed.add(path.size() == 1 ? path.get(0).asText() : path.get(0).asText() + "." + path.get(1).asText());
+        }
+        if (!failed.isEmpty()) {
+            LOG.atWarn()
+                    .addArgument(failed::toString)
+                    .addArgument(() -> root.path("errors").toString())
+                    .log("GitHub GraphQL batch returned errors for {}: {}");
+        }
+        JsonNode data = root.path("data");
+        Map<PullRequestRef, GitHubPullRequest> fetched = new HashMap<>();
+        for (int r = 0; r < queried.size(); r++) {
+            String repoAlias = "repo" + r;
+            if (failed.contains(repoAlias)) {
+                continue;
+            }
+            for (PullRequestRef ref : queried.get(r)) {
+                String prAlias = "pr" + ref.number();
+                if (failed.contains(repoAlias + "." + prAlias)) {
+                    continue;
+                }
+                boolean includeTeamMembers = reposWithRequestedTeamMembers.contains(ref.repositoryName());
+                GitHubPullRequest pr =
+                        parsePullRequest(ref, data.path(repoAlias).path(prAlias), includeTeamMembers);
+                if (pr != null) {
+                    fetched.put(ref, pr);
+                }
+            }
+        }
+        return fetched;
+    }
+
+    private static @Nullable GitHubPullRequest parsePullRequest(
+            PullRequestRef ref, JsonNode pr, boolean includeRequestedTeamMembers) {
+        GitHubPullRequest.PrState state = parseState(pr.path("state"));
+        Instant createdAt = parseInstant(pr.path("createdAt"));
+        if (state == null || createdAt == null) {
+            return null;
+        }
+        List<GitHubPullRequestReview> reviews = List.of();
+        List<String> requestedTeamReviewerLogins = List.of();
+        if (state == GitHubPullRequest.PrState.OPEN) {
+            if (hasNextPage(pr.path("reviews")) || hasNextPage(pr.path("reviewRequests"))) {
+                return null;
+            }
+            reviews = parseReviews(pr.path("reviews"));
+            if (includeRequestedTeamMembers) {
+                requestedTeamReviewerLogins = parseRequestedTeamMembers(pr.path("requestedTeams"));
+            }
+            if (reviews == null || requestedTeamReviewerLogins == null) {
+                return null;
+            }
+        }
+        JsonNode author = pr.path("author");
+        return new GitHubPullRequest(
+                ref.repositoryName(),
+                ref.number(),
+                createdAt,
+                state,
+                parseMergeable(pr.path("mergeable")),
+                null,
+                requestedTeamReviewerLogins,
+                reviews,
+                author.hasNonNull("login") ? author.get("login").asText() : null,
+                parseDecision(pr.path("reviewDecision")),
+                extractCodeOwners(pr),
+                pr.path("isDraft").asBoolean(false));
+    }
+
+    private static GitHubPullRequest.@Nullable PrState parseState(JsonNode node) {
+        return switch (node.asText()) {
+            case "OPEN" -> GitHubPullRequest.PrState.OPEN;
+            case "CLOSED" -> GitHubPullRequest.PrState.CLOSED;
+            case "MERGED" -> GitHubPullRequest.PrState.MERGED;
+            default -> null;
+        };
+    }
+
+    /** {@code UNKNOWN} while GitHub is still computing it, like the REST {@code mergeable: null}. */
+    private static @Nullable Boolean parseMergeable(JsonNode node) {
+        return switch (node.asText()) {
+            case "MERGEABLE" -> Boolean.TRUE;
+            case "CONFLICTING" -> Boolean.FALSE;
+            default -> null;
+        };
+    }
+
+    /** Submitted reviews, or {@code null} when one can't be mapped — the REST path rejects those too. */
+    private static @Nullable List<GitHubPullRequestReview> parseReviews(JsonNode reviews) {
+        List<GitHubPullRequestReview> parsed = new ArrayList<>();
+        for (JsonNode node : reviews.path("nodes")) {
+            String state = node.path("state").asText();
+            if (state.equals("PENDING")) {
+                continue;
+            }
+            JsonNode author = node.path("author");
+            Instant submittedAt = parseInstant(node.path("submittedAt"));
+            if (!author.hasNonNull("login") || submittedAt == null) {
+                return null;
+            }
+            try {
+                parsed.add(new GitHubPullRequestReview(
+                        author.get("login").asText(),
+                        GitHubPullRequestReview.ReviewState.valueOf(state),
+                        submittedAt));
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+        return parsed;
+    }
+
+    /** Logins of the requested teams' members, or {@code null} when a team has more than one page. */
+    private static @Nullable List<String> parseRequestedTeamMembers(JsonNode requestedTeams) {
+        List<String> logins = new ArrayList<>();
+        for (JsonNode node : requestedTeams.path("nodes")) {
+            JsonNode members = node.path("requestedReviewer").path("members");
+            if (members.isMissingNode()) {
+                continue;
+            }
+            if (hasNextPage(members)) {
+                return null;
+            }
+            for (JsonNode member : members.path("nodes")) {
+                if (member.hasNonNull("login")) {
+                    logins.add(member.get("login").asText());
+                }
+            }
+        }
+        return logins.stream().distinct().toList();
+    }
+
+    private static boolean hasNextPage(JsonNode connection) {
+        return connection.path("pageInfo").path("hasNextPage").asBoolean(false);
+    }
+
+    private static @Nullable Instant parseInstant(JsonNode node) {
+        if (!node.isTextual()) {
+            return null;
+        }
+        try {
+            return Instant.parse(node.asText());
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
     private static GitHubPullRequest.@Nullable ReviewDecision parseDecision(JsonNode node) {
         if (!node.isTextual()) {
             return null;
@@ -158,6 +434,9 @@ public class GitHubGraphQlClient {
         return base + "/graphql";
     }
 
+    /** A PR to fetch with {@link #fetchPullRequests}. */
+    public record PullRequestRef(String repositoryName, int number) {}
+
     /** GitHub's aggregate review verdict for a PR plus the still-pending code-owner reviewers. */
     public record CodeownerReview(
             GitHubPullRequest.@Nullable ReviewDecision reviewDecision, List<CodeOwnerReviewer> codeOwnerReviewers) {
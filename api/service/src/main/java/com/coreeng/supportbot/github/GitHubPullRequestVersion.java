@@ -0,0 +1,11 @@
+package com.coreeng.supportbot.github;
+
+import java.time.Instant;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * The fields of a PR that tell whether an earlier {@link GitHubPullRequest} fetch can be reused:
+ * {@code updatedAt} moves on every push, review, comment and state change, while {@code mergeable} can change
+ * with the base branch without moving {@code updatedAt}.
+ */
+public record GitHubPullRequestVersion(@Nullable Instant updatedAt, @Nullable Boolean mergeable) {}
@@ -3,6 +3,7 @@ package com.coreeng.supportbot.github;
 import java.io.IOException;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import org.jspecify.annotations.Nullable;
@@ -157,7 +158,7 @@ public final class Hub4jGitHubClient implements GitHubClient {
      * incomplete membership set.
      */
     private @Nullable List<String> resolveRequestedTeamMembers(
-            GHPullRequest pr, String repositoryName, int pullNumber) {
+            GHPullRequest pr, String repositoryName, int pullNumber, RequestedTeamMembers requestedTeamMembers) {
         List<GHTeam> requestedTeams;
         try {
             requestedTeams = pr.getRequestedTeams();
@@ -172,25 +173,45 @@ public final class Hub4jGitHubClient implements GitHubClient {
         }
         List<String> logins = new ArrayList<>();
         for (GHTeam team : requestedTeams) {
-            try {
-                team.listMembers().toList().stream().map(GHUser::getLogin).forEach(logins::add);
-            } catch (IOException e) {
+            Collection<String> members = requestedTeamMembers.of(repositoryName, team.getSlug());
+            if (members == null) {
                 LOG.atWarn()
-                        .setCause(e)
-                        .addArgument(team::getName)
+                        .addArgument(team::getSlug)
                         .addArgument(() -> repositoryName)
                         .addArgument(() -> pullNumber)
                         .log(
                                 "Could not list members of requested team {} for {}#{}; requested-team-review fallback degraded to unresolved for this poll");
                 return null;
             }
+            logins.addAll(members);
         }
         return logins.stream().distinct().toList();
     }
 
+    @Override
+    public GitHubPullRequestVersion getPullRequestVersion(String repositoryName, int pullNumber) {
+        try {
+            GHPullRequest pr = github.getRepository(repositoryName).getPullRequest(pullNumber);
+            return new GitHubPullRequestVersion(instantFromHub4j((Object) pr.getUpdatedAt()), pr.getMergeable());
+        } catch (IllegalArgumentException e) {
+            throw new GitHubApiException(
+                    0, "Invalid repository name '%s': %s".formatted(repositoryName, e.getMessage()), e);
+        } catch (GHFileNotFoundException e) {
+            throw new GitHubApiException(404, "PR not found: %s#%d".formatted(repositoryName, pullNumber), e);
+        } catch (HttpException e) {
+            throw new GitHubApiException(
+                    e.getResponseCode(),
+                    "GitHub API %d for PR %s#%d".formatted(e.getResponseCode(), repositoryName, pullNumber),
+                    e);
+        } catch (IOException e) {
+            throw new GitHubApiException(
+                    0, "GitHub API call failed for PR %s#%d".formatted(repositoryName, pullNumber), e);
+        }
+    }
+
     @Override
     public GitHubPullRequest getPullRequest(
-            String repositoryName, int pullNumber, boolean includeRequestedTeamMembers) {
+            String repositoryName, int pullNumber, @Nullable RequestedTeamMembers requestedTeamMembers) {
         try {
             GHPullRequest pr = github.getRepository(repositoryName).getPullRequest(pullNumber);
             Instant createdAt = instantFromHub4j((Object) pr.getCreatedAt());
@@ -229,8 +250,8 @@ public final class Hub4jGitHubClient implements GitHubClient {
                 // requested-team review fallback. The caller skips it when that fallback won't run (an explicit
                 // github-team-slug, or a requires-codeowners repo whose gate is the GraphQL reviewDecision), so
                 // those repos never pay the lookup — or need the scope.
-                requestedTeamReviewerLogins = includeRequestedTeamMembers
-                        ? resolveRequestedTeamMembers(pr, repositoryName, pullNumber)
+                requestedTeamReviewerLogins = requestedTeamMembers != null
+                        ? resolveRequestedTeamMembers(pr, repositoryName, pullNumber, requestedTeamMembers)
                         : List.of();
                 reviews = pr.listReviews().toList().stream()
                         .filter(review -> review.getState() != GHPullRequestReviewState.PENDING)
@@ -0,0 +1,17 @@
+package com.coreeng.supportbot.github;
+
+import java.util.Collection;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Looks up the members of a team requested to review a PR, e.g. from a cache shared with other team lookups, so
+ * fetching a PR doesn't list its requested teams' members every time.
+ */
+@FunctionalInterface
+public interface RequestedTeamMembers {
+    /**
+     * @param repositoryName the PR's repository, whose org the team belongs to
+     * @return the team's member logins, or {@code null} when they couldn't be listed
+     */
+    @Nullable Collection<String> of(String repositoryName, String teamSlug);
+}
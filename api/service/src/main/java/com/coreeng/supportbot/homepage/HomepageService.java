@@ -8,19 +8,16 @@ import com.coreeng.supportbot.config.SlackChannelRegistry;
 import com.coreeng.supportbot.config.TicketAssignmentProps;
 import com.coreeng.supportbot.enums.ImpactsRegistry;
 import com.coreeng.supportbot.slack.SlackId;
-import com.coreeng.supportbot.slack.client.SlackClient;
 import com.coreeng.supportbot.slack.client.SlackGetMessageByTsRequest;
+import com.coreeng.supportbot.slack.permalink.PermalinkService;
 import com.coreeng.supportbot.teams.SupportTeamService;
 import com.coreeng.supportbot.teams.TeamMemberFetcher;
 import com.coreeng.supportbot.ticket.*;
 import com.coreeng.supportbot.util.Page;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import java.time.Instant;
 import java.util.*;
-import java.util.concurrent.CompletionService;
-import java.util.concurrent.ExecutorCompletionService;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Future;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jspecify.annotations.Nullable;
@@ -31,8 +28,7 @@ import org.springframework.stereotype.Service;
 @Slf4j
 public class HomepageService {
     private final TicketQueryService ticketQueryService;
-    private final ExecutorService executor;
-    private final SlackClient slackClient;
+    private final PermalinkService permalinkService;
     private final SlackChannelRegistry channelRegistry;
     private final ImpactsRegistry impactsRegistry;
     private final SupportTeamService supportTeamService;
@@ -58,39 +54,16 @@ public class HomepageService {
     }
 
     private Map<TicketId, String> collectPermalinks(ImmutableList<DetailedTicket> tickets) {
-        record TicketPermalink(TicketId id, String permalink) {}
-        CompletionService<TicketPermalink> completionService = new ExecutorCompletionService<>(executor);
-        List<Future<TicketPermalink>> futures = new ArrayList<>(tickets.size());
+        ImmutableList<SlackGetMessageByTsRequest> queries = tickets.stream()
+                .map(t -> new SlackGetMessageByTsRequest(t.ticket().channelId(), t.ticket().queryTs()))
+                .collect(toImmutableList());
+        ImmutableMap<SlackGetMessageByTsRequest, String> permalinks = permalinkService.getPermalinks(queries);
         Map<TicketId, String> result = new HashMap<>();
-        try {
-            for (DetailedTicket t : tickets) {
-                futures.add(completionService.submit(() -> {
-                    Ticket ticket = t.ticket();
-                    try {
-                        String permalink = slackClient.getPermalink(
-                                new SlackGetMessageByTsRequest(ticket.channelId(), ticket.queryTs()));
-                        return new TicketPermalink(checkNotNull(ticket.id()), permalink);
-                    } catch (Exception e) {
-                        log.atError()
-                                .setCause(e)
-                                .addArgument(ticket::id)
-                                .log("Error while collecting permalink for ticket {}");
-                        throw e;
-                    }
-                }));
+        for (int i = 0; i < tickets.size(); i++) {
+            String permalink = permalinks.get(queries.get(i));
+            if (permalink != null) {
+                result.put(checkNotNull(tickets.get(i).ticket().id()), permalink);
             }
-            for (int i = 0;
-                    i < futures.size();
-                    i++) { // NOPMD - suppressed ForLoopCanBeForeach - the loop is not foreach in principle
-                TicketPermalink tp = completionService.take().get();
-                result.put(tp.id(), tp.permalink());
-            }
-        } catch (Exception e) {
-            for (Future<TicketPermalink> f : futures) {
-                f.cancel(false);
-            }
-            log.atError().setCause(e).log("Error while collecting permalinks");
-            throw new RuntimeException(e);
         }
         return result;
     }
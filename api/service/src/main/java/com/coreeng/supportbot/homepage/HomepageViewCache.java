@@ -0,0 +1,137 @@
+package com.coreeng.supportbot.homepage;
+
+import com.coreeng.supportbot.config.HomepageViewCacheProps;
+import com.coreeng.supportbot.escalation.EscalationCreated;
+import com.coreeng.supportbot.escalation.EscalationResolved;
+import com.coreeng.supportbot.slack.client.SlackView;
+import com.coreeng.supportbot.ticket.TicketEscalated;
+import com.coreeng.supportbot.ticket.TicketStatusChanged;
+import com.coreeng.supportbot.ticket.TicketUpdated;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rendered App Home views, shared by all users asking for the same {@link HomepageView.State}.
+ *
+ * <p>Requests for a view that is already being rendered wait for that render instead of starting their own.
+ * Ticket and escalation changes drop all views; the TTL bounds staleness for changes made elsewhere, e.g. by
+ * another replica.
+ */
+@Component
+@Slf4j
+public class HomepageViewCache {
+    private final HomepageService homepageService;
+    private final HomepageViewMapper viewMapper;
+    private final Cache<HomepageView.State, CompletableFuture<SlackView>> views;
+    private final ViewMeters defaultViewMeters;
+    private final ViewMeters customViewMeters;
+
+    public HomepageViewCache(
+            HomepageService homepageService,
+            HomepageViewMapper viewMapper,
+            HomepageViewCacheProps props,
+            MeterRegistry meterRegistry) {
+        this.homepageService = homepageService;
+        this.viewMapper = viewMapper;
+        this.views = Caffeine.newBuilder()
+                .expireAfterWrite(props.ttl())
+                .maximumSize(props.maximumSize())
+                .build();
+        this.defaultViewMeters = new ViewMeters("default", meterRegistry);
+        this.customViewMeters = new ViewMeters("custom", meterRegistry);
+    }
+
+    public SlackView getView(HomepageView.State state) {
+        ViewMeters meters = state.equals(HomepageView.State.getDefault()) ? defaultViewMeters : customViewMeters;
+        CompletableFuture<SlackView> rendering = new CompletableFuture<>();
+        CompletableFuture<SlackView> existing = views.asMap().putIfAbsent(state, rendering);
+        if (existing != null) {
+            meters.hits.increment();
+            return join(existing);
+        }
+
+        meters.misses.increment();
+        try {
+            Timer.Sample sample = Timer.start();
+            SlackView view = viewMapper.render(homepageService.getTicketsView(state));
+            sample.stop(meters.renderTimer);
+            rendering.complete(view);
+            return view;
+        } catch (RuntimeException e) {
+            // Don't cache the failure, the next request renders again
+            views.asMap().remove(state, rendering);
+            rendering.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    @EventListener
+    public void onTicketUpdated(TicketUpdated event) {
+        invalidate();
+    }
+
+    @EventListener
+    public void onTicketStatusChanged(TicketStatusChanged event) {
+        invalidate();
+    }
+
+    @EventListener
+    public void onTicketEscalated(TicketEscalated event) {
+        invalidate();
+    }
+
+    @EventListener
+    public void onEscalationCreated(EscalationCreated event) {
+        invalidate();
+    }
+
+    @EventListener
+    public void onEscalationResolved(EscalationResolved event) {
+        invalidate();
+    }
+
+    private void invalidate() {
+        log.atDebug().log("Invalidating cached homepage views");
+        views.invalidateAll();
+    }
+
+    private static SlackView join(CompletableFuture<SlackView> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException re ? re : e;
+        }
+    }
+
+    // Views are tagged as default or custom only, so that page and filter combinations don't multiply the series
+    private static class ViewMeters {
+        private final Counter hits;
+        private final Counter misses;
+        private final Timer renderTimer;
+
+        ViewMeters(String view, MeterRegistry meterRegistry) {
+            hits = requests(view, "hit", meterRegistry);
+            misses = requests(view, "miss", meterRegistry);
+            renderTimer = Timer.builder("homepage_view_render")
+                    .description("Time spent rendering a homepage view that wasn't cached")
+                    .tag("view", view)
+                    .register(meterRegistry);
+        }
+
+        private static Counter requests(String view, String result, MeterRegistry meterRegistry) {
+            return Counter.builder("homepage_view_requests")
+                    .description("Homepage view requests, by whether a cached or in-flight render was reused")
+                    .tag("view", view)
+                    .tag("result", result)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -1,8 +1,7 @@
 package com.coreeng.supportbot.homepage.handler;
 
-import com.coreeng.supportbot.homepage.HomepageService;
 import com.coreeng.supportbot.homepage.HomepageView;
-import com.coreeng.supportbot.homepage.HomepageViewMapper;
+import com.coreeng.supportbot.homepage.HomepageViewCache;
 import com.coreeng.supportbot.slack.SlackEventHandler;
 import com.coreeng.supportbot.slack.SlackId;
 import com.coreeng.supportbot.slack.client.SlackClient;
@@ -17,8 +16,7 @@ import org.springframework.stereotype.Component;
 @RequiredArgsConstructor
 @Slf4j
 public class HomeOpenedEventHandler implements SlackEventHandler<AppHomeOpenedEvent> {
-    private final HomepageService homepageService;
-    private final HomepageViewMapper viewMapper;
+    private final HomepageViewCache viewCache;
     private final SlackClient slackClient;
 
     @Override
@@ -31,7 +29,7 @@ public class HomeOpenedEventHandler implements SlackEventHandler<AppHomeOpenedEv
         if (event.getEvent().getView() != null) {
             return;
         }
-        HomepageView homepageView = homepageService.getTicketsView(HomepageView.State.getDefault());
-        slackClient.updateHomeView(new SlackId.User(event.getEvent().getUser()), viewMapper.render(homepageView));
+        slackClient.updateHomeView(
+                new SlackId.User(event.getEvent().getUser()), viewCache.getView(HomepageView.State.getDefault()));
     }
 }
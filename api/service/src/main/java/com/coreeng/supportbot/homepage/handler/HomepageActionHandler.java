@@ -4,12 +4,13 @@ import static com.slack.api.model.view.Views.view;
 
 import com.coreeng.supportbot.homepage.HomepageFilterMapper;
 import com.coreeng.supportbot.homepage.HomepageOperation;
-import com.coreeng.supportbot.homepage.HomepageService;
 import com.coreeng.supportbot.homepage.HomepageView;
+import com.coreeng.supportbot.homepage.HomepageViewCache;
 import com.coreeng.supportbot.homepage.HomepageViewMapper;
 import com.coreeng.supportbot.slack.SlackBlockActionHandler;
 import com.coreeng.supportbot.slack.SlackId;
 import com.coreeng.supportbot.slack.client.SlackClient;
+import com.coreeng.supportbot.slack.client.SlackView;
 import com.slack.api.app_backend.interactive_components.payload.BlockActionPayload;
 import com.slack.api.bolt.context.builtin.ActionContext;
 import com.slack.api.bolt.request.builtin.BlockActionRequest;
@@ -25,7 +26,7 @@ import org.springframework.stereotype.Component;
 @RequiredArgsConstructor
 @Slf4j
 public class HomepageActionHandler implements SlackBlockActionHandler {
-    private final HomepageService homepageService;
+    private final HomepageViewCache viewCache;
     private final HomepageViewMapper viewMapper;
     private final HomepageFilterMapper filterMapper;
     private final SlackClient slackClient;
@@ -43,27 +44,24 @@ public class HomepageActionHandler implements SlackBlockActionHandler {
                 case refresh -> {
                     String metadataJson = req.getPayload().getView().getPrivateMetadata();
                     HomepageView.State currentState = viewMapper.parseMetadataOrDefault(metadataJson);
-                    HomepageView homepageView = homepageService.getTicketsView(currentState);
                     slackClient.updateHomeView(
-                            new SlackId.User(req.getPayload().getUser().getId()), viewMapper.render(homepageView));
+                            new SlackId.User(req.getPayload().getUser().getId()), viewCache.getView(currentState));
                 }
                 case nextPage -> {
                     String metadataJson = req.getPayload().getView().getPrivateMetadata();
                     HomepageView.State currentState = viewMapper.parseMetadataOrDefault(metadataJson);
-                    HomepageView homepageView = homepageService.getTicketsView(currentState.toBuilder()
+                    SlackView view = viewCache.getView(currentState.toBuilder()
                             .page(currentState.page() + 1)
                             .build());
-                    slackClient.updateHomeView(
-                            new SlackId.User(req.getPayload().getUser().getId()), viewMapper.render(homepageView));
+                    slackClient.updateHomeView(new SlackId.User(req.getPayload().getUser().getId()), view);
                 }
                 case previousPage -> {
                     String metadataJson = req.getPayload().getView().getPrivateMetadata();
                     HomepageView.State currentState = viewMapper.parseMetadataOrDefault(metadataJson);
-                    HomepageView homepageView = homepageService.getTicketsView(currentState.toBuilder()
+                    SlackView view = viewCache.getView(currentState.toBuilder()
                             .page(currentState.page() - 1)
                             .build());
-                    slackClient.updateHomeView(
-                            new SlackId.User(req.getPayload().getUser().getId()), viewMapper.render(homepageView));
+                    slackClient.updateHomeView(new SlackId.User(req.getPayload().getUser().getId()), view);
                 }
                 case filter -> {
                     String metadataJson = req.getPayload().getView().getPrivateMetadata();
@@ -3,12 +3,12 @@ package com.coreeng.supportbot.homepage.handler;
 import com.coreeng.supportbot.homepage.HomepageFilter;
 import com.coreeng.supportbot.homepage.HomepageFilterMapper;
 import com.coreeng.supportbot.homepage.HomepageOperation;
-import com.coreeng.supportbot.homepage.HomepageService;
 import com.coreeng.supportbot.homepage.HomepageView;
-import com.coreeng.supportbot.homepage.HomepageViewMapper;
+import com.coreeng.supportbot.homepage.HomepageViewCache;
 import com.coreeng.supportbot.slack.SlackId;
 import com.coreeng.supportbot.slack.SlackViewSubmitHandler;
 import com.coreeng.supportbot.slack.client.SlackClient;
+import com.coreeng.supportbot.slack.client.SlackView;
 import com.slack.api.app_backend.views.response.ViewSubmissionResponse;
 import com.slack.api.bolt.context.builtin.ViewSubmissionContext;
 import com.slack.api.bolt.request.builtin.ViewSubmissionRequest;
@@ -19,9 +19,8 @@ import org.springframework.stereotype.Component;
 @Component
 @RequiredArgsConstructor
 public class HomepageFilterSubmissionHandler implements SlackViewSubmitHandler {
-    private final HomepageService homepageService;
+    private final HomepageViewCache viewCache;
     private final HomepageFilterMapper filterMapper;
-    private final HomepageViewMapper viewMapper;
     private final SlackClient slackClient;
 
     @Override
@@ -33,10 +32,9 @@ public class HomepageFilterSubmissionHandler implements SlackViewSubmitHandler {
     public ViewSubmissionResponse apply(ViewSubmissionRequest request, ViewSubmissionContext context) {
         HomepageFilter filter =
                 filterMapper.extractSubmittedValues(request.getPayload().getView());
-        HomepageView view = homepageService.getTicketsView(
+        SlackView view = viewCache.getView(
                 HomepageView.State.builder().filter(filter).build());
-        slackClient.updateHomeView(
-                new SlackId.User(request.getPayload().getUser().getId()), viewMapper.render(view));
+        slackClient.updateHomeView(new SlackId.User(request.getPayload().getUser().getId()), view);
         return new ViewSubmissionResponse();
     }
 }
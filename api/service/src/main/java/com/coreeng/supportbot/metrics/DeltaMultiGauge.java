@@ -0,0 +1,58 @@
+package com.coreeng.supportbot.metrics;
+
+import com.google.common.util.concurrent.AtomicDouble;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A {@link MultiGauge} whose rows keep their meters between refreshes.
+ *
+ * <p>Each row reads its value from a holder owned by this class, so a changed value is only written to
+ * the holder. The gauge is re-registered only when rows appear or disappear, and then keeps the meters of
+ * the rows that stayed.
+ */
+class DeltaMultiGauge {
+    private final MultiGauge gauge;
+    private final Map<Tags, AtomicDouble> rows = new HashMap<>();
+
+    DeltaMultiGauge(String name, MeterRegistry meterRegistry) {
+        this.gauge = MultiGauge.builder(name).register(meterRegistry);
+    }
+
+    /**
+     * @return number of rows that were added, removed or changed value
+     */
+    int publish(Map<Tags, ? extends Number> values) {
+        int changed = 0;
+        Map<Tags, AtomicDouble> next = new HashMap<>();
+        for (Map.Entry<Tags, ? extends Number> entry : values.entrySet()) {
+            double value = entry.getValue().doubleValue();
+            AtomicDouble holder = rows.get(entry.getKey());
+            if (holder == null) {
+                holder = new AtomicDouble(value);
+                changed++;
+            } else if (Double.compare(holder.get(), value) != 0) {
+                holder.set(value);
+                changed++;
+            }
+            next.put(entry.getKey(), holder);
+        }
+
+        if (!next.keySet().equals(rows.keySet())) {
+            changed += (int) rows.keySet().stream()
+                    .filter(tags -> !next.containsKey(tags))
+                    .count();
+            rows.clear();
+            rows.putAll(next);
+            gauge.register(
+                    rows.entrySet().stream()
+                            .map(e -> MultiGauge.Row.of(e.getKey(), e.getValue(), AtomicDouble::get))
+                            .toList(),
+                    false);
+        }
+        return changed;
+    }
+}
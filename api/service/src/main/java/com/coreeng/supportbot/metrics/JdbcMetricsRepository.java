@@ -1,93 +1,72 @@
 package com.coreeng.supportbot.metrics;
 
 import static com.coreeng.supportbot.dbschema.Tables.*;
-import static org.jooq.impl.DSL.count;
-import static org.jooq.impl.DSL.exists;
-import static org.jooq.impl.DSL.notExists;
-import static org.jooq.impl.DSL.selectOne;
 
-import com.coreeng.supportbot.dbschema.enums.EscalationStatus;
+import com.coreeng.supportbot.util.JsonMapper;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.jooq.DSLContext;
-import org.jooq.Field;
+import org.jooq.JSONB;
+import org.jooq.Record;
+import org.jooq.Result;
+import org.jooq.Results;
+import org.jspecify.annotations.Nullable;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 
+/**
+ * Computes all metrics in one multi-statement round trip and stores the result in {@code metrics_snapshot}.
+ *
+ * <p>Only the replica holding the metrics advisory lock computes a snapshot; the lock is released with
+ * the transaction. Computing under repeatable read makes every statement see the same data.
+ */
 @Repository
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class JdbcMetricsRepository implements MetricsRepository {
+    private static final int SNAPSHOT_ID = 1;
+    private static final String SNAPSHOT_LOCK = "supportbot_metrics_snapshot";
 
-    private final DSLContext dsl;
+    private static final String TICKETS = """
+            SELECT
+                t.status::text AS status,
+                t.impact_code,
+                t.team,
+                EXISTS (
+                    SELECT 1 FROM escalation e WHERE e.ticket_id = t.id AND e.status <> 'resolved'
+                ) AS escalated,
+                t.rating_submitted,
+                COUNT(*) AS count
+            FROM ticket t
+            GROUP BY t.status, t.impact_code, t.team, escalated, t.rating_submitted
+            """;
 
-    @Override
-    public List<TicketMetric> getTicketMetrics() {
-        Field<Boolean> escalated = exists(selectOne()
-                        .from(ESCALATION)
-                        .where(ESCALATION.TICKET_ID.eq(TICKET.ID))
-                        .and(ESCALATION.STATUS.ne(EscalationStatus.resolved)))
-                .as("escalated");
-
-        return dsl.select(
-                        TICKET.STATUS,
-                        TICKET.IMPACT_CODE,
-                        TICKET.TEAM,
-                        escalated,
-                        TICKET.RATING_SUBMITTED,
-                        count().as("count"))
-                .from(TICKET)
-                .groupBy(TICKET.STATUS, TICKET.IMPACT_CODE, TICKET.TEAM, escalated, TICKET.RATING_SUBMITTED)
-                .fetch(r -> new TicketMetric(
-                        r.get(TICKET.STATUS).getLiteral(),
-                        r.get(TICKET.IMPACT_CODE) != null ? r.get(TICKET.IMPACT_CODE) : "unknown",
-                        r.get(TICKET.TEAM) != null ? r.get(TICKET.TEAM) : "unassigned",
-                        r.get(escalated),
-                        r.get(TICKET.RATING_SUBMITTED),
-                        r.get("count", Long.class)));
-    }
+    private static final String ESCALATIONS = """
+            SELECT e.status::text AS status, e.team, t.impact_code, COUNT(*) AS count
+            FROM escalation e
+            JOIN ticket t ON e.ticket_id = t.id
+            GROUP BY e.status, e.team, t.impact_code
+            """;
 
-    @Override
-    public List<EscalationMetric> getEscalationMetrics() {
-        return dsl.select(ESCALATION.STATUS, ESCALATION.TEAM, TICKET.IMPACT_CODE, count().as("count"))
-                .from(ESCALATION)
-                .join(TICKET)
-                .on(ESCALATION.TICKET_ID.eq(TICKET.ID))
-                .groupBy(ESCALATION.STATUS, ESCALATION.TEAM, TICKET.IMPACT_CODE)
-                .fetch(r -> new EscalationMetric(
-                        r.get(ESCALATION.STATUS).getLiteral(),
-                        r.get(ESCALATION.TEAM) != null ? r.get(ESCALATION.TEAM) : "unknown",
-                        r.get(TICKET.IMPACT_CODE) != null ? r.get(TICKET.IMPACT_CODE) : "unknown",
-                        r.get("count", Long.class)));
-    }
+    private static final String RATINGS_BY_VALUE = """
+            SELECT rating, COUNT(*) AS count
+            FROM ratings
+            GROUP BY rating
+            """;
 
-    @Override
-    public List<RatingMetric> getRatingMetrics() {
-        return dsl.select(RATINGS.RATING, count().as("count"))
-                .from(RATINGS)
-                .groupBy(RATINGS.RATING)
-                .fetch(r -> new RatingMetric(r.get(RATINGS.RATING), r.get("count", Long.class)));
-    }
+    private static final String UNATTENDED_QUERIES = """
+            SELECT COUNT(*) AS count
+            FROM query q
+            WHERE NOT EXISTS (SELECT 1 FROM ticket t WHERE t.query_id = q.id)
+            """;
 
-    @Override
-    public long getUnattendedQueryCount() {
-        Long count = dsl.selectCount()
-                .from(QUERY)
-                .where(notExists(selectOne().from(TICKET).where(TICKET.QUERY_ID.eq(QUERY.ID))))
-                .fetchOne(0, Long.class);
-        return count != null ? count : 0L;
-    }
-
-    @Override
-    public ResponseSLAMetric getResponseSLAMetrics() {
-        var result = dsl.resultQuery("""
+    private static final String RESPONSE_SLA = """
             WITH response_durations AS (
-                SELECT EXTRACT(EPOCH FROM business_time_between(
-                    query_posted_ts,
-                    first_open_ts,
-                    'Europe/London'
-                )) AS duration
-                FROM aggregated_ticket_data
+                SELECT response_business_seconds AS duration
+                FROM ticket_facts
                 WHERE first_open_ts IS NOT NULL
                   AND query_posted_ts IS NOT NULL
                   AND first_open_ts > query_posted_ts
@@ -97,20 +76,12 @@ public class JdbcMetricsRepository implements MetricsRepository {
                 COALESCE(percentile_cont(0.9) WITHIN GROUP (ORDER BY duration), 0.0) AS p90
             FROM response_durations
             WHERE duration IS NOT NULL AND duration > 0
-            """).fetchSingle();
-        return new ResponseSLAMetric(result.get("p50", Double.class), result.get("p90", Double.class));
-    }
+            """;
 
-    @Override
-    public ResolutionSLAMetric getResolutionSLAMetrics() {
-        var result = dsl.resultQuery("""
+    private static final String RESOLUTION_SLA = """
             WITH resolution_durations AS (
-                SELECT EXTRACT(EPOCH FROM business_time_between(
-                    first_open_ts,
-                    last_closed_ts,
-                    'Europe/London'
-                )) AS duration
-                FROM aggregated_ticket_data
+                SELECT resolution_business_seconds AS duration
+                FROM ticket_facts
                 WHERE last_closed_ts IS NOT NULL
                   AND first_open_ts IS NOT NULL
                   AND last_closed_ts > first_open_ts
@@ -121,50 +92,37 @@ public class JdbcMetricsRepository implements MetricsRepository {
                 COALESCE(percentile_cont(0.9) WITHIN GROUP (ORDER BY duration), 0.0) AS p90
             FROM resolution_durations
             WHERE duration IS NOT NULL AND duration > 0
-            """).fetchSingle();
-        return new ResolutionSLAMetric(
-                result.get("p50", Double.class), result.get("p75", Double.class), result.get("p90", Double.class));
-    }
+            """;
 
-    @Override
-    public List<EscalationByTagMetric> getEscalationsByTag() {
-        return dsl.resultQuery("""
+    private static final String ESCALATIONS_BY_TAG = """
             SELECT
                 unnest(et.tags) AS tag,
                 COUNT(*) AS count
-            FROM aggregated_escalation_data et
+            FROM escalation_facts et
             WHERE et.open_ts IS NOT NULL
               AND et.tags IS NOT NULL
             GROUP BY tag
             HAVING COUNT(*) > 0
             ORDER BY count DESC
-            """)
-                .fetch(r -> new EscalationByTagMetric(r.get("tag", String.class), r.get("count", Long.class)));
-    }
+            """;
 
-    @Override
-    public Double getLongestActiveTicketSeconds() {
-        var result = dsl.resultQuery("""
+    private static final String LONGEST_ACTIVE_TICKET = """
             SELECT COALESCE(MAX(EXTRACT(EPOCH FROM (NOW() - first_open_ts))), 0.0) AS max_age_seconds
-            FROM aggregated_ticket_data
+            FROM ticket_facts
             WHERE status IN ('opened', 'stale')
               AND first_open_ts IS NOT NULL
-            """).fetchSingle();
-        return result.get("max_age_seconds", Double.class);
-    }
+            """;
 
-    @Override
     // This has been taken from support-ui
-    public List<WeeklyActivityMetric> getWeeklyActivity() {
-        return dsl.resultQuery("""
+    private static final String WEEKLY_ACTIVITY = """
             WITH current_week AS (
                 SELECT
                     COUNT(DISTINCT CASE WHEN DATE_TRUNC('week', td.first_open_ts::timestamptz) = DATE_TRUNC('week', now()) THEN td.ticket_id END) AS opened,
                     COUNT(DISTINCT CASE WHEN DATE_TRUNC('week', td.last_closed_ts::timestamptz) = DATE_TRUNC('week', now()) THEN td.ticket_id END) AS closed,
                     COUNT(DISTINCT CASE WHEN td.status = 'stale' AND DATE_TRUNC('week', td.first_open_ts::timestamptz) = DATE_TRUNC('week', now()) THEN td.ticket_id END) AS stale,
                     COUNT(DISTINCT CASE WHEN DATE_TRUNC('week', ed.open_ts::timestamptz) = DATE_TRUNC('week', now()) THEN ed.escalation_id END) AS escalated
-                FROM aggregated_ticket_data td
-                LEFT JOIN aggregated_escalation_data ed ON td.ticket_id = ed.ticket_id
+                FROM ticket_facts td
+                LEFT JOIN escalation_facts ed ON td.ticket_id = ed.ticket_id
             ),
             last_week AS (
                 SELECT
@@ -172,8 +130,8 @@ public class JdbcMetricsRepository implements MetricsRepository {
                     COUNT(DISTINCT CASE WHEN DATE_TRUNC('week', td.last_closed_ts::timestamptz) = DATE_TRUNC('week', now() - interval '1 week') THEN td.ticket_id END) AS closed,
                     COUNT(DISTINCT CASE WHEN td.status = 'stale' AND DATE_TRUNC('week', td.first_open_ts::timestamptz) = DATE_TRUNC('week', now() - interval '1 week') THEN td.ticket_id END) AS stale,
                     COUNT(DISTINCT CASE WHEN DATE_TRUNC('week', ed.open_ts::timestamptz) = DATE_TRUNC('week', now() - interval '1 week') THEN ed.escalation_id END) AS escalated
-                FROM aggregated_ticket_data td
-                LEFT JOIN aggregated_escalation_data ed ON td.ticket_id = ed.ticket_id
+                FROM ticket_facts td
+                LEFT JOIN escalation_facts ed ON td.ticket_id = ed.ticket_id
             )
             SELECT 'opened' AS type, 'current' AS week, cw.opened AS count FROM current_week cw
             UNION ALL SELECT 'opened', 'previous', lw.opened FROM last_week lw
@@ -183,24 +141,15 @@ public class JdbcMetricsRepository implements MetricsRepository {
             UNION ALL SELECT 'stale', 'previous', lw.stale FROM last_week lw
             UNION ALL SELECT 'escalated', 'current', cw.escalated FROM current_week cw
             UNION ALL SELECT 'escalated', 'previous', lw.escalated FROM last_week lw
-            """)
-                .fetch(r -> new WeeklyActivityMetric(
-                        r.get("type", String.class), r.get("week", String.class), r.get("count", Long.class)));
-    }
+            """;
 
-    @Override
     // taken from support-ui
-    public List<ResolutionTimeByTagMetric> getResolutionTimeByTag() {
-        return dsl.resultQuery("""
+    private static final String RESOLUTION_TIME_BY_TAG = """
             WITH tag_durations AS (
                 SELECT
                     unnest(td.tags) AS tag,
-                    EXTRACT(EPOCH FROM business_time_between(
-                        td.first_open_ts,
-                        td.last_closed_ts,
-                        'Europe/London'
-                    )) AS duration
-                FROM aggregated_ticket_data td
+                    td.resolution_business_seconds AS duration
+                FROM ticket_facts td
                 WHERE td.status = 'closed'
                   AND td.last_closed_ts IS NOT NULL
                   AND td.first_open_ts IS NOT NULL
@@ -214,8 +163,113 @@ public class JdbcMetricsRepository implements MetricsRepository {
             GROUP BY tag
             HAVING COUNT(*) > 0
             ORDER BY p50 DESC
-            """)
-                .fetch(r -> new ResolutionTimeByTagMetric(
-                        r.get("tag", String.class), r.get("p50", Double.class), r.get("p90", Double.class)));
+            """;
+
+    // Order of the result sets returned by computeSnapshot
+    private static final List<String> SNAPSHOT_STATEMENTS = List.of(
+            TICKETS,
+            ESCALATIONS,
+            RATINGS_BY_VALUE,
+            UNATTENDED_QUERIES,
+            RESPONSE_SLA,
+            RESOLUTION_SLA,
+            ESCALATIONS_BY_TAG,
+            LONGEST_ACTIVE_TICKET,
+            WEEKLY_ACTIVITY,
+            RESOLUTION_TIME_BY_TAG);
+
+    private final DSLContext dsl;
+    private final JsonMapper jsonMapper;
+
+    @Nullable @Override
+    @Transactional(isolation = Isolation.REPEATABLE_READ)
+    public MetricsSnapshot refreshSnapshot(Duration maxAge) {
+        Boolean locked = dsl.resultQuery("SELECT pg_try_advisory_xact_lock(hashtext(?))", SNAPSHOT_LOCK)
+                .fetchSingle(0, Boolean.class);
+        if (!Boolean.TRUE.equals(locked)) {
+            return null;
+        }
+        Instant now = Instant.now();
+        Instant storedAt = dsl.select(METRICS_SNAPSHOT.COMPUTED_AT)
+                .from(METRICS_SNAPSHOT)
+                .where(METRICS_SNAPSHOT.ID.eq(SNAPSHOT_ID))
+                .fetchOne(METRICS_SNAPSHOT.COMPUTED_AT);
+        if (storedAt != null && storedAt.isAfter(now.minus(maxAge))) {
+            return null;
+        }
+
+        MetricsSnapshot snapshot = computeSnapshot(now);
+        JSONB payload = JSONB.valueOf(jsonMapper.toJsonString(snapshot));
+        dsl.insertInto(METRICS_SNAPSHOT, METRICS_SNAPSHOT.ID, METRICS_SNAPSHOT.COMPUTED_AT, METRICS_SNAPSHOT.SNAPSHOT)
+                .values(SNAPSHOT_ID, now, payload)
+                .onConflict(METRICS_SNAPSHOT.ID)
+                .doUpdate()
+                .set(METRICS_SNAPSHOT.COMPUTED_AT, now)
+                .set(METRICS_SNAPSHOT.SNAPSHOT, payload)
+                .execute();
+        return snapshot;
+    }
+
+    @Nullable @Override
+    public MetricsSnapshot findSnapshot() {
+        JSONB payload = dsl.select(METRICS_SNAPSHOT.SNAPSHOT)
+                .from(METRICS_SNAPSHOT)
+                .where(METRICS_SNAPSHOT.ID.eq(SNAPSHOT_ID))
+                .fetchOne(METRICS_SNAPSHOT.SNAPSHOT);
+        return payload == null ? null : jsonMapper.fromJsonString(payload.data(), MetricsSnapshot.class);
+    }
+
+    private MetricsSnapshot computeSnapshot(Instant computedAt) {
+        Results results = dsl.fetchMany(String.join(";\n", SNAPSHOT_STATEMENTS));
+        if (results.size() != SNAPSHOT_STATEMENTS.size()) {
+            throw new IllegalStateException("Expected " + SNAPSHOT_STATEMENTS.size()
+                    + " metrics result sets, got: " + results.size());
+        }
+        Record responseSla = single(results.get(4));
+        Record resolutionSla = single(results.get(5));
+        return new MetricsSnapshot(
+                computedAt,
+                results.get(0)
+                        .map(r -> new TicketMetric(
+                                r.get("status", String.class),
+                                orDefault(r.get("impact_code", String.class), "unknown"),
+                                orDefault(r.get("team", String.class), "unassigned"),
+                                r.get("escalated", Boolean.class),
+                                r.get("rating_submitted", Boolean.class),
+                                r.get("count", Long.class))),
+                results.get(1)
+                        .map(r -> new EscalationMetric(
+                                r.get("status", String.class),
+                                orDefault(r.get("team", String.class), "unknown"),
+                                orDefault(r.get("impact_code", String.class), "unknown"),
+                                r.get("count", Long.class))),
+                results.get(2)
+                        .map(r -> new RatingMetric(r.get("rating", Integer.class), r.get("count", Long.class))),
+                single(results.get(3)).get("count", Long.class),
+                new ResponseSLAMetric(responseSla.get("p50", Double.class), responseSla.get("p90", Double.class)),
+                new ResolutionSLAMetric(
+                        resolutionSla.get("p50", Double.class),
+                        resolutionSla.get("p75", Double.class),
+                        resolutionSla.get("p90", Double.class)),
+                results.get(6)
+                        .map(r -> new EscalationByTagMetric(r.get("tag", String.class), r.get("count", Long.class))),
+                single(results.get(7)).get("max_age_seconds", Double.class),
+                results.get(8)
+                        .map(r -> new WeeklyActivityMetric(
+                                r.get("type", String.class), r.get("week", String.class), r.get("count", Long.class))),
+                results.get(9)
+                        .map(r -> new ResolutionTimeByTagMetric(
+                                r.get("tag", String.class), r.get("p50", Double.class), r.get("p90", Double.class))));
+    }
+
+    private static Record single(Result<Record> result) {
+        if (result.size() != 1) {
+            throw new IllegalStateException("Expected a single metrics row, got: " + result.size());
+        }
+        return result.getFirst();
+    }
+
+    private static String orDefault(@Nullable String value, String defaultValue) {
+        return value != null ? value : defaultValue;
     }
 }
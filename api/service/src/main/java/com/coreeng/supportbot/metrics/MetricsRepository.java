@@ -1,25 +1,19 @@
 package com.coreeng.supportbot.metrics;
 
-import java.util.List;
+import java.time.Duration;
+import org.jspecify.annotations.Nullable;
 
 public interface MetricsRepository {
-    List<TicketMetric> getTicketMetrics();
-
-    List<EscalationMetric> getEscalationMetrics();
-
-    List<RatingMetric> getRatingMetrics();
-
-    long getUnattendedQueryCount();
-
-    ResponseSLAMetric getResponseSLAMetrics();
-
-    ResolutionSLAMetric getResolutionSLAMetrics();
-
-    List<EscalationByTagMetric> getEscalationsByTag();
-
-    Double getLongestActiveTicketSeconds();
-
-    List<WeeklyActivityMetric> getWeeklyActivity();
-
-    List<ResolutionTimeByTagMetric> getResolutionTimeByTag();
+    /**
+     * Computes and stores a new snapshot, unless another replica is computing one right now or the stored
+     * snapshot is younger than {@code maxAge}.
+     *
+     * @return the new snapshot, or {@code null} if it wasn't computed by this call
+     */
+    @Nullable MetricsSnapshot refreshSnapshot(Duration maxAge);
+
+    /**
+     * @return the last stored snapshot, or {@code null} if none has been computed yet
+     */
+    @Nullable MetricsSnapshot findSnapshot();
 }
@@ -2,148 +2,174 @@ package com.coreeng.supportbot.metrics;
 
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
-import io.micrometer.core.instrument.MultiGauge;
 import io.micrometer.core.instrument.Tags;
-import java.util.ArrayList;
-import java.util.List;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+/**
+ * Publishes ticket metrics from a {@link MetricsSnapshot}.
+ *
+ * <p>On every refresh one replica computes a new snapshot and the others publish the stored one, so the
+ * metrics queries run once per interval regardless of the number of replicas. Only rows whose values
+ * changed are written to the gauges.
+ */
 @Component
 @Slf4j
 @ConditionalOnProperty(value = "metrics.enabled", havingValue = "true", matchIfMissing = false)
 public class MetricsService {
-    // TODO: Structure metric definitions better e.g. in a map
     private final MetricsRepository metricsRepository;
-    private MultiGauge ticketGauge;
-    private MultiGauge escalationGauge;
-    private MultiGauge ratingGauge;
-    private MultiGauge responseSlaGauge;
-    private MultiGauge resolutionSlaGauge;
+    private final Duration snapshotMaxAge;
+    private final DeltaMultiGauge ticketGauge;
+    private final DeltaMultiGauge escalationGauge;
+    private final DeltaMultiGauge ratingGauge;
+    private final DeltaMultiGauge responseSlaGauge;
+    private final DeltaMultiGauge resolutionSlaGauge;
     // We create a separate metric for escalations tags as each escalation can have more than 1 tag associated
-    private MultiGauge escalationsByTagGauge;
-    private MultiGauge weeklyActivityGauge;
-    private MultiGauge resolutionTimeByTagGauge;
+    private final DeltaMultiGauge escalationsByTagGauge;
+    private final DeltaMultiGauge weeklyActivityGauge;
+    private final DeltaMultiGauge resolutionTimeByTagGauge;
     private final AtomicLong unattendedQueryCount = new AtomicLong(0);
     private final AtomicReference<Double> maxTicketAgeSecs = new AtomicReference<>(0.0);
-
-    public MetricsService(MetricsRepository metricsRepository, MeterRegistry meterRegistry) {
+    private final Timer computeTimer;
+    private final Timer loadTimer;
+    private final Timer publishTimer;
+
+    public MetricsService(
+            MetricsRepository metricsRepository,
+            MeterRegistry meterRegistry,
+            @Value("${metrics.refresh-interval:60s}") Duration refreshInterval) {
         this.metricsRepository = metricsRepository;
-        ticketGauge = MultiGauge.builder("supportbot_tickets").register(meterRegistry);
-        escalationGauge = MultiGauge.builder("supportbot_escalations").register(meterRegistry);
-        ratingGauge = MultiGauge.builder("supportbot_ratings").register(meterRegistry);
-        responseSlaGauge = MultiGauge.builder("supportbot_response_sla_seconds").register(meterRegistry);
-        resolutionSlaGauge =
-                MultiGauge.builder("supportbot_resolution_sla_seconds").register(meterRegistry);
-        escalationsByTagGauge =
-                MultiGauge.builder("supportbot_escalations_by_tag").register(meterRegistry);
-        weeklyActivityGauge = MultiGauge.builder("supportbot_weekly_activity").register(meterRegistry);
-        resolutionTimeByTagGauge =
-                MultiGauge.builder("supportbot_resolution_time_by_tag_seconds").register(meterRegistry);
+        // Replicas refresh at roughly the same interval; the first one in each interval computes the snapshot
+        this.snapshotMaxAge = refreshInterval.dividedBy(2);
+        ticketGauge = new DeltaMultiGauge("supportbot_tickets", meterRegistry);
+        escalationGauge = new DeltaMultiGauge("supportbot_escalations", meterRegistry);
+        ratingGauge = new DeltaMultiGauge("supportbot_ratings", meterRegistry);
+        responseSlaGauge = new DeltaMultiGauge("supportbot_response_sla_seconds", meterRegistry);
+        resolutionSlaGauge = new DeltaMultiGauge("supportbot_resolution_sla_seconds", meterRegistry);
+        escalationsByTagGauge = new DeltaMultiGauge("supportbot_escalations_by_tag", meterRegistry);
+        weeklyActivityGauge = new DeltaMultiGauge("supportbot_weekly_activity", meterRegistry);
+        resolutionTimeByTagGauge = new DeltaMultiGauge("supportbot_resolution_time_by_tag_seconds", meterRegistry);
         Gauge.builder("supportbot_unattended_queries", unattendedQueryCount, AtomicLong::doubleValue)
                 .register(meterRegistry);
         Gauge.builder("supportbot_longest_active_ticket_seconds", maxTicketAgeSecs, AtomicReference::get)
                 .register(meterRegistry);
+        computeTimer = refreshTimer("compute", meterRegistry);
+        loadTimer = refreshTimer("load", meterRegistry);
+        publishTimer = refreshTimer("publish", meterRegistry);
+    }
+
+    private static Timer refreshTimer(String section, MeterRegistry meterRegistry) {
+        return Timer.builder("supportbot_metrics_refresh")
+                .description("Time spent refreshing metrics, by section")
+                .tag("section", section)
+                .register(meterRegistry);
     }
 
     @Scheduled(fixedRateString = "${metrics.refresh-interval:60s}")
     public void refreshMetrics() {
         log.debug("Refreshing metrics");
         try {
-            List<MultiGauge.Row<Number>> rows = new ArrayList<>();
-
-            for (TicketMetric ticket : metricsRepository.getTicketMetrics()) {
-                rows.add(toRow(ticket));
+            Timer.Sample sample = Timer.start();
+            MetricsSnapshot snapshot = metricsRepository.refreshSnapshot(snapshotMaxAge);
+            if (snapshot != null) {
+                sample.stop(computeTimer);
+            } else {
+                sample = Timer.start();
+                snapshot = metricsRepository.findSnapshot();
+                sample.stop(loadTimer);
             }
-
-            List<MultiGauge.Row<Number>> escalationRows = new ArrayList<>();
-            for (EscalationMetric escalation : metricsRepository.getEscalationMetrics()) {
-                escalationRows.add(toEscalationRow(escalation));
+            if (snapshot == null) {
+                log.debug("No metrics snapshot computed yet");
+                return;
             }
-            escalationGauge.register(escalationRows, true);
-
-            ticketGauge.register(rows, true);
 
-            List<MultiGauge.Row<Number>> ratingRows = new ArrayList<>();
-            for (RatingMetric rating : metricsRepository.getRatingMetrics()) {
-                ratingRows.add(toRatingRow(rating));
-            }
-            ratingGauge.register(ratingRows, true);
+            sample = Timer.start();
+            int changedRows = publish(snapshot);
+            sample.stop(publishTimer);
+            log.atDebug()
+                    .addArgument(changedRows)
+                    .addArgument(snapshot::computedAt)
+                    .log("Updated {} metric rows from snapshot computed at {}");
+        } catch (Exception e) {
+            log.error("Error refreshing metrics", e);
+        }
+    }
 
-            unattendedQueryCount.set(metricsRepository.getUnattendedQueryCount());
+    private int publish(MetricsSnapshot snapshot) {
+        int changed = 0;
+
+        Map<Tags, Number> ticketRows = new LinkedHashMap<>();
+        for (TicketMetric ticket : snapshot.tickets()) {
+            ticketRows.put(
+                    Tags.of(
+                            "status", ticket.status(),
+                            "impact", ticket.impact(),
+                            "team", ticket.team(),
+                            "escalated", String.valueOf(ticket.escalated()),
+                            "rated", String.valueOf(ticket.rated())),
+                    ticket.count());
+        }
+        changed += ticketGauge.publish(ticketRows);
+
+        Map<Tags, Number> escalationRows = new LinkedHashMap<>();
+        for (EscalationMetric escalation : snapshot.escalations()) {
+            escalationRows.put(
+                    Tags.of(
+                            "status", escalation.status(),
+                            "team", escalation.team(),
+                            "impact", escalation.impact()),
+                    escalation.count());
+        }
+        changed += escalationGauge.publish(escalationRows);
 
-            ResponseSLAMetric responseSla = metricsRepository.getResponseSLAMetrics();
-            if (responseSla != null) {
-                responseSlaGauge.register(
-                        List.of(
-                                MultiGauge.Row.of(Tags.of("percentile", "p50"), responseSla.p50()),
-                                MultiGauge.Row.of(Tags.of("percentile", "p90"), responseSla.p90())),
-                        true);
-            }
+        Map<Tags, Number> ratingRows = new LinkedHashMap<>();
+        for (RatingMetric rating : snapshot.ratings()) {
+            ratingRows.put(Tags.of("rating", String.valueOf(rating.rating())), rating.count());
+        }
+        changed += ratingGauge.publish(ratingRows);
 
-            ResolutionSLAMetric resolutionSla = metricsRepository.getResolutionSLAMetrics();
-            if (resolutionSla != null) {
-                resolutionSlaGauge.register(
-                        List.of(
-                                MultiGauge.Row.of(Tags.of("percentile", "p50"), resolutionSla.p50()),
-                                MultiGauge.Row.of(Tags.of("percentile", "p75"), resolutionSla.p75()),
-                                MultiGauge.Row.of(Tags.of("percentile", "p90"), resolutionSla.p90())),
-                        true);
-            }
+        unattendedQueryCount.set(snapshot.unattendedQueryCount());
 
-            List<MultiGauge.Row<Number>> escalationsByTagRows = new ArrayList<>();
-            for (EscalationByTagMetric metric : metricsRepository.getEscalationsByTag()) {
-                escalationsByTagRows.add(MultiGauge.Row.of(Tags.of("tag", metric.tag()), metric.count()));
-            }
-            escalationsByTagGauge.register(escalationsByTagRows, true);
+        ResponseSLAMetric responseSla = snapshot.responseSla();
+        changed += responseSlaGauge.publish(Map.of(
+                Tags.of("percentile", "p50"), responseSla.p50(),
+                Tags.of("percentile", "p90"), responseSla.p90()));
 
-            List<MultiGauge.Row<Number>> weeklyActivityRows = new ArrayList<>();
-            for (WeeklyActivityMetric metric : metricsRepository.getWeeklyActivity()) {
-                weeklyActivityRows.add(
-                        MultiGauge.Row.of(Tags.of("type", metric.type(), "week", metric.week()), metric.count()));
-            }
-            weeklyActivityGauge.register(weeklyActivityRows, true);
-
-            List<MultiGauge.Row<Number>> resolutionTimeByTagRows = new ArrayList<>();
-            for (ResolutionTimeByTagMetric metric : metricsRepository.getResolutionTimeByTag()) {
-                resolutionTimeByTagRows.add(
-                        MultiGauge.Row.of(Tags.of("tag", metric.tag(), "percentile", "p50"), metric.p50()));
-                resolutionTimeByTagRows.add(
-                        MultiGauge.Row.of(Tags.of("tag", metric.tag(), "percentile", "p90"), metric.p90()));
-            }
-            resolutionTimeByTagGauge.register(resolutionTimeByTagRows, true);
+        ResolutionSLAMetric resolutionSla = snapshot.resolutionSla();
+        changed += resolutionSlaGauge.publish(Map.of(
+                Tags.of("percentile", "p50"), resolutionSla.p50(),
+                Tags.of("percentile", "p75"), resolutionSla.p75(),
+                Tags.of("percentile", "p90"), resolutionSla.p90()));
 
-            maxTicketAgeSecs.set(metricsRepository.getLongestActiveTicketSeconds());
-        } catch (Exception e) {
-            log.error("Error refreshing metrics", e);
+        Map<Tags, Number> escalationsByTagRows = new LinkedHashMap<>();
+        for (EscalationByTagMetric metric : snapshot.escalationsByTag()) {
+            escalationsByTagRows.put(Tags.of("tag", metric.tag()), metric.count());
         }
-    }
+        changed += escalationsByTagGauge.publish(escalationsByTagRows);
 
-    private MultiGauge.Row<Number> toRow(TicketMetric ticket) {
-        return MultiGauge.Row.of(
-                Tags.of(
-                        "status", ticket.status(),
-                        "impact", ticket.impact(),
-                        "team", ticket.team(),
-                        "escalated", String.valueOf(ticket.escalated()),
-                        "rated", String.valueOf(ticket.rated())),
-                ticket.count());
-    }
+        Map<Tags, Number> weeklyActivityRows = new LinkedHashMap<>();
+        for (WeeklyActivityMetric metric : snapshot.weeklyActivity()) {
+            weeklyActivityRows.put(Tags.of("type", metric.type(), "week", metric.week()), metric.count());
+        }
+        changed += weeklyActivityGauge.publish(weeklyActivityRows);
 
-    private MultiGauge.Row<Number> toEscalationRow(EscalationMetric escalation) {
-        return MultiGauge.Row.of(
-                Tags.of(
-                        "status", escalation.status(),
-                        "team", escalation.team(),
-                        "impact", escalation.impact()),
-                escalation.count());
-    }
+        Map<Tags, Number> resolutionTimeByTagRows = new LinkedHashMap<>();
+        for (ResolutionTimeByTagMetric metric : snapshot.resolutionTimeByTag()) {
+            resolutionTimeByTagRows.put(Tags.of("tag", metric.tag(), "percentile", "p50"), metric.p50());
+            resolutionTimeByTagRows.put(Tags.of("tag", metric.tag(), "percentile", "p90"), metric.p90());
+        }
+        changed += resolutionTimeByTagGauge.publish(resolutionTimeByTagRows);
 
-    private MultiGauge.Row<Number> toRatingRow(RatingMetric rating) {
-        return MultiGauge.Row.of(Tags.of("rating", String.valueOf(rating.rating())), rating.count());
+        maxTicketAgeSecs.set(snapshot.longestActiveTicketSeconds());
+        return changed;
     }
 }
@@ -0,0 +1,22 @@
+package com.coreeng.supportbot.metrics;
+
+import java.time.Instant;
+import java.util.List;
+import lombok.Builder;
+
+/**
+ * All values published by {@link MetricsService}, computed together and shared between replicas.
+ */
+@Builder(toBuilder = true)
+public record MetricsSnapshot(
+        Instant computedAt,
+        List<TicketMetric> tickets,
+        List<EscalationMetric> escalations,
+        List<RatingMetric> ratings,
+        long unattendedQueryCount,
+        ResponseSLAMetric responseSla,
+        ResolutionSLAMetric resolutionSla,
+        List<EscalationByTagMetric> escalationsByTag,
+        double longestActiveTicketSeconds,
+        List<WeeklyActivityMetric> weeklyActivity,
+        List<ResolutionTimeByTagMetric> resolutionTimeByTag) {}
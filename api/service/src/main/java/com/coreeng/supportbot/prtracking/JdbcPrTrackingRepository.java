@@ -41,6 +41,13 @@ import org.springframework.transaction.annotation.Transactional;
 @Transactional
 @Slf4j
 public class JdbcPrTrackingRepository implements PrTrackingRepository {
+    private static final List<PrTrackingStatus> ACTIVE_STATUSES = List.of(
+            PrTrackingStatus.OPEN,
+            PrTrackingStatus.ESCALATED,
+            PrTrackingStatus.CHANGES_REQUESTED,
+            PrTrackingStatus.APPROVED,
+            PrTrackingStatus.AWAITING_MERGE,
+            PrTrackingStatus.MERGE_ESCALATED);
 
     private final DSLContext dsl;
     private final PrUrlResolver urlResolver;
@@ -85,13 +92,18 @@ public class JdbcPrTrackingRepository implements PrTrackingRepository {
     @Override
     public List<PrTrackingRecord> findAllActive() {
         return dsl.selectFrom(PR_TRACKING)
-                .where(PR_TRACKING.STATUS.in(
-                        PrTrackingStatus.OPEN,
-                        PrTrackingStatus.ESCALATED,
-                        PrTrackingStatus.CHANGES_REQUESTED,
-                        PrTrackingStatus.APPROVED,
-                        PrTrackingStatus.AWAITING_MERGE,
-                        PrTrackingStatus.MERGE_ESCALATED))
+                .where(PR_TRACKING.STATUS.in(ACTIVE_STATUSES))
+                .fetch()
+                .map(JdbcPrTrackingRepository::toRecord);
+    }
+
+    @Override
+    public List<PrTrackingRecord> findActiveByPullRequest(Provider provider, String repo, int prNumber) {
+        return dsl.selectFrom(PR_TRACKING)
+                .where(PR_TRACKING.PROVIDER.eq(provider.storageValue()))
+                .and(PR_TRACKING.REPO.equalIgnoreCase(repo))
+                .and(PR_TRACKING.PR_NUMBER.eq(prNumber))
+                .and(PR_TRACKING.STATUS.in(ACTIVE_STATUSES))
                 .fetch()
                 .map(JdbcPrTrackingRepository::toRecord);
     }
@@ -33,6 +33,7 @@ import com.coreeng.supportbot.ticket.TicketRepository;
 import com.coreeng.supportbot.ticket.TicketTeam;
 import com.coreeng.supportbot.ticket.TicketTeamSuggestionsService;
 import com.coreeng.supportbot.ticket.TicketTeamsSuggestion;
+import com.coreeng.supportbot.ticket.TicketUpdated;
 import com.coreeng.supportbot.ticket.slack.TicketSlackService;
 import com.google.common.collect.ImmutableList;
 import com.slack.api.methods.request.reactions.ReactionsAddRequest;
@@ -42,7 +43,6 @@ import java.time.Instant;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -55,6 +55,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jspecify.annotations.Nullable;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.util.AntPathMatcher;
 
@@ -85,6 +86,7 @@ public class PrDetectionService {
     private final SlaLookup slaLookup;
     private final PrMessageRenderer messageRenderer;
     private final PrUrlResolver prUrlResolver;
+    private final ApplicationEventPublisher publisher;
 
     // Whether any configured repo has a non-empty exclude-author-teams list. Fixed at config-bind
     // time, so it is computed once (lazily) rather than re-streamed on every message.
@@ -104,7 +106,6 @@ public class PrDetectionService {
         boolean anyOpenTracked = false;
         boolean metadataInitialized = false;
         boolean baseReactionsAdded = false;
-        Map<String, Optional<Set<String>>> teamReviewerCache = new HashMap<>();
         Optional<Set<String>> posterTeamCodes =
                 anyRepoExcludesAuthors() ? resolvePosterTeamCodes(event.userId()) : Optional.of(Set.of());
         List<PendingNotification> notifications = new ArrayList<>();
@@ -155,7 +156,6 @@ public class PrDetectionService {
                         prMetadata,
                         repoConfig,
                         posterTeamCodes,
-                        teamReviewerCache,
                         notifications,
                         pendingEscalations);
             } catch (Exception e) {
@@ -203,7 +203,6 @@ public class PrDetectionService {
         boolean anyOpenTracked = false;
         boolean metadataInitialized = false;
         boolean baseReactionsAdded = false;
-        Map<String, Optional<Set<String>>> teamReviewerCache = new HashMap<>();
         Optional<Set<String>> posterTeamCodes =
                 anyRepoExcludesAuthors() ? resolvePosterTeamCodes(event.userId()) : Optional.of(Set.of());
         List<PendingNotification> notifications = new ArrayList<>();
@@ -264,7 +263,6 @@ public class PrDetectionService {
                         prMetadata,
                         repoConfig,
                         posterTeamCodes,
-                        teamReviewerCache,
                         notifications,
                         pendingEscalations);
 
@@ -364,7 +362,6 @@ public class PrDetectionService {
             PrMetadata prMetadata,
             Optional<PrTrackingProps.Repository> repoConfig,
             Optional<Set<String>> posterTeamCodes,
-            Map<String, Optional<Set<String>>> teamReviewerCache,
             List<PendingNotification> notifications,
             List<PendingEscalation> pendingEscalations) {
 
@@ -376,8 +373,7 @@ public class PrDetectionService {
             // owners ARE the repo's maintaining team (see processCodeownerOpenPr). Checked before the SLA
             // branches since it applies whether or not the repo has an SLA configured.
             if (repoConfig.get().requiresCodeowners()) {
-                return processCodeownerOpenPr(
-                        detectedPr, ticket, canAutoCloseTicket, repoConfig.get(), prMetadata, teamReviewerCache);
+                return processCodeownerOpenPr(detectedPr, ticket, canAutoCloseTicket, repoConfig.get(), prMetadata);
             }
             // Repo is configured for PR tracking with or without SLA
             if (repoConfig.get().hasNoSla()) {
@@ -388,7 +384,6 @@ public class PrDetectionService {
                         canAutoCloseTicket,
                         repoConfig.get(),
                         prMetadata,
-                        teamReviewerCache,
                         notifications);
             } else {
                 return processOpenPr(
@@ -397,7 +392,6 @@ public class PrDetectionService {
                         canAutoCloseTicket,
                         repoConfig.get(),
                         prMetadata,
-                        teamReviewerCache,
                         notifications,
                         pendingEscalations);
             }
@@ -483,7 +477,6 @@ public class PrDetectionService {
             boolean canAutoCloseTicket,
             PrTrackingProps.Repository repoConfig,
             PrMetadata prMetadata,
-            Map<String, Optional<Set<String>>> teamReviewerCache,
             List<PendingNotification> notifications,
             List<PendingEscalation> pendingEscalations) {
 
@@ -544,8 +537,7 @@ public class PrDetectionService {
         // Note: wall-clock time progresses between the review evaluation and the SLA deadline check
         // below. For deadlines very close to now, remaining duration may go slightly negative;
         // clamping to Duration.ZERO handles this.
-        List<Review> teamReviews =
-                teamReviewFilter.filterToOwningTeam(prMetadata.reviews(), prMetadata, repoConfig, teamReviewerCache);
+        List<Review> teamReviews = teamReviewFilter.filterToOwningTeam(prMetadata.reviews(), prMetadata, repoConfig);
         Review latestVerdict = teamReviewFilter.findLatestActionableReview(teamReviews);
 
         if (Instant.now().isAfter(slaDeadline)) {
@@ -618,7 +610,6 @@ public class PrDetectionService {
             boolean canAutoCloseTicket,
             PrTrackingProps.Repository repoConfig,
             PrMetadata prMetadata,
-            Map<String, Optional<Set<String>>> teamReviewerCache,
             List<PendingNotification> notifications) {
 
         if (!matchesPathFilter(
@@ -661,8 +652,7 @@ public class PrDetectionService {
         // Mirror the SLA branch: inspect reviews already fetched with the PR so that a no-SLA PR
         // detected while already in CHANGES_REQUESTED or APPROVED state transitions correctly on
         // first sight, instead of sitting in OPEN until the poller notices and posts a duplicate.
-        List<Review> teamReviews =
-                teamReviewFilter.filterToOwningTeam(prMetadata.reviews(), prMetadata, repoConfig, teamReviewerCache);
+        List<Review> teamReviews = teamReviewFilter.filterToOwningTeam(prMetadata.reviews(), prMetadata, repoConfig);
         Review latestVerdict = teamReviewFilter.findLatestActionableReview(teamReviews);
 
         if (latestVerdict != null && latestVerdict.requestsChanges()) {
@@ -728,8 +718,7 @@ public class PrDetectionService {
             Ticket ticket,
             boolean canAutoCloseTicket,
             PrTrackingProps.Repository repoConfig,
-            PrMetadata prMetadata,
-            Map<String, Optional<Set<String>>> teamReviewerCache) {
+            PrMetadata prMetadata) {
 
         if (repoConfig.hasNoSla()
                 && !matchesPathFilter(
@@ -746,8 +735,8 @@ public class PrDetectionService {
 
         // Only give this PR a real review deadline if the pending code owners are the repo's own
         // maintaining team. Otherwise slaDeadline stays null, same as before this feature existed.
-        boolean codeOwnerIsMaintainingTeam = pendingCodeOwnersAreMaintainingTeam(
-                detectedPr, repoConfig, prMetadata.codeOwnerReviewers(), teamReviewerCache);
+        boolean codeOwnerIsMaintainingTeam =
+                pendingCodeOwnersAreMaintainingTeam(detectedPr, repoConfig, prMetadata.codeOwnerReviewers());
         ReviewSlaResolution reviewSla = codeOwnerIsMaintainingTeam
                 ? codeownerReviewSlaDeadline(detectedPr, repoConfig, prMetadata)
                 : ReviewSlaResolution.NOT_APPLICABLE;
@@ -853,8 +842,7 @@ public class PrDetectionService {
                             detectedPr.provider(),
                             detectedPr.repositoryName(),
                             detectedPr.pullNumber(),
-                            excludingOwningTeam(
-                                    detectedPr, repoConfig, prMetadata.codeOwnerReviewers(), teamReviewerCache));
+                            excludingOwningTeam(detectedPr, repoConfig, prMetadata.codeOwnerReviewers()));
                 }
                 postText(
                         text,
@@ -1015,11 +1003,13 @@ public class PrDetectionService {
             return ticket;
         }
 
-        return ticketRepository.updateTicket(ticket.toBuilder()
+        Ticket updated = ticketRepository.updateTicket(ticket.toBuilder()
                 .team(resolvedTeam)
                 .tags(resolvedTags)
                 .impact(resolvedImpact)
                 .build());
+        publisher.publishEvent(new TicketUpdated(checkNotNull(updated.id())));
+        return updated;
     }
 
     private @Nullable TicketTeam resolveFirstSuggestedTeam(String authorId) {
@@ -1388,8 +1378,7 @@ public class PrDetectionService {
     private boolean pendingCodeOwnersAreMaintainingTeam(
             DetectedPr detectedPr,
             PrTrackingProps.Repository repoConfig,
-            List<CodeOwnerRef> pending,
-            Map<String, Optional<Set<String>>> teamReviewerCache) {
+            List<CodeOwnerRef> pending) {
         if (pending.isEmpty()) {
             return false;
         }
@@ -1411,7 +1400,7 @@ public class PrDetectionService {
                         return false;
                     }
                 } else {
-                    Set<String> members = teamReviewFilter.resolveTeamMembers(coord, teamSlug, teamReviewerCache);
+                    Set<String> members = teamReviewFilter.resolveTeamMembers(coord, teamSlug);
                     if (members == null) {
                         logTeamResolutionFailed(detectedPr, teamSlug);
                         return false;
@@ -1429,7 +1418,7 @@ public class PrDetectionService {
             if (groupPath == null) {
                 return false;
             }
-            Set<String> members = teamReviewFilter.resolveTeamMembers(coord, groupPath, teamReviewerCache);
+            Set<String> members = teamReviewFilter.resolveTeamMembers(coord, groupPath);
             if (members == null) {
                 logTeamResolutionFailed(detectedPr, groupPath);
                 return false;
@@ -1461,8 +1450,7 @@ public class PrDetectionService {
     private List<CodeOwnerRef> excludingOwningTeam(
             DetectedPr detectedPr,
             PrTrackingProps.Repository repoConfig,
-            List<CodeOwnerRef> pending,
-            Map<String, Optional<Set<String>>> teamReviewerCache) {
+            List<CodeOwnerRef> pending) {
         if (pending.isEmpty() || detectedPr.provider() != Provider.GITHUB) {
             return pending;
         }
@@ -1481,7 +1469,7 @@ public class PrDetectionService {
         Set<String> members = null;
         if (pending.stream().anyMatch(ref -> !ref.isTeam())) {
             RepoCoord coord = new RepoCoord(detectedPr.provider(), detectedPr.repositoryName());
-            members = teamReviewFilter.resolveTeamMembers(coord, teamSlug, teamReviewerCache);
+            members = teamReviewFilter.resolveTeamMembers(coord, teamSlug);
             if (members == null) {
                 logTeamResolutionFailed(detectedPr, teamSlug);
             }
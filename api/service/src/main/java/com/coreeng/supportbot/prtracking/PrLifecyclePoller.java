@@ -2,6 +2,7 @@ package com.coreeng.supportbot.prtracking;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import com.coreeng.supportbot.config.PrPollProps;
 import com.coreeng.supportbot.config.PrTrackingProps;
 import com.coreeng.supportbot.dbschema.enums.PrTrackingStatus;
 import com.coreeng.supportbot.enums.EscalationTeam;
@@ -11,6 +12,8 @@ import com.coreeng.supportbot.escalation.Escalation;
 import com.coreeng.supportbot.escalation.EscalationProcessingService;
 import com.coreeng.supportbot.escalation.EscalationSource;
 import com.coreeng.supportbot.prtracking.source.PrMetadata;
+import com.coreeng.supportbot.prtracking.source.PrRef;
+import com.coreeng.supportbot.prtracking.source.PrSourceClient;
 import com.coreeng.supportbot.prtracking.source.PrSourceClients;
 import com.coreeng.supportbot.prtracking.source.PrSourceException;
 import com.coreeng.supportbot.prtracking.source.Provider;
@@ -19,6 +22,7 @@ import com.coreeng.supportbot.prtracking.source.Review;
 import com.coreeng.supportbot.slack.MessageTs;
 import com.coreeng.supportbot.slack.client.SimpleSlackMessage;
 import com.coreeng.supportbot.slack.client.SlackClient;
+import com.coreeng.supportbot.slack.client.SlackLane;
 import com.coreeng.supportbot.slack.client.SlackPostMessageRequest;
 import com.coreeng.supportbot.ticket.Ticket;
 import com.coreeng.supportbot.ticket.TicketId;
@@ -26,14 +30,21 @@ import com.coreeng.supportbot.ticket.TicketProcessingService;
 import com.coreeng.supportbot.ticket.TicketRepository;
 import com.coreeng.supportbot.ticket.slack.TicketSlackService;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Comparator;
-import java.util.HashMap;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
-import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jspecify.annotations.Nullable;
@@ -45,6 +56,12 @@ import org.springframework.stereotype.Component;
  * Polls tracked PRs and advances their lifecycle. The FSM is expressed declaratively in {@link
  * PrLifecycle}: this class is the imperative shell — {@code observe()} snapshots the world, {@link
  * PrLifecycle#decide} picks the next state + ordered effects (pure), and {@code apply()} runs them.
+ *
+ * <p>Records are processed concurrently, at most {@link PrPollProps#maxConcurrency()} at a time. A record
+ * is never processed twice at once: one still in flight, e.g. from an overrunning earlier poll or a webhook, is
+ * processed again once that run finishes, with the PR fetched afresh.
+ * Providers that can fetch many PRs per call get the active set fetched up front in batches of {@link
+ * PrPollProps#batchSize()}; a PR a batch didn't return is fetched on its own when processed.
  */
 @Component
 @ConditionalOnProperty(name = "pr-review-tracking.enabled", havingValue = "true")
@@ -64,39 +81,197 @@ public class PrLifecyclePoller {
     private final SlaLookup slaLookup;
     private final PrMessageRenderer messageRenderer;
     private final EscalationTeamsRegistry escalationTeamsRegistry;
+    private final PrPollProps pollProps;
+    private final MeterRegistry meterRegistry;
+    // Ids of records being processed right now, across overlapping polls and webhooks, to whether another run was
+    // asked for while they were
+    private final Map<Long, Boolean> inFlight = new ConcurrentHashMap<>();
 
     @Scheduled(cron = "${pr-review-tracking.poll-cron:0 0 9-18 * * 1-5}")
     public void poll() {
+        Timer.Sample sample = Timer.start(meterRegistry);
         List<PrTrackingRecord> active = prTrackingRepository.findAllActive();
         log.atInfo().addArgument(active::size).log("PR lifecycle poll: {} active records");
 
-        Map<String, Optional<Set<String>>> teamMemberCache = new HashMap<>();
+        Semaphore permits = new Semaphore(pollProps.maxConcurrency());
+        Map<PrRef, PrMetadata> prefetched = prefetch(active, permits);
 
-        for (PrTrackingRecord record : active) {
-            try {
-                processRecord(record, teamMemberCache);
-            } catch (Exception e) {
-                log.atError()
-                        .addArgument(record::repo)
-                        .addArgument(record::prNumber)
-                        .setCause(e)
-                        .log("Error processing PR tracking record for {}#{}, continuing with next record");
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (PrTrackingRecord record : active) {
+                executor.execute(() -> processWithPermit(record, prefetched.get(prRef(record)), permits));
             }
         }
+        sample.stop(Timer.builder("pr_tracking_poll_duration_seconds")
+                .description("Time taken by a PR lifecycle poll")
+                .register(meterRegistry));
     }
 
-    private void processRecord(PrTrackingRecord record, Map<String, Optional<Set<String>>> teamMemberCache) {
-        PrMetadata pr;
+    private Map<PrRef, PrMetadata> prefetch(List<PrTrackingRecord> active, Semaphore permits) {
+        // Sorted so a batch holds few repositories
+        Map<Provider, List<PrRef>> byProvider = active.stream()
+                .map(PrLifecyclePoller::prRef)
+                .distinct()
+                .sorted(Comparator.comparing((PrRef pr) -> pr.coord().name()).thenComparingInt(PrRef::number))
+                .collect(Collectors.groupingBy(
+                        pr -> pr.coord().provider(), () -> new EnumMap<>(Provider.class), Collectors.toList()));
+        Map<PrRef, PrMetadata> prefetched = new ConcurrentHashMap<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            byProvider.forEach((provider, prs) -> {
+                PrSourceClient client;
+                try {
+                    client = prSourceClients.forProvider(provider);
+                } catch (PrSourceException e) {
+                    return;
+                }
+                if (!client.supportsBatchFetch()) {
+                    return;
+                }
+                for (List<PrRef> batch : Lists.partition(prs, pollProps.batchSize())) {
+                    executor.execute(() -> prefetchBatch(client, batch, prefetched, permits));
+                }
+            });
+        }
+        return prefetched;
+    }
+
+    private void prefetchBatch(
+            PrSourceClient client, List<PrRef> batch, Map<PrRef, PrMetadata> prefetched, Semaphore permits) {
+        Timer.Sample sample = Timer.start(meterRegistry);
         try {
-            pr = prSourceClients
-                    .forProvider(record.provider())
-                    .fetchPullRequest(new RepoCoord(record.provider(), record.repo()), record.prNumber());
-        } catch (PrSourceException e) {
+            permits.acquire();
+            try {
+                prefetched.putAll(client.fetchPullRequests(batch));
+            } finally {
+                permits.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
             log.atWarn()
+                    .addArgument(batch::size)
+                    .setCause(e)
+                    .log("Could not fetch a batch of {} PRs, fetching them one by one");
+        } finally {
+            sample.stop(Timer.builder("pr_tracking_provider_batch_fetch_seconds")
+                    .description("Time taken to fetch a batch of tracked PRs from their provider")
+                    .tag("provider", client.getProvider().storageValue())
+                    .register(meterRegistry));
+        }
+    }
+
+    private static PrRef prRef(PrTrackingRecord record) {
+        return new PrRef(new RepoCoord(record.provider(), record.repo()), record.prNumber());
+    }
+
+    private void processWithPermit(PrTrackingRecord record, @Nullable PrMetadata prefetched, Semaphore permits) {
+        if (!claim(record)) {
+            return;
+        }
+        // The lane is thread-scoped, so it's entered on the worker thread rather than in poll()
+        try (SlackLane.Scope ignored = SlackLane.background.enter()) {
+            permits.acquire();
+            try {
+                processClaimed(record, prefetched);
+            } finally {
+                permits.release();
+            }
+        } catch (InterruptedException e) {
+            inFlight.remove(record.id());
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Processes the active records of one PR straight away, e.g. when its provider reports a change. A record
+     * already being processed is processed again once that run finishes, since it may have fetched the PR before
+     * the change.
+     *
+     * @return number of records processed, not counting those left to a run already in flight
+     */
+    public int processPullRequest(Provider provider, String repo, int prNumber) {
+        int processed = 0;
+        for (PrTrackingRecord record : prTrackingRepository.findActiveByPullRequest(provider, repo, prNumber)) {
+            if (claim(record)) {
+                processClaimed(record, null);
+                processed++;
+            }
+        }
+        return processed;
+    }
+
+    /**
+     * @return whether the caller now owns {@code record} and must pass it to {@link #processClaimed}; otherwise
+     *     it's in flight elsewhere and has been marked to be processed again
+     */
+    private boolean claim(PrTrackingRecord record) {
+        // Absent: claimed, with no re-run asked for yet. Present: ask its owner for a re-run
+        boolean claimed = Boolean.FALSE.equals(inFlight.merge(record.id(), false, (rerun, ignored) -> true));
+        if (!claimed) {
+            log.atInfo()
                     .addArgument(record::repo)
                     .addArgument(record::prNumber)
-                    .addArgument(e::getMessage)
-                    .log("Could not fetch PR {}#{}: {}");
+                    .log("PR {}#{} is already being processed, it will be processed again once that's done");
+            recordsCounter("deferred").increment();
+        }
+        return claimed;
+    }
+
+    /**
+     * Processes a claimed record, then again with the record and PR read afresh for as long as re-runs were asked
+     * for meanwhile, and releases it.
+     */
+    private void processClaimed(PrTrackingRecord record, @Nullable PrMetadata prefetched) {
+        long id = record.id();
+        boolean released = false;
+        try {
+            PrTrackingRecord current = record;
+            PrMetadata pr = prefetched;
+            while (true) {
+                processOnce(current, pr);
+                // Removed unless a re-run was asked for, in which case the request is cleared and the claim kept
+                released = inFlight.computeIfPresent(id, (ignored, rerun) -> rerun ? false : null) == null;
+                if (released) {
+                    return;
+                }
+                PrTrackingRecord reloaded = prTrackingRepository.findById(id);
+                if (reloaded == null || reloaded.status() == PrTrackingStatus.CLOSED) {
+                    return;
+                }
+                current = reloaded;
+                pr = null;
+            }
+        } finally {
+            if (!released) {
+                inFlight.remove(id);
+            }
+        }
+    }
+
+    private void processOnce(PrTrackingRecord record, @Nullable PrMetadata prefetched) {
+        try {
+            processRecord(record, prefetched);
+            recordsCounter("processed").increment();
+        } catch (Exception e) {
+            log.atError()
+                    .addArgument(record::repo)
+                    .addArgument(record::prNumber)
+                    .setCause(e)
+                    .log("Error processing PR tracking record for {}#{}, continuing with next record");
+            recordsCounter("failed").increment();
+        }
+    }
+
+    private Counter recordsCounter(String outcome) {
+        return Counter.builder("pr_tracking_poll_records_total")
+                .description("Tracked PR records handled by the lifecycle poll and webhooks")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /** @param prefetched the PR as fetched in a batch, or {@code null} to fetch it now */
+    private void processRecord(PrTrackingRecord record, @Nullable PrMetadata prefetched) {
+        PrMetadata pr = prefetched != null ? prefetched : fetch(record);
+        if (pr == null) {
             return;
         }
 
@@ -111,7 +286,7 @@ public class PrLifecyclePoller {
             return;
         }
 
-        List<Review> teamReviews = teamReviewFilter.filterToOwningTeam(pr.reviews(), pr, repoConfig, teamMemberCache);
+        List<Review> teamReviews = teamReviewFilter.filterToOwningTeam(pr.reviews(), pr, repoConfig);
         Review latestVerdict = teamReviewFilter.findLatestActionableReview(teamReviews);
 
         apply(record, PrLifecycle.decide(observe(record, pr, latestVerdict, repoConfig)));
@@ -119,6 +294,27 @@ public class PrLifecyclePoller {
         updateActivityTimestamps(record, teamReviews);
     }
 
+    private @Nullable PrMetadata fetch(PrTrackingRecord record) {
+        Timer.Sample fetchSample = Timer.start(meterRegistry);
+        try {
+            return prSourceClients
+                    .forProvider(record.provider())
+                    .fetchPullRequest(new RepoCoord(record.provider(), record.repo()), record.prNumber());
+        } catch (PrSourceException e) {
+            log.atWarn()
+                    .addArgument(record::repo)
+                    .addArgument(record::prNumber)
+                    .addArgument(e::getMessage)
+                    .log("Could not fetch PR {}#{}: {}");
+            return null;
+        } finally {
+            fetchSample.stop(Timer.builder("pr_tracking_provider_fetch_seconds")
+                    .description("Time taken to fetch a tracked PR from its provider")
+                    .tag("provider", record.provider().storageValue())
+                    .register(meterRegistry));
+        }
+    }
+
     private PrTrackingProps.@Nullable Repository findRepoConfig(Provider provider, String repo) {
         // Key on (provider, name) so a hypothetical name collision across providers can't pick
         // the wrong config — even though PrTrackingProps disallows duplicates today, the lifecycle
@@ -1,9 +1,19 @@
 package com.coreeng.supportbot.prtracking;
 
+import com.coreeng.supportbot.config.PrSnapshotProps;
+import com.coreeng.supportbot.config.PrTeamMembersProps;
 import com.coreeng.supportbot.config.PrTrackingProps;
+import com.coreeng.supportbot.config.PrWebhookProps;
+import com.coreeng.supportbot.prtracking.source.PrSnapshotStore;
+import com.coreeng.supportbot.prtracking.source.PrSourceClients;
 import com.coreeng.supportbot.prtracking.source.Provider;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -35,4 +45,34 @@ public class PrTrackingConfig {
     public PrUrlDispatcher prUrlDispatcher(GitHubPrUrlParser gitHubPrUrlParser, GitLabMrUrlParser gitLabMrUrlParser) {
         return new PrUrlDispatcher(gitHubPrUrlParser, gitLabMrUrlParser);
     }
+
+    @Bean
+    public TeamMemberCache teamMemberCache(
+            PrSourceClients prSourceClients, PrTeamMembersProps props, MeterRegistry meterRegistry) {
+        return new TeamMemberCache(prSourceClients, props, meterRegistry);
+    }
+
+    @Bean
+    public PrSnapshotStore prSnapshotStore(PrSnapshotProps props, MeterRegistry meterRegistry) {
+        return new PrSnapshotStore(props, meterRegistry);
+    }
+
+    // Deliveries are processed off the request thread, apart from the Slack handlers. Only injected by name, so
+    // unqualified ExecutorService injection points keep getting the Slack handler executor.
+    @Bean(name = "prWebhook-executor", defaultCandidate = false)
+    @ConditionalOnProperty(name = "pr-review-tracking.webhook.enabled", havingValue = "true")
+    public ExecutorService prWebhookExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "pr-review-tracking.webhook.enabled", havingValue = "true")
+    public PrWebhookService prWebhookService(
+            PrWebhookProps props,
+            PrLifecyclePoller poller,
+            ObjectMapper objectMapper,
+            @Qualifier("prWebhook-executor") ExecutorService executor,
+            MeterRegistry meterRegistry) {
+        return new PrWebhookService(props, poller, objectMapper, executor, meterRegistry);
+    }
 }
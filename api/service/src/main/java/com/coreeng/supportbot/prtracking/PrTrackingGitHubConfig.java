@@ -1,29 +1,39 @@
 package com.coreeng.supportbot.prtracking;
 
+import com.coreeng.supportbot.config.PrSnapshotProps;
 import com.coreeng.supportbot.config.PrTrackingProps;
 import com.coreeng.supportbot.github.GitHubClient;
 import com.coreeng.supportbot.github.GitHubGraphQlClient;
 import com.coreeng.supportbot.github.Hub4jGitHubClient;
 import com.coreeng.supportbot.prtracking.source.GitHubPrSourceClient;
+import com.coreeng.supportbot.prtracking.source.PrSnapshotStore;
 import com.coreeng.supportbot.prtracking.source.PrSourceClient;
+import com.coreeng.supportbot.prtracking.source.RepoCoord;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.ImmutableList;
 import io.jsonwebtoken.Jwts;
 import java.io.IOException;
 import java.io.StringReader;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.security.PrivateKey;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Base64;
 import java.util.Date;
+import okhttp3.Cache;
+import okhttp3.OkHttpClient;
 import org.bouncycastle.openssl.PEMKeyPair;
 import org.bouncycastle.openssl.PEMParser;
 import org.bouncycastle.openssl.jcajce.JcaPEMKeyConverter;
+import org.jspecify.annotations.Nullable;
 import org.kohsuke.github.GitHub;
 import org.kohsuke.github.GitHubBuilder;
 import org.kohsuke.github.authorization.AppInstallationAuthorizationProvider;
 import org.kohsuke.github.authorization.AuthorizationProvider;
+import org.kohsuke.github.extras.okhttp3.OkHttpGitHubConnector;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Conditional;
@@ -68,13 +78,43 @@ public class PrTrackingGitHubConfig {
         return () -> "token " + config.token();
     }
 
+    /**
+     * With a non-zero {@code pr-review-tracking.snapshot.http-cache-size}, an OkHttp cache for {@link #gitHub} in a
+     * temporary directory, which is deleted again when the context closes.
+     */
     @Bean
-    public GitHub gitHub(PrTrackingProps props, AuthorizationProvider gitHubAuthorizationProvider) {
+    public GitHubHttpCache gitHubHttpCache(PrSnapshotProps snapshotProps) {
+        long httpCacheBytes = snapshotProps.httpCacheSize().toBytes();
+        if (httpCacheBytes <= 0) {
+            return new GitHubHttpCache(null, null);
+        }
         try {
-            return new GitHubBuilder()
+            Path directory = Files.createTempDirectory("github-http-cache");
+            return new GitHubHttpCache(new Cache(directory.toFile(), httpCacheBytes), directory);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to create GitHub HTTP cache directory", e);
+        }
+    }
+
+    /**
+     * With a {@link #gitHubHttpCache}, REST responses are cached and revalidated on every request with
+     * {@code If-None-Match}. GitHub answers an unchanged resource with a 304, which doesn't count against the rate
+     * limit.
+     */
+    @Bean
+    public GitHub gitHub(
+            PrTrackingProps props,
+            GitHubHttpCache gitHubHttpCache,
+            AuthorizationProvider gitHubAuthorizationProvider) {
+        try {
+            GitHubBuilder builder = new GitHubBuilder()
                     .withEndpoint(props.github().apiBaseUrl())
-                    .withAuthorizationProvider(gitHubAuthorizationProvider)
-                    .build();
+                    .withAuthorizationProvider(gitHubAuthorizationProvider);
+            Cache cache = gitHubHttpCache.cache();
+            if (cache != null) {
+                builder.withConnector(new OkHttpGitHubConnector(new OkHttpClient.Builder().cache(cache).build()));
+            }
+            return builder.build();
         } catch (IOException e) {
             throw new IllegalStateException("Failed to initialize GitHub client", e);
         }
@@ -117,8 +157,31 @@ public class PrTrackingGitHubConfig {
 
     @Bean
     public PrSourceClient gitHubPrSourceClient(
-            GitHubClient gitHubClient, GitHubGraphQlClient gitHubGraphQlClient, PrTrackingProps props) {
-        return new GitHubPrSourceClient(gitHubClient, gitHubGraphQlClient, props);
+            GitHubClient gitHubClient,
+            GitHubGraphQlClient gitHubGraphQlClient,
+            PrTrackingProps props,
+            PrSnapshotStore prSnapshotStore,
+            // Lazy: the team member cache resolves members through the PR source clients, this one included
+            ObjectProvider<TeamMemberCache> teamMemberCache) {
+        return new GitHubPrSourceClient(
+                gitHubClient,
+                gitHubGraphQlClient,
+                props,
+                prSnapshotStore,
+                (repositoryName, teamSlug) ->
+                        teamMemberCache.getObject().getMembers(RepoCoord.github(repositoryName), teamSlug));
+    }
+
+    public record GitHubHttpCache(@Nullable Cache cache, @Nullable Path directory) implements AutoCloseable {
+        @Override
+        public void close() throws IOException {
+            if (cache != null) {
+                cache.delete();
+            }
+            if (directory != null) {
+                Files.deleteIfExists(directory);
+            }
+        }
     }
 
     private static String createJwt(String appId, PrivateKey privateKey) {
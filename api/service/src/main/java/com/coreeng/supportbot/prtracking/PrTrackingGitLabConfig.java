@@ -1,13 +1,12 @@
 package com.coreeng.supportbot.prtracking;
 
 import com.coreeng.supportbot.config.PrTrackingProps;
-import com.coreeng.supportbot.prtracking.source.GitLabGroupMemberCache;
 import com.coreeng.supportbot.prtracking.source.GitLabPrSourceClient;
+import com.coreeng.supportbot.prtracking.source.PrSnapshotStore;
 import com.coreeng.supportbot.prtracking.source.PrSourceClient;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.ImmutableList;
 import java.nio.charset.StandardCharsets;
-import java.util.Objects;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Conditional;
@@ -45,15 +44,9 @@ public class PrTrackingGitLabConfig {
                 .build();
     }
 
-    @Bean
-    public GitLabGroupMemberCache gitLabGroupMemberCache(PrTrackingProps props) {
-        return new GitLabGroupMemberCache(
-                Objects.requireNonNull(props.slaDiscovery().cache(), "slaDiscovery.cache must not be null"));
-    }
-
     @Bean
     public PrSourceClient gitLabPrSourceClient(
-            RestClient gitLabRestClient, PrTrackingProps props, GitLabGroupMemberCache gitLabGroupMemberCache) {
-        return new GitLabPrSourceClient(gitLabRestClient, props, gitLabGroupMemberCache);
+            RestClient gitLabRestClient, PrTrackingProps props, PrSnapshotStore prSnapshotStore) {
+        return new GitLabPrSourceClient(gitLabRestClient, props, prSnapshotStore);
     }
 }
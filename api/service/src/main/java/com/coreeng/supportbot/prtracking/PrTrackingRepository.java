@@ -19,6 +19,12 @@ public interface PrTrackingRepository {
     /** Returns all records in a non-terminal status (OPEN, ESCALATED, CHANGES_REQUESTED, APPROVED, AWAITING_MERGE, MERGE_ESCALATED). */
     List<PrTrackingRecord> findAllActive();
 
+    /**
+     * Returns the non-terminal records tracking the given PR, one per ticket it was posted on. {@code repo} is
+     * matched ignoring case.
+     */
+    List<PrTrackingRecord> findActiveByPullRequest(Provider provider, String repo, int prNumber);
+
     PrTrackingRecord updateStatus(
             long id, PrTrackingStatus newStatus, @Nullable Instant closedAt, @Nullable Long escalationId);
 
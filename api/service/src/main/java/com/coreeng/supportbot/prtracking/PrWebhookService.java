@@ -0,0 +1,166 @@
+package com.coreeng.supportbot.prtracking;
+
+import com.coreeng.supportbot.config.PrWebhookProps;
+import com.coreeng.supportbot.prtracking.source.Provider;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableSet;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.concurrent.Executor;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Handles GitHub and GitLab webhook deliveries for PR changes. A verified delivery about a PR is
+ * processed straight away by {@link PrLifecyclePoller#processPullRequest}, off the request thread, so the
+ * lifecycle doesn't wait for the next poll.
+ *
+ * <p>GitHub deliveries are verified against their {@code X-Hub-Signature-256} HMAC, GitLab deliveries against
+ * their {@code X-Gitlab-Token}. Deliveries for other events, or for PRs that aren't tracked, are accepted
+ * and ignored.
+ */
+@Slf4j
+public class PrWebhookService {
+    private static final ImmutableSet<String> GITHUB_EVENTS =
+            ImmutableSet.of("pull_request", "pull_request_review", "pull_request_review_thread");
+    private static final String GITHUB_SIGNATURE_PREFIX = "sha256=";
+    private static final String GITLAB_MERGE_REQUEST_KIND = "merge_request";
+
+    private final PrWebhookProps props;
+    private final PrLifecyclePoller poller;
+    private final ObjectMapper objectMapper;
+    private final Executor executor;
+    private final MeterRegistry meterRegistry;
+
+    public PrWebhookService(
+            PrWebhookProps props,
+            PrLifecyclePoller poller,
+            ObjectMapper objectMapper,
+            Executor executor,
+            MeterRegistry meterRegistry) {
+        this.props = props;
+        this.poller = poller;
+        this.objectMapper = objectMapper;
+        this.executor = executor;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * @param event the {@code X-GitHub-Event} header
+     * @param signature the {@code X-Hub-Signature-256} header
+     */
+    public Outcome handleGitHub(@Nullable String event, @Nullable String signature, byte[] body) {
+        if (!verifyGitHubSignature(signature, body)) {
+            return count(Provider.GITHUB, Outcome.REJECTED);
+        }
+        if (event == null || !GITHUB_EVENTS.contains(event)) {
+            return count(Provider.GITHUB, Outcome.IGNORED);
+        }
+        JsonNode payload = parse(body);
+        if (payload == null) {
+            return count(Provider.GITHUB, Outcome.IGNORED);
+        }
+        String repo = payload.path("repository").path("full_name").asText("");
+        int prNumber = payload.path("pull_request").path("number").asInt();
+        return dispatch(Provider.GITHUB, repo, prNumber);
+    }
+
+    /**
+     * @param token the {@code X-Gitlab-Token} header
+     */
+    public Outcome handleGitLab(@Nullable String token, byte[] body) {
+        if (!verifyGitLabToken(token)) {
+            return count(Provider.GITLAB, Outcome.REJECTED);
+        }
+        JsonNode payload = parse(body);
+        if (payload == null || !GITLAB_MERGE_REQUEST_KIND.equals(payload.path("object_kind").asText())) {
+            return count(Provider.GITLAB, Outcome.IGNORED);
+        }
+        String repo = payload.path("project").path("path_with_namespace").asText("");
+        int prNumber = payload.path("object_attributes").path("iid").asInt();
+        return dispatch(Provider.GITLAB, repo, prNumber);
+    }
+
+    private Outcome dispatch(Provider provider, String repo, int prNumber) {
+        if (repo.isBlank() || prNumber <= 0) {
+            log.atWarn().addArgument(provider).log("{} webhook delivery names no PR, ignoring it");
+            return count(provider, Outcome.IGNORED);
+        }
+        executor.execute(() -> {
+            int processed = poller.processPullRequest(provider, repo, prNumber);
+            log.atDebug()
+                    .addArgument(provider)
+                    .addArgument(repo)
+                    .addArgument(prNumber)
+                    .addArgument(processed)
+                    .log("{} webhook for {}#{} processed {} tracked records");
+        });
+        return count(provider, Outcome.ACCEPTED);
+    }
+
+    private boolean verifyGitHubSignature(@Nullable String signature, byte[] body) {
+        if (props.githubSecret().isBlank() || signature == null || !signature.startsWith(GITHUB_SIGNATURE_PREFIX)) {
+            return false;
+        }
+        byte[] expected;
+        try {
+            Mac hmac = Mac.getInstance("HmacSHA256");
+            hmac.init(new SecretKeySpec(props.githubSecret().getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            expected = hmac.doFinal(body);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not compute GitHub webhook signature", e);
+        }
+        byte[] actual;
+        try {
+            actual = HexFormat.of().parseHex(signature.substring(GITHUB_SIGNATURE_PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        return MessageDigest.isEqual(expected, actual);
+    }
+
+    private boolean verifyGitLabToken(@Nullable String token) {
+        if (props.gitlabToken().isBlank() || token == null) {
+            return false;
+        }
+        return MessageDigest.isEqual(
+                props.gitlabToken().getBytes(StandardCharsets.UTF_8), token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private @Nullable JsonNode parse(byte[] body) {
+        try {
+            return objectMapper.readTree(body);
+        } catch (IOException e) {
+            log.atWarn().setCause(e).log("Could not parse PR webhook payload");
+            return null;
+        }
+    }
+
+    private Outcome count(Provider provider, Outcome outcome) {
+        Counter.builder("pr_tracking_webhook_deliveries_total")
+                .description("PR webhook deliveries received from GitHub and GitLab")
+                .tag("provider", provider.storageValue())
+                .tag("outcome", outcome.name().toLowerCase(Locale.ROOT))
+                .register(meterRegistry)
+                .increment();
+        return outcome;
+    }
+
+    public enum Outcome {
+        /** Verified and about a PR; its tracked records are being processed. */
+        ACCEPTED,
+        /** Verified, but not about a PR change. */
+        IGNORED,
+        /** Signature or token missing or wrong. */
+        REJECTED
+    }
+}
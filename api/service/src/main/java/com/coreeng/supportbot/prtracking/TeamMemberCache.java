@@ -0,0 +1,197 @@
+package com.coreeng.supportbot.prtracking;
+
+import com.coreeng.supportbot.config.PrTeamMembersProps;
+import com.coreeng.supportbot.prtracking.source.PrSourceClients;
+import com.coreeng.supportbot.prtracking.source.PrSourceException;
+import com.coreeng.supportbot.prtracking.source.Provider;
+import com.coreeng.supportbot.prtracking.source.RepoCoord;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.google.common.base.Splitter;
+import com.google.common.collect.Iterables;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Process-wide cache of GitHub team and GitLab group members, shared by the lifecycle poller and PR
+ * detection.
+ *
+ * <p>Concurrent lookups of the same team share one fetch. Members older than {@link
+ * PrTeamMembersProps#refreshAfter()} are re-fetched in the background while the cached ones keep being
+ * served, also when the re-fetch fails, up to {@link PrTeamMembersProps#expireAfter()}. A failed first fetch
+ * is remembered for {@link PrTeamMembersProps#failureRetryAfter()} so a provider outage isn't hit once per
+ * PR.
+ */
+@Slf4j
+public class TeamMemberCache {
+    private static final String CACHE_NAME = "pr-team-members";
+
+    private final PrSourceClients prSourceClients;
+    private final Ticker ticker;
+    private final LoadingCache<Key, Members> cache;
+    private final Counter refreshedCounter;
+    private final Counter staleCounter;
+
+    public TeamMemberCache(PrSourceClients prSourceClients, PrTeamMembersProps props, MeterRegistry meterRegistry) {
+        // Refreshes block on GitHub/GitLab calls, so they get their own threads rather than the common pool
+        this(
+                prSourceClients,
+                props,
+                meterRegistry,
+                Ticker.systemTicker(),
+                Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    TeamMemberCache(
+            PrSourceClients prSourceClients,
+            PrTeamMembersProps props,
+            MeterRegistry meterRegistry,
+            Ticker ticker,
+            Executor refreshExecutor) {
+        this.prSourceClients = prSourceClients;
+        this.ticker = ticker;
+        this.cache = Caffeine.newBuilder()
+                .ticker(ticker)
+                .executor(refreshExecutor)
+                .maximumSize(1_000)
+                .expireAfter(new MembersExpiry(props))
+                .refreshAfterWrite(props.refreshAfter())
+                .recordStats()
+                .build(new MembersLoader());
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        this.refreshedCounter = refreshCounter(meterRegistry, "refreshed");
+        this.staleCounter = refreshCounter(meterRegistry, "stale");
+    }
+
+    /**
+     * Returns the member logins of {@code teamRef}: a GitHub team slug in the repo's org, or a GitLab group
+     * path. Returns {@code null} when membership couldn't be resolved (API failure).
+     */
+    public @Nullable Set<String> getMembers(RepoCoord coord, String teamRef) {
+        // GitHub teams belong to the org, so repos of one org share them. GitLab groups are resolved through
+        // the repo's connection, which may differ per repo.
+        String scope = coord.provider() == Provider.GITHUB
+                ? Iterables.get(Splitter.on('/').split(coord.name()), 0)
+                : coord.name();
+        return Objects.requireNonNull(cache.get(new Key(coord.provider(), scope, teamRef, coord)))
+                .logins();
+    }
+
+    private Members fetch(Key key) {
+        try {
+            return new Members(resolve(key.coord(), key.teamRef()), ticker.read());
+        } catch (PrSourceException e) {
+            log.atWarn()
+                    .addArgument(key)
+                    .addArgument(e::getMessage)
+                    .log("Could not fetch team members for {} — skipping team validation: {}");
+            return new Members(null, ticker.read());
+        }
+    }
+
+    private Set<String> resolve(RepoCoord coord, String teamRef) {
+        return Set.copyOf(prSourceClients.forProvider(coord.provider()).resolveTeamMembers(coord, teamRef));
+    }
+
+    private static Counter refreshCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("pr_tracking_team_members_refresh_total")
+                .description("Background re-fetches of cached team members")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param coord the repo the team is resolved through. Any repo of the scope resolves the same members, so
+     *     it isn't part of the key's identity and the first one looked up is kept.
+     */
+    private record Key(Provider provider, String scope, String teamRef, RepoCoord coord) {
+        @Override
+        public boolean equals(@Nullable Object o) {
+            return o instanceof Key other
+                    && provider == other.provider
+                    && scope.equals(other.scope)
+                    && teamRef.equals(other.teamRef);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(provider, scope, teamRef);
+        }
+
+        @Override
+        public String toString() {
+            return provider + ":" + scope + "/" + teamRef;
+        }
+    }
+
+    /**
+     * @param logins {@code null} when the fetch failed
+     * @param fetchedAt ticker time of the fetch
+     */
+    private record Members(@Nullable Set<String> logins, long fetchedAt) {}
+
+    private class MembersLoader implements CacheLoader<Key, Members> {
+        @Override
+        public Members load(Key key) {
+            return fetch(key);
+        }
+
+        @Override
+        public Members reload(Key key, Members oldValue) {
+            if (oldValue.logins() == null) {
+                return fetch(key);
+            }
+            try {
+                Members members = new Members(resolve(key.coord(), key.teamRef()), ticker.read());
+                refreshedCounter.increment();
+                return members;
+            } catch (PrSourceException e) {
+                log.atWarn()
+                        .addArgument(key)
+                        .addArgument(e::getMessage)
+                        .log("Could not refresh team members for {}, serving the cached ones: {}");
+                staleCounter.increment();
+                // Still expires at its original time, see MembersExpiry
+                return oldValue;
+            }
+        }
+    }
+
+    private static class MembersExpiry implements Expiry<Key, Members> {
+        private final long resolvedNanos;
+        private final long failedNanos;
+
+        MembersExpiry(PrTeamMembersProps props) {
+            this.resolvedNanos = props.expireAfter().toNanos();
+            this.failedNanos = props.failureRetryAfter().toNanos();
+        }
+
+        // Counted from the fetch rather than the write, so members kept after a failed refresh aren't served
+        // past expireAfter
+        @Override
+        public long expireAfterCreate(Key key, Members value, long currentTime) {
+            long lifetime = value.logins() != null ? resolvedNanos : failedNanos;
+            return Math.max(0, lifetime - (currentTime - value.fetchedAt()));
+        }
+
+        @Override
+        public long expireAfterUpdate(Key key, Members value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Key key, Members value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -2,20 +2,13 @@ package com.coreeng.supportbot.prtracking;
 
 import com.coreeng.supportbot.config.PrTrackingProps;
 import com.coreeng.supportbot.prtracking.source.PrMetadata;
-import com.coreeng.supportbot.prtracking.source.PrSourceClients;
-import com.coreeng.supportbot.prtracking.source.PrSourceException;
 import com.coreeng.supportbot.prtracking.source.Provider;
 import com.coreeng.supportbot.prtracking.source.RepoCoord;
 import com.coreeng.supportbot.prtracking.source.Review;
-import com.google.common.base.Splitter;
-import com.google.common.collect.Iterables;
 import java.util.Comparator;
 import java.util.List;
-import java.util.Map;
-import java.util.Optional;
 import java.util.Set;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 import org.jspecify.annotations.Nullable;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
@@ -23,10 +16,9 @@ import org.springframework.stereotype.Component;
 @Component
 @ConditionalOnProperty(name = "pr-review-tracking.enabled", havingValue = "true")
 @RequiredArgsConstructor
-@Slf4j
 public class TeamReviewFilter {
 
-    private final PrSourceClients prSourceClients;
+    private final TeamMemberCache teamMemberCache;
 
     /**
      * Filters reviews to owning team members. Returns all reviews unfiltered when:
@@ -34,11 +26,8 @@ public class TeamReviewFilter {
      * - no team is configured and no teams were requested on the PR.
      */
     public List<Review> filterToOwningTeam(
-            List<Review> reviews,
-            PrMetadata pr,
-            PrTrackingProps.@Nullable Repository repoConfig,
-            Map<String, Optional<Set<String>>> cache) {
-        Set<String> teamMembers = resolveOwningTeamMembers(pr, repoConfig, cache);
+            List<Review> reviews, PrMetadata pr, PrTrackingProps.@Nullable Repository repoConfig) {
+        Set<String> teamMembers = resolveOwningTeamMembers(pr, repoConfig);
         if (teamMembers == null || teamMembers.isEmpty()) {
             return reviews;
         }
@@ -54,18 +43,18 @@ public class TeamReviewFilter {
     }
 
     private @Nullable Set<String> resolveOwningTeamMembers(
-            PrMetadata pr, PrTrackingProps.@Nullable Repository repoConfig, Map<String, Optional<Set<String>>> cache) {
+            PrMetadata pr, PrTrackingProps.@Nullable Repository repoConfig) {
         if (pr.coord().provider() == Provider.GITLAB) {
             // GitLab: only an explicit group path triggers filtering. No equivalent to GitHub's
             // "requested team reviewers" — empty means accept all.
             if (repoConfig != null && repoConfig.gitlabGroupPath() != null) {
-                return resolveTeamMembers(pr.coord(), repoConfig.gitlabGroupPath(), cache);
+                return resolveTeamMembers(pr.coord(), repoConfig.gitlabGroupPath());
             }
             return Set.of();
         }
         // GitHub: explicit team slug configured — use Teams API
         if (repoConfig != null && repoConfig.githubTeamSlug() != null) {
-            return resolveTeamMembers(pr.coord(), repoConfig.githubTeamSlug(), cache);
+            return resolveTeamMembers(pr.coord(), repoConfig.githubTeamSlug());
         }
         // GitHub fallback: requested team reviewers already fetched with the PR. Null means at least one
         // requested team's membership couldn't be listed — the source client deliberately does not
@@ -81,33 +70,11 @@ public class TeamReviewFilter {
     }
 
     /**
-     * Resolves a team/group reference to its member logins, memoising success or failure in the
-     * supplied per-poll cache. Returns {@code null} when membership couldn't be resolved (API failure) —
-     * callers treat that as "cannot verify". The cache key folds in the provider so a GitHub team slug
-     * and a GitLab group path sharing a name can't collide.
+     * Resolves a team/group reference to its member logins through the shared {@link TeamMemberCache}.
+     * Returns {@code null} when membership couldn't be resolved (API failure) — callers treat that as
+     * "cannot verify".
      */
-    public @Nullable Set<String> resolveTeamMembers(
-            RepoCoord coord, String teamRef, Map<String, Optional<Set<String>>> cache) {
-        String scope = coord.provider() == Provider.GITHUB
-                ? Iterables.get(Splitter.on('/').split(coord.name()), 0)
-                : coord.name();
-        String key = coord.provider() + ":" + scope + "/" + teamRef;
-        if (cache.containsKey(key)) {
-            // Optional.empty() = previous fetch failed; Optional.of(set) = members resolved
-            return cache.get(key).orElse(null);
-        }
-        try {
-            Set<String> members =
-                    Set.copyOf(prSourceClients.forProvider(coord.provider()).resolveTeamMembers(coord, teamRef));
-            cache.put(key, Optional.of(members));
-            return members;
-        } catch (PrSourceException e) {
-            log.atWarn()
-                    .addArgument(() -> key)
-                    .addArgument(e::getMessage)
-                    .log("Could not fetch team members for {} — skipping team validation: {}");
-            cache.put(key, Optional.empty());
-            return null;
-        }
+    public @Nullable Set<String> resolveTeamMembers(RepoCoord coord, String teamRef) {
+        return teamMemberCache.getMembers(coord, teamRef);
     }
 }
@@ -0,0 +1,47 @@
+package com.coreeng.supportbot.prtracking.rest;
+
+import com.coreeng.supportbot.prtracking.PrWebhookService;
+import lombok.RequiredArgsConstructor;
+import org.jspecify.annotations.Nullable;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/** Receives PR webhooks; authenticated by the providers' own webhook secrets instead of a user session. */
+@RestController
+@RequestMapping("/pr-tracking/webhooks")
+@ConditionalOnProperty(
+        prefix = "pr-review-tracking",
+        name = {"enabled", "webhook.enabled"},
+        havingValue = "true")
+@RequiredArgsConstructor
+public class PrWebhookController {
+
+    private final PrWebhookService webhookService;
+
+    @PostMapping("/github")
+    public ResponseEntity<Void> github(
+            @RequestHeader(name = "X-GitHub-Event", required = false) @Nullable String event,
+            @RequestHeader(name = "X-Hub-Signature-256", required = false) @Nullable String signature,
+            @RequestBody byte[] body) {
+        return toResponse(webhookService.handleGitHub(event, signature, body));
+    }
+
+    @PostMapping("/gitlab")
+    public ResponseEntity<Void> gitlab(
+            @RequestHeader(name = "X-Gitlab-Token", required = false) @Nullable String token,
+            @RequestBody byte[] body) {
+        return toResponse(webhookService.handleGitLab(token, body));
+    }
+
+    private static ResponseEntity<Void> toResponse(PrWebhookService.Outcome outcome) {
+        HttpStatus status =
+                outcome == PrWebhookService.Outcome.REJECTED ? HttpStatus.UNAUTHORIZED : HttpStatus.ACCEPTED;
+        return ResponseEntity.status(status).build();
+    }
+}
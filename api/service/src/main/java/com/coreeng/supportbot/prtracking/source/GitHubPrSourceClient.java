@@ -7,7 +7,14 @@ import com.coreeng.supportbot.github.GitHubClient;
 import com.coreeng.supportbot.github.GitHubGraphQlClient;
 import com.coreeng.supportbot.github.GitHubPullRequest;
 import com.coreeng.supportbot.github.GitHubPullRequestReview;
+import com.coreeng.supportbot.github.GitHubPullRequestVersion;
+import com.coreeng.supportbot.github.RequestedTeamMembers;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import org.jspecify.annotations.Nullable;
 
 public class GitHubPrSourceClient implements PrSourceClient {
@@ -15,12 +22,24 @@ public class GitHubPrSourceClient implements PrSourceClient {
     private final GitHubClient gitHubClient;
     private final @Nullable GitHubGraphQlClient graphQlClient;
     private final PrTrackingProps props;
+    private final @Nullable PrSnapshotStore snapshots;
+    private final RequestedTeamMembers requestedTeamMembers;
 
+    /**
+     * @param requestedTeamMembers resolves the teams requested to review a PR for the requested-team review
+     *     fallback, so the members come from the shared team member cache rather than a listing per PR fetch
+     */
     public GitHubPrSourceClient(
-            GitHubClient gitHubClient, @Nullable GitHubGraphQlClient graphQlClient, PrTrackingProps props) {
+            GitHubClient gitHubClient,
+            @Nullable GitHubGraphQlClient graphQlClient,
+            PrTrackingProps props,
+            @Nullable PrSnapshotStore snapshots,
+            RequestedTeamMembers requestedTeamMembers) {
         this.gitHubClient = gitHubClient;
         this.graphQlClient = graphQlClient;
         this.props = props;
+        this.snapshots = snapshots;
+        this.requestedTeamMembers = requestedTeamMembers;
     }
 
     @Override
@@ -34,72 +53,161 @@ public class GitHubPrSourceClient implements PrSourceClient {
         try {
             // Resolve the repo config once and derive both flags from it (one lookup, not two scans).
             PrTrackingProps.@Nullable Repository repoConfig = props.findRepository(Provider.GITHUB, coord.name());
-            boolean requiresCodeowners = repoConfig != null && repoConfig.requiresCodeowners();
-            // Only the requested-team review fallback in TeamReviewFilter consumes requestedTeamReviewerLogins,
-            // and it's bypassed when an explicit github-team-slug is set or the repo is requires-codeowners.
-            // For requires-codeowners repos the lifecycle derives its verdict from the GraphQL reviewDecision
-            // aggregate, not the REST reviews this fallback would filter (see PrLifecyclePoller#observe), so
-            // the fallback is dead there — skipping resolution avoids an org Members:Read call, and the scope
-            // it requires, that would otherwise be dead work.
-            boolean includeRequestedTeamMembers =
-                    repoConfig == null || (repoConfig.githubTeamSlug() == null && !requiresCodeowners);
-            GitHubPullRequest pr = gitHubClient.getPullRequest(coord.name(), prNumber, includeRequestedTeamMembers);
-            // Code-owner repos: enrich with GitHub's GraphQL-only reviewDecision + asCodeOwner reviewers.
-            // Only for open PRs (closed/merged need no chase), and only when configured, to avoid the
-            // extra GraphQL call on every other repo.
-            //
-            // codeOwnersApproved is a deliberate tri-state:
-            //   true  — the gate is satisfied: a *successful* GraphQL query returned either APPROVED (every
-            //           required code owner approved) or no reviewDecision at all. GitHub reports no
-            //           reviewDecision when the PR's changed paths require no code-owner review, so the gate
-            //           doesn't apply and the PR should advance to the merge phase, not stall in OPEN.
-            //   false — a required code-owner review is still outstanding (REVIEW_REQUIRED / CHANGES_REQUESTED).
-            //   null  — not applicable / unknown: not a code-owner repo, a closed PR, no GraphQL client, or
-            //           the query FAILED. A failed query must stay null (never read as "no review required"),
-            //           so the lifecycle keeps chasing the code owner and retries next poll rather than
-            //           advancing a PR to merge on a transient GraphQL error.
-            //
-            // Note the deliberate asymmetry with GitLabPrSourceClient, which fails *closed* on the analogous
-            // "no code_owner rule" case: there an empty rule set usually means the instance lacks Code Owners
-            // (CE/Free) rather than a per-PR "no owned paths", whereas GitHub's successful reviewDecision is a
-            // definitive per-PR signal we can trust.
-            Boolean codeOwnersApproved = null;
-            // A code owner requesting changes (reviewDecision == CHANGES_REQUESTED) is a distinct signal from
-            // the gate being merely unsatisfied (REVIEW_REQUIRED): the lifecycle surfaces the former to the
-            // tenant as CHANGES_REQUESTED and pauses/holds accordingly, while the latter just waits. It is
-            // the *aggregate* code-owner decision, so — unlike a raw REST review — a non-code-owner drive-by
-            // never flips it.
-            boolean codeownerChangesRequested = false;
-            if (graphQlClient != null && pr.isOpen() && requiresCodeowners) {
-                GitHubGraphQlClient.CodeownerReview review = graphQlClient.fetchCodeownerReview(coord.name(), prNumber);
-                if (review != null) {
-                    pr = pr.withCodeownerReview(review.reviewDecision(), review.codeOwnerReviewers());
-                    codeOwnersApproved = review.reviewDecision() == null
-                            || review.reviewDecision() == GitHubPullRequest.ReviewDecision.APPROVED;
-                    codeownerChangesRequested =
-                            review.reviewDecision() == GitHubPullRequest.ReviewDecision.CHANGES_REQUESTED;
-                }
+            boolean requiresCodeowners = requiresCodeowners(repoConfig);
+            if (snapshots == null) {
+                return fetchFull(coord, prNumber, repoConfig, requiresCodeowners);
             }
-            return new PrMetadata(
-                    coord,
-                    pr.pullRequestNumber(),
-                    pr.createdAt(),
-                    mapState(pr.state()),
-                    pr.mergeable(),
-                    pr.requestedTeamReviewerLogins(),
-                    pr.reviews().stream().map(GitHubPrSourceClient::mapReview).toList(),
-                    pr.authorLogin(),
-                    codeOwnersApproved,
-                    codeownerChangesRequested,
-                    pr.codeOwnerReviewers().stream()
-                            .map(GitHubPrSourceClient::mapCodeOwner)
-                            .toList(),
-                    pr.isDraft());
+            // One PR read decides whether the reviews, requested teams and code-owner review read last time
+            // are still current; the PR's updated_at moves whenever any of them changes.
+            GitHubPullRequestVersion version = gitHubClient.getPullRequestVersion(coord.name(), prNumber);
+            PrMetadata snapshot = snapshots.find(coord, prNumber, version.updatedAt());
+            if (snapshot != null) {
+                return snapshot.withMergeable(version.mergeable());
+            }
+            PrMetadata metadata = fetchFull(coord, prNumber, repoConfig, requiresCodeowners);
+            // Don't keep a fetch with an unresolved read, so it's retried on the next poll
+            boolean complete = metadata.requestedTeamReviewerLogins() != null
+                    && !(requiresCodeowners && metadata.isOpen() && metadata.codeOwnersApproved() == null);
+            if (complete) {
+                snapshots.save(coord, prNumber, version.updatedAt(), metadata);
+            }
+            return metadata;
         } catch (GitHubApiException e) {
             throw new PrSourceException(e.getMessage(), e);
         }
     }
 
+    @Override
+    public boolean supportsBatchFetch() {
+        return graphQlClient != null;
+    }
+
+    /**
+     * Reads the PRs through one GraphQL query instead of the REST calls {@link #fetchPullRequest} makes per
+     * PR. Doesn't go through the snapshot store: a batch costs one call however many of its PRs changed, and
+     * the query doesn't read the {@code updated_at} a snapshot is keyed on. The PRs it returns are counted
+     * as {@code batch} fetches.
+     */
+    @Override
+    public Map<PrRef, PrMetadata> fetchPullRequests(List<PrRef> prs) {
+        if (graphQlClient == null) {
+            return Map.of();
+        }
+        Map<GitHubGraphQlClient.PullRequestRef, PrRef> refs = new LinkedHashMap<>();
+        Set<String> reposWithRequestedTeamMembers = new HashSet<>();
+        for (PrRef pr : prs) {
+            expectGitHub(pr.coord());
+            refs.put(new GitHubGraphQlClient.PullRequestRef(pr.coord().name(), pr.number()), pr);
+            if (includeRequestedTeamMembers(props.findRepository(Provider.GITHUB, pr.coord().name()))) {
+                reposWithRequestedTeamMembers.add(pr.coord().name());
+            }
+        }
+        Map<GitHubGraphQlClient.PullRequestRef, GitHubPullRequest> batch =
+                graphQlClient.fetchPullRequests(List.copyOf(refs.keySet()), reposWithRequestedTeamMembers);
+        Map<PrRef, PrMetadata> fetched = new HashMap<>();
+        refs.forEach((ref, prRef) -> {
+            GitHubPullRequest pr = batch.get(ref);
+            if (pr == null) {
+                return;
+            }
+            // The batch reads reviewDecision for every PR; like fetchFull, only open PRs of requires-codeowners
+            // repos take it as their code-owner review.
+            boolean codeownerReviewRead = pr.isOpen()
+                    && requiresCodeowners(props.findRepository(Provider.GITHUB, prRef.coord().name()));
+            GitHubPullRequest read = codeownerReviewRead ? pr : pr.withCodeownerReview(null, List.of());
+            fetched.put(prRef, toMetadata(prRef.coord(), read, codeownerReviewRead));
+        });
+        if (snapshots != null) {
+            snapshots.recordBatchFetch(Provider.GITHUB, fetched.size());
+        }
+        return fetched;
+    }
+
+    private PrMetadata fetchFull(
+            RepoCoord coord,
+            int prNumber,
+            PrTrackingProps.@Nullable Repository repoConfig,
+            boolean requiresCodeowners) {
+        GitHubPullRequest pr = gitHubClient.getPullRequest(
+                coord.name(), prNumber, includeRequestedTeamMembers(repoConfig) ? requestedTeamMembers : null);
+        // Code-owner repos: enrich with GitHub's GraphQL-only reviewDecision + asCodeOwner reviewers.
+        // Only for open PRs (closed/merged need no chase), and only when configured, to avoid the
+        // extra GraphQL call on every other repo.
+        boolean codeownerReviewRead = false;
+        if (graphQlClient != null && pr.isOpen() && requiresCodeowners) {
+            GitHubGraphQlClient.CodeownerReview review = graphQlClient.fetchCodeownerReview(coord.name(), prNumber);
+            if (review != null) {
+                pr = pr.withCodeownerReview(review.reviewDecision(), review.codeOwnerReviewers());
+                codeownerReviewRead = true;
+            }
+        }
+        return toMetadata(coord, pr, codeownerReviewRead);
+    }
+
+    /**
+     * Only the requested-team review fallback in TeamReviewFilter consumes requestedTeamReviewerLogins, and
+     * it's bypassed when an explicit github-team-slug is set or the repo is requires-codeowners. For
+     * requires-codeowners repos the lifecycle derives its verdict from the GraphQL reviewDecision aggregate,
+     * not the REST reviews this fallback would filter (see PrLifecyclePoller#observe), so the fallback is dead
+     * there — skipping resolution avoids an org Members:Read call, and the scope it requires, that would
+     * otherwise be dead work.
+     */
+    private static boolean includeRequestedTeamMembers(PrTrackingProps.@Nullable Repository repoConfig) {
+        return repoConfig == null || (repoConfig.githubTeamSlug() == null && !requiresCodeowners(repoConfig));
+    }
+
+    private static boolean requiresCodeowners(PrTrackingProps.@Nullable Repository repoConfig) {
+        return repoConfig != null && repoConfig.requiresCodeowners();
+    }
+
+    /**
+     * @param codeownerReviewRead whether {@code pr}'s {@code reviewDecision} comes from a successful read of
+     *     an open PR's code-owner review
+     */
+    private static PrMetadata toMetadata(RepoCoord coord, GitHubPullRequest pr, boolean codeownerReviewRead) {
+        // codeOwnersApproved is a deliberate tri-state:
+        //   true  — the gate is satisfied: a *successful* GraphQL query returned either APPROVED (every
+        //           required code owner approved) or no reviewDecision at all. GitHub reports no
+        //           reviewDecision when the PR's changed paths require no code-owner review, so the gate
+        //           doesn't apply and the PR should advance to the merge phase, not stall in OPEN.
+        //   false — a required code-owner review is still outstanding (REVIEW_REQUIRED / CHANGES_REQUESTED).
+        //   null  — not applicable / unknown: not a code-owner repo, a closed PR, no GraphQL client, or
+        //           the query FAILED. A failed query must stay null (never read as "no review required"),
+        //           so the lifecycle keeps chasing the code owner and retries next poll rather than
+        //           advancing a PR to merge on a transient GraphQL error.
+        //
+        // Note the deliberate asymmetry with GitLabPrSourceClient, which fails *closed* on the analogous
+        // "no code_owner rule" case: there an empty rule set usually means the instance lacks Code Owners
+        // (CE/Free) rather than a per-PR "no owned paths", whereas GitHub's successful reviewDecision is a
+        // definitive per-PR signal we can trust.
+        //
+        // A code owner requesting changes (reviewDecision == CHANGES_REQUESTED) is a distinct signal from
+        // the gate being merely unsatisfied (REVIEW_REQUIRED): the lifecycle surfaces the former to the
+        // tenant as CHANGES_REQUESTED and pauses/holds accordingly, while the latter just waits. It is
+        // the *aggregate* code-owner decision, so — unlike a raw REST review — a non-code-owner drive-by
+        // never flips it.
+        GitHubPullRequest.@Nullable ReviewDecision decision = pr.reviewDecision();
+        Boolean codeOwnersApproved =
+                codeownerReviewRead ? decision == null || decision == GitHubPullRequest.ReviewDecision.APPROVED : null;
+        boolean codeownerChangesRequested =
+                codeownerReviewRead && decision == GitHubPullRequest.ReviewDecision.CHANGES_REQUESTED;
+        return new PrMetadata(
+                coord,
+                pr.pullRequestNumber(),
+                pr.createdAt(),
+                mapState(pr.state()),
+                pr.mergeable(),
+                pr.requestedTeamReviewerLogins(),
+                pr.reviews().stream().map(GitHubPrSourceClient::mapReview).toList(),
+                pr.authorLogin(),
+                codeOwnersApproved,
+                codeownerChangesRequested,
+                pr.codeOwnerReviewers().stream()
+                        .map(GitHubPrSourceClient::mapCodeOwner)
+                        .toList(),
+                pr.isDraft());
+    }
+
     private static CodeOwnerRef mapCodeOwner(CodeOwnerReviewer reviewer) {
         return new CodeOwnerRef(
                 reviewer.team() ? CodeOwnerRef.Kind.TEAM : CodeOwnerRef.Kind.USER, reviewer.display(), reviewer.url());
@@ -41,17 +41,21 @@ public class GitLabPrSourceClient implements PrSourceClient {
 
     private final RestClient restClient;
     private final PrTrackingProps props;
-    private final GitLabGroupMemberCache groupMemberCache;
 
-    // default_branch is a per-project, operator-stable value. Cached alongside group members so a
-    // typical poll cycle that hits fetchFileContents doesn't add a round-trip per call. Same TTL as
-    // sla-discovery so operators only have one knob to turn.
+    // default_branch is a per-project, operator-stable value. Cached so a typical poll cycle that hits
+    // fetchFileContents doesn't add a round-trip per call. Same TTL as sla-discovery so operators only
+    // have one knob to turn.
     private final Cache<ProjectKey, String> defaultBranchCache;
+    private final @Nullable PrSnapshotStore snapshots;
 
-    public GitLabPrSourceClient(RestClient restClient, PrTrackingProps props, GitLabGroupMemberCache groupMemberCache) {
+    public GitLabPrSourceClient(RestClient restClient, PrTrackingProps props) {
+        this(restClient, props, null);
+    }
+
+    public GitLabPrSourceClient(RestClient restClient, PrTrackingProps props, @Nullable PrSnapshotStore snapshots) {
         this.restClient = restClient;
         this.props = props;
-        this.groupMemberCache = groupMemberCache;
+        this.snapshots = snapshots;
         Duration ttl = Objects.requireNonNull(props.slaDiscovery().cache(), "slaDiscovery.cache must not be null");
         this.defaultBranchCache =
                 Caffeine.newBuilder().expireAfterWrite(ttl).maximumSize(1_000).build();
@@ -90,6 +94,15 @@ public class GitLabPrSourceClient implements PrSourceClient {
         PrMetadata.PrState state = mapState(stateValue);
         Boolean mergeable = mapMergeable(mr.detailedMergeStatus());
 
+        // The MR's updated_at moves on every approval, push and state change; while it's unchanged the
+        // approvals and code-owner rules read last time are reused. Merge status is taken from this read.
+        if (snapshots != null) {
+            PrMetadata snapshot = snapshots.find(coord, prNumber, mr.updatedAt());
+            if (snapshot != null) {
+                return snapshot.withMergeable(mergeable);
+            }
+        }
+
         // Approvals are only meaningful while the MR is open. Skip the extra call after close/merge
         // to mirror Hub4jGitHubClient's behaviour and avoid unnecessary GitLab API quota burn.
         List<Review> reviews;
@@ -114,15 +127,16 @@ public class GitLabPrSourceClient implements PrSourceClient {
         // Code-owner repos: read GitLab's computed code-owner approval rules (Premium/Ultimate). The
         // gate is satisfied when every code_owner rule is approved; unapproved rules' eligible approvers
         // are the chase list. Only while open, mirroring the approvals fetch above.
+        boolean readCodeowners = state == PrMetadata.PrState.OPEN && requiresCodeowners(coord.name());
         Boolean codeOwnersApproved = null;
         List<CodeOwnerRef> codeOwnerReviewers = List.of();
-        if (state == PrMetadata.PrState.OPEN && requiresCodeowners(coord.name())) {
+        if (readCodeowners) {
             CodeownerApprovalState codeowners =
                     fetchCodeownerApprovalState(conn, projectSegment, coord.name(), prNumber);
             codeOwnersApproved = codeowners.approved();
             codeOwnerReviewers = codeowners.pendingApprovers();
         }
-        return new PrMetadata(
+        PrMetadata metadata = new PrMetadata(
                 coord,
                 prNumber,
                 createdAt,
@@ -136,6 +150,11 @@ public class GitLabPrSourceClient implements PrSourceClient {
                 // not — so this signal is always false; a not-yet-approved rule just holds in the review phase.
                 false,
                 codeOwnerReviewers);
+        // A failed code-owner read isn't kept, so it's retried on the next poll
+        if (snapshots != null && !(readCodeowners && codeOwnersApproved == null)) {
+            snapshots.save(coord, prNumber, mr.updatedAt(), metadata);
+        }
+        return metadata;
     }
 
     @Override
@@ -229,7 +248,8 @@ public class GitLabPrSourceClient implements PrSourceClient {
     public List<String> resolveTeamMembers(RepoCoord coord, String teamRef) {
         expectGitLab(coord);
         GitLabConnection conn = resolveConnection(coord.name());
-        return groupMemberCache.getMembers(conn.apiBaseUrl(), teamRef, () -> fetchGroupMembers(conn, teamRef));
+        // Not cached here: TeamMemberCache caches members of GitLab groups and GitHub teams alike
+        return fetchGroupMembers(conn, teamRef);
     }
 
     private List<String> fetchGroupMembers(GitLabConnection conn, String groupPath) {
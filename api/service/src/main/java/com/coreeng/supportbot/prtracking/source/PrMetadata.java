@@ -138,6 +138,26 @@ public record PrMetadata(
                 List.of());
     }
 
+    /**
+     * Returns a copy with {@code mergeable} replaced. Mergeability changes with the target branch without
+     * the provider bumping the PR's {@code updated_at}, so a reused snapshot takes it from the fresh read.
+     */
+    public PrMetadata withMergeable(@Nullable Boolean mergeable) {
+        return new PrMetadata(
+                coord,
+                number,
+                createdAt,
+                state,
+                mergeable,
+                requestedTeamReviewerLogins,
+                reviews,
+                authorLogin,
+                codeOwnersApproved,
+                codeownerChangesRequested,
+                codeOwnerReviewers,
+                isDraft);
+    }
+
     public boolean isOpen() {
         return state == PrState.OPEN;
     }
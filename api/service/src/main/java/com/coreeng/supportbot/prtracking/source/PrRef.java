@@ -0,0 +1,13 @@
+package com.coreeng.supportbot.prtracking.source;
+
+import static java.util.Objects.requireNonNull;
+
+/** One pull/merge request of a repository. */
+public record PrRef(RepoCoord coord, int number) {
+    public PrRef {
+        requireNonNull(coord, "coord must not be null");
+        if (number <= 0) {
+            throw new IllegalArgumentException("number must be positive, was " + number);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.coreeng.supportbot.prtracking.source;
+
+import com.coreeng.supportbot.config.PrSnapshotProps;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Instant;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * The last {@link PrMetadata} fetched for each PR, with the provider's {@code updated_at} at the time.
+ *
+ * <p>Source clients read a PR's {@code updated_at} first and reuse the stored metadata while it is
+ * unchanged, skipping the review, approval and code-owner reads. Entries are dropped after {@link
+ * PrSnapshotProps#maxAge()}, so those reads still happen at least that often.
+ */
+public class PrSnapshotStore {
+    private final Cache<Key, Snapshot> snapshots;
+    private final MeterRegistry meterRegistry;
+
+    public PrSnapshotStore(PrSnapshotProps props, MeterRegistry meterRegistry) {
+        this(props, meterRegistry, Ticker.systemTicker());
+    }
+
+    PrSnapshotStore(PrSnapshotProps props, MeterRegistry meterRegistry, Ticker ticker) {
+        this.snapshots = Caffeine.newBuilder()
+                .ticker(ticker)
+                .expireAfterWrite(props.maxAge())
+                .maximumSize(props.maximumSize())
+                .build();
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Returns the stored metadata of the PR if it was fetched when the PR had the same {@code updatedAt},
+     * otherwise {@code null}.
+     */
+    public @Nullable PrMetadata find(RepoCoord coord, int prNumber, @Nullable Instant updatedAt) {
+        Snapshot snapshot = snapshots.getIfPresent(new Key(coord, prNumber));
+        boolean unchanged = snapshot != null && updatedAt != null && updatedAt.equals(snapshot.updatedAt());
+        fetchCounter(coord.provider(), unchanged ? "snapshot" : "provider").increment();
+        return unchanged ? snapshot.metadata() : null;
+    }
+
+    /**
+     * Counts PRs read in a batch, which doesn't go through the store, alongside the per-PR fetches {@link #find}
+     * counts.
+     */
+    public void recordBatchFetch(Provider provider, int prCount) {
+        fetchCounter(provider, "batch").increment(prCount);
+    }
+
+    public void save(RepoCoord coord, int prNumber, @Nullable Instant updatedAt, PrMetadata metadata) {
+        Key key = new Key(coord, prNumber);
+        if (updatedAt == null) {
+            snapshots.invalidate(key);
+            return;
+        }
+        snapshots.put(key, new Snapshot(updatedAt, metadata));
+    }
+
+    private Counter fetchCounter(Provider provider, String source) {
+        return Counter.builder("pr_tracking_pr_fetch_total")
+                .description("PR metadata fetches, by whether the stored snapshot was reused or the PR was batched")
+                .tag("provider", provider.storageValue())
+                .tag("source", source)
+                .register(meterRegistry);
+    }
+
+    private record Key(RepoCoord coord, int prNumber) {}
+
+    private record Snapshot(Instant updatedAt, PrMetadata metadata) {}
+}
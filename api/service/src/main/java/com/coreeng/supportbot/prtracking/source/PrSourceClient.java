@@ -1,6 +1,7 @@
 package com.coreeng.supportbot.prtracking.source;
 
 import java.util.List;
+import java.util.Map;
 import org.jspecify.annotations.Nullable;
 
 /**
@@ -25,6 +26,20 @@ public interface PrSourceClient {
      */
     PrMetadata fetchPullRequest(RepoCoord coord, int prNumber);
 
+    /** Whether {@link #fetchPullRequests} can fetch several PRs in one call. */
+    default boolean supportsBatchFetch() {
+        return false;
+    }
+
+    /**
+     * Fetches several PRs, possibly of different repositories, in as few calls as the provider allows. PRs
+     * missing from the result couldn't be fetched this way and are left to {@link #fetchPullRequest}. Never
+     * throws for provider-side failures; a failed batch returns an empty map.
+     */
+    default Map<PrRef, PrMetadata> fetchPullRequests(List<PrRef> prs) {
+        return Map.of();
+    }
+
     /**
      * Fetches a file from the repository's default branch.
      *
@@ -56,6 +56,9 @@ public class SecurityConfig {
                         // Slack webhook endpoint - uses Slack's own signing secret verification
                         .requestMatchers("/slack/events")
                         .permitAll()
+                        // PR webhooks - verified with the GitHub / GitLab webhook secrets
+                        .requestMatchers("/pr-tracking/webhooks/**")
+                        .permitAll()
                         // Feature-enabled checks are open to any authenticated user (not just leadership/
                         // support engineers) so the UI sidebar can safely query them for everyone to decide
                         // whether to show the nav item, without a 403 for users lacking that role.
@@ -70,6 +73,9 @@ public class SecurityConfig {
                         // Analysis endpoints restricted to support engineers
                         .requestMatchers("/analysis/status", "/analysis/run", "/analysis/prompt")
                         .hasAnyRole("SUPPORT_ENGINEER")
+                        // Rebuilding and repairing dashboard facts is restricted to support engineers
+                        .requestMatchers("/facts/**")
+                        .hasAnyRole("SUPPORT_ENGINEER")
                         // All other endpoints require authentication
                         .anyRequest()
                         .authenticated())
@@ -3,6 +3,7 @@ package com.coreeng.supportbot.sentiment;
 import com.coreeng.supportbot.sentiment.client.SentimentAIClient;
 import com.coreeng.supportbot.sentiment.rest.SentimentAnalysisController;
 import com.coreeng.supportbot.slack.client.SlackClient;
+import com.coreeng.supportbot.summarydata.ThreadService;
 import com.coreeng.supportbot.teams.SupportTeamService;
 import com.coreeng.supportbot.ticket.TicketQueryService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -57,8 +58,9 @@ public class SentimentConfig {
             TicketQueryService ticketQueryService,
             SupportTeamService supportTeamService,
             SlackClient slackClient,
+            ThreadService threadService,
             SentimentAIClient client) {
-        return new SentimentService(ticketQueryService, supportTeamService, slackClient, client);
+        return new SentimentService(ticketQueryService, supportTeamService, slackClient, threadService, client);
     }
 
     @Bean
@@ -11,6 +11,8 @@ import com.coreeng.supportbot.sentiment.client.SentimentAIClient;
 import com.coreeng.supportbot.sentiment.client.SentimentResponse;
 import com.coreeng.supportbot.slack.SlackId;
 import com.coreeng.supportbot.slack.client.SlackClient;
+import com.coreeng.supportbot.slack.threadmessage.ThreadMessage;
+import com.coreeng.supportbot.summarydata.ThreadService;
 import com.coreeng.supportbot.teams.SupportTeamService;
 import com.coreeng.supportbot.teams.Team;
 import com.coreeng.supportbot.ticket.Ticket;
@@ -18,8 +20,6 @@ import com.coreeng.supportbot.ticket.TicketId;
 import com.coreeng.supportbot.ticket.TicketQueryService;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
-import com.slack.api.methods.request.conversations.ConversationsRepliesRequest;
-import com.slack.api.methods.response.conversations.ConversationsRepliesResponse;
 import com.slack.api.model.User;
 import java.util.Objects;
 import lombok.RequiredArgsConstructor;
@@ -27,9 +27,12 @@ import org.jspecify.annotations.Nullable;
 
 @RequiredArgsConstructor
 public class SentimentService {
+    private static final String MESSAGE_TYPE = "message";
+
     private final TicketQueryService ticketQueryService;
     private final SupportTeamService supportTeamService;
     private final SlackClient slackClient;
+    private final ThreadService threadService;
     private final SentimentAIClient client;
 
     public TicketSentimentResults calculateSentiment(TicketId id) {
@@ -41,13 +44,12 @@ public class SentimentService {
             throw new IllegalArgumentException("Ticket is not closed: " + id.render());
         }
 
-        ConversationsRepliesResponse threadPage = slackClient.getThreadPage(ConversationsRepliesRequest.builder()
-                .ts(ticket.queryTs().ts())
-                .channel(ticket.channelId())
-                .build());
+        ImmutableList<ThreadMessage> thread =
+                threadService.getThreadMessages(ticket.channelId(), ticket.queryTs().ts());
         record UserIdToEmail(String userId, String email) {}
-        ImmutableMap<String, String> userIdToEmail = threadPage.getMessages().stream()
-                .map(com.slack.api.model.Message::getUser)
+        ImmutableMap<String, String> userIdToEmail = thread.stream()
+                .map(ThreadMessage::userId)
+                .filter(Objects::nonNull)
                 .distinct()
                 .map(userId -> {
                     User user = slackClient.getUserById(new SlackId.User(userId));
@@ -63,28 +65,29 @@ public class SentimentService {
                 .collect(toImmutableMap(UserIdToEmail::userId, UserIdToEmail::email));
 
         Team supportTeam = supportTeamService.getTeam();
-        ImmutableList<Message> messages = threadPage.getMessages().stream()
-                .filter(m -> m.getBotId() == null)
+        ImmutableList<Message> messages = thread.stream()
+                .filter(m -> m.botId() == null && m.userId() != null)
                 .map(m -> {
-                    String email = userIdToEmail.get(m.getUser());
+                    String userId = Objects.requireNonNull(m.userId());
+                    String email = userIdToEmail.get(userId);
                     boolean isSupportMember = email != null && supportTeamService.isMemberByUserEmail(email);
                     String team = isSupportMember
                             ? supportTeam.code()
                             : ticket.team() != null ? ticket.team().toCode() : null;
                     return Message.builder()
-                            .user(m.getUser())
+                            .user(userId)
                             .team(team)
-                            .type(m.getType())
-                            .threadTs(m.getThreadTs())
-                            .ts(m.getTs())
-                            .text(m.getText())
+                            .type(MESSAGE_TYPE)
+                            .threadTs(m.threadTs())
+                            .ts(m.ts())
+                            .text(m.text())
                             .build();
                 })
                 .collect(toImmutableList());
 
         ImmutableList<SentimentResponse> messageSentiments = client.classifyBulk(new Messages(messages));
 
-        String ticketAuthorId = threadPage.getMessages().getFirst().getUser();
+        String ticketAuthorId = Objects.requireNonNull(thread.getFirst().userId(), "query has no author");
         Sentiment authorSentiment = calculateAuthorSentiment(ticketAuthorId, messageSentiments);
         Sentiment supportSentiment = calculateSupportTeamSentiment(supportTeam.code(), messageSentiments);
         Sentiment othersSentiment = calculateOthersSentiment(ticketAuthorId, supportTeam.code(), messageSentiments);
@@ -40,6 +40,7 @@ import com.slack.api.model.view.View;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import java.io.IOException;
+import java.time.Duration;
 import java.util.List;
 import java.util.Objects;
 import java.util.function.Function;
@@ -51,12 +52,16 @@ import org.springframework.cache.Cache;
 @RequiredArgsConstructor
 @Slf4j
 public class SlackClientImpl implements SlackClient {
+    private static final String RATE_LIMITED_ERROR = "ratelimited";
+    private static final int HTTP_TOO_MANY_REQUESTS = 429;
+
     private final MethodsClient client;
     private final Cache permalinkCache;
     private final Cache userProfileCache;
     private final Cache groupCache;
     private final Cache channelCache;
     private final MeterRegistry meterRegistry;
+    private final SlackRateGovernor rateGovernor;
 
     @Override
     public ReactionsAddResponse addReaction(ReactionsAddRequest request) {
@@ -244,41 +249,60 @@ public class SlackClientImpl implements SlackClient {
             String methodName,
             SlackRequestCallable<V> doRequest,
             @Nullable Function<V, ImmutableList<String>> errorMetadataExtractor) {
-        Timer.Sample sample = Timer.start(meterRegistry);
-        try {
-            V response = doRequest.call();
-            if (!response.isOk()) {
+        for (int attempt = 0; ; attempt++) {
+            rateGovernor.acquire(methodName);
+            Timer.Sample sample = Timer.start(meterRegistry);
+            try {
+                V response = doRequest.call();
+                if (!response.isOk()) {
+                    if (RATE_LIMITED_ERROR.equals(response.getError())
+                            && rateGovernor.onRateLimited(methodName, null, attempt)) {
+                        continue;
+                    }
+                    meterRegistry
+                            .counter(
+                                    "slack_api_calls_errors_total",
+                                    "method",
+                                    methodName,
+                                    "error_code",
+                                    response.getError() != null ? response.getError() : "unknown")
+                            .increment();
+                    throw new SlackException(
+                            response,
+                            errorMetadataExtractor != null
+                                    ? errorMetadataExtractor.apply(response)
+                                    : ImmutableList.of());
+                }
+                meterRegistry
+                        .counter("slack_api_calls_success_total", "method", methodName)
+                        .increment();
+                return response;
+            } catch (IOException | SlackApiException e) {
+                SlackException slackException = new SlackException(e);
+                Integer retryAfterSeconds = slackException.retryAfterSeconds();
+                if (e instanceof SlackApiException apiException
+                        && apiException.getResponse().code() == HTTP_TOO_MANY_REQUESTS
+                        && rateGovernor.onRateLimited(
+                                methodName,
+                                retryAfterSeconds != null ? Duration.ofSeconds(retryAfterSeconds) : null,
+                                attempt)) {
+                    continue;
+                }
                 meterRegistry
                         .counter(
                                 "slack_api_calls_errors_total",
                                 "method",
                                 methodName,
                                 "error_code",
-                                response.getError() != null ? response.getError() : "unknown")
+                                e.getClass().getSimpleName())
                         .increment();
-                throw new SlackException(
-                        response,
-                        errorMetadataExtractor != null ? errorMetadataExtractor.apply(response) : ImmutableList.of());
+                throw slackException;
+            } finally {
+                sample.stop(Timer.builder("slack_api_calls_duration_seconds")
+                        .tag("method", methodName)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry));
             }
-            meterRegistry
-                    .counter("slack_api_calls_success_total", "method", methodName)
-                    .increment();
-            return response;
-        } catch (IOException | SlackApiException e) {
-            meterRegistry
-                    .counter(
-                            "slack_api_calls_errors_total",
-                            "method",
-                            methodName,
-                            "error_code",
-                            e.getClass().getSimpleName())
-                    .increment();
-            throw new SlackException(e);
-        } finally {
-            sample.stop(Timer.builder("slack_api_calls_duration_seconds")
-                    .tag("method", methodName)
-                    .publishPercentileHistogram()
-                    .register(meterRegistry));
         }
     }
 
@@ -0,0 +1,36 @@
+package com.coreeng.supportbot.slack.client;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Priority of Slack API calls when they compete for the same rate limit. Calls in a higher lane may use
+ * capacity that lower lanes leave free, so a burst of background work can't delay users waiting on a modal.
+ *
+ * <p>Calls take the lane entered on the current thread, or else the default lane of their method.
+ */
+public enum SlackLane {
+    interactive,
+    normal,
+    background;
+
+    private static final ThreadLocal<SlackLane> CURRENT = new ThreadLocal<>();
+
+    /**
+     * Makes the Slack calls of the current thread use this lane until the returned scope is closed.
+     */
+    public Scope enter() {
+        @Nullable SlackLane previous = CURRENT.get();
+        CURRENT.set(this);
+        return () -> CURRENT.set(previous);
+    }
+
+    @Nullable static SlackLane current() {
+        return CURRENT.get();
+    }
+
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
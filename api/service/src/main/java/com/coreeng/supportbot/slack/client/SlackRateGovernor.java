@@ -0,0 +1,196 @@
+package com.coreeng.supportbot.slack.client;
+
+import com.coreeng.supportbot.config.SlackRateLimitProps;
+import com.coreeng.supportbot.slack.SlackException;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Paces Slack Web API calls to stay within Slack's per-method rate limits.
+ *
+ * <p>Each method has a token bucket sized to its Slack rate limit tier, refilled continuously. A call waits
+ * for a token; calls in lower {@link SlackLane}s leave part of the bucket to higher lanes. When Slack still
+ * rate limits a call, the method is paused for the {@code Retry-After} Slack returned and the call is retried.
+ *
+ * <p>See <a href="https://api.slack.com/apis/rate-limits">Slack rate limits</a> for the tiers.
+ */
+@Slf4j
+public class SlackRateGovernor {
+    private static final Tier DEFAULT_TIER = Tier.tier3;
+    private static final ImmutableMap<String, Tier> TIER_BY_METHOD = ImmutableMap.<String, Tier>builder()
+            .put("usergroups.list", Tier.tier2)
+            .put("usergroups.users.list", Tier.tier2)
+            .put("conversations.history", Tier.tier3)
+            .put("conversations.replies", Tier.tier3)
+            .put("conversations.info", Tier.tier3)
+            .put("conversations.open", Tier.tier3)
+            .put("reactions.add", Tier.tier3)
+            .put("reactions.remove", Tier.tier3)
+            .put("chat.update", Tier.tier3)
+            .put("users.info", Tier.tier4)
+            .put("views.open", Tier.tier4)
+            .put("views.publish", Tier.tier4)
+            .put("chat.postEphemeral", Tier.tier4)
+            // Special rate limits, roughly one message per second per channel and a generous permalink limit
+            .put("chat.postMessage", Tier.tier4)
+            .put("chat.getPermalink", Tier.tier4)
+            .buildOrThrow();
+    private static final ImmutableSet<String> INTERACTIVE_METHODS =
+            ImmutableSet.of("views.open", "views.publish", "chat.postEphemeral");
+
+    private final SlackRateLimitProps props;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    public SlackRateGovernor(SlackRateLimitProps props, MeterRegistry meterRegistry) {
+        this.props = props;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Waits until the method may be called by the current thread's lane.
+     */
+    void acquire(String method) {
+        if (!props.enabled()) {
+            return;
+        }
+        SlackLane lane = laneOf(method);
+        TokenBucket bucket = bucket(method);
+        long startedAt = System.nanoTime();
+        long waitNanos;
+        while ((waitNanos = bucket.tryTake(lane)) > 0) {
+            LockSupport.parkNanos(waitNanos);
+            if (Thread.interrupted()) {
+                Thread.currentThread().interrupt();
+                throw new SlackException(new InterruptedException("Interrupted waiting for Slack rate limit"));
+            }
+        }
+        Timer.builder("slack_api_calls_queue_wait_seconds")
+                .description("Time a Slack API call waited for its method's rate limit")
+                .tag("method", method)
+                .tag("lane", lane.name())
+                .register(meterRegistry)
+                .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records that Slack rate limited a call and pauses the method for {@code retryAfter}.
+     *
+     * @param attempt number of times the call was already retried
+     * @return whether the call should be retried; the next {@link #acquire} waits out the pause
+     */
+    boolean onRateLimited(String method, @Nullable Duration retryAfter, int attempt) {
+        Duration pause = retryAfter != null ? retryAfter : props.defaultRetryAfter();
+        boolean retry =
+                props.enabled() && attempt < props.maxRetries() && pause.compareTo(props.maxRetryAfter()) <= 0;
+        if (props.enabled()) {
+            bucket(method).pause(pause);
+        }
+        throttledCounter(method, retry ? "retried" : "failed").increment();
+        log.atWarn()
+                .addArgument(method)
+                .addArgument(pause)
+                .addArgument(() -> retry ? "retrying" : "giving up")
+                .log("Slack rate limited {} for {}, {}");
+        return retry;
+    }
+
+    /**
+     * @return nanoseconds to wait before trying again, or 0 if a token was taken
+     */
+    long tryTake(String method, SlackLane lane) {
+        return bucket(method).tryTake(lane);
+    }
+
+    private SlackLane laneOf(String method) {
+        SlackLane lane = SlackLane.current();
+        if (lane != null) {
+            return lane;
+        }
+        return INTERACTIVE_METHODS.contains(method) ? SlackLane.interactive : SlackLane.normal;
+    }
+
+    private TokenBucket bucket(String method) {
+        return buckets.computeIfAbsent(
+                method, m -> new TokenBucket(TIER_BY_METHOD.getOrDefault(m, DEFAULT_TIER).callsPerMinute));
+    }
+
+    private Counter throttledCounter(String method, String outcome) {
+        return Counter.builder("slack_api_calls_throttled_total")
+                .description("Slack API calls rejected by Slack as rate limited")
+                .tag("method", method)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private enum Tier {
+        tier2(20),
+        tier3(50),
+        tier4(100);
+
+        private final int callsPerMinute;
+
+        Tier(int callsPerMinute) {
+            this.callsPerMinute = callsPerMinute;
+        }
+    }
+
+    private static class TokenBucket {
+        private static final double NORMAL_RESERVE = 0.1;
+        private static final double BACKGROUND_RESERVE = 0.3;
+
+        private final int capacity;
+        private final double tokensPerNano;
+        private double tokens;
+        private long refilledAt = System.nanoTime();
+        private long pausedUntil = refilledAt;
+
+        TokenBucket(int callsPerMinute) {
+            this.capacity = callsPerMinute;
+            this.tokensPerNano = callsPerMinute / (double) TimeUnit.MINUTES.toNanos(1);
+            this.tokens = capacity;
+        }
+
+        synchronized long tryTake(SlackLane lane) {
+            long now = System.nanoTime();
+            if (now - pausedUntil < 0) {
+                return pausedUntil - now;
+            }
+            tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+            refilledAt = now;
+
+            // Tokens a lane has to leave for the lanes above it
+            double reserve =
+                    switch (lane) {
+                        case interactive -> 0;
+                        case normal -> Math.floor(capacity * NORMAL_RESERVE);
+                        case background -> Math.floor(capacity * BACKGROUND_RESERVE);
+                    };
+            if (tokens - 1 >= reserve) {
+                tokens -= 1;
+                return 0;
+            }
+            return Math.max(1, (long) Math.ceil((reserve + 1 - tokens) / tokensPerNano));
+        }
+
+        synchronized void pause(Duration duration) {
+            long until = System.nanoTime() + duration.toNanos();
+            if (until - pausedUntil > 0) {
+                pausedUntil = until;
+            }
+            // Slack allows a call once Retry-After passes; the bucket refills from there
+            tokens = Math.min(tokens, 1);
+            refilledAt = pausedUntil;
+        }
+    }
+}
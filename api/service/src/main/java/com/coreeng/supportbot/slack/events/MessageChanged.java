@@ -0,0 +1,35 @@
+package com.coreeng.supportbot.slack.events;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.coreeng.supportbot.slack.MessageRef;
+import com.coreeng.supportbot.slack.MessageTs;
+import com.slack.api.app_backend.events.payload.EventsApiPayload;
+import com.slack.api.model.event.MessageChangedEvent;
+import org.jspecify.annotations.Nullable;
+
+/** The new state of an edited message. */
+public record MessageChanged(
+        @Nullable String message, @Nullable String userId, @Nullable String botId, MessageRef messageRef) {
+    public MessageChanged {
+        checkNotNull(messageRef);
+    }
+
+    /**
+     * @return the edit, or {@code null} if the event doesn't carry the edited message
+     */
+    @Nullable public static MessageChanged fromMessageChangedEvent(EventsApiPayload<MessageChangedEvent> event) {
+        MessageChangedEvent e = event.getEvent();
+        MessageChangedEvent.Message m = e.getMessage();
+        if (m == null || m.getTs() == null) {
+            return null;
+        }
+        // An edited thread root carries thread_ts == ts, it's still the top-level message
+        String threadTs = m.getTs().equals(m.getThreadTs()) ? null : m.getThreadTs();
+        return new MessageChanged(
+                m.getText(),
+                m.getUser(),
+                m.getBotId(),
+                new MessageRef(MessageTs.of(m.getTs()), MessageTs.ofOrNull(threadTs), e.getChannel()));
+    }
+}
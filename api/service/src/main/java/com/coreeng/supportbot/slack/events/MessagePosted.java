@@ -4,17 +4,30 @@ import static com.google.common.base.Preconditions.checkNotNull;
 
 import com.coreeng.supportbot.slack.MessageRef;
 import com.coreeng.supportbot.slack.MessageTs;
+import com.coreeng.supportbot.slack.SlackId;
 import com.slack.api.app_backend.events.payload.EventsApiPayload;
 import com.slack.api.model.event.MessageBotEvent;
 import com.slack.api.model.event.MessageEvent;
 
-public record MessagePosted(String message, String userId, MessageRef messageRef) implements SlackEvent {
+/**
+ * A message posted by a user or, when {@code fromBot} is set, by a bot, in which case {@code userId} is the bot's id.
+ */
+public record MessagePosted(String message, String userId, MessageRef messageRef, boolean fromBot)
+        implements SlackEvent {
     public MessagePosted {
         checkNotNull(message);
         checkNotNull(userId);
         checkNotNull(messageRef);
     }
 
+    public MessagePosted(String message, String userId, MessageRef messageRef) {
+        this(message, userId, messageRef, false);
+    }
+
+    public SlackId author() {
+        return fromBot ? SlackId.bot(userId) : SlackId.user(userId);
+    }
+
     public static MessagePosted fromMessageEvent(EventsApiPayload<MessageEvent> event) {
         return new MessagePosted(
                 event.getEvent().getText(),
@@ -32,6 +45,7 @@ public record MessagePosted(String message, String userId, MessageRef messageRef
                 new MessageRef(
                         MessageTs.of(event.getEvent().getTs()),
                         MessageTs.ofOrNull(event.getEvent().getThreadTs()),
-                        event.getEvent().getChannel()));
+                        event.getEvent().getChannel()),
+                true);
     }
 }
@@ -0,0 +1,66 @@
+package com.coreeng.supportbot.slack.permalink;
+
+import static com.coreeng.supportbot.dbschema.Tables.SLACK_PERMALINK;
+import static org.jooq.impl.DSL.row;
+
+import com.coreeng.supportbot.dbschema.tables.records.SlackPermalinkRecord;
+import com.coreeng.supportbot.slack.client.SlackGetMessageByTsRequest;
+import com.google.common.collect.ImmutableMap;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.jooq.DSLContext;
+import org.jooq.InsertValuesStep3;
+import org.jooq.Row2;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class JdbcPermalinkRepository implements PermalinkRepository {
+    private final DSLContext dsl;
+
+    @Override
+    public ImmutableMap<SlackGetMessageByTsRequest, String> findPermalinks(
+            Collection<SlackGetMessageByTsRequest> messages) {
+        if (messages.isEmpty()) {
+            return ImmutableMap.of();
+        }
+        record Key(String channelId, String ts) {}
+        Map<Key, SlackGetMessageByTsRequest> messageByKey = new HashMap<>();
+        for (SlackGetMessageByTsRequest message : messages) {
+            messageByKey.put(new Key(message.channelId(), message.ts().ts()), message);
+        }
+        List<Row2<String, String>> rows = messageByKey.keySet().stream()
+                .map(k -> row(k.channelId(), k.ts()))
+                .toList();
+
+        ImmutableMap.Builder<SlackGetMessageByTsRequest, String> result = ImmutableMap.builder();
+        dsl.select(SLACK_PERMALINK.CHANNEL_ID, SLACK_PERMALINK.TS, SLACK_PERMALINK.PERMALINK)
+                .from(SLACK_PERMALINK)
+                .where(row(SLACK_PERMALINK.CHANNEL_ID, SLACK_PERMALINK.TS).in(rows))
+                .forEach(r -> {
+                    SlackGetMessageByTsRequest message = messageByKey.get(new Key(r.value1(), r.value2()));
+                    if (message != null) {
+                        result.put(message, r.value3());
+                    }
+                });
+        return result.buildOrThrow();
+    }
+
+    @Override
+    public void savePermalinks(Map<SlackGetMessageByTsRequest, String> permalinks) {
+        if (permalinks.isEmpty()) {
+            return;
+        }
+        InsertValuesStep3<SlackPermalinkRecord, String, String, String> insert = dsl.insertInto(
+                SLACK_PERMALINK, SLACK_PERMALINK.CHANNEL_ID, SLACK_PERMALINK.TS, SLACK_PERMALINK.PERMALINK);
+        for (Map.Entry<SlackGetMessageByTsRequest, String> entry : permalinks.entrySet()) {
+            insert = insert.values(
+                    entry.getKey().channelId(), entry.getKey().ts().ts(), entry.getValue());
+        }
+        // Another replica may have resolved the same message in the meantime; the permalink is the same
+        insert.onConflictDoNothing().execute();
+    }
+}
@@ -0,0 +1,15 @@
+package com.coreeng.supportbot.slack.permalink;
+
+import com.coreeng.supportbot.slack.client.SlackGetMessageByTsRequest;
+import com.google.common.collect.ImmutableMap;
+import java.util.Collection;
+import java.util.Map;
+
+public interface PermalinkRepository {
+    /**
+     * @return stored permalinks of the given messages; messages without one are left out
+     */
+    ImmutableMap<SlackGetMessageByTsRequest, String> findPermalinks(Collection<SlackGetMessageByTsRequest> messages);
+
+    void savePermalinks(Map<SlackGetMessageByTsRequest, String> permalinks);
+}
@@ -0,0 +1,121 @@
+package com.coreeng.supportbot.slack.permalink;
+
+import com.coreeng.supportbot.config.SlackPermalinkProps;
+import com.coreeng.supportbot.slack.client.SlackClient;
+import com.coreeng.supportbot.slack.client.SlackGetMessageByTsRequest;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.RateLimiter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+/**
+ * Permalinks of Slack messages, resolved through Slack once and stored.
+ *
+ * <p>Messages without a stored permalink are resolved in batches of {@link SlackPermalinkProps#maxConcurrency()},
+ * with all {@code chat.getPermalink} calls sharing one rate limit.
+ */
+@Service
+@Slf4j
+public class PermalinkService {
+    private final PermalinkRepository repository;
+    private final SlackClient slackClient;
+    private final ExecutorService executor;
+    private final int maxConcurrency;
+    private final RateLimiter rateLimiter;
+
+    public PermalinkService(
+            PermalinkRepository repository,
+            SlackClient slackClient,
+            ExecutorService executor,
+            SlackPermalinkProps props) {
+        this.repository = repository;
+        this.slackClient = slackClient;
+        this.executor = executor;
+        this.maxConcurrency = props.maxConcurrency();
+        this.rateLimiter = RateLimiter.create(props.requestsPerSecond());
+    }
+
+    /**
+     * @throws com.coreeng.supportbot.slack.SlackException if the permalink isn't stored and Slack fails to resolve it
+     */
+    public String getPermalink(SlackGetMessageByTsRequest message) {
+        String stored = repository.findPermalinks(List.of(message)).get(message);
+        if (stored != null) {
+            return stored;
+        }
+        String permalink = resolveFromSlack(message);
+        repository.savePermalinks(Map.of(message, permalink));
+        return permalink;
+    }
+
+    /**
+     * @return permalinks of the given messages; messages whose permalink couldn't be resolved are left out
+     */
+    public ImmutableMap<SlackGetMessageByTsRequest, String> getPermalinks(
+            Collection<SlackGetMessageByTsRequest> messages) {
+        ImmutableSet<SlackGetMessageByTsRequest> distinct = ImmutableSet.copyOf(messages);
+        if (distinct.isEmpty()) {
+            return ImmutableMap.of();
+        }
+        ImmutableMap<SlackGetMessageByTsRequest, String> stored = repository.findPermalinks(distinct);
+        List<SlackGetMessageByTsRequest> missing =
+                distinct.stream().filter(m -> !stored.containsKey(m)).toList();
+        if (missing.isEmpty()) {
+            return stored;
+        }
+
+        Map<SlackGetMessageByTsRequest, String> resolved = resolveAllFromSlack(missing);
+        repository.savePermalinks(resolved);
+        log.atDebug()
+                .addArgument(stored::size)
+                .addArgument(resolved::size)
+                .addArgument(() -> missing.size() - resolved.size())
+                .log("Permalinks: {} stored, {} resolved from Slack, {} failed");
+        return ImmutableMap.<SlackGetMessageByTsRequest, String>builder()
+                .putAll(stored)
+                .putAll(resolved)
+                .buildOrThrow();
+    }
+
+    private Map<SlackGetMessageByTsRequest, String> resolveAllFromSlack(List<SlackGetMessageByTsRequest> messages) {
+        Map<SlackGetMessageByTsRequest, String> resolved = new HashMap<>();
+        for (List<SlackGetMessageByTsRequest> batch : Lists.partition(messages, maxConcurrency)) {
+            List<Future<String>> futures = new ArrayList<>(batch.size());
+            for (SlackGetMessageByTsRequest message : batch) {
+                futures.add(executor.submit(() -> resolveFromSlack(message)));
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                SlackGetMessageByTsRequest message = batch.get(i);
+                try {
+                    resolved.put(message, futures.get(i).get());
+                } catch (ExecutionException e) {
+                    log.atWarn()
+                            .setCause(e.getCause())
+                            .addKeyValue("channelId", message.channelId())
+                            .addKeyValue("ts", message.ts())
+                            .log("Failed to resolve message permalink from Slack");
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    futures.forEach(f -> f.cancel(true));
+                    return resolved;
+                }
+            }
+        }
+        return resolved;
+    }
+
+    private String resolveFromSlack(SlackGetMessageByTsRequest message) {
+        rateLimiter.acquire();
+        return slackClient.getPermalink(message);
+    }
+}
@@ -0,0 +1,4 @@
+@NullMarked
+package com.coreeng.supportbot.slack.permalink;
+
+import org.jspecify.annotations.NullMarked;
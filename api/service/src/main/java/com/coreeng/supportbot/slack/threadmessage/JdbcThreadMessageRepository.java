@@ -0,0 +1,115 @@
+package com.coreeng.supportbot.slack.threadmessage;
+
+import static com.coreeng.supportbot.dbschema.Tables.SLACK_THREAD_MESSAGE;
+import static org.jooq.impl.DSL.inline;
+import static org.jooq.impl.DSL.selectOne;
+
+import com.coreeng.supportbot.dbschema.enums.SlackThreadMessageSource;
+import com.google.common.collect.ImmutableList;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.jooq.DSLContext;
+import org.jspecify.annotations.Nullable;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class JdbcThreadMessageRepository implements ThreadMessageRepository {
+    private final DSLContext dsl;
+
+    @Override
+    public @Nullable ImmutableList<ThreadMessage> findThread(String channelId, String threadTs) {
+        // Edits and deletes of a root say nothing about what was posted before them
+        boolean whole = dsl.fetchExists(selectOne()
+                .from(SLACK_THREAD_MESSAGE)
+                .where(SLACK_THREAD_MESSAGE.CHANNEL_ID.eq(channelId))
+                .and(SLACK_THREAD_MESSAGE.THREAD_TS.eq(threadTs))
+                .and(SLACK_THREAD_MESSAGE.TS.eq(threadTs))
+                .and(SLACK_THREAD_MESSAGE.SOURCE.in(
+                        SlackThreadMessageSource.posted, SlackThreadMessageSource.crawled)));
+        if (!whole) {
+            return null;
+        }
+        return dsl.select(
+                        SLACK_THREAD_MESSAGE.TS,
+                        SLACK_THREAD_MESSAGE.USER_ID,
+                        SLACK_THREAD_MESSAGE.BOT_ID,
+                        SLACK_THREAD_MESSAGE.TEXT)
+                .distinctOn(SLACK_THREAD_MESSAGE.TS)
+                .from(SLACK_THREAD_MESSAGE)
+                .where(SLACK_THREAD_MESSAGE.CHANNEL_ID.eq(channelId))
+                .and(SLACK_THREAD_MESSAGE.THREAD_TS.eq(threadTs))
+                .orderBy(SLACK_THREAD_MESSAGE.TS, SLACK_THREAD_MESSAGE.ID.desc())
+                .fetch()
+                .stream()
+                .filter(r -> r.value4() != null)
+                .map(r -> new ThreadMessage(threadTs, r.value1(), r.value2(), r.value3(), r.value4()))
+                .collect(ImmutableList.toImmutableList());
+    }
+
+    @Override
+    public void recordPosted(String channelId, ThreadMessage message) {
+        insert(channelId, List.of(message), SlackThreadMessageSource.posted);
+    }
+
+    @Override
+    public void recordEdited(String channelId, ThreadMessage message) {
+        insert(channelId, List.of(message), SlackThreadMessageSource.edited);
+    }
+
+    @Override
+    public void recordDeleted(String channelId, String ts) {
+        dsl.insertInto(
+                        SLACK_THREAD_MESSAGE,
+                        SLACK_THREAD_MESSAGE.CHANNEL_ID,
+                        SLACK_THREAD_MESSAGE.THREAD_TS,
+                        SLACK_THREAD_MESSAGE.TS,
+                        SLACK_THREAD_MESSAGE.USER_ID,
+                        SLACK_THREAD_MESSAGE.BOT_ID,
+                        SLACK_THREAD_MESSAGE.SOURCE)
+                .select(dsl.select(
+                                SLACK_THREAD_MESSAGE.CHANNEL_ID,
+                                SLACK_THREAD_MESSAGE.THREAD_TS,
+                                SLACK_THREAD_MESSAGE.TS,
+                                SLACK_THREAD_MESSAGE.USER_ID,
+                                SLACK_THREAD_MESSAGE.BOT_ID,
+                                inline(SlackThreadMessageSource.deleted))
+                        .from(SLACK_THREAD_MESSAGE)
+                        .where(SLACK_THREAD_MESSAGE.CHANNEL_ID.eq(channelId))
+                        .and(SLACK_THREAD_MESSAGE.TS.eq(ts))
+                        .orderBy(SLACK_THREAD_MESSAGE.ID.desc())
+                        .limit(1))
+                .execute();
+    }
+
+    @Override
+    public void saveCrawledThread(String channelId, List<ThreadMessage> messages) {
+        insert(channelId, messages, SlackThreadMessageSource.crawled);
+    }
+
+    private void insert(String channelId, List<ThreadMessage> messages, SlackThreadMessageSource source) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        var insert = dsl.insertInto(
+                SLACK_THREAD_MESSAGE,
+                SLACK_THREAD_MESSAGE.CHANNEL_ID,
+                SLACK_THREAD_MESSAGE.THREAD_TS,
+                SLACK_THREAD_MESSAGE.TS,
+                SLACK_THREAD_MESSAGE.USER_ID,
+                SLACK_THREAD_MESSAGE.BOT_ID,
+                SLACK_THREAD_MESSAGE.TEXT,
+                SLACK_THREAD_MESSAGE.SOURCE);
+        for (ThreadMessage message : messages) {
+            insert = insert.values(
+                    channelId,
+                    message.threadTs(),
+                    message.ts(),
+                    message.userId(),
+                    message.botId(),
+                    message.text(),
+                    source);
+        }
+        insert.execute();
+    }
+}
@@ -0,0 +1,31 @@
+package com.coreeng.supportbot.slack.threadmessage;
+
+import com.coreeng.supportbot.config.SlackChannelRegistry;
+import com.coreeng.supportbot.slack.SlackEventHandler;
+import com.slack.api.app_backend.events.payload.EventsApiPayload;
+import com.slack.api.bolt.context.builtin.EventContext;
+import com.slack.api.model.event.MessageBotEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class ThreadBotMessagePostedHandler implements SlackEventHandler<MessageBotEvent> {
+    private final SlackChannelRegistry channelRegistry;
+    private final ThreadMessageRepository repository;
+
+    @Override
+    public Class<MessageBotEvent> getEventClass() {
+        return MessageBotEvent.class;
+    }
+
+    @Override
+    public void apply(EventsApiPayload<MessageBotEvent> event, EventContext context) {
+        MessageBotEvent e = event.getEvent();
+        if (!channelRegistry.isMonitored(e.getChannel())) {
+            return;
+        }
+        repository.recordPosted(
+                e.getChannel(), ThreadMessage.of(e.getThreadTs(), e.getTs(), null, e.getBotId(), e.getText()));
+    }
+}
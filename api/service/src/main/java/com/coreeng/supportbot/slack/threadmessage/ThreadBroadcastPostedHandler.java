@@ -0,0 +1,32 @@
+package com.coreeng.supportbot.slack.threadmessage;
+
+import com.coreeng.supportbot.config.SlackChannelRegistry;
+import com.coreeng.supportbot.slack.SlackEventHandler;
+import com.slack.api.app_backend.events.payload.EventsApiPayload;
+import com.slack.api.bolt.context.builtin.EventContext;
+import com.slack.api.model.event.MessageThreadBroadcastEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/** Records replies that are also sent to the channel, which Slack delivers as their own subtype. */
+@Component
+@RequiredArgsConstructor
+public class ThreadBroadcastPostedHandler implements SlackEventHandler<MessageThreadBroadcastEvent> {
+    private final SlackChannelRegistry channelRegistry;
+    private final ThreadMessageRepository repository;
+
+    @Override
+    public Class<MessageThreadBroadcastEvent> getEventClass() {
+        return MessageThreadBroadcastEvent.class;
+    }
+
+    @Override
+    public void apply(EventsApiPayload<MessageThreadBroadcastEvent> event, EventContext context) {
+        MessageThreadBroadcastEvent e = event.getEvent();
+        if (!channelRegistry.isMonitored(e.getChannel())) {
+            return;
+        }
+        repository.recordPosted(
+                e.getChannel(), ThreadMessage.of(e.getThreadTs(), e.getTs(), e.getUser(), null, e.getText()));
+    }
+}
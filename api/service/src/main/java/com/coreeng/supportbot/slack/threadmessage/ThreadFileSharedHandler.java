@@ -0,0 +1,32 @@
+package com.coreeng.supportbot.slack.threadmessage;
+
+import com.coreeng.supportbot.config.SlackChannelRegistry;
+import com.coreeng.supportbot.slack.SlackEventHandler;
+import com.slack.api.app_backend.events.payload.EventsApiPayload;
+import com.slack.api.bolt.context.builtin.EventContext;
+import com.slack.api.model.event.MessageFileShareEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/** Records messages that share a file, with the text posted alongside it. */
+@Component
+@RequiredArgsConstructor
+public class ThreadFileSharedHandler implements SlackEventHandler<MessageFileShareEvent> {
+    private final SlackChannelRegistry channelRegistry;
+    private final ThreadMessageRepository repository;
+
+    @Override
+    public Class<MessageFileShareEvent> getEventClass() {
+        return MessageFileShareEvent.class;
+    }
+
+    @Override
+    public void apply(EventsApiPayload<MessageFileShareEvent> event, EventContext context) {
+        MessageFileShareEvent e = event.getEvent();
+        if (!channelRegistry.isMonitored(e.getChannel())) {
+            return;
+        }
+        repository.recordPosted(
+                e.getChannel(), ThreadMessage.of(e.getThreadTs(), e.getTs(), e.getUser(), null, e.getText()));
+    }
+}
@@ -0,0 +1,32 @@
+package com.coreeng.supportbot.slack.threadmessage;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A message of a Slack thread as the mirror holds it. {@code threadTs} is the {@code ts} of the thread's root
+ * message, which is the root's own {@code ts}.
+ */
+public record ThreadMessage(
+        String threadTs, String ts, @Nullable String userId, @Nullable String botId, String text) {
+    public ThreadMessage {
+        checkNotNull(threadTs);
+        checkNotNull(ts);
+        checkNotNull(text);
+    }
+
+    /**
+     * Builds a message from Slack's message fields: a root message has no {@code thread_ts}, or its own {@code ts},
+     * and a message without text, e.g. a file upload, gets an empty one.
+     */
+    public static ThreadMessage of(
+            @Nullable String threadTs,
+            String ts,
+            @Nullable String userId,
+            @Nullable String botId,
+            @Nullable String text) {
+        return new ThreadMessage(
+                threadTs == null || threadTs.isEmpty() ? ts : threadTs, ts, userId, botId, text == null ? "" : text);
+    }
+}
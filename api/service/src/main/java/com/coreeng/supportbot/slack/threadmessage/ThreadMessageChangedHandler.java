@@ -0,0 +1,32 @@
+package com.coreeng.supportbot.slack.threadmessage;
+
+import com.coreeng.supportbot.config.SlackChannelRegistry;
+import com.coreeng.supportbot.slack.SlackEventHandler;
+import com.slack.api.app_backend.events.payload.EventsApiPayload;
+import com.slack.api.bolt.context.builtin.EventContext;
+import com.slack.api.model.event.MessageChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class ThreadMessageChangedHandler implements SlackEventHandler<MessageChangedEvent> {
+    private final SlackChannelRegistry channelRegistry;
+    private final ThreadMessageRepository repository;
+
+    @Override
+    public Class<MessageChangedEvent> getEventClass() {
+        return MessageChangedEvent.class;
+    }
+
+    @Override
+    public void apply(EventsApiPayload<MessageChangedEvent> event, EventContext context) {
+        MessageChangedEvent e = event.getEvent();
+        MessageChangedEvent.Message m = e.getMessage();
+        if (!channelRegistry.isMonitored(e.getChannel()) || m == null || m.getTs() == null) {
+            return;
+        }
+        repository.recordEdited(
+                e.getChannel(), ThreadMessage.of(m.getThreadTs(), m.getTs(), m.getUser(), m.getBotId(), m.getText()));
+    }
+}
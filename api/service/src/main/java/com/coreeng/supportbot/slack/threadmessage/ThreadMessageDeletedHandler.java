@@ -0,0 +1,30 @@
+package com.coreeng.supportbot.slack.threadmessage;
+
+import com.coreeng.supportbot.config.SlackChannelRegistry;
+import com.coreeng.supportbot.slack.SlackEventHandler;
+import com.slack.api.app_backend.events.payload.EventsApiPayload;
+import com.slack.api.bolt.context.builtin.EventContext;
+import com.slack.api.model.event.MessageDeletedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class ThreadMessageDeletedHandler implements SlackEventHandler<MessageDeletedEvent> {
+    private final SlackChannelRegistry channelRegistry;
+    private final ThreadMessageRepository repository;
+
+    @Override
+    public Class<MessageDeletedEvent> getEventClass() {
+        return MessageDeletedEvent.class;
+    }
+
+    @Override
+    public void apply(EventsApiPayload<MessageDeletedEvent> event, EventContext context) {
+        MessageDeletedEvent e = event.getEvent();
+        if (!channelRegistry.isMonitored(e.getChannel())) {
+            return;
+        }
+        repository.recordDeleted(e.getChannel(), e.getDeletedTs());
+    }
+}
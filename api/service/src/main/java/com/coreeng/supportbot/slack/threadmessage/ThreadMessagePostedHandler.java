@@ -0,0 +1,31 @@
+package com.coreeng.supportbot.slack.threadmessage;
+
+import com.coreeng.supportbot.config.SlackChannelRegistry;
+import com.coreeng.supportbot.slack.SlackEventHandler;
+import com.slack.api.app_backend.events.payload.EventsApiPayload;
+import com.slack.api.bolt.context.builtin.EventContext;
+import com.slack.api.model.event.MessageEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class ThreadMessagePostedHandler implements SlackEventHandler<MessageEvent> {
+    private final SlackChannelRegistry channelRegistry;
+    private final ThreadMessageRepository repository;
+
+    @Override
+    public Class<MessageEvent> getEventClass() {
+        return MessageEvent.class;
+    }
+
+    @Override
+    public void apply(EventsApiPayload<MessageEvent> event, EventContext context) {
+        MessageEvent e = event.getEvent();
+        if (!channelRegistry.isMonitored(e.getChannel())) {
+            return;
+        }
+        repository.recordPosted(
+                e.getChannel(), ThreadMessage.of(e.getThreadTs(), e.getTs(), e.getUser(), e.getBotId(), e.getText()));
+    }
+}
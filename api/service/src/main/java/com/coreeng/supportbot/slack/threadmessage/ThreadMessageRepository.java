@@ -0,0 +1,23 @@
+package com.coreeng.supportbot.slack.threadmessage;
+
+import com.google.common.collect.ImmutableList;
+import java.util.List;
+import org.jspecify.annotations.Nullable;
+
+public interface ThreadMessageRepository {
+    /**
+     * @return the thread's current messages ordered by {@code ts}, or {@code null} when the mirror doesn't hold
+     *     the whole thread: its root was neither recorded when posted nor crawled
+     */
+    @Nullable ImmutableList<ThreadMessage> findThread(String channelId, String threadTs);
+
+    void recordPosted(String channelId, ThreadMessage message);
+
+    void recordEdited(String channelId, ThreadMessage message);
+
+    /** Records the delete of a mirrored message; a message the mirror doesn't have is ignored. */
+    void recordDeleted(String channelId, String ts);
+
+    /** Stores a crawl of a whole thread, after which the mirror holds the thread. */
+    void saveCrawledThread(String channelId, List<ThreadMessage> messages);
+}
@@ -0,0 +1,47 @@
+package com.coreeng.supportbot.slack.threadmessage;
+
+import com.coreeng.supportbot.config.SlackChannelRegistry;
+import com.coreeng.supportbot.config.SlackThreadMirrorProps;
+import com.coreeng.supportbot.slack.client.SlackLane;
+import com.coreeng.supportbot.summarydata.ThreadService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Mirrors the monitored channels' recent threads at startup when {@code slack.thread-mirror.backfill-days} is
+ * set. It runs in the background so startup doesn't wait for the crawl.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ThreadMirrorBackfill implements ApplicationRunner {
+    private final SlackThreadMirrorProps props;
+    private final SlackChannelRegistry channelRegistry;
+    private final ThreadService threadService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (props.backfillDays() == 0) {
+            return;
+        }
+        Thread.ofVirtual().name("thread-mirror-backfill").start(this::backfill);
+    }
+
+    private void backfill() {
+        try (SlackLane.Scope ignored = SlackLane.background.enter()) {
+            for (String channelId : channelRegistry.monitoredChannelIds()) {
+                try {
+                    threadService.backfill(channelId, props.backfillDays());
+                } catch (Exception e) {
+                    log.atError()
+                            .addArgument(channelId)
+                            .setCause(e)
+                            .log("Could not backfill thread mirror of channel {}, continuing with next channel");
+                }
+            }
+        }
+    }
+}
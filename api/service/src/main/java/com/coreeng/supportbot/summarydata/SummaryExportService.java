@@ -2,21 +2,28 @@ package com.coreeng.supportbot.summarydata;
 
 import com.coreeng.supportbot.asyncjob.AsyncJobRepository;
 import com.coreeng.supportbot.config.SlackChannelRegistry;
-import java.io.ByteArrayOutputStream;
+import com.coreeng.supportbot.config.SummaryExportProps;
+import com.coreeng.supportbot.slack.client.SlackLane;
+import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneOffset;
-import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 import lombok.RequiredArgsConstructor;
@@ -32,8 +39,13 @@ import org.springframework.stereotype.Service;
 
 /**
  * Orchestrates the async Knowledge Gap thread export: a single shared zip built on a background
- * thread so the triggering HTTP request never blocks on the (often 10+ minute) Slack fetch. Held in
- * memory, single-consumption on download, swept after {@link #RETENTION_DURATION} if unclaimed.
+ * thread so the triggering HTTP request never blocks on the (often 10+ minute) Slack fetch.
+ *
+ * <p>Each thread's text is written to its own file in the export's work directory as soon as it's
+ * fetched, and the files are zipped into {@code summary-data.export.directory} once all channels are
+ * done, so neither the texts nor the zip are held in memory. A job left running by a restart is
+ * resumed from the files already written. The zip is single-consumption on download, and swept
+ * after {@link #RETENTION_DURATION} if unclaimed.
  */
 @Service
 @RequiredArgsConstructor
@@ -41,17 +53,25 @@ import org.springframework.stereotype.Service;
 public class SummaryExportService {
 
     private static final String ASYNC_ID = "summary-export";
+    private static final String ENTRIES_DIRECTORY = "entries";
+    private static final String ENTRY_SUFFIX = ".txt";
 
     private final AsyncJobRepository asyncJobRepository;
     private final ThreadService threadService;
+    private final ThreadCrawler threadCrawler;
     private final SlackChannelRegistry channelRegistry;
     private final ApplicationContext applicationContext;
+    private final SummaryExportProps props;
 
     private static final ExportStatus IDLE_STATUS = new ExportStatus(false, null, null);
     private final AtomicReference<ExportStatus> currentStatus = new AtomicReference<>(IDLE_STATUS);
 
     private final AtomicReference<@Nullable CompletedExport> currentExport = new AtomicReference<>();
 
+    // The export a download has claimed; kept until it expires so an interrupted download can be
+    // resumed with a Range request.
+    private final AtomicReference<@Nullable CompletedExport> claimedExport = new AtomicReference<>();
+
     private static final Duration RETENTION_DURATION = Duration.ofHours(8);
 
     // Test-only seam: there's no production path to populate/inspect a completed export directly.
@@ -82,11 +102,11 @@ public class SummaryExportService {
         }
     }
 
-    // equals/hashCode overridden below (content-aware via Arrays.equals/hashCode), so the
-    // reference-only comparison ErrorProne warns about here doesn't apply.
-    @SuppressWarnings("ArrayRecordComponent")
+    /**
+     * @param file the zip on local disk
+     */
     public record CompletedExport(
-            byte[] content, String displayFilename, int threadCount, Instant completedAt, Instant expiresAt) {
+            Path file, String displayFilename, int threadCount, Instant completedAt, Instant expiresAt) {
 
         public CompletedExport {
             if (threadCount < 0) {
@@ -96,42 +116,37 @@ public class SummaryExportService {
                 throw new IllegalArgumentException("expiresAt must be after completedAt");
             }
         }
-
-        @Override
-        public boolean equals(Object o) {
-            if (this == o) {
-                return true;
-            }
-            if (!(o instanceof CompletedExport other)) {
-                return false;
-            }
-            return threadCount == other.threadCount
-                    && Arrays.equals(content, other.content)
-                    && displayFilename.equals(other.displayFilename)
-                    && completedAt.equals(other.completedAt)
-                    && expiresAt.equals(other.expiresAt);
-        }
-
-        @Override
-        public int hashCode() {
-            return 31 * Objects.hash(displayFilename, threadCount, completedAt, expiresAt) + Arrays.hashCode(content);
-        }
     }
 
-    // Discards rather than resumes a job left running by a restart — unlike AnalysisService, there's
-    // no incremental progress to resume from, so re-running would just silently redo the whole fetch.
+    // A job left running by a restart is resumed: the threads it already wrote are kept and only
+    // the rest are fetched. Zips finished before the restart can't be served anymore, since which
+    // one is current was only known in memory, so they're deleted.
     @EventListener(ApplicationReadyEvent.class)
     public void resumeExportOnStartup() {
+        deleteCompletedZips();
         AsyncJobRepository.AsyncJob existingJob = asyncJobRepository.findJob(ASYNC_ID);
         if (existingJob == null) {
+            deleteRecursively(entriesDirectory());
             return;
         }
 
-        log.warn(
-                "Found stale export job {} from a previous run (started {}); discarding rather than resuming",
-                ASYNC_ID,
-                existingJob.startedAt());
-        asyncJobRepository.deleteJob(ASYNC_ID);
+        int days;
+        try {
+            days = Integer.parseInt(existingJob.data());
+        } catch (NumberFormatException e) {
+            log.error("Corrupt async job data '{}', deleting job", existingJob.data());
+            asyncJobRepository.deleteJob(ASYNC_ID);
+            return;
+        }
+
+        log.info(
+                "Found export job {} from a previous run (started {}), resuming it", ASYNC_ID, existingJob.startedAt());
+        try {
+            applicationContext.getBean(SummaryExportService.class).resumeAsyncExport(days);
+        } catch (TaskRejectedException e) {
+            log.error("Executor rejected resume of export job, cleaning up DB record", e);
+            asyncJobRepository.deleteJob(ASYNC_ID);
+        }
     }
 
     /**
@@ -145,7 +160,7 @@ public class SummaryExportService {
         }
 
         // A new export replaces the old one from the moment it's requested, not once it finishes.
-        currentExport.set(null);
+        discard(currentExport.getAndSet(null));
 
         try {
             log.info("Started new async job: id={}, days={}", ASYNC_ID, days);
@@ -162,66 +177,154 @@ public class SummaryExportService {
 
     /**
      * Runs the export job asynchronously on the {@code summaryExportTaskExecutor}: fetches every
-     * monitored channel's checked-off threads, zips them in memory, and — only on success —
+     * monitored channel's checked-off threads, zips them on disk, and — only on success —
      * publishes the result via {@link #currentExport}.
      */
     @Async("summaryExportTaskExecutor")
     public void runAsyncExport(int days) {
+        export(days, false);
+    }
+
+    /** Like {@link #runAsyncExport}, but keeps the threads an interrupted run already wrote. */
+    @Async("summaryExportTaskExecutor")
+    public void resumeAsyncExport(int days) {
+        export(days, true);
+    }
+
+    private void export(int days, boolean resume) {
         Instant startedAt = Instant.now();
         currentStatus.set(new ExportStatus(true, startedAt, null));
 
+        boolean interrupted = false;
         try {
+            Path entries = entriesDirectory();
+            if (!resume) {
+                deleteRecursively(entries);
+            }
+            Files.createDirectories(entries);
+
             List<String> channelIds = channelRegistry.monitoredChannelIds();
             log.info("Exporting summary data for last {} days from channels {}", days, channelIds);
 
             // A failing channel shouldn't fail the whole export, so each is fetched independently
             // and skipped on error (only logged — fine while there's typically one channel; would
             // need surfacing to the caller if multi-channel monitoring becomes common).
-            List<ThreadService.ThreadData> threads = new ArrayList<>();
-            for (String channelId : channelIds) {
-                try {
-                    threads.addAll(threadService.getThreadsWithCheckMarkAsText(channelId, days));
-                } catch (Exception e) {
-                    log.warn("Failed to fetch threads for channel {}; skipping it in the export", channelId, e);
+            try (SlackLane.Scope ignored = SlackLane.background.enter()) {
+                for (String channelId : channelIds) {
+                    try {
+                        writeChannelEntries(entries, channelId, days);
+                    } catch (InterruptedException e) {
+                        throw e;
+                    } catch (Exception e) {
+                        if (Thread.currentThread().isInterrupted()) {
+                            throw e;
+                        }
+                        log.warn("Failed to fetch threads for channel {}; skipping it in the export", channelId, e);
+                    }
                 }
             }
-            log.info("Found {} threads to export", threads.size());
 
-            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
-            writeZip(buffer, threads);
-            byte[] content = buffer.toByteArray();
+            Path zip = props.directoryPath().resolve("summary-export-" + UUID.randomUUID() + ".zip");
+            int threadCount = writeZip(zip, entries);
+            deleteRecursively(entries);
 
             Instant completedAt = Instant.now();
             String displayFilename = displayFilename(days, completedAt);
             Instant expiresAt = completedAt.plus(RETENTION_DURATION);
 
-            currentExport.set(new CompletedExport(content, displayFilename, threads.size(), completedAt, expiresAt));
+            currentExport.set(new CompletedExport(zip, displayFilename, threadCount, completedAt, expiresAt));
             currentStatus.set(new ExportStatus(false, startedAt, null));
-            log.info("Successfully exported {} threads ({} bytes)", threads.size(), content.length);
+            log.info("Successfully exported {} threads ({} bytes)", threadCount, Files.size(zip));
+        } catch (InterruptedException e) {
+            interrupted = true;
+            Thread.currentThread().interrupt();
+            logInterrupted();
         } catch (Exception e) {
-            log.error("Export job {} failed", ASYNC_ID, e);
-            currentStatus.set(new ExportStatus(false, startedAt, e.toString()));
+            // Interrupting a thread blocked on a file channel closes the channel instead of throwing
+            // InterruptedException, but leaves the interrupt flag set
+            if (Thread.currentThread().isInterrupted()) {
+                interrupted = true;
+                logInterrupted();
+            } else {
+                log.error("Export job {} failed", ASYNC_ID, e);
+                currentStatus.set(new ExportStatus(false, startedAt, e.toString()));
+            }
         } finally {
-            asyncJobRepository.deleteJob(ASYNC_ID);
+            // Stopped by a shutdown: the job and the threads written so far are kept for the next start to
+            // resume, and nothing is published
+            if (!interrupted) {
+                asyncJobRepository.deleteJob(ASYNC_ID);
+            }
         }
     }
 
+    private static void logInterrupted() {
+        log.info("Export job {} interrupted, it will resume on the next start", ASYNC_ID);
+    }
+
+    // Entries are named by channel and thread_ts, so a resumed run recognises the threads it
+    // already wrote. Each is written to a temporary file and moved into place, so one cut short by
+    // a restart is never mistaken for a finished one. A thread that can't be fetched is left out
+    // rather than losing the rest of the channel.
+    private void writeChannelEntries(Path entries, String channelId, int days) throws InterruptedException {
+        List<String> threadTimestamps = threadService.getThreadsWithCheckMark(channelId, days);
+        log.info("Found {} threads to export in channel {}", threadTimestamps.size(), channelId);
+        List<String> toFetch = threadTimestamps.stream()
+                .distinct()
+                .filter(threadTs -> !Files.exists(entryFile(entries, channelId, threadTs)))
+                .toList();
+        threadCrawler.crawl(toFetch, threadTs -> new ThreadCrawler.ThreadRef(channelId, threadTs), crawled -> {
+            String threadTs = crawled.item();
+            String text = crawled.text();
+            if (text == null) {
+                log.warn(
+                        "Failed to fetch thread {} in channel {}; skipping it in the export",
+                        threadTs,
+                        channelId,
+                        crawled.failure());
+                return;
+            }
+            Path entry = entryFile(entries, channelId, threadTs);
+            Path partial = entries.resolve(entry.getFileName() + ".partial");
+            try {
+                Files.writeString(partial, text, StandardCharsets.UTF_8);
+                Files.move(partial, entry, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private static Path entryFile(Path entries, String channelId, String threadTs) {
+        return entries.resolve(channelId + "_" + threadTs + ENTRY_SUFFIX);
+    }
+
     // Cross-channel thread_ts collisions are disambiguated by suffix rather than dropped, since two
     // different threads in different channels can legitimately share a thread_ts.
-    private static void writeZip(ByteArrayOutputStream out, List<ThreadService.ThreadData> threads) throws IOException {
+    private static int writeZip(Path zipFile, Path entries) throws IOException {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(entries)) {
+            files = listing.filter(f -> f.getFileName().toString().endsWith(ENTRY_SUFFIX))
+                    .sorted()
+                    .toList();
+        }
         Set<String> usedNames = new HashSet<>();
-        try (ZipOutputStream zip = new ZipOutputStream(out)) {
-            for (ThreadService.ThreadData thread : threads) {
-                String fileName = thread.threadTs() + ".txt";
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(zipFile));
+                ZipOutputStream zip = new ZipOutputStream(out)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                String threadTs = name.substring(name.indexOf('_') + 1, name.length() - ENTRY_SUFFIX.length());
+                String fileName = threadTs + ENTRY_SUFFIX;
                 for (int dup = 2; !usedNames.add(fileName); dup++) {
-                    fileName = thread.threadTs() + "-" + dup + ".txt";
+                    fileName = threadTs + "-" + dup + ENTRY_SUFFIX;
                 }
                 zip.putNextEntry(new ZipEntry(fileName));
-                zip.write(thread.text().getBytes(StandardCharsets.UTF_8));
+                Files.copy(file, zip);
                 zip.closeEntry();
             }
             zip.finish();
         }
+        return files.size();
     }
 
     private static String displayFilename(int days, Instant completedAt) {
@@ -242,7 +345,9 @@ public class SummaryExportService {
             return Optional.empty();
         }
         if (Instant.now().isAfter(export.expiresAt())) {
-            currentExport.compareAndSet(export, null);
+            if (currentExport.compareAndSet(export, null)) {
+                discard(export);
+            }
             return Optional.empty();
         }
         return Optional.of(export);
@@ -252,6 +357,23 @@ public class SummaryExportService {
     // for everyone else from that instant.
     public Optional<CompletedExport> consumeCurrentExport() {
         CompletedExport export = currentExport.getAndSet(null);
+        if (export == null) {
+            return Optional.empty();
+        }
+        if (Instant.now().isAfter(export.expiresAt())) {
+            discard(export);
+            return Optional.empty();
+        }
+        discard(claimedExport.getAndSet(export));
+        return Optional.of(export);
+    }
+
+    /**
+     * The export a download has already claimed, for resuming that download with a Range request
+     * until the export expires.
+     */
+    public Optional<CompletedExport> claimedExport() {
+        CompletedExport export = claimedExport.get();
         if (export == null || Instant.now().isAfter(export.expiresAt())) {
             return Optional.empty();
         }
@@ -265,8 +387,57 @@ public class SummaryExportService {
         CompletedExport export = currentExport.get();
         if (export != null && Instant.now().isAfter(export.expiresAt())) {
             if (currentExport.compareAndSet(export, null)) {
+                discard(export);
                 log.info("Discarded unclaimed export {} after its retention window elapsed", export.displayFilename());
             }
         }
+        CompletedExport claimed = claimedExport.get();
+        if (claimed != null && Instant.now().isAfter(claimed.expiresAt())) {
+            if (claimedExport.compareAndSet(claimed, null)) {
+                discard(claimed);
+            }
+        }
+    }
+
+    private Path entriesDirectory() {
+        return props.directoryPath().resolve(ENTRIES_DIRECTORY);
+    }
+
+    private void deleteCompletedZips() {
+        Path directory = props.directoryPath();
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (Stream<Path> listing = Files.list(directory)) {
+            listing.filter(f -> f.getFileName().toString().endsWith(".zip"))
+                    .forEach(SummaryExportService::delete);
+        } catch (IOException e) {
+            log.warn("Could not clean up exports left in {}", directory, e);
+        }
+    }
+
+    private static void discard(@Nullable CompletedExport export) {
+        if (export != null) {
+            delete(export.file());
+        }
+    }
+
+    private static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete export file {}", file, e);
+        }
+    }
+
+    private static void deleteRecursively(Path directory) {
+        if (!Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> walk = Files.walk(directory)) {
+            walk.sorted(Comparator.reverseOrder()).forEach(SummaryExportService::delete);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not delete " + directory, e);
+        }
     }
 }
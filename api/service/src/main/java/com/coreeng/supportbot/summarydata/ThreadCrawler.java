@@ -0,0 +1,82 @@
+package com.coreeng.supportbot.summarydata;
+
+import com.coreeng.supportbot.config.ThreadCrawlProps;
+import com.coreeng.supportbot.slack.client.SlackLane;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import lombok.RequiredArgsConstructor;
+import org.jspecify.annotations.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fetches the texts of many threads concurrently and hands them on in the order they were asked for.
+ *
+ * <p>At most {@code summary-data.crawl.max-concurrency} threads are fetched ahead of the one being handed on,
+ * so a slow consumer holds back the fetching rather than piling up texts. Slack calls run in the background
+ * lane, where the Slack client paces them by each method's rate limit and waits out {@code Retry-After}; the
+ * crawl runs as fast as Slack allows without fixed pauses of its own.
+ */
+@Component
+@RequiredArgsConstructor
+public class ThreadCrawler {
+    private final ThreadService threadService;
+    private final ThreadCrawlProps props;
+
+    public record ThreadRef(String channelId, String threadTs) {}
+
+    /**
+     * @param text the sanitised thread text, null when fetching it failed
+     * @param failure why fetching the thread failed
+     */
+    public record CrawledThread<T>(T item, @Nullable String text, @Nullable Throwable failure) {}
+
+    @FunctionalInterface
+    public interface CrawledThreadConsumer<T> {
+        void accept(CrawledThread<T> crawled) throws InterruptedException;
+    }
+
+    /**
+     * Fetches the thread of every item and passes each to {@code consumer} in the order of {@code items}. A
+     * thread that fails to fetch is passed on with its failure, and the crawl goes on.
+     *
+     * @throws InterruptedException when interrupted, or when the consumer is; threads still being fetched are
+     *     abandoned
+     */
+    public <T> void crawl(List<T> items, Function<? super T, ThreadRef> threadOf, CrawledThreadConsumer<T> consumer)
+            throws InterruptedException {
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            Deque<Future<String>> inFlight = new ArrayDeque<>();
+            int submitted = 0;
+            for (T item : items) {
+                while (submitted < items.size() && inFlight.size() < props.maxConcurrency()) {
+                    ThreadRef thread = threadOf.apply(items.get(submitted++));
+                    inFlight.add(executor.submit(() -> fetch(thread)));
+                }
+                Future<String> next = inFlight.remove();
+                CrawledThread<T> crawled;
+                try {
+                    crawled = new CrawledThread<>(item, next.get(), null);
+                } catch (ExecutionException e) {
+                    crawled = new CrawledThread<>(item, null, e.getCause());
+                }
+                consumer.accept(crawled);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private String fetch(ThreadRef thread) {
+        // The lane is thread-scoped, so it's entered on the worker thread
+        try (SlackLane.Scope ignored = SlackLane.background.enter()) {
+            return threadService.getThreadAsText(thread.channelId(), thread.threadTs());
+        }
+    }
+}
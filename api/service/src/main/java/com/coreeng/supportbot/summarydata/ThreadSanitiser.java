@@ -0,0 +1,152 @@
+package com.coreeng.supportbot.summarydata;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+import java.util.stream.Collectors;
+
+/**
+ * Removes the configured {@code summary-data.sanitisation.patterns} from thread text, keeping matches that are
+ * one of the {@code exceptions}, and collapses whitespace.
+ *
+ * <p>All patterns are compiled once into a single alternation, so a message is scanned once, whatever the
+ * number of patterns; where two patterns match at the same place, the one listed first wins. Whitespace is
+ * collapsed while the kept text is copied, rather than in a pass of its own. Patterns that can't share an
+ * alternation, because they use backreferences or reuse a group name, are applied one pass each instead.
+ */
+final class ThreadSanitiser {
+    // Numbered or named backreferences, which would point at the wrong group once patterns are combined
+    private static final Pattern BACKREFERENCE = Pattern.compile("\\\\(?:[1-9]|k<)");
+
+    private final ImmutableList<Pattern> passes;
+    private final ImmutableSet<String> exceptions;
+    private final int shortestException;
+    private final int longestException;
+
+    ThreadSanitiser(List<String> patterns, List<String> exceptions) {
+        ImmutableList<Pattern> compiled =
+                patterns.stream().map(ThreadSanitiser::compilePattern).collect(ImmutableList.toImmutableList());
+        this.passes = compiled.size() > 1 ? combine(compiled) : compiled;
+        this.exceptions = exceptions.stream()
+                .map(s -> s.toLowerCase(Locale.ROOT))
+                .collect(ImmutableSet.toImmutableSet());
+        this.shortestException = this.exceptions.stream().mapToInt(String::length).min().orElse(0);
+        this.longestException = this.exceptions.stream().mapToInt(String::length).max().orElse(-1);
+    }
+
+    int passCount() {
+        return passes.size();
+    }
+
+    int exceptionCount() {
+        return exceptions.size();
+    }
+
+    String sanitise(String text) {
+        StringBuilder out = new StringBuilder(text.length());
+        sanitiseInto(out, text);
+        return out.toString();
+    }
+
+    /**
+     * Appends the sanitised {@code text} to {@code out}, so a whole thread can be built in one buffer.
+     */
+    void sanitiseInto(StringBuilder out, String text) {
+        String remaining = text;
+        for (int i = 0; i < passes.size() - 1; i++) {
+            StringBuilder pass = new StringBuilder(remaining.length());
+            removeMatches(passes.get(i), remaining, pass, false);
+            remaining = pass.toString();
+        }
+        int start = out.length();
+        if (passes.isEmpty()) {
+            appendCollapsed(out, remaining, 0, remaining.length(), true);
+        } else {
+            removeMatches(passes.getLast(), remaining, out, true);
+        }
+        trimFrom(out, start);
+    }
+
+    private void removeMatches(Pattern pattern, String text, StringBuilder out, boolean collapse) {
+        Matcher matcher = pattern.matcher(text);
+        int kept = 0;
+        while (matcher.find()) {
+            int end = isException(text, matcher.start(), matcher.end()) ? matcher.end() : matcher.start();
+            appendCollapsed(out, text, kept, end, collapse);
+            kept = matcher.end();
+        }
+        appendCollapsed(out, text, kept, text.length(), collapse);
+    }
+
+    private boolean isException(String text, int start, int end) {
+        int length = end - start;
+        // Most matches can't be an exception by length alone, which saves lower-casing them
+        if (length < shortestException || length > longestException) {
+            return false;
+        }
+        return exceptions.contains(text.substring(start, end).toLowerCase(Locale.ROOT));
+    }
+
+    // Same as replacing \s+ with a single space
+    private static void appendCollapsed(StringBuilder out, String text, int from, int to, boolean collapse) {
+        if (!collapse) {
+            out.append(text, from, to);
+            return;
+        }
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            if (isWhitespace(c)) {
+                if (out.isEmpty() || out.charAt(out.length() - 1) != ' ') {
+                    out.append(' ');
+                }
+            } else {
+                out.append(c);
+            }
+        }
+    }
+
+    // Same as String.trim() on what was appended since start
+    private static void trimFrom(StringBuilder out, int start) {
+        int end = out.length();
+        while (end > start && out.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        out.setLength(end);
+        int first = start;
+        while (first < end && out.charAt(first) <= ' ') {
+            first++;
+        }
+        out.delete(start, first);
+    }
+
+    // The characters \s matches
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == 0x0B || c == '\f' || c == '\r';
+    }
+
+    private static ImmutableList<Pattern> combine(ImmutableList<Pattern> patterns) {
+        if (patterns.stream().anyMatch(p -> BACKREFERENCE.matcher(p.pattern()).find())) {
+            return patterns;
+        }
+        String alternation = patterns.stream().map(p -> "(?:" + p.pattern() + ")").collect(Collectors.joining("|"));
+        try {
+            return ImmutableList.of(Pattern.compile(alternation));
+        } catch (PatternSyntaxException e) {
+            // e.g. two patterns declaring the same named group
+            return patterns;
+        }
+    }
+
+    private static Pattern compilePattern(String regex) {
+        try {
+            return Pattern.compile(regex);
+        } catch (PatternSyntaxException e) {
+            throw new IllegalArgumentException(
+                    "Invalid sanitisation pattern: \"" + regex + "\" — " + e.getDescription(), e);
+        }
+    }
+}
@@ -1,66 +1,73 @@
 package com.coreeng.supportbot.summarydata;
 
 import com.coreeng.supportbot.config.SummaryDataProps;
-import com.coreeng.supportbot.slack.SlackException;
 import com.coreeng.supportbot.slack.client.SlackClient;
+import com.coreeng.supportbot.slack.threadmessage.ThreadMessage;
+import com.coreeng.supportbot.slack.threadmessage.ThreadMessageRepository;
 import com.google.common.collect.ImmutableList;
 import com.slack.api.methods.request.conversations.ConversationsHistoryRequest;
 import com.slack.api.methods.request.conversations.ConversationsRepliesRequest;
 import com.slack.api.methods.response.conversations.ConversationsHistoryResponse;
 import com.slack.api.methods.response.conversations.ConversationsRepliesResponse;
 import com.slack.api.model.Message;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Locale;
 import java.util.Set;
-import java.util.regex.Pattern;
-import java.util.regex.PatternSyntaxException;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
 
+/**
+ * Reads Slack threads for the summary export, LLM analysis and sentiment analysis. Threads are read from the
+ * {@link ThreadMessageRepository thread-message mirror} that Slack message events keep up to date; a thread the
+ * mirror doesn't hold whole is crawled with {@code conversations.replies} once and the crawl is mirrored, so the
+ * next read of it doesn't go to Slack.
+ */
 @Service
 @Slf4j
 public class ThreadService {
 
     private static final int PAGE_LIMIT = 200; // Recommended page size for Slack API
-    private static final int DEFAULT_RATE_LIMIT_WAIT_SECONDS = 10;
-    private static final String RATE_LIMITED_ERROR = "ratelimited";
     private static final String WHITE_CHECK_MARK_EMOJI = "white_check_mark";
 
     private final SlackClient slackClient;
-    private final ImmutableList<Pattern> compiledPatterns;
-    private final Set<String> exceptions;
-
-    public ThreadService(SlackClient slackClient, SummaryDataProps props) {
+    private final ThreadMessageRepository threadMessageRepository;
+    private final ThreadSanitiser sanitiser;
+    private final Counter mirrorReads;
+    private final Counter slackReads;
+
+    public ThreadService(
+            SlackClient slackClient,
+            SummaryDataProps props,
+            ThreadMessageRepository threadMessageRepository,
+            MeterRegistry meterRegistry) {
         this.slackClient = slackClient;
+        this.threadMessageRepository = threadMessageRepository;
+        this.mirrorReads = threadReadsCounter("mirror", meterRegistry);
+        this.slackReads = threadReadsCounter("slack", meterRegistry);
         var sanitisation = props.sanitisation();
-        this.compiledPatterns = sanitisation.patterns().stream()
-                .map(ThreadService::compilePattern)
-                .collect(ImmutableList.toImmutableList());
-        this.exceptions = sanitisation.exceptions().stream()
-                .map(s -> s.toLowerCase(Locale.ROOT))
-                .collect(Collectors.toUnmodifiableSet());
-        log.info("Loaded {} sanitisation patterns and {} exceptions", compiledPatterns.size(), exceptions.size());
+        this.sanitiser = new ThreadSanitiser(sanitisation.patterns(), sanitisation.exceptions());
+        log.info(
+                "Loaded {} sanitisation patterns ({} passes) and {} exceptions",
+                sanitisation.patterns().size(),
+                sanitiser.passCount(),
+                sanitiser.exceptionCount());
     }
 
-    private static Pattern compilePattern(String regex) {
-        try {
-            return Pattern.compile(regex);
-        } catch (PatternSyntaxException e) {
-            throw new IllegalArgumentException(
-                    "Invalid sanitisation pattern: \"" + regex + "\" — " + e.getDescription(), e);
-        }
+    private static Counter threadReadsCounter(String source, MeterRegistry meterRegistry) {
+        return Counter.builder("slack_thread_reads_total")
+                .description("Slack threads read for export and analysis, by where they were read from")
+                .tag("source", source)
+                .register(meterRegistry);
     }
 
-    /**
-     * Record containing thread timestamp and its text content.
-     */
-    public record ThreadData(String threadTs, String text) {}
-
     /**
      * Fetches all message texts from a Slack thread.
      *
@@ -69,8 +76,75 @@ public class ThreadService {
      * @return List of message texts from all messages in the thread
      */
     public ImmutableList<String> getAllThreadMessageTexts(String channelId, String threadTs) {
-        log.debug("Fetching all messages from thread: channel={}, threadTs={}", channelId, threadTs);
+        ImmutableList<ThreadMessage> mirrored = threadMessageRepository.findThread(channelId, threadTs);
+        if (mirrored != null) {
+            mirrorReads.increment();
+            log.debug(
+                    "Read {} messages of thread from the mirror: channel={}, threadTs={}",
+                    mirrored.size(),
+                    channelId,
+                    threadTs);
+            return nonEmptyTexts(mirrored.stream().map(ThreadMessage::text));
+        }
+        return nonEmptyTexts(crawlThread(channelId, threadTs).stream().map(Message::getText));
+    }
+
+    /**
+     * Fetches all messages of a Slack thread, root first.
+     *
+     * @param channelId The Slack channel ID
+     * @param threadTs The thread timestamp (ts of the parent message)
+     */
+    public ImmutableList<ThreadMessage> getThreadMessages(String channelId, String threadTs) {
+        ImmutableList<ThreadMessage> mirrored = threadMessageRepository.findThread(channelId, threadTs);
+        if (mirrored != null) {
+            mirrorReads.increment();
+            return mirrored;
+        }
+        return toThreadMessages(threadTs, crawlThread(channelId, threadTs));
+    }
+
+    private static ImmutableList<String> nonEmptyTexts(Stream<String> texts) {
+        // Extract text from all messages, filtering out null/empty texts
+        ImmutableList<String> messageTexts =
+                texts.filter(text -> text != null && !text.isEmpty()).collect(ImmutableList.toImmutableList());
+
+        log.debug("Extracted {} non-empty message texts", messageTexts.size());
+
+        return messageTexts;
+    }
+
+    private static ImmutableList<ThreadMessage> toThreadMessages(String threadTs, List<Message> messages) {
+        return messages.stream()
+                .filter(m -> m.getTs() != null)
+                .map(m -> ThreadMessage.of(threadTs, m.getTs(), m.getUser(), m.getBotId(), m.getText()))
+                .collect(ImmutableList.toImmutableList());
+    }
+
+    /**
+     * Crawls a thread with {@code conversations.replies} and stores the crawl in the mirror. A failure to store it
+     * doesn't fail the read; the thread is crawled again next time.
+     */
+    private List<Message> crawlThread(String channelId, String threadTs) {
+        slackReads.increment();
+        List<Message> allMessages = fetchThreadFromSlack(channelId, threadTs);
+        ImmutableList<ThreadMessage> crawled = toThreadMessages(threadTs, allMessages);
+        if (!crawled.isEmpty()) {
+            try {
+                threadMessageRepository.saveCrawledThread(channelId, crawled);
+            } catch (DataAccessException e) {
+                log.atWarn()
+                        .setCause(e)
+                        .addArgument(channelId)
+                        .addArgument(threadTs)
+                        .log("Could not mirror crawled thread: channel={}, threadTs={}");
+            }
+        }
+        return allMessages;
+    }
 
+    private List<Message> fetchThreadFromSlack(String channelId, String threadTs) {
+        log.debug("Fetching all messages from thread: channel={}, threadTs={}", channelId, threadTs);
         List<Message> allMessages = new ArrayList<>();
         String cursor = null;
         boolean hasMore = true;
@@ -90,24 +164,8 @@ public class ThreadService {
                 requestBuilder.cursor(cursor);
             }
 
-            ConversationsRepliesResponse response;
-            try {
-                response = slackClient.getThreadPage(requestBuilder.build());
-            } catch (SlackException e) {
-                if (!RATE_LIMITED_ERROR.equals(e.getError())) {
-                    throw e;
-                }
-                Integer retryAfter = e.retryAfterSeconds();
-                int waitSeconds = retryAfter != null ? retryAfter : DEFAULT_RATE_LIMIT_WAIT_SECONDS;
-                log.warn("Rate limited on thread replies page {}, Retry-After: {} seconds", pageCount, waitSeconds);
-                try {
-                    Thread.sleep(waitSeconds * 1000L);
-                } catch (InterruptedException ie) {
-                    Thread.currentThread().interrupt();
-                    throw new RuntimeException("Interrupted while waiting for rate limit", ie);
-                }
-                response = slackClient.getThreadPage(requestBuilder.build()); // Retry once
-            }
+            // The Slack client's rate governor paces the pages and retries rate-limited ones
+            ConversationsRepliesResponse response = slackClient.getThreadPage(requestBuilder.build());
 
             if (response.getMessages() != null) {
                 allMessages.addAll(response.getMessages());
@@ -132,34 +190,7 @@ public class ThreadService {
                 channelId,
                 threadTs);
 
-        try {
-            Thread.sleep(500); // Wait 0.5 seconds between thread fetches to avoid rate limiting
-        } catch (InterruptedException ie) {
-            Thread.currentThread().interrupt();
-            throw new RuntimeException("Interrupted while waiting for rate limit", ie);
-        }
-
-        // Extract text from all messages, filtering out null/empty texts
-        ImmutableList<String> messageTexts = allMessages.stream()
-                .map(Message::getText)
-                .filter(text -> text != null && !text.isEmpty())
-                .collect(ImmutableList.toImmutableList());
-
-        log.debug("Extracted {} non-empty message texts", messageTexts.size());
-
-        return messageTexts;
-    }
-
-    private String applySanitisation(String text) {
-        for (Pattern pattern : compiledPatterns) {
-            text = pattern.matcher(text).replaceAll(match -> {
-                if (exceptions.contains(match.group().toLowerCase(Locale.ROOT))) {
-                    return match.group();
-                }
-                return "";
-            });
-        }
-        return text.replaceAll("\\s+", " ").trim();
+        return allMessages;
     }
 
     public String getThreadAsText(String channelId, String threadTs) {
@@ -167,11 +198,19 @@ public class ThreadService {
 
         ImmutableList<String> messageTexts = getAllThreadMessageTexts(channelId, threadTs);
 
-        String result = messageTexts.stream().map(this::applySanitisation).collect(Collectors.joining("\n\n"));
+        // The whole thread is sanitised into one buffer
+        StringBuilder result = new StringBuilder(
+                messageTexts.stream().mapToInt(String::length).sum() + 2 * messageTexts.size());
+        for (int i = 0; i < messageTexts.size(); i++) {
+            if (i > 0) {
+                result.append("\n\n");
+            }
+            sanitiser.sanitiseInto(result, messageTexts.get(i));
+        }
 
         log.debug("Processed thread text, final length: {} characters", result.length());
 
-        return result;
+        return result.toString();
     }
 
     /**
@@ -185,12 +224,65 @@ public class ThreadService {
     public ImmutableList<String> getThreadsWithCheckMark(String channelId, int days) {
         log.info("Fetching threads with white_check_mark from last {} days in channel {}", days, channelId);
 
+        Set<String> threadTimestamps = new LinkedHashSet<>();
+        int pageCount = walkHistory(channelId, days, message -> {
+            // Check if message has white_check_mark reaction
+            if (hasWhiteCheckMarkReaction(message)) {
+                // Use thread_ts if it's a thread parent, otherwise use ts
+                String threadTs = message.getThreadTs() != null ? message.getThreadTs() : message.getTs();
+                threadTimestamps.add(threadTs);
+                log.debug("Found thread with white_check_mark: {}", threadTs);
+            }
+        });
+
+        log.info("Found {} threads with white_check_mark in {} pages", threadTimestamps.size(), pageCount);
+
+        return ImmutableList.copyOf(threadTimestamps);
+    }
+
+    /**
+     * Mirrors the threads started in the last N days that the mirror doesn't hold whole yet, so that threads from
+     * before the mirror existed, or posted while the service was down, are read without crawling them.
+     *
+     * @return the number of threads mirrored
+     */
+    public int backfill(String channelId, int days) {
+        log.info("Backfilling thread mirror from last {} days in channel {}", days, channelId);
+
+        int[] mirrored = {0};
+        int pageCount = walkHistory(channelId, days, message -> {
+            String ts = message.getTs();
+            // Replies broadcast to the channel are mirrored with their thread
+            if (ts == null || (message.getThreadTs() != null && !ts.equals(message.getThreadTs()))) {
+                return;
+            }
+            if (threadMessageRepository.findThread(channelId, ts) != null) {
+                return;
+            }
+            Integer replyCount = message.getReplyCount();
+            if (replyCount == null || replyCount == 0) {
+                threadMessageRepository.saveCrawledThread(channelId, toThreadMessages(ts, List.of(message)));
+            } else {
+                crawlThread(channelId, ts);
+            }
+            mirrored[0]++;
+        });
+
+        log.info("Backfilled {} threads from {} history pages in channel {}", mirrored[0], pageCount, channelId);
+        return mirrored[0];
+    }
+
+    /**
+     * Walks {@code conversations.history} of the last N days page by page.
+     *
+     * @return the number of pages read
+     */
+    private int walkHistory(String channelId, int days, Consumer<Message> consumer) {
         // Calculate timestamp for N days ago
         Instant cutoffTime = Instant.now().minus(days, ChronoUnit.DAYS);
         String oldestTimestamp = String.valueOf(cutoffTime.getEpochSecond());
 
         log.debug("Searching for messages since timestamp: {} ({})", oldestTimestamp, cutoffTime);
-        Set<String> threadTimestamps = new LinkedHashSet<>();
         String cursor = null;
         boolean hasMore = true;
         int pageCount = 0;
@@ -209,24 +301,7 @@ public class ThreadService {
                 requestBuilder.cursor(cursor);
             }
 
-            ConversationsHistoryResponse response;
-            try {
-                response = slackClient.getHistoryPage(requestBuilder.build());
-            } catch (SlackException e) {
-                if (!RATE_LIMITED_ERROR.equals(e.getError())) {
-                    throw e;
-                }
-                Integer retryAfter = e.retryAfterSeconds();
-                int waitSeconds = retryAfter != null ? retryAfter : DEFAULT_RATE_LIMIT_WAIT_SECONDS;
-                log.warn("Rate limited on history page {}, Retry-After: {} seconds", pageCount, waitSeconds);
-                try {
-                    Thread.sleep(waitSeconds * 1000L);
-                } catch (InterruptedException ie) {
-                    Thread.currentThread().interrupt();
-                    throw new RuntimeException("Interrupted while waiting for rate limit", ie);
-                }
-                response = slackClient.getHistoryPage(requestBuilder.build()); // Retry once
-            }
+            ConversationsHistoryResponse response = slackClient.getHistoryPage(requestBuilder.build());
 
             if (response.getMessages() != null) {
                 log.debug(
@@ -234,15 +309,7 @@ public class ThreadService {
                         response.getMessages().size(),
                         pageCount);
 
-                for (Message message : response.getMessages()) {
-                    // Check if message has white_check_mark reaction
-                    if (hasWhiteCheckMarkReaction(message)) {
-                        // Use thread_ts if it's a thread parent, otherwise use ts
-                        String threadTs = message.getThreadTs() != null ? message.getThreadTs() : message.getTs();
-                        threadTimestamps.add(threadTs);
-                        log.debug("Found thread with white_check_mark: {}", threadTs);
-                    }
-                }
+                response.getMessages().forEach(consumer);
             }
 
             // Check if there are more pages
@@ -250,49 +317,11 @@ public class ThreadService {
             if (hasMore && response.getResponseMetadata() != null) {
                 cursor = response.getResponseMetadata().getNextCursor();
                 log.debug("More messages available, cursor: {}", cursor);
-                try {
-                    // Slack allows 1 request per second
-                    Thread.sleep(1100);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    throw new RuntimeException("Interrupted while waiting for rate limit", e);
-                }
             } else {
                 hasMore = false;
             }
         }
-
-        log.info("Found {} threads with white_check_mark in {} pages", threadTimestamps.size(), pageCount);
-
-        return ImmutableList.copyOf(threadTimestamps);
-    }
-
-    /**
-     * Fetches threads from the last N days that have a white_check_mark emoji reaction
-     * and returns both the thread timestamp and the thread text.
-     *
-     * @param channelId The Slack channel ID to search
-     * @param days Number of days to look back
-     * @return List of ThreadData records containing thread timestamps and their text content
-     */
-    public ImmutableList<ThreadData> getThreadsWithCheckMarkAsText(String channelId, int days) {
-        log.info("Fetching threads with white_check_mark as text from last {} days in channel {}", days, channelId);
-
-        ImmutableList<String> threadTimestamps = getThreadsWithCheckMark(channelId, days);
-
-        log.debug("Processing {} threads to extract text", threadTimestamps.size());
-
-        ImmutableList<ThreadData> threadDataList = threadTimestamps.stream()
-                .map(threadTs -> {
-                    log.debug("Fetching text for thread: {}", threadTs);
-                    String text = getThreadAsText(channelId, threadTs);
-                    return new ThreadData(threadTs, text);
-                })
-                .collect(ImmutableList.toImmutableList());
-
-        log.info("Successfully processed {} threads with text", threadDataList.size());
-
-        return threadDataList;
+        return pageCount;
     }
 
     /**
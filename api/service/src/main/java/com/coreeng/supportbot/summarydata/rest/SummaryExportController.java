@@ -9,7 +9,7 @@ import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jspecify.annotations.Nullable;
-import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -17,6 +17,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -68,10 +69,15 @@ public class SummaryExportController {
     }
 
     // Single-consumption (see SummaryExportService#consumeCurrentExport): a second request after
-    // the first gets 404, not a bug.
+    // the first gets 404, not a bug. A Range request may still resume the download that claimed it;
+    // Spring answers it with 206 and the requested part of the file.
     @GetMapping(value = "/download", produces = "application/zip")
-    public ResponseEntity<Resource> download() {
+    public ResponseEntity<Resource> download(
+            @RequestHeader(name = HttpHeaders.RANGE, required = false) @Nullable String range) {
         Optional<CompletedExport> export = exportService.consumeCurrentExport();
+        if (export.isEmpty() && range != null) {
+            export = exportService.claimedExport();
+        }
         if (export.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
@@ -79,8 +85,7 @@ public class SummaryExportController {
         CompletedExport completed = export.get();
         return ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + completed.displayFilename() + "\"")
-                .contentLength(completed.content().length)
-                .body(new ByteArrayResource(completed.content()));
+                .body(new FileSystemResource(completed.file()));
     }
 
     @JsonInclude(JsonInclude.Include.NON_NULL)
@@ -43,6 +43,8 @@ public class PlatformTeamsService {
     private final Map<String, PlatformUser> usersByEmail = new HashMap<>();
     private final Map<String, PlatformTeam> teamByCode = new HashMap<>();
     private final Map<GroupRef, List<PlatformUser>> groupRefToUsers = new HashMap<>();
+    // Built once teams are loaded, so callers get the same list until they change, e.g. to key an index on
+    private ImmutableList<PlatformTeam> teams = ImmutableList.of();
 
     @PostConstruct
     void init() {
@@ -93,6 +95,8 @@ public class PlatformTeamsService {
             }
         }
 
+        teams = ImmutableList.copyOf(teamByCode.values());
+
         log.atInfo()
                 .addArgument(teamByCode::size)
                 .addArgument(groupRefToUsers::size)
@@ -189,7 +193,7 @@ public class PlatformTeamsService {
     }
 
     public ImmutableList<PlatformTeam> listTeams() {
-        return ImmutableList.copyOf(teamByCode.values());
+        return teams;
     }
 
     public ImmutableList<PlatformTeam> listTeamsByUserEmail(String email) {
@@ -19,11 +19,14 @@ import org.springframework.stereotype.Component;
 public class CheckStaleTicketsJob {
     private final Params params;
     private final TicketRepository repository;
+    private final TicketTouchBuffer touchBuffer;
     private final TicketProcessingService processingService;
 
     @Scheduled(cron = "${ticket.staleness-check-job.find-stale-cron}")
     public void checkStaleTickets() {
         log.info("Searching for stale tickets");
+        // Buffered touches must land first, otherwise active tickets look idle
+        touchBuffer.flush();
         ImmutableList<TicketId> staleTicketIds = repository.listStaleTicketIds(Instant.now(), params.timeToStale());
         for (TicketId ticketId : staleTicketIds) {
             try {
@@ -37,6 +40,7 @@ public class CheckStaleTicketsJob {
     @Scheduled(cron = "${ticket.staleness-check-job.remind-about-stale-cron}")
     public void remindAboutStaleTickets() {
         log.info("Reminding about stale tickets");
+        touchBuffer.flush();
         ImmutableList<TicketId> ticketIdsToRemindOf =
                 repository.listStaleTicketIdsToRemindOf(Instant.now(), params.staleReminderInterval());
         for (TicketId ticketId : ticketIdsToRemindOf) {
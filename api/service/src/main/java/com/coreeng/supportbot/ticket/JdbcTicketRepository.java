@@ -28,6 +28,7 @@ import com.coreeng.supportbot.dbschema.enums.EscalationStatus;
 import com.coreeng.supportbot.dbschema.enums.TicketEventType;
 import com.coreeng.supportbot.dbschema.tables.records.TicketLogRecord;
 import com.coreeng.supportbot.dbschema.tables.records.TicketRecord;
+import com.coreeng.supportbot.facts.FactsRepository;
 import com.coreeng.supportbot.slack.MessageRef;
 import com.coreeng.supportbot.slack.MessageTs;
 import com.coreeng.supportbot.slack.SlackId;
@@ -38,28 +39,54 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableListMultimap;
 import java.time.Duration;
 import java.time.Instant;
+import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jooq.*;
 import org.jooq.Record;
 import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.Cache;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Repository
-@RequiredArgsConstructor
 @Slf4j
 @Transactional
 public class JdbcTicketRepository implements TicketRepository {
     private final DSLContext dsl;
     private final AssigneeCrypto assigneeCrypto;
+    // Every thread message looks its ticket up by query, and most threads have none,
+    // so both outcomes are cached. Any write to a ticket or query evicts its entries.
+    private final Cache ticketByQueryCache;
+    private final Cache noTicketByQueryCache;
+    // Filter -> matching ticket count, so paging through one listing doesn't count it again for every page
+    private final Cache ticketCountCache;
+    private final FactsRepository factsRepository;
+
+    public JdbcTicketRepository(
+            DSLContext dsl,
+            AssigneeCrypto assigneeCrypto,
+            @Qualifier("ticket-by-query-cache") Cache ticketByQueryCache,
+            @Qualifier("no-ticket-by-query-cache") Cache noTicketByQueryCache,
+            @Qualifier("ticket-count-cache") Cache ticketCountCache,
+            FactsRepository factsRepository) {
+        this.dsl = dsl;
+        this.assigneeCrypto = assigneeCrypto;
+        this.ticketByQueryCache = ticketByQueryCache;
+        this.noTicketByQueryCache = noTicketByQueryCache;
+        this.ticketCountCache = ticketCountCache;
+        this.factsRepository = factsRepository;
+    }
 
     @Override
     public void createQueryIfNotExists(MessageRef queryRef) {
-        getQueryIdOrCreate(queryRef);
+        factsRepository.refreshQuery(getQueryIdOrCreate(queryRef));
     }
 
     private long getQueryIdOrCreate(MessageRef queryRef) {
@@ -73,6 +100,63 @@ public class JdbcTicketRepository implements TicketRepository {
         return checkNotNull(id);
     }
 
+    @Override
+    public void createQueryIfNotExists(MessageRef queryRef, QueryMessage message) {
+        Long id = dsl.insertInto(
+                        QUERY,
+                        QUERY.TS,
+                        QUERY.CHANNEL_ID,
+                        QUERY.DATE,
+                        QUERY.TEXT,
+                        QUERY.AUTHOR_USER_ID,
+                        QUERY.AUTHOR_BOT_ID)
+                .values(
+                        queryRef.ts().ts(),
+                        queryRef.channelId(),
+                        queryRef.ts().getDate(),
+                        message.text(),
+                        authorUserId(message),
+                        authorBotId(message))
+                .onConflictDoNothing()
+                .returning(QUERY.ID)
+                .fetchOne(QUERY.ID);
+        if (id != null) {
+            factsRepository.refreshQuery(id);
+        }
+    }
+
+    @Override
+    public boolean updateQueryMessage(MessageRef queryRef, QueryMessage message) {
+        return dsl.update(QUERY)
+                        .set(QUERY.TEXT, message.text())
+                        .set(QUERY.AUTHOR_USER_ID, authorUserId(message))
+                        .set(QUERY.AUTHOR_BOT_ID, authorBotId(message))
+                        .where(QUERY.TS.eq(queryRef.ts().ts()).and(QUERY.CHANNEL_ID.eq(queryRef.channelId())))
+                        .execute()
+                > 0;
+    }
+
+    @Transactional(readOnly = true)
+    @Nullable @Override
+    public QueryMessage findQueryMessage(MessageRef queryRef) {
+        return dsl.select(QUERY.TEXT, QUERY.AUTHOR_USER_ID, QUERY.AUTHOR_BOT_ID)
+                .from(QUERY)
+                .where(QUERY.TS
+                        .eq(queryRef.ts().ts())
+                        .and(QUERY.CHANNEL_ID.eq(queryRef.channelId()))
+                        .and(QUERY.TEXT.isNotNull()))
+                .fetchOptional(r -> QueryMessage.of(r.value1(), r.value2(), r.value3()))
+                .orElse(null);
+    }
+
+    @Nullable private static String authorUserId(QueryMessage message) {
+        return message.author() instanceof SlackId.User user ? user.id() : null;
+    }
+
+    @Nullable private static String authorBotId(QueryMessage message) {
+        return message.author() instanceof SlackId.Bot bot ? bot.id() : null;
+    }
+
     @Transactional(readOnly = true)
     @Override
     public boolean queryExists(MessageRef queryRef) {
@@ -87,6 +171,7 @@ public class JdbcTicketRepository implements TicketRepository {
                         .and(QUERY.CHANNEL_ID.eq(queryRef.channelId()))
                         .andNotExists(dsl.selectOne().from(TICKET).where(TICKET.QUERY_ID.eq(QUERY.ID))))
                 .execute();
+        evict(queryRef);
         return deleted > 0;
     }
 
@@ -125,6 +210,7 @@ public class JdbcTicketRepository implements TicketRepository {
                 .onConflictDoNothing()
                 .returning(TICKET.ID)
                 .fetchOne(TICKET.ID);
+        evict(ticket.queryRef());
 
         if (ticketId == null) {
             return Objects.requireNonNull(findTicketByQuery(ticket.queryRef()));
@@ -145,6 +231,7 @@ public class JdbcTicketRepository implements TicketRepository {
                                 .with(TICKET_LOG.DATE, l.date()))
                         .toList())
                 .execute();
+        factsRepository.refreshTicket(checkNotNull(updatedTicket.id()));
 
         return updatedTicket;
     }
@@ -171,12 +258,14 @@ public class JdbcTicketRepository implements TicketRepository {
         update = conditionallyUpdateAssignee(ticket, update);
 
         int updatedTickets = update.where(TICKET.ID.eq(ticket.id().id())).execute();
+        evict(ticket.queryRef());
         if (updatedTickets == 0) {
             log.atWarn().addArgument(ticket::id).log("No updated tickets found for ticket id {}");
             return ticket;
         }
 
         updateTicketTags(ticket);
+        factsRepository.refreshTicket(checkNotNull(ticket.id()));
 
         return ticket;
     }
@@ -199,13 +288,39 @@ public class JdbcTicketRepository implements TicketRepository {
     public boolean touchTicketById(TicketId id, Instant timestamp) {
         checkNotNull(id);
         checkNotNull(timestamp);
-        return dsl.update(TICKET)
+        return evictReturned(dsl.update(TICKET)
                         .set(TICKET.LAST_INTERACTED_AT, timestamp)
+                        .from(QUERY)
                         .where(TICKET.ID.eq(id.id()))
-                        .execute()
+                        .and(TICKET.QUERY_ID.eq(QUERY.ID))
+                        .returningResult(QUERY.TS, QUERY.CHANNEL_ID)
+                        .fetch())
                 > 0;
     }
 
+    @Override
+    public int touchTicketsByIds(Map<TicketId, Instant> timestamps) {
+        checkNotNull(timestamps);
+        if (timestamps.isEmpty()) {
+            return 0;
+        }
+        Long[] ids = new Long[timestamps.size()];
+        OffsetDateTime[] touchedAt = new OffsetDateTime[timestamps.size()];
+        int i = 0;
+        for (Map.Entry<TicketId, Instant> entry : timestamps.entrySet()) {
+            ids[i] = entry.getKey().id();
+            touchedAt[i] = entry.getValue().atOffset(ZoneOffset.UTC);
+            i++;
+        }
+        return evictReturned(dsl.resultQuery("""
+            UPDATE ticket t
+            SET last_interacted_at = greatest(t.last_interacted_at, v.touched_at)
+            FROM unnest(?::bigint[], ?::timestamptz[]) AS v(id, touched_at), query q
+            WHERE t.id = v.id AND q.id = t.query_id
+            RETURNING q.ts, q.channel_id
+            """, ids, touchedAt).fetch().into(QUERY.TS, QUERY.CHANNEL_ID));
+    }
+
     @Override
     public boolean assign(TicketId ticketId, String slackUserId) {
         return assignInternal(ticketId, slackUserId);
@@ -220,13 +335,15 @@ public class JdbcTicketRepository implements TicketRepository {
             return false;
         }
 
-        UpdateConditionStep<TicketRecord> update = dsl.update(TICKET)
+        int updated = evictReturned(dsl.update(TICKET)
                 .set(TICKET.ASSIGNED_TO, assignee.value())
                 .set(TICKET.ASSIGNED_TO_FORMAT, assignee.format())
                 .set(TICKET.ASSIGNED_TO_HASH, assignee.hash())
-                .where(TICKET.ID.eq(ticketId.id()));
-
-        int updated = update.execute();
+                .from(QUERY)
+                .where(TICKET.ID.eq(ticketId.id()))
+                .and(TICKET.QUERY_ID.eq(QUERY.ID))
+                .returningResult(QUERY.TS, QUERY.CHANNEL_ID)
+                .fetch());
 
         return updated > 0;
     }
@@ -264,14 +381,29 @@ public class JdbcTicketRepository implements TicketRepository {
     @Transactional(readOnly = true)
     @Nullable @Override
     public Ticket findTicketByQuery(MessageRef queryRef) {
+        QueryKey key = QueryKey.of(queryRef);
+        Ticket cached = ticketByQueryCache.get(key, Ticket.class);
+        if (cached != null) {
+            return cached;
+        }
+        if (noTicketByQueryCache.get(key) != null) {
+            return null;
+        }
+
         var query = dsl.select(selectTicketFields())
                 .from(TICKET)
                 .join(QUERY)
                 .on(TICKET.QUERY_ID.eq(QUERY.ID))
                 .where(QUERY.TS.eq(queryRef.ts().ts()).and(QUERY.CHANNEL_ID.eq(queryRef.channelId())));
-        return query.fetchOptional(this::buildTicketFromRow)
+        Ticket ticket = query.fetchOptional(this::buildTicketFromRow)
                 .map(this::populateTicket)
                 .orElse(null);
+        if (ticket != null) {
+            ticketByQueryCache.put(key, ticket);
+        } else {
+            noTicketByQueryCache.put(key, Boolean.TRUE);
+        }
+        return ticket;
     }
 
     @Override
@@ -284,6 +416,8 @@ public class JdbcTicketRepository implements TicketRepository {
                 .returning(TICKET_LOG.EVENT, TICKET_LOG.DATE)
                 .fetchSingle(r ->
                         new Ticket.StatusLog(TicketStatus.valueOf(r.getEvent().getLiteral()), r.getDate()));
+        evict(ticket.queryRef());
+        factsRepository.refreshTicket(checkNotNull(ticket.id()));
         return ticket.toBuilder()
                 .statusLog(ImmutableList.<Ticket.StatusLog>builder()
                         .addAll(ticket.statusLog())
@@ -298,8 +432,14 @@ public class JdbcTicketRepository implements TicketRepository {
         checkNotNull(query);
         checkArgument(query.page() >= 0);
         checkArgument(query.pageSize() > 0);
+        checkArgument(query.after() == null || query.order() != null, "A cursor needs an order");
 
-        List<Ticket> tickets = createFindQuery(query, selectTicketFields()).fetch(this::buildTicketFromRow);
+        Result<Record> rows = createFindQuery(query, ImmutableList.<SelectField<?>>builder()
+                        .addAll(selectTicketFields())
+                        .add(QUERY.DATE, QUERY.ID)
+                        .build())
+                .fetch();
+        List<Ticket> tickets = rows.map(this::buildTicketFromRow);
         ImmutableList<Long> ids =
                 tickets.stream().map(t -> checkNotNull(t.id()).id()).collect(toImmutableList());
         ImmutableListMultimap<TicketId, Ticket.StatusLog> logsByTicketId = fetchStatusLogs(ids);
@@ -315,16 +455,33 @@ public class JdbcTicketRepository implements TicketRepository {
         if (query.unlimited()) {
             ticketsTotal = tickets.size();
         } else {
-            ticketsTotal = checkNotNull(createFindQuery(
-                            query.toBuilder().order(null).unlimited(true).build(), ImmutableList.of(bigCount()))
-                    .fetchOne(0, Long.class));
+            TicketsQuery countQuery = countQuery(query);
+            ticketsTotal = checkNotNull(ticketCountCache.get(countQuery, () -> checkNotNull(
+                    createFindQuery(countQuery, ImmutableList.of(bigCount())).fetchOne(0, Long.class))));
+        }
+        @Nullable String nextCursor = null;
+        if (!query.unlimited() && query.order() != null && rows.size() == query.pageSize()) {
+            Record last = rows.getLast();
+            nextCursor = new TicketCursor(last.get(QUERY.DATE), last.get(QUERY.ID)).render();
         }
         return new Page<>(
                 content,
                 query.page(),
                 (int) Math.ceil((double) ticketsTotal
                         / query.pageSize()), // Convert to double before dividing, then use Math.ceil to round up
-                ticketsTotal);
+                ticketsTotal,
+                nextCursor);
+    }
+
+    // The count only depends on the filters, so all pages and orders of one listing share a cache entry
+    private static TicketsQuery countQuery(TicketsQuery query) {
+        return query.toBuilder()
+                .page(0)
+                .pageSize(1)
+                .after(null)
+                .order(null)
+                .unlimited(true)
+                .build();
     }
 
     @Override
@@ -369,23 +526,39 @@ public class JdbcTicketRepository implements TicketRepository {
                                         .and(TICKET_TO_TAG.TAG_CODE.eq(
                                                 any(query.tags().toArray(String[]::new)))))
                                 .groupBy(TICKET.ID));
+        boolean seek = query.after() != null;
+        // query.id breaks ties between queries posted at the same time, so cursors are exact. It's what
+        // query_date_id_idx is ordered by, so the index supplies the order instead of a sort.
+        List<OrderField<?>> order =
+                switch (query.order()) {
+                    case asc -> List.of(QUERY.DATE.asc(), QUERY.ID.asc());
+                    case desc -> List.of(QUERY.DATE.desc(), QUERY.ID.desc());
+                    case null -> List.of();
+                };
         return dsl.with(taggedTicketsCTE)
                 .select(selectFields)
                 .from(TICKET)
                 .join(QUERY)
                 .on(TICKET.QUERY_ID.eq(QUERY.ID))
-                .where(ticketsQueryToCondition(query, taggedTicketsCTE))
-                .orderBy(
-                        switch (query.order()) {
-                            case asc -> QUERY.DATE.asc();
-                            case desc -> QUERY.DATE.desc();
-                            case null -> noField();
-                        })
+                .where(ticketsQueryToCondition(query, taggedTicketsCTE).and(seekCondition(query)))
+                .orderBy(order)
                 .limit(
-                        query.unlimited() ? noField(Long.class) : value(query.page() * query.pageSize()),
+                        query.unlimited() || seek ? noField(Long.class) : value(query.page() * query.pageSize()),
                         query.unlimited() ? noField(Long.class) : value(query.pageSize()));
     }
 
+    // Lets the query_date_id_idx range scan start right after the cursor
+    private static Condition seekCondition(TicketsQuery query) {
+        TicketCursor after = query.after();
+        if (after == null) {
+            return noCondition();
+        }
+        return switch (checkNotNull(query.order())) {
+            case asc -> row(QUERY.DATE, QUERY.ID).gt(after.date(), after.queryId());
+            case desc -> row(QUERY.DATE, QUERY.ID).lt(after.date(), after.queryId());
+        };
+    }
+
     private Condition ticketsQueryToCondition(TicketsQuery query, @Nullable CommonTableExpression<?> taggedTicketsCTE) {
         Condition condition = noCondition();
         if (!query.ids().isEmpty()) {
@@ -554,15 +727,68 @@ public class JdbcTicketRepository implements TicketRepository {
 
     @Override
     public boolean tryMarkTicketAsRated(TicketId ticketId) {
-        return dsl.update(TICKET)
+        return evictReturned(dsl.update(TICKET)
                         .set(TICKET.RATING_SUBMITTED, true)
+                        .from(QUERY)
                         .where(TICKET.ID.eq(ticketId.id()))
+                        .and(TICKET.QUERY_ID.eq(QUERY.ID))
                         .and(TICKET.RATING_SUBMITTED.isFalse())
                         .and(TICKET.STATUS.eq(com.coreeng.supportbot.dbschema.enums.TicketStatus.closed))
-                        .execute()
+                        .returningResult(QUERY.TS, QUERY.CHANNEL_ID)
+                        .fetch())
                 == 1;
     }
 
+    @Override
+    public boolean tryMarkTicketAsClosed(TicketId ticketId) {
+        return evictReturned(dsl.update(TICKET)
+                        .set(TICKET.STATUS, com.coreeng.supportbot.dbschema.enums.TicketStatus.closed)
+                        .from(QUERY)
+                        .where(TICKET.ID.eq(ticketId.id()))
+                        .and(TICKET.QUERY_ID.eq(QUERY.ID))
+                        .and(TICKET.STATUS.ne(com.coreeng.supportbot.dbschema.enums.TicketStatus.closed))
+                        .returningResult(QUERY.TS, QUERY.CHANNEL_ID)
+                        .fetch())
+                == 1;
+    }
+
+    private void evict(MessageRef queryRef) {
+        evict(QueryKey.of(queryRef));
+    }
+
+    /**
+     * Evicts the queries of tickets returned by an {@code UPDATE ... RETURNING query.ts, query.channel_id}.
+     *
+     * @return number of updated tickets
+     */
+    private int evictReturned(Result<Record2<String, String>> updatedQueries) {
+        for (Record2<String, String> r : updatedQueries) {
+            evict(new QueryKey(r.value1(), r.value2()));
+        }
+        return updatedQueries.size();
+    }
+
+    private void evict(QueryKey key) {
+        ticketByQueryCache.evict(key);
+        noTicketByQueryCache.evict(key);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // A concurrent read may cache the pre-commit state in the meantime, evict again once it's visible
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    ticketByQueryCache.evict(key);
+                    noTicketByQueryCache.evict(key);
+                }
+            });
+        }
+    }
+
+    private record QueryKey(String ts, String channelId) {
+        static QueryKey of(MessageRef queryRef) {
+            return new QueryKey(queryRef.ts().ts(), queryRef.channelId());
+        }
+    }
+
     @Nullable private String toDbTeam(@Nullable TicketTeam team) {
         if (team == null) {
             return null;
@@ -0,0 +1,25 @@
+package com.coreeng.supportbot.ticket;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.coreeng.supportbot.slack.SlackId;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Text and author of a query message as last seen in Slack. {@code author} is a {@link SlackId.User} or a
+ * {@link SlackId.Bot}, or {@code null} when Slack sent neither.
+ */
+public record QueryMessage(String text, @Nullable SlackId author) {
+    public QueryMessage {
+        checkNotNull(text);
+    }
+
+    /**
+     * Builds a message from Slack's message fields: a message without text, e.g. a file upload, gets an empty one,
+     * and a user id takes precedence over a bot id.
+     */
+    public static QueryMessage of(@Nullable String text, @Nullable String userId, @Nullable String botId) {
+        SlackId author = userId != null ? SlackId.user(userId) : botId != null ? SlackId.bot(botId) : null;
+        return new QueryMessage(text == null ? "" : text, author);
+    }
+}
@@ -0,0 +1,38 @@
+package com.coreeng.supportbot.ticket;
+
+import com.coreeng.supportbot.slack.MessageRef;
+import com.coreeng.supportbot.slack.client.SlackClient;
+import com.coreeng.supportbot.slack.client.SlackGetMessageByTsRequest;
+import com.slack.api.model.Message;
+import lombok.RequiredArgsConstructor;
+import org.jspecify.annotations.Nullable;
+import org.springframework.stereotype.Service;
+
+/**
+ * Query messages as stored with their queries, which are recorded when the query is created and on every edit.
+ * Queries recorded before messages were stored have none; theirs is fetched from Slack once and stored.
+ */
+@Service
+@RequiredArgsConstructor
+public class QueryMessageService {
+    private final TicketRepository repository;
+    private final SlackClient slackClient;
+
+    /**
+     * @return the query's message, or {@code null} if it isn't stored and Slack doesn't have it
+     * @throws com.coreeng.supportbot.slack.SlackException if the message isn't stored and Slack fails to return it
+     */
+    @Nullable public QueryMessage find(MessageRef queryRef) {
+        QueryMessage stored = repository.findQueryMessage(queryRef);
+        if (stored != null) {
+            return stored;
+        }
+        Message message = slackClient.getMessageByTs(SlackGetMessageByTsRequest.of(queryRef));
+        if (message == null) {
+            return null;
+        }
+        QueryMessage fetched = QueryMessage.of(message.getText(), message.getUser(), message.getBotId());
+        repository.updateQueryMessage(queryRef, fetched);
+        return fetched;
+    }
+}
@@ -0,0 +1,33 @@
+package com.coreeng.supportbot.ticket;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Position after the last ticket of a page, in the {@code (query date, query id)} order tickets are listed in. Each
+ * ticket has its own query, so the query id breaks ties between queries posted at the same time. Rendered as an opaque
+ * token, so clients don't depend on what it holds.
+ */
+public record TicketCursor(Instant date, long queryId) {
+    public static TicketCursor parse(String token) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = value.lastIndexOf('/');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid ticket cursor");
+            }
+            return new TicketCursor(
+                    Instant.parse(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1)));
+        } catch (DateTimeException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid ticket cursor", e);
+        }
+    }
+
+    public String render() {
+        String value = date + "/" + queryId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -3,7 +3,6 @@ package com.coreeng.supportbot.ticket;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.collect.ImmutableList.toImmutableList;
-import static java.util.Collections.reverseOrder;
 import static java.util.Comparator.comparing;
 
 import com.coreeng.supportbot.escalation.EscalationQueryService;
@@ -35,6 +34,7 @@ public class TicketInMemoryRepository implements TicketRepository {
     private final ZoneId timezone;
 
     private final Set<MessageRef> queries = Collections.newSetFromMap(new ConcurrentHashMap<>());
+    private final Map<MessageRef, QueryMessage> queryMessages = new ConcurrentHashMap<>();
     private final Map<TicketId, Ticket> tickets = new ConcurrentHashMap<>();
     private final Map<MessageRef, Ticket> ticketsByQuery = new ConcurrentHashMap<>();
     private final AtomicLong ticketIdSequence = new AtomicLong(1);
@@ -45,6 +45,32 @@ public class TicketInMemoryRepository implements TicketRepository {
         queries.add(queryRef);
     }
 
+    @Override
+    public void createQueryIfNotExists(MessageRef queryRef, QueryMessage message) {
+        checkNotNull(queryRef);
+        checkNotNull(message);
+        if (queries.add(queryRef)) {
+            queryMessages.put(queryRef, message);
+        }
+    }
+
+    @Override
+    public boolean updateQueryMessage(MessageRef queryRef, QueryMessage message) {
+        checkNotNull(queryRef);
+        checkNotNull(message);
+        if (!queries.contains(queryRef)) {
+            return false;
+        }
+        queryMessages.put(queryRef, message);
+        return true;
+    }
+
+    @Nullable @Override
+    public QueryMessage findQueryMessage(MessageRef queryRef) {
+        checkNotNull(queryRef);
+        return queryMessages.get(queryRef);
+    }
+
     @Override
     public boolean queryExists(MessageRef queryRef) {
         checkNotNull(queryRef);
@@ -57,6 +83,7 @@ public class TicketInMemoryRepository implements TicketRepository {
         if (ticketsByQuery.containsKey(queryRef)) {
             return false;
         }
+        queryMessages.remove(queryRef);
         return queries.remove(queryRef);
     }
 
@@ -102,6 +129,24 @@ public class TicketInMemoryRepository implements TicketRepository {
                 != null;
     }
 
+    @Override
+    public int touchTicketsByIds(Map<TicketId, Instant> timestamps) {
+        checkNotNull(timestamps);
+
+        int found = 0;
+        for (Map.Entry<TicketId, Instant> entry : timestamps.entrySet()) {
+            Ticket ticket = tickets.get(entry.getKey());
+            if (ticket == null) {
+                continue;
+            }
+            found++;
+            if (ticket.lastInteractedAt().isBefore(entry.getValue())) {
+                touchTicketById(entry.getKey(), entry.getValue());
+            }
+        }
+        return found;
+    }
+
     @Override
     public boolean assign(TicketId ticketId, String slackUserId) {
         return assignInternal(ticketId, slackUserId);
@@ -157,33 +202,61 @@ public class TicketInMemoryRepository implements TicketRepository {
         checkNotNull(query);
         checkArgument(query.page() >= 0);
         checkArgument(query.pageSize() > 0);
+        checkArgument(query.after() == null || query.order() != null, "A cursor needs an order");
 
-        Comparator<Ticket> order =
-                switch (query.order()) {
-                    case asc -> comparing(t -> t.queryTs().getDate());
-                    case desc -> reverseOrder(comparing(t -> t.queryTs().getDate()));
-                    case null -> comparing(t -> 0);
-                };
-        ImmutableList<X> queryResult = tickets.values().stream()
+        TicketsQuery.Order direction = query.order();
+        Comparator<Ticket> order = direction == null
+                ? comparing(t -> 0)
+                : comparing(TicketInMemoryRepository::cursorOf, position(direction));
+        ImmutableList<Ticket> queryResult = tickets.values().stream()
                 .filter(t -> filterTicket(t, query))
                 .sorted(order)
-                .map(mapperFn)
                 .collect(toImmutableList());
 
-        ImmutableList<X> elements;
+        ImmutableList<Ticket> elements;
         long page;
         long totalPages;
+        @Nullable String nextCursor = null;
         if (query.unlimited()) {
             elements = queryResult;
             page = totalPages = 0;
         } else {
-            long fromIndex = query.page() * query.pageSize();
-            long toIndex = Math.min(queryResult.size(), (query.page() + 1) * query.pageSize());
+            TicketCursor after = query.after();
+            long fromIndex;
+            if (after == null) {
+                fromIndex = query.page() * query.pageSize();
+            } else {
+                Comparator<TicketCursor> position = position(checkNotNull(direction));
+                fromIndex = queryResult.stream()
+                        .takeWhile(t -> position.compare(cursorOf(t), after) <= 0)
+                        .count();
+            }
+            fromIndex = Math.min(queryResult.size(), fromIndex);
+            long toIndex = Math.min(queryResult.size(), fromIndex + query.pageSize());
             elements = queryResult.subList((int) fromIndex, (int) toIndex);
             page = query.page();
             totalPages = queryResult.size() / query.pageSize() + 1;
+            if (direction != null && elements.size() == query.pageSize()) {
+                nextCursor = cursorOf(elements.getLast()).render();
+            }
         }
-        return new Page<>(elements, page, totalPages, queryResult.size());
+        return new Page<>(
+                elements.stream().map(mapperFn).collect(toImmutableList()),
+                page,
+                totalPages,
+                queryResult.size(),
+                nextCursor);
+    }
+
+    // Queries have no ids here; the ticket id orders them the same way, since each ticket has its own query
+    private static TicketCursor cursorOf(Ticket ticket) {
+        return new TicketCursor(ticket.queryTs().getDate(), checkNotNull(ticket.id()).id());
+    }
+
+    private static Comparator<TicketCursor> position(TicketsQuery.Order order) {
+        Comparator<TicketCursor> ascending =
+                comparing(TicketCursor::date).thenComparingLong(TicketCursor::queryId);
+        return order == TicketsQuery.Order.asc ? ascending : ascending.reversed();
     }
 
     private boolean filterTicket(Ticket ticket, TicketsQuery query) {
@@ -276,4 +349,19 @@ public class TicketInMemoryRepository implements TicketRepository {
         });
         return claimed.get();
     }
+
+    @Override
+    public boolean tryMarkTicketAsClosed(TicketId ticketId) {
+        AtomicBoolean claimed = new AtomicBoolean(false);
+        tickets.computeIfPresent(ticketId, (id, ticket) -> {
+            if (ticket.status() == TicketStatus.closed) {
+                return ticket;
+            }
+            claimed.set(true);
+            Ticket updated = ticket.toBuilder().status(TicketStatus.closed).build();
+            ticketsByQuery.put(ticket.queryRef(), updated);
+            return updated;
+        });
+        return claimed.get();
+    }
 }
@@ -13,10 +13,13 @@ import com.coreeng.supportbot.rbac.RbacService;
 import com.coreeng.supportbot.slack.MessageRef;
 import com.coreeng.supportbot.slack.SlackException;
 import com.coreeng.supportbot.slack.SlackId;
+import com.coreeng.supportbot.slack.client.SlackGetMessageByTsRequest;
+import com.coreeng.supportbot.slack.events.MessageChanged;
 import com.coreeng.supportbot.slack.events.MessageDeleted;
 import com.coreeng.supportbot.slack.events.MessagePosted;
 import com.coreeng.supportbot.slack.events.ReactionAdded;
 import com.coreeng.supportbot.slack.events.SlackEvent;
+import com.coreeng.supportbot.slack.permalink.PermalinkService;
 import com.coreeng.supportbot.ticket.slack.TicketSlackService;
 import com.google.common.collect.ImmutableList;
 import java.time.Instant;
@@ -34,6 +37,7 @@ import org.springframework.stereotype.Service;
 @Slf4j
 public class TicketProcessingService {
     private final TicketRepository repository;
+    private final TicketTouchBuffer touchBuffer;
     private final TicketSlackService slackService;
     private final EscalationQueryService escalationQueryService;
     private final SlackTicketsProps slackTicketsProps;
@@ -43,10 +47,12 @@ public class TicketProcessingService {
     private final Optional<PrDetectionService> prDetectionService;
     private final RbacService rbacService;
     private final SupportTeamProps supportTeamProps;
+    private final PermalinkService permalinkService;
 
     @Autowired
     public TicketProcessingService(
             TicketRepository repository,
+            TicketTouchBuffer touchBuffer,
             TicketSlackService slackService,
             EscalationQueryService escalationQueryService,
             SlackTicketsProps slackTicketsProps,
@@ -55,8 +61,10 @@ public class TicketProcessingService {
             ApplicationEventPublisher publisher,
             Optional<PrDetectionService> prDetectionService,
             RbacService rbacService,
-            SupportTeamProps supportTeamProps) {
+            SupportTeamProps supportTeamProps,
+            PermalinkService permalinkService) {
         this.repository = repository;
+        this.touchBuffer = touchBuffer;
         this.slackService = slackService;
         this.escalationQueryService = escalationQueryService;
         this.slackTicketsProps = slackTicketsProps;
@@ -66,6 +74,7 @@ public class TicketProcessingService {
         this.prDetectionService = prDetectionService;
         this.rbacService = rbacService;
         this.supportTeamProps = supportTeamProps;
+        this.permalinkService = permalinkService;
     }
 
     public void handleMessagePosted(MessagePosted e) {
@@ -83,8 +92,9 @@ public class TicketProcessingService {
                 return;
             }
 
-            repository.createQueryIfNotExists(e.messageRef());
+            repository.createQueryIfNotExists(e.messageRef(), new QueryMessage(e.message(), e.author()));
             log.atInfo().addArgument(e::messageRef).log("Query is created on message({})");
+            storeQueryPermalink(e.messageRef());
 
             if (hasPrLink) {
                 PrDetectionOutcome outcome = handlePrDetectionForQueryEvent(prDetectionService.get(), e);
@@ -110,6 +120,7 @@ public class TicketProcessingService {
         }
 
         if (ticket.status() == TicketStatus.stale) {
+            touchBuffer.flush(checkNotNull(ticket.id()));
             Ticket updatedTicket = repository.updateTicket(ticket.toBuilder()
                     .status(TicketStatus.opened)
                     .lastInteractedAt(Instant.now())
@@ -117,7 +128,7 @@ public class TicketProcessingService {
             onStatusUpdate(updatedTicket);
         } else {
             TicketId ticketId = checkNotNull(ticket.id());
-            repository.touchTicketById(ticketId, Instant.now());
+            touchBuffer.touch(ticketId, Instant.now());
         }
 
         if (channelRegistry.shouldTrackPrs(ticket.channelId())) {
@@ -168,6 +179,7 @@ public class TicketProcessingService {
         Ticket newTicket = Ticket.createNew(queryRef.actualThreadTs(), queryRef.channelId());
         newTicket = repository.createTicketIfNotExists(newTicket);
         TicketId newTicketId = checkNotNull(newTicket.id());
+        publisher.publishEvent(new TicketUpdated(newTicketId));
         log.atInfo()
                 .addKeyValue("ticketId", newTicketId.id())
                 .log("Ticket auto-created for PR-link message({})", queryRef.actualThreadTs());
@@ -206,6 +218,17 @@ public class TicketProcessingService {
         }
     }
 
+    public void handleMessageChanged(MessageChanged e) {
+        if (!isQueryMessageRef(e.messageRef())) {
+            return;
+        }
+        boolean updated = repository.updateQueryMessage(
+                e.messageRef(), QueryMessage.of(e.message(), e.userId(), e.botId()));
+        if (updated) {
+            log.atDebug().addArgument(e::messageRef).log("Query message is updated on edit({})");
+        }
+    }
+
     /**
      * This method should be idempotent, so users can re-add reaction without any visible problem.
      * It can also be used as a way to try to fix any transient problem
@@ -243,6 +266,7 @@ public class TicketProcessingService {
         }
         newTicket = repository.createTicketIfNotExists(newTicket);
         TicketId newTicketId = checkNotNull(newTicket.id());
+        publisher.publishEvent(new TicketUpdated(newTicketId));
         log.atInfo()
                 .addKeyValue("ticketId", newTicketId.id())
                 .log("Ticket created on reaction to message({})", e.messageRef().actualThreadTs());
@@ -272,6 +296,7 @@ public class TicketProcessingService {
     }
 
     public TicketSubmitResult submit(TicketSubmission submission) {
+        touchBuffer.flush(submission.ticketId());
         Ticket ticket = repository.findTicketById(submission.ticketId());
         if (ticket == null) {
             throw new IllegalStateException("Ticket not found: " + submission.ticketId());
@@ -301,6 +326,7 @@ public class TicketProcessingService {
         log.atInfo()
                 .addKeyValue("ticketId", checkNotNull(updatedTicket.id()).id())
                 .log("Ticket submitted");
+        publisher.publishEvent(new TicketUpdated(checkNotNull(updatedTicket.id())));
 
         if (ticket.status() != updatedTicket.status()) {
             onStatusUpdate(updatedTicket);
@@ -325,12 +351,14 @@ public class TicketProcessingService {
     }
 
     public void closeForPrResolution(TicketId ticketId, ImmutableList<String> tags, String impact) {
+        touchBuffer.flush(ticketId);
         Ticket ticket = repository.findTicketById(ticketId);
         if (ticket == null) {
             log.atWarn().addArgument(ticketId).log("Ticket {} not found for bot close, skipping");
             return;
         }
-        if (ticket.status() == TicketStatus.closed) {
+        // Conditional, so of the PRs resolving at once on this ticket only one closes it and notifies
+        if (!repository.tryMarkTicketAsClosed(ticketId)) {
             log.atDebug().addArgument(ticketId).log("Ticket {} already closed, skipping");
             return;
         }
@@ -346,6 +374,7 @@ public class TicketProcessingService {
     }
 
     public void markAsStale(TicketId ticketId) {
+        touchBuffer.flush(ticketId);
         Ticket ticket = repository.findTicketById(ticketId);
         if (ticket == null) {
             log.warn("Ticket with id {} not found", ticketId);
@@ -382,7 +411,7 @@ public class TicketProcessingService {
         log.info("Reminding of stale ticket {}", ticketId);
         StalenessTagTarget target = resolveStalenessTarget(ticket);
         slackService.warnStaleness(ticket.queryRef(), target);
-        repository.touchTicketById(ticketId, Instant.now());
+        touchBuffer.touch(ticketId, Instant.now());
     }
 
     StalenessTagTarget resolveStalenessTarget(Ticket ticket) {
@@ -437,6 +466,18 @@ public class TicketProcessingService {
         return updatedTicket;
     }
 
+    // Resolved and stored while the query is recorded, so ticket views find it stored
+    private void storeQueryPermalink(MessageRef queryRef) {
+        try {
+            permalinkService.getPermalink(SlackGetMessageByTsRequest.of(queryRef));
+        } catch (SlackException ex) {
+            log.atWarn()
+                    .setCause(ex)
+                    .addArgument(queryRef)
+                    .log("Failed to resolve permalink of query({}), it will be resolved when the ticket is viewed");
+        }
+    }
+
     private boolean isQueryEvent(SlackEvent event) {
         return isQueryMessageRef(event.messageRef());
     }
@@ -7,17 +7,15 @@ import com.coreeng.supportbot.escalation.EscalationQuery;
 import com.coreeng.supportbot.escalation.EscalationQueryService;
 import com.coreeng.supportbot.slack.MessageRef;
 import com.coreeng.supportbot.slack.SlackTextFormatter;
-import com.coreeng.supportbot.slack.client.SlackClient;
-import com.coreeng.supportbot.slack.client.SlackGetMessageByTsRequest;
 import com.coreeng.supportbot.util.Page;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Multimaps;
-import com.slack.api.model.Message;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jspecify.annotations.Nullable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
@@ -27,7 +25,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class TicketQueryService {
     private final TicketRepository repository;
     private final EscalationQueryService escalationQueryService;
-    private final SlackClient slackClient;
+    private final QueryMessageService queryMessageService;
     private final SlackTextFormatter textFormatter;
 
     public Page<Ticket> findByQuery(TicketsQuery query) {
@@ -50,7 +48,12 @@ public class TicketQueryService {
                 .map(ticket -> new DetailedTicket(ticket, ImmutableList.copyOf(escalationsByTicket.get(ticket.id()))))
                 .collect(toImmutableList());
 
-        return new Page<>(detailedTickets, ticketsPage.page(), ticketsPage.totalPages(), ticketsPage.totalElements());
+        return new Page<>(
+                detailedTickets,
+                ticketsPage.page(),
+                ticketsPage.totalPages(),
+                ticketsPage.totalElements(),
+                ticketsPage.nextCursor());
     }
 
     @Nullable public Ticket findById(TicketId id) {
@@ -79,12 +82,13 @@ public class TicketQueryService {
         return repository.queryExists(queryRef);
     }
 
+    // Outside any transaction: a query recorded before its message was stored fetches it from Slack, which
+    // shouldn't hold a connection open, and stores it afterwards in a transaction of its own
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     @Nullable public String fetchQueryText(Ticket ticket) {
         try {
-            Message message =
-                    slackClient.getMessageByTs(new SlackGetMessageByTsRequest(ticket.channelId(), ticket.queryTs()));
-            String rawText = message.getText();
-            return textFormatter.format(rawText);
+            QueryMessage message = queryMessageService.find(ticket.queryRef());
+            return message != null ? textFormatter.format(message.text()) : null;
         } catch (Exception e) {
             if (log.isWarnEnabled()) {
                 log.warn("Failed to fetch query message for ticket {}: {}", ticket.id(), e.getMessage());
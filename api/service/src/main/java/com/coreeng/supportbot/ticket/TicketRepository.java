@@ -5,11 +5,28 @@ import com.coreeng.supportbot.util.Page;
 import com.google.common.collect.ImmutableList;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Map;
 import org.jspecify.annotations.Nullable;
 
 public interface TicketRepository {
     void createQueryIfNotExists(MessageRef queryRef);
 
+    /**
+     * Creates the query with its message. An existing query is left as it is, so a redelivered event can't undo an
+     * edit; its message only changes through {@link #updateQueryMessage}.
+     */
+    void createQueryIfNotExists(MessageRef queryRef, QueryMessage message);
+
+    /**
+     * @return whether the query exists
+     */
+    boolean updateQueryMessage(MessageRef queryRef, QueryMessage message);
+
+    /**
+     * @return the stored message of the query, or {@code null} if the query doesn't exist or was recorded without one
+     */
+    @Nullable QueryMessage findQueryMessage(MessageRef queryRef);
+
     boolean queryExists(MessageRef queryRef);
 
     boolean deleteQueryIfNoTicket(MessageRef queryRef);
@@ -20,6 +37,14 @@ public interface TicketRepository {
 
     boolean touchTicketById(TicketId id, Instant timestamp);
 
+    /**
+     * Moves {@code last_interacted_at} of each ticket forward to the given timestamp in a single statement.
+     * Tickets that already have a later value are left untouched.
+     *
+     * @return number of the given tickets that exist
+     */
+    int touchTicketsByIds(Map<TicketId, Instant> timestamps);
+
     @Nullable Ticket findTicketById(TicketId ticketId);
 
     @Nullable Ticket findTicketByQuery(MessageRef queryRef);
@@ -34,5 +59,13 @@ public interface TicketRepository {
 
     boolean tryMarkTicketAsRated(TicketId ticketId);
 
+    /**
+     * Moves the ticket to {@link TicketStatus#closed} unless it's closed already, so concurrent closes of the same
+     * ticket can tell which one closed it.
+     *
+     * @return whether this call closed the ticket
+     */
+    boolean tryMarkTicketAsClosed(TicketId ticketId);
+
     boolean assign(TicketId ticketId, String slackUserId);
 }
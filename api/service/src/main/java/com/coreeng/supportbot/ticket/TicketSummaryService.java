@@ -19,6 +19,7 @@ import com.coreeng.supportbot.slack.SlackException;
 import com.coreeng.supportbot.slack.SlackId;
 import com.coreeng.supportbot.slack.client.SlackClient;
 import com.coreeng.supportbot.slack.client.SlackGetMessageByTsRequest;
+import com.coreeng.supportbot.slack.permalink.PermalinkService;
 import com.coreeng.supportbot.teams.SupportTeamService;
 import com.google.common.collect.ImmutableList;
 import com.slack.api.model.Message;
@@ -35,6 +36,7 @@ import org.springframework.stereotype.Service;
 public class TicketSummaryService {
     private final TicketRepository repository;
     private final SlackClient slackClient;
+    private final PermalinkService permalinkService;
     private final EscalationQueryService escalationQueryService;
     private final TagsRegistry tagsRegistry;
     private final ImpactsRegistry impactsRegistry;
@@ -173,7 +175,7 @@ public class TicketSummaryService {
 
     @Nullable private String resolveQueryPermalink(Ticket ticket) {
         try {
-            return slackClient.getPermalink(new SlackGetMessageByTsRequest(ticket.channelId(), ticket.queryTs()));
+            return permalinkService.getPermalink(new SlackGetMessageByTsRequest(ticket.channelId(), ticket.queryTs()));
         } catch (SlackException ex) {
             log.atError()
                     .setCause(ex)
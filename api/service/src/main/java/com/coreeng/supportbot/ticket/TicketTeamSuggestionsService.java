@@ -5,17 +5,16 @@ import static com.google.common.collect.ImmutableList.toImmutableList;
 import com.coreeng.supportbot.slack.SlackException;
 import com.coreeng.supportbot.slack.SlackId;
 import com.coreeng.supportbot.slack.client.SlackClient;
-import com.coreeng.supportbot.slack.client.SlackGetMessageByTsRequest;
 import com.coreeng.supportbot.teams.PlatformTeam;
 import com.coreeng.supportbot.teams.PlatformTeamsService;
+import com.coreeng.supportbot.util.TypeaheadIndex;
 import com.google.common.collect.ImmutableList;
-import com.slack.api.model.Message;
+import com.google.common.collect.ImmutableSet;
 import com.slack.api.model.User;
 import java.util.Locale;
 import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.jspecify.annotations.Nullable;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -25,11 +24,13 @@ public class TicketTeamSuggestionsService {
     private final SlackClient slackClient;
     private final PlatformTeamsService platformTeamsService;
     private final TicketRepository ticketRepository;
+    private final QueryMessageService queryMessageService;
+    private final TypeaheadIndex.Holder<PlatformTeam> teamIndex = new TypeaheadIndex.Holder<>(PlatformTeam::name);
 
     public TicketTeamsSuggestion getTeamSuggestions(String filterValue, SlackId entityId) {
         String normalisedFilterValue = filterValue.toLowerCase(Locale.ROOT);
 
-        ImmutableList<String> allTeams = getAllTeamsFiltered(normalisedFilterValue);
+        ImmutableList<String> allTeams = getAllTeamsFiltered(filterValue);
 
         if (!(entityId instanceof SlackId.User userId)) {
             log.atInfo()
@@ -51,20 +52,20 @@ public class TicketTeamSuggestionsService {
             return new TicketTeamsSuggestion(ImmutableList.of(TicketTeam.NOT_A_TENANT_CODE), allTeams);
         }
 
+        ImmutableSet<String> authorTeamSet = ImmutableSet.copyOf(authorTeams);
         ImmutableList<String> otherTeams =
-                allTeams.stream().filter(t -> !authorTeams.contains(t)).collect(toImmutableList());
+                allTeams.stream().filter(t -> !authorTeamSet.contains(t)).collect(toImmutableList());
         return new TicketTeamsSuggestion(authorTeams, otherTeams);
     }
 
     public TicketTeamsSuggestion getFallbackSuggestions(String filterValue) {
-        String normalisedFilterValue = filterValue.toLowerCase(Locale.ROOT);
-        ImmutableList<String> allTeams = getAllTeamsFiltered(normalisedFilterValue);
+        ImmutableList<String> allTeams = getAllTeamsFiltered(filterValue);
         return new TicketTeamsSuggestion(ImmutableList.of(), allTeams);
     }
 
     /**
-     * Resolves team suggestions for a ticket by looking up the ticket's author from the original
-     * Slack query message. Returns empty if the ticket is not found.
+     * Resolves team suggestions for a ticket by looking up the ticket's author from the stored query
+     * message. Returns empty if the ticket is not found.
      */
     public Optional<TicketTeamsSuggestion> getTeamSuggestionsForTicket(TicketId ticketId) {
         Ticket ticket = ticketRepository.findTicketById(ticketId);
@@ -73,9 +74,8 @@ public class TicketTeamSuggestionsService {
         }
 
         try {
-            Message queryMessage =
-                    slackClient.getMessageByTs(new SlackGetMessageByTsRequest(ticket.channelId(), ticket.queryTs()));
-            SlackId authorId = resolveAuthorId(queryMessage);
+            QueryMessage queryMessage = queryMessageService.find(ticket.queryRef());
+            SlackId authorId = queryMessage != null ? queryMessage.author() : null;
 
             if (authorId != null && !SlackId.SLACKBOT.equals(authorId)) {
                 return Optional.of(getTeamSuggestions("", authorId));
@@ -91,23 +91,10 @@ public class TicketTeamSuggestionsService {
         }
     }
 
-    @Nullable private static SlackId resolveAuthorId(@Nullable Message message) {
-        if (message == null) {
-            return null;
-        }
-        if (message.getUser() != null) {
-            return SlackId.user(message.getUser());
-        }
-        if (message.getBotId() != null) {
-            return SlackId.bot(message.getBotId());
-        }
-        return null;
-    }
-
-    private ImmutableList<String> getAllTeamsFiltered(String normalisedFilterValue) {
-        return platformTeamsService.listTeams().stream()
+    // Best matches first, see TypeaheadIndex
+    private ImmutableList<String> getAllTeamsFiltered(String filterValue) {
+        return teamIndex.indexOf(platformTeamsService.listTeams()).search(filterValue).stream()
                 .map(PlatformTeam::name)
-                .filter(t -> t.toLowerCase(Locale.ROOT).contains(normalisedFilterValue))
                 .collect(toImmutableList());
     }
 }
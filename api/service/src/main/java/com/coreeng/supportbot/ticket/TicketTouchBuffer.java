@@ -0,0 +1,134 @@
+package com.coreeng.supportbot.ticket;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.coreeng.supportbot.config.TicketTouchBufferProps;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Coalesces {@code last_interacted_at} updates per ticket and writes them in one batch.
+ *
+ * <p>Every reply in a ticket thread touches the ticket, so a busy thread would otherwise issue one
+ * {@code UPDATE} per message against the same row. Only the latest timestamp per ticket is kept and
+ * flushed every {@link TicketTouchBufferProps#flushInterval()}, on shutdown, and synchronously
+ * before a ticket changes status, so staleness checks never act on a value still sitting in memory.
+ */
+@Component
+@Slf4j
+public class TicketTouchBuffer {
+    private final TicketRepository repository;
+    private final boolean enabled;
+    private final Map<TicketId, PendingTouch> pending = new ConcurrentHashMap<>();
+
+    private final DistributionSummary flushSize;
+    private final Timer flushLag;
+
+    public TicketTouchBuffer(TicketRepository repository, TicketTouchBufferProps props, MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.enabled = props.enabled();
+
+        Gauge.builder("ticket_touch_buffer_pending", pending, Map::size)
+                .description("Tickets with a last interaction time not yet written to the database")
+                .register(meterRegistry);
+        this.flushSize = DistributionSummary.builder("ticket_touch_buffer_flush_size")
+                .description("Number of tickets written per touch buffer flush")
+                .register(meterRegistry);
+        this.flushLag = Timer.builder("ticket_touch_buffer_flush_lag_seconds")
+                .description("Time between the first buffered touch of a ticket and it being written")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    public void touch(TicketId id, Instant timestamp) {
+        checkNotNull(id);
+        checkNotNull(timestamp);
+        if (!enabled) {
+            repository.touchTicketById(id, timestamp);
+            return;
+        }
+        pending.merge(id, new PendingTouch(timestamp, System.nanoTime()), PendingTouch::merge);
+    }
+
+    /**
+     * Writes the pending touch of a single ticket, if any. Call before changing the ticket's status.
+     */
+    public void flush(TicketId id) {
+        PendingTouch touch = pending.remove(id);
+        if (touch == null) {
+            return;
+        }
+        try {
+            repository.touchTicketsByIds(Map.of(id, touch.timestamp()));
+        } catch (RuntimeException e) {
+            pending.merge(id, touch, PendingTouch::merge);
+            throw e;
+        }
+        record(Map.of(id, touch));
+    }
+
+    @Scheduled(fixedDelayString = "${ticket.touch-buffer.flush-interval:5s}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        Map<TicketId, PendingTouch> batch = new HashMap<>();
+        for (TicketId id : pending.keySet()) {
+            PendingTouch touch = pending.remove(id);
+            if (touch != null) {
+                batch.put(id, touch);
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        Map<TicketId, Instant> timestamps = new HashMap<>();
+        batch.forEach((id, touch) -> timestamps.put(id, touch.timestamp()));
+        try {
+            int found = repository.touchTicketsByIds(timestamps);
+            log.atDebug()
+                    .addArgument(batch::size)
+                    .addArgument(found)
+                    .log("Flushed touches of {} tickets, {} found");
+        } catch (RuntimeException e) {
+            // Put the touches back so the next flush retries them
+            batch.forEach((id, touch) -> pending.merge(id, touch, PendingTouch::merge));
+            log.atError().setCause(e).addArgument(batch::size).log("Failed to flush touches of {} tickets, will retry");
+            return;
+        }
+        record(batch);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private void record(Map<TicketId, PendingTouch> batch) {
+        flushSize.record(batch.size());
+        long now = System.nanoTime();
+        for (PendingTouch touch : batch.values()) {
+            flushLag.record(now - touch.firstTouchedAtNanos(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private record PendingTouch(Instant timestamp, long firstTouchedAtNanos) {
+        PendingTouch merge(PendingTouch other) {
+            return new PendingTouch(
+                    timestamp.isAfter(other.timestamp) ? timestamp : other.timestamp,
+                    Math.min(firstTouchedAtNanos, other.firstTouchedAtNanos));
+        }
+    }
+}
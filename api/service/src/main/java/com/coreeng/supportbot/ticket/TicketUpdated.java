@@ -0,0 +1,3 @@
+package com.coreeng.supportbot.ticket;
+
+public record TicketUpdated(TicketId ticketId) {}
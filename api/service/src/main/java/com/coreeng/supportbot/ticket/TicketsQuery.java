@@ -4,6 +4,7 @@ import com.coreeng.supportbot.slack.UIOption;
 import com.google.common.collect.ImmutableList;
 import java.time.LocalDate;
 import lombok.Builder;
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.extern.jackson.Jacksonized;
 import org.jspecify.annotations.Nullable;
@@ -11,6 +12,7 @@ import org.jspecify.annotations.Nullable;
 @Getter
 @Builder(toBuilder = true)
 @Jacksonized
+@EqualsAndHashCode
 public class TicketsQuery {
     @Builder.Default
     private long page = 0;
@@ -20,6 +22,9 @@ public class TicketsQuery {
 
     private boolean unlimited;
 
+    // Seeks past this ticket instead of skipping page * pageSize rows; needs an order
+    @Nullable private TicketCursor after;
+
     @Builder.Default
     private ImmutableList<TicketId> ids = ImmutableList.of();
 
@@ -0,0 +1,29 @@
+package com.coreeng.supportbot.ticket.handler;
+
+import com.coreeng.supportbot.slack.SlackEventHandler;
+import com.coreeng.supportbot.slack.events.MessageChanged;
+import com.coreeng.supportbot.ticket.TicketProcessingService;
+import com.slack.api.app_backend.events.payload.EventsApiPayload;
+import com.slack.api.bolt.context.builtin.EventContext;
+import com.slack.api.model.event.MessageChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class MessageChangedHandler implements SlackEventHandler<MessageChangedEvent> {
+    private final TicketProcessingService ticketProcessingService;
+
+    @Override
+    public Class<MessageChangedEvent> getEventClass() {
+        return MessageChangedEvent.class;
+    }
+
+    @Override
+    public void apply(EventsApiPayload<MessageChangedEvent> event, EventContext context) {
+        MessageChanged e = MessageChanged.fromMessageChangedEvent(event);
+        if (e != null) {
+            ticketProcessingService.handleMessageChanged(e);
+        }
+    }
+}
@@ -10,9 +10,11 @@ import com.coreeng.supportbot.slack.client.SlackClient;
 import com.coreeng.supportbot.slack.client.SlackGetMessageByTsRequest;
 import com.coreeng.supportbot.slack.client.SlackMessage;
 import com.coreeng.supportbot.slack.client.SlackPostMessageRequest;
+import com.coreeng.supportbot.slack.permalink.PermalinkService;
 import com.coreeng.supportbot.ticket.Ticket;
 import com.coreeng.supportbot.ticket.TicketId;
 import com.coreeng.supportbot.ticket.TicketRepository;
+import com.coreeng.supportbot.ticket.TicketUpdated;
 import com.coreeng.supportbot.ticket.TicketsQuery;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
@@ -22,6 +24,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jooq.exception.DataAccessException;
 import org.jspecify.annotations.Nullable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 @Slf4j
@@ -31,6 +34,8 @@ public class BulkReassignmentService {
     private final TicketAssignmentProps assignmentProps;
     private final TicketRepository ticketRepository;
     private final SlackClient slackClient;
+    private final PermalinkService permalinkService;
+    private final ApplicationEventPublisher publisher;
 
     public BulkReassignResultUI bulkReassign(BulkReassignRequest request) {
         BulkReassignResultUI validationError = validateRequest(request);
@@ -115,6 +120,7 @@ public class BulkReassignmentService {
     private boolean tryAssignTicket(TicketId ticketId, String assignedTo) {
         try {
             ticketRepository.assign(ticketId, assignedTo);
+            publisher.publishEvent(new TicketUpdated(ticketId));
             return true;
         } catch (DataAccessException e) {
             if (log.isWarnEnabled()) {
@@ -196,8 +202,8 @@ public class BulkReassignmentService {
         ticketIds.forEach(ticketId -> {
             Ticket ticket = ticketMap.get(ticketId);
             if (ticket != null) {
-                String permalink =
-                        slackClient.getPermalink(new SlackGetMessageByTsRequest(ticket.channelId(), ticket.queryTs()));
+                String permalink = permalinkService.getPermalink(
+                        new SlackGetMessageByTsRequest(ticket.channelId(), ticket.queryTs()));
                 ticketList.append(format("• <%s|Ticket %s>\n", permalink, ticketId.render()));
             } else {
                 ticketList.append(format("• Ticket %s\n", ticketId.render()));
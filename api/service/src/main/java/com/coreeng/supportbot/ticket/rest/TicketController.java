@@ -36,10 +36,12 @@ public class TicketController {
             @RequestParam(required = false) Boolean escalated,
             @RequestParam(required = false, defaultValue = "") List<String> impacts,
             @RequestParam(required = false, defaultValue = "") List<String> teams,
-            @RequestParam(required = false) String assignedTo) {
+            @RequestParam(required = false) String assignedTo,
+            @RequestParam(required = false) @Nullable TicketCursor cursor) {
         TicketsQuery ticketQuery = TicketsQuery.builder()
                 .page(page)
                 .pageSize(pageSize)
+                .after(cursor)
                 .ids(ImmutableList.copyOf(ids))
                 .dateFrom(dateFrom)
                 .dateTo(dateTo)
@@ -57,7 +59,8 @@ public class TicketController {
                 ticketUIs,
                 detailedTicketsPage.page(),
                 detailedTicketsPage.totalPages(),
-                detailedTicketsPage.totalElements());
+                detailedTicketsPage.totalElements(),
+                detailedTicketsPage.nextCursor());
 
         return ResponseEntity.ok(ticketUIPage);
     }
@@ -0,0 +1,19 @@
+package com.coreeng.supportbot.ticket.rest;
+
+import com.coreeng.supportbot.ticket.TicketCursor;
+import java.util.Locale;
+import org.springframework.format.Formatter;
+import org.springframework.stereotype.Component;
+
+@Component
+public class TicketCursorFormatter implements Formatter<TicketCursor> {
+    @Override
+    public TicketCursor parse(String text, Locale locale) {
+        return TicketCursor.parse(text);
+    }
+
+    @Override
+    public String print(TicketCursor object, Locale locale) {
+        return object.render();
+    }
+}
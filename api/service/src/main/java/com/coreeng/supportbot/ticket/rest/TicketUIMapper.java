@@ -7,8 +7,8 @@ import com.coreeng.supportbot.config.TicketAssignmentProps;
 import com.coreeng.supportbot.escalation.rest.EscalationUIMapper;
 import com.coreeng.supportbot.slack.SlackException;
 import com.coreeng.supportbot.slack.SlackId;
-import com.coreeng.supportbot.slack.client.SlackClient;
 import com.coreeng.supportbot.slack.client.SlackGetMessageByTsRequest;
+import com.coreeng.supportbot.slack.permalink.PermalinkService;
 import com.coreeng.supportbot.teams.SupportTeamService;
 import com.coreeng.supportbot.teams.TeamMemberFetcher;
 import com.coreeng.supportbot.teams.TeamService;
@@ -31,7 +31,7 @@ import org.springframework.stereotype.Component;
 public class TicketUIMapper {
     private final AnalysisRepository analysisRepository;
     private final EscalationUIMapper escalationUIMapper;
-    private final SlackClient slackClient;
+    private final PermalinkService permalinkService;
     private final TeamService teamService;
     private final TeamUIMapper teamUIMapper;
     private final SupportTeamService supportTeamService;
@@ -108,7 +108,7 @@ public class TicketUIMapper {
 
     @Nullable private String resolveQueryPermalink(DetailedTicket ticket) {
         try {
-            return slackClient.getPermalink(new SlackGetMessageByTsRequest(
+            return permalinkService.getPermalink(new SlackGetMessageByTsRequest(
                     ticket.ticket().channelId(), ticket.ticket().queryTs()));
         } catch (SlackException ex) {
             log.atError()
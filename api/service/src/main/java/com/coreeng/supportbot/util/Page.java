@@ -4,9 +4,24 @@ import static com.google.common.collect.ImmutableList.toImmutableList;
 
 import com.google.common.collect.ImmutableList;
 import java.util.function.Function;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * One page of a listing. {@code nextCursor} is set when a following page may exist and the listing supports seeking
+ * to it; passing it back as {@code cursor} fetches that page without skipping over the earlier ones.
+ */
+public record Page<T>(
+        ImmutableList<T> content, long page, long totalPages, long totalElements, @Nullable String nextCursor) {
+    public Page(ImmutableList<T> content, long page, long totalPages, long totalElements) {
+        this(content, page, totalPages, totalElements, null);
+    }
 
-public record Page<T>(ImmutableList<T> content, long page, long totalPages, long totalElements) {
     public <Y> Page<Y> map(Function<T, Y> mapperFn) {
-        return new Page<>(content.stream().map(mapperFn).collect(toImmutableList()), page, totalPages, totalElements);
+        return new Page<>(
+                content.stream().map(mapperFn).collect(toImmutableList()),
+                page,
+                totalPages,
+                totalElements,
+                nextCursor);
     }
 }
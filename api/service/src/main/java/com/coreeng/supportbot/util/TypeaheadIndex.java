@@ -0,0 +1,201 @@
+package com.coreeng.supportbot.util;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Immutable type-ahead index over the labels of a list of items, built once per list so a keystroke doesn't
+ * lower-case and scan every label.
+ *
+ * <p>An item matches when its label contains the query, ignoring case. Every substring of up to {@value #MAX_GRAM}
+ * characters of every label is indexed, so a query that short is answered by a single lookup; a longer one by
+ * intersecting the lookups of its trigrams and checking the few items left. Matches are ranked: the whole label,
+ * then labels starting with the query, then labels with a word starting with it, then the rest. Items of the same
+ * rank keep the order they were given in, and an empty query returns all items in that order.
+ */
+public final class TypeaheadIndex<T> {
+    private static final int MAX_GRAM = 3;
+    private static final int[] NONE = new int[0];
+
+    private static final int EXACT = 0;
+    private static final int PREFIX = 1;
+    private static final int WORD_PREFIX = 2;
+    private static final int INFIX = 3;
+    private static final int NO_MATCH = -1;
+
+    private final ImmutableList<T> items;
+    private final String[] labels;
+    // Substring -> ascending positions of the items whose label contains it
+    private final ImmutableMap<String, int[]> postings;
+
+    private TypeaheadIndex(ImmutableList<T> items, String[] labels, ImmutableMap<String, int[]> postings) {
+        this.items = items;
+        this.labels = labels;
+        this.postings = postings;
+    }
+
+    public static <T> TypeaheadIndex<T> of(List<T> items, Function<? super T, String> label) {
+        ImmutableList<T> indexed = ImmutableList.copyOf(items);
+        String[] labels = new String[indexed.size()];
+        Map<String, PositionsBuilder> positions = new HashMap<>();
+        for (int item = 0; item < labels.length; item++) {
+            String normalised = normalise(label.apply(indexed.get(item)));
+            labels[item] = normalised;
+            for (int start = 0; start < normalised.length(); start++) {
+                int maxEnd = Math.min(normalised.length(), start + MAX_GRAM);
+                for (int end = start + 1; end <= maxEnd; end++) {
+                    positions
+                            .computeIfAbsent(normalised.substring(start, end), k -> new PositionsBuilder())
+                            .add(item);
+                }
+            }
+        }
+        ImmutableMap.Builder<String, int[]> postings = ImmutableMap.builderWithExpectedSize(positions.size());
+        positions.forEach((gram, builder) -> postings.put(gram, builder.build()));
+        return new TypeaheadIndex<>(indexed, labels, postings.buildOrThrow());
+    }
+
+    public ImmutableList<T> all() {
+        return items;
+    }
+
+    public ImmutableList<T> search(String query) {
+        return search(query, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @return up to {@code limit} items whose label contains the query, best matches first
+     */
+    public ImmutableList<T> search(String query, int limit) {
+        String normalised = normalise(query);
+        if (normalised.isEmpty()) {
+            return items.size() <= limit ? items : items.subList(0, limit);
+        }
+
+        int[] candidates = candidates(normalised);
+        List<List<T>> byRank = List.of(new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+        for (int item : candidates) {
+            int rank = rank(labels[item], normalised);
+            if (rank != NO_MATCH) {
+                byRank.get(rank).add(items.get(item));
+            }
+        }
+
+        ImmutableList.Builder<T> result = ImmutableList.builder();
+        int remaining = limit;
+        for (List<T> matches : byRank) {
+            if (remaining <= 0) {
+                break;
+            }
+            List<T> taken = matches.size() <= remaining ? matches : matches.subList(0, remaining);
+            result.addAll(taken);
+            remaining -= taken.size();
+        }
+        return result.build();
+    }
+
+    // Items that may contain the query: exactly those that do for a query of up to MAX_GRAM characters
+    private int[] candidates(String query) {
+        if (query.length() <= MAX_GRAM) {
+            return postings.getOrDefault(query, NONE);
+        }
+        List<int[]> trigrams = new ArrayList<>(query.length() - MAX_GRAM + 1);
+        for (int start = 0; start + MAX_GRAM <= query.length(); start++) {
+            int[] positions = postings.get(query.substring(start, start + MAX_GRAM));
+            if (positions == null) {
+                return NONE;
+            }
+            trigrams.add(positions);
+        }
+        trigrams.sort(Comparator.comparingInt(positions -> positions.length));
+
+        int[] result = trigrams.getFirst().clone();
+        int size = result.length;
+        for (int[] positions : trigrams.subList(1, trigrams.size())) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                if (Arrays.binarySearch(positions, result[i]) >= 0) {
+                    result[kept++] = result[i];
+                }
+            }
+            size = kept;
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    private static int rank(String label, String query) {
+        int at = label.indexOf(query);
+        if (at < 0) {
+            return NO_MATCH;
+        }
+        if (at == 0) {
+            return label.length() == query.length() ? EXACT : PREFIX;
+        }
+        for (; at >= 0; at = label.indexOf(query, at + 1)) {
+            if (!Character.isLetterOrDigit(label.charAt(at - 1))) {
+                return WORD_PREFIX;
+            }
+        }
+        return INFIX;
+    }
+
+    private static String normalise(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    private static final class PositionsBuilder {
+        private int[] positions = new int[4];
+        private int size;
+
+        private void add(int position) {
+            // Items are added in ascending order, each once per gram
+            if (size > 0 && positions[size - 1] == position) {
+                return;
+            }
+            if (size == positions.length) {
+                positions = Arrays.copyOf(positions, size * 2);
+            }
+            positions[size++] = position;
+        }
+
+        private int[] build() {
+            return Arrays.copyOf(positions, size);
+        }
+    }
+
+    /**
+     * The index of a source list, rebuilt when the source hands out a different list. The sources it's used with
+     * return the same list until their content changes, so keeping the index current costs a reference comparison
+     * per lookup. A rebuilt index replaces the previous one in a single write, so a lookup sees one or the other.
+     */
+    public static final class Holder<T> {
+        private final Function<? super T, String> label;
+        private volatile @Nullable Snapshot<T> snapshot;
+
+        public Holder(Function<? super T, String> label) {
+            this.label = label;
+        }
+
+        // The list's identity, not its content, tells whether the source changed
+        @SuppressWarnings("ReferenceEquality")
+        public TypeaheadIndex<T> indexOf(List<T> source) {
+            Snapshot<T> current = snapshot;
+            if (current == null || current.source() != source) {
+                current = new Snapshot<>(source, TypeaheadIndex.of(source, label));
+                snapshot = current;
+            }
+            return current.index();
+        }
+
+        private record Snapshot<T>(List<T> source, TypeaheadIndex<T> index) {}
+    }
+}
@@ -0,0 +1,141 @@
+-- Dashboards and metrics used to read aggregated_ticket_data / aggregated_escalation_data, which
+-- re-run the ticket_log and tag subqueries for every row on every read. The same rows are now
+-- persisted in ticket_facts / escalation_facts and refreshed by JdbcFactsRepository whenever a
+-- query, ticket, escalation, status log or tag link is written.
+--
+-- The *_facts_source views are the only definition of a fact row: incremental refreshes, rebuilds
+-- and the consistency check all select from them. Tag arrays are ordered by code so that a
+-- recomputed row compares equal to the stored one.
+
+CREATE VIEW ticket_facts_source AS
+SELECT q.id AS query_id,
+       t.id AS ticket_id,
+       t.status,
+       t.impact_code AS impact,
+       t.team AS team_id,
+       q.ts AS query_msg_ts,
+       q.channel_id AS query_channel_id,
+       q.date AS query_posted_ts,
+       ( SELECT min(l.date)
+            FROM ticket_log l
+            WHERE l.ticket_id = t.id AND l.event = 'opened'::ticket_event_type) AS first_open_ts,
+       ( SELECT max(l.date)
+            FROM ticket_log l
+            WHERE l.ticket_id = t.id AND l.event = 'closed'::ticket_event_type) AS last_closed_ts,
+       ( SELECT max(l.date)
+            FROM ticket_log l
+            WHERE l.ticket_id = t.id AND l.event = 'opened'::ticket_event_type) AS last_open_ts,
+       ( SELECT max(l.date)
+            FROM ticket_log l
+            WHERE l.ticket_id = t.id AND l.event = 'stale'::ticket_event_type) AS last_stale_ts,
+       ( SELECT array_agg(tag.label ORDER BY tag.code)
+            FROM ticket_to_tag ttt
+            JOIN tag ON tag.code = ttt.tag_code
+            WHERE ttt.ticket_id = t.id) AS tags,
+       ( SELECT array_agg(tag.code ORDER BY tag.code)
+            FROM ticket_to_tag ttt
+            JOIN tag ON tag.code = ttt.tag_code
+            WHERE ttt.ticket_id = t.id) AS tags_ids
+FROM query q
+LEFT JOIN ticket t ON t.query_id = q.id;
+
+CREATE VIEW escalation_facts_source AS
+SELECT e.id AS escalation_id,
+       e.ticket_id,
+       e.team AS team_id,
+       e.status,
+       ( SELECT min(l.date)
+            FROM escalation_log l
+            WHERE l.escalation_id = e.id AND l.event = 'opened') AS open_ts,
+       ( SELECT max(l.date)
+            FROM escalation_log l
+            WHERE l.escalation_id = e.id AND l.event = 'resolved') AS resolved_ts,
+       ( SELECT array_agg(tag.code ORDER BY tag.code)
+            FROM escalation_to_tag ett
+            JOIN tag ON tag.code = ett.tag_code
+            WHERE ett.escalation_id = e.id) AS tag_ids,
+       ( SELECT array_agg(tag.label ORDER BY tag.code)
+            FROM escalation_to_tag ett
+            JOIN tag ON tag.code = ett.tag_code
+            WHERE ett.escalation_id = e.id) AS tags
+FROM escalation e;
+
+-- One row per query, like the old view: queries without a ticket have a null ticket_id
+CREATE TABLE ticket_facts
+(
+    query_id         BIGINT PRIMARY KEY REFERENCES query (id) ON DELETE CASCADE,
+    ticket_id        BIGINT REFERENCES ticket (id) ON DELETE CASCADE,
+    status           ticket_status,
+    impact           TEXT,
+    team_id          TEXT,
+    query_msg_ts     TEXT        NOT NULL,
+    query_channel_id TEXT        NOT NULL,
+    query_posted_ts  TIMESTAMPTZ NOT NULL,
+    first_open_ts    TIMESTAMPTZ,
+    last_closed_ts   TIMESTAMPTZ,
+    last_open_ts     TIMESTAMPTZ,
+    last_stale_ts    TIMESTAMPTZ,
+    tags             TEXT[],
+    tags_ids         TEXT[]
+);
+CREATE INDEX ticket_facts_ticket_id_idx ON ticket_facts (ticket_id);
+CREATE INDEX ticket_facts_query_posted_ts_idx ON ticket_facts (query_posted_ts);
+CREATE INDEX ticket_facts_first_open_ts_idx ON ticket_facts (first_open_ts);
+CREATE INDEX ticket_facts_last_closed_ts_idx ON ticket_facts (last_closed_ts);
+
+CREATE TABLE escalation_facts
+(
+    escalation_id BIGINT PRIMARY KEY REFERENCES escalation (id) ON DELETE CASCADE,
+    ticket_id     BIGINT            NOT NULL,
+    team_id       TEXT,
+    status        escalation_status NOT NULL,
+    open_ts       TIMESTAMPTZ,
+    resolved_ts   TIMESTAMPTZ,
+    tag_ids       TEXT[],
+    tags          TEXT[]
+);
+CREATE INDEX escalation_facts_ticket_id_idx ON escalation_facts (ticket_id);
+CREATE INDEX escalation_facts_open_ts_idx ON escalation_facts (open_ts);
+
+INSERT INTO ticket_facts SELECT * FROM ticket_facts_source;
+INSERT INTO escalation_facts SELECT * FROM escalation_facts_source;
+
+-- Keep the old views for ad-hoc queries and external reports, now as cheap reads of the facts
+DROP VIEW IF EXISTS weekly_tag_counts;
+DROP VIEW IF EXISTS aggregated_ticket_data;
+DROP VIEW IF EXISTS aggregated_escalation_data;
+
+CREATE VIEW aggregated_ticket_data AS
+SELECT ticket_id,
+       status,
+       impact,
+       query_id,
+       query_msg_ts,
+       query_channel_id,
+       query_posted_ts,
+       first_open_ts,
+       last_closed_ts,
+       last_open_ts,
+       last_stale_ts,
+       tags,
+       tags_ids,
+       team_id
+FROM ticket_facts;
+
+CREATE VIEW aggregated_escalation_data AS
+SELECT escalation_id,
+       ticket_id,
+       team_id,
+       status,
+       open_ts,
+       resolved_ts,
+       tag_ids,
+       tags
+FROM escalation_facts;
+
+CREATE VIEW weekly_tag_counts AS
+SELECT date_trunc('week', first_open_ts) AS week,
+       unnest(tags)                      AS tag,
+       count(*)                          AS tagcount
+FROM aggregated_ticket_data
+GROUP BY week, tags;
@@ -0,0 +1,28 @@
+-- Business-hours response and resolution durations, in seconds, stored with the facts instead of
+-- calling business_time_between for every row on every dashboard and metrics read. JdbcFactsRepository
+-- recomputes them with the configured business calendar whenever a fact row is refreshed.
+--
+-- The backfill below uses the default calendar (Europe/London, 09:00-17:00, Monday to Friday, no
+-- holidays). Deployments with different business hours should rebuild the facts once after upgrading.
+
+ALTER TABLE ticket_facts
+    ADD COLUMN response_business_seconds   DOUBLE PRECISION,
+    ADD COLUMN resolution_business_seconds DOUBLE PRECISION;
+
+ALTER TABLE escalation_facts
+    ADD COLUMN resolution_business_seconds DOUBLE PRECISION;
+
+UPDATE ticket_facts
+SET response_business_seconds   = CASE
+                                      WHEN query_posted_ts IS NOT NULL AND first_open_ts IS NOT NULL
+                                          THEN EXTRACT(EPOCH FROM business_time_between(query_posted_ts, first_open_ts, 'Europe/London'))
+                                      END,
+    resolution_business_seconds = CASE
+                                      WHEN first_open_ts IS NOT NULL AND last_closed_ts IS NOT NULL
+                                          THEN EXTRACT(EPOCH FROM business_time_between(first_open_ts, last_closed_ts, 'Europe/London'))
+                                      END;
+
+UPDATE escalation_facts
+SET resolution_business_seconds = EXTRACT(EPOCH FROM business_time_between(open_ts, resolved_ts, 'Europe/London'))
+WHERE open_ts IS NOT NULL
+  AND resolved_ts IS NOT NULL;
@@ -0,0 +1,8 @@
+-- Latest Prometheus metrics snapshot. One replica computes it under an advisory lock on every
+-- metrics refresh; the other replicas publish the stored values instead of re-running the queries.
+CREATE TABLE metrics_snapshot
+(
+    id          INTEGER PRIMARY KEY CHECK (id = 1),
+    computed_at TIMESTAMPTZ NOT NULL,
+    snapshot    JSONB       NOT NULL
+);
@@ -0,0 +1,10 @@
+-- Resolved Slack message permalinks. A channel/ts pair always has the same permalink, so it's
+-- resolved through chat.getPermalink once and read from here afterwards.
+CREATE TABLE slack_permalink
+(
+    channel_id  TEXT        NOT NULL,
+    ts          TEXT        NOT NULL,
+    permalink   TEXT        NOT NULL,
+    resolved_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+    PRIMARY KEY (channel_id, ts)
+);
@@ -0,0 +1,20 @@
+-- Append-only mirror of Slack thread messages, written from message events and from
+-- conversations.replies crawls. The latest row of a (channel_id, ts) is the message's current
+-- state; a 'deleted' row has no text.
+CREATE TYPE slack_thread_message_source AS ENUM ('posted', 'edited', 'deleted', 'crawled');
+
+CREATE TABLE slack_thread_message
+(
+    id          BIGSERIAL PRIMARY KEY,
+    channel_id  TEXT                        NOT NULL,
+    thread_ts   TEXT                        NOT NULL,
+    ts          TEXT                        NOT NULL,
+    user_id     TEXT,
+    bot_id      TEXT,
+    text        TEXT,
+    source      slack_thread_message_source NOT NULL,
+    recorded_at TIMESTAMPTZ                 NOT NULL DEFAULT now()
+);
+
+CREATE INDEX slack_thread_message_thread_idx ON slack_thread_message (channel_id, thread_ts, ts, id);
+CREATE INDEX slack_thread_message_ts_idx ON slack_thread_message (channel_id, ts);
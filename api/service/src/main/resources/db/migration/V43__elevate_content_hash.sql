@@ -0,0 +1,5 @@
+-- Hash of each stored Elevate row's normalised columns and raw payload, so a sync only writes the rows whose
+-- content changed. Rows written before the hash existed have none and are rewritten once by the next sync.
+ALTER TABLE elevate_products ADD COLUMN content_hash TEXT;
+ALTER TABLE elevate_users ADD COLUMN content_hash TEXT;
+ALTER TABLE elevate_journeys ADD COLUMN content_hash TEXT;
@@ -0,0 +1,57 @@
+-- Staging area an Elevate sync streams fetched pages into with COPY, before applying the difference to the
+-- elevate_* tables in one short transaction. Each sync writes its rows under its own stage, so concurrent
+-- syncs don't see each other's rows, and deleting a stage removes them. The rows are only needed until the
+-- sync finishes, so the tables are unlogged.
+CREATE UNLOGGED TABLE elevate_snapshot_stage (
+    id UUID PRIMARY KEY,
+    opened_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+CREATE UNLOGGED TABLE elevate_products_staged (
+    stage_id UUID NOT NULL REFERENCES elevate_snapshot_stage(id) ON DELETE CASCADE,
+    resource_id TEXT NOT NULL,
+    slug TEXT NOT NULL,
+    name TEXT NOT NULL,
+    customer TEXT,
+    created_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    last_updated_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    payload JSONB NOT NULL,
+    content_hash TEXT NOT NULL,
+    PRIMARY KEY (stage_id, resource_id)
+);
+
+CREATE UNLOGGED TABLE elevate_users_staged (
+    stage_id UUID NOT NULL REFERENCES elevate_snapshot_stage(id) ON DELETE CASCADE,
+    resource_id UUID NOT NULL,
+    product_id TEXT NOT NULL,
+    name TEXT NOT NULL,
+    description TEXT,
+    created_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    last_updated_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    payload JSONB NOT NULL,
+    content_hash TEXT NOT NULL,
+    PRIMARY KEY (stage_id, resource_id)
+);
+
+CREATE UNLOGGED TABLE elevate_journeys_staged (
+    stage_id UUID NOT NULL REFERENCES elevate_snapshot_stage(id) ON DELETE CASCADE,
+    resource_id TEXT NOT NULL,
+    slug TEXT NOT NULL,
+    name TEXT NOT NULL,
+    product_id TEXT NOT NULL,
+    product_slug TEXT NOT NULL,
+    user_description TEXT,
+    primary_problems TEXT,
+    created_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    last_updated_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    payload JSONB NOT NULL,
+    content_hash TEXT NOT NULL,
+    PRIMARY KEY (stage_id, resource_id)
+);
+
+CREATE UNLOGGED TABLE elevate_journey_users_staged (
+    stage_id UUID NOT NULL REFERENCES elevate_snapshot_stage(id) ON DELETE CASCADE,
+    journey_id TEXT NOT NULL,
+    user_id UUID NOT NULL,
+    PRIMARY KEY (stage_id, journey_id, user_id)
+);
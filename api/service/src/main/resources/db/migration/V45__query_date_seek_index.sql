@@ -0,0 +1,7 @@
+-- Ticket listings page by seeking on (query.date, query.id) instead of OFFSET, in the index's order. The id also joins
+-- each query to its ticket, and the included columns are the rest of what a listing reads from query, so the scan
+-- stays in the index.
+CREATE INDEX query_date_id_idx ON query (date, id) INCLUDE (ts, channel_id);
+
+-- Covered by query_date_id_idx
+DROP INDEX query_date_idx;
@@ -0,0 +1,6 @@
+-- The query message as last seen in Slack, so ticket views don't fetch it. Recorded when the query is
+-- created and on every edit; queries recorded before this get it on their first view.
+ALTER TABLE query
+    ADD COLUMN text           TEXT,
+    ADD COLUMN author_user_id TEXT,
+    ADD COLUMN author_bot_id  TEXT;
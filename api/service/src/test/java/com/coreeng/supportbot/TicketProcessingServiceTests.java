@@ -10,6 +10,7 @@ import com.coreeng.supportbot.config.SlackChannelRegistry;
 import com.coreeng.supportbot.config.SlackTicketsProps;
 import com.coreeng.supportbot.config.SupportTeamProps;
 import com.coreeng.supportbot.config.TicketAssignmentProps;
+import com.coreeng.supportbot.config.TicketTouchBufferProps;
 import com.coreeng.supportbot.escalation.EscalationInMemoryRepository;
 import com.coreeng.supportbot.escalation.EscalationQueryService;
 import com.coreeng.supportbot.prtracking.PrDetectionOutcome;
@@ -19,8 +20,12 @@ import com.coreeng.supportbot.slack.MessageRef;
 import com.coreeng.supportbot.slack.MessageTs;
 import com.coreeng.supportbot.slack.SlackException;
 import com.coreeng.supportbot.slack.SlackId;
+import com.coreeng.supportbot.slack.client.SlackGetMessageByTsRequest;
+import com.coreeng.supportbot.slack.events.MessageChanged;
 import com.coreeng.supportbot.slack.events.MessagePosted;
 import com.coreeng.supportbot.slack.events.ReactionAdded;
+import com.coreeng.supportbot.slack.permalink.PermalinkService;
+import com.coreeng.supportbot.ticket.QueryMessage;
 import com.coreeng.supportbot.ticket.StalenessTagTarget;
 import com.coreeng.supportbot.ticket.Ticket;
 import com.coreeng.supportbot.ticket.TicketCreatedMessage;
@@ -31,12 +36,19 @@ import com.coreeng.supportbot.ticket.TicketRepository;
 import com.coreeng.supportbot.ticket.TicketStatus;
 import com.coreeng.supportbot.ticket.TicketSubmission;
 import com.coreeng.supportbot.ticket.TicketTeam;
+import com.coreeng.supportbot.ticket.TicketTouchBuffer;
 import com.coreeng.supportbot.ticket.slack.TicketSlackService;
 import com.google.common.collect.ImmutableList;
+import com.slack.api.app_backend.events.payload.EventsApiPayload;
+import com.slack.api.app_backend.events.payload.MessageChangedPayload;
+import com.slack.api.model.event.MessageChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Supplier;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -74,17 +86,23 @@ public class TicketProcessingServiceTests {
     @Mock
     private ApplicationEventPublisher publisher;
 
+    @Mock
+    private PermalinkService permalinkService;
+
     @Captor
     private ArgumentCaptor<TicketCreatedMessage> createdMessageCaptor;
 
     @Captor
     private ArgumentCaptor<StalenessTagTarget> stalenessTagTargetCaptor;
 
+    private TicketTouchBuffer touchBuffer;
+
     @BeforeEach
     public void setUp() {
         ZoneId timezone = ZoneId.of("UTC");
         escalationQueryService = new EscalationQueryService(new EscalationInMemoryRepository(timezone));
         ticketRepository = new TicketInMemoryRepository(escalationQueryService, timezone);
+        touchBuffer = newTouchBuffer(ticketRepository);
         slackTicketsProps =
                 new SlackTicketsProps(CHANNEL_ID, List.of(), "eyes", "ticket", "white_check_mark", "rocket");
         SlackChannelRegistry channelRegistry = new SlackChannelRegistry(slackTicketsProps);
@@ -104,11 +122,17 @@ public class TicketProcessingServiceTests {
                 "rocket"));
     }
 
+    private static TicketTouchBuffer newTouchBuffer(TicketRepository repository) {
+        return new TicketTouchBuffer(
+                repository, new TicketTouchBufferProps(true, Duration.ofSeconds(5)), new SimpleMeterRegistry());
+    }
+
     /** Builds a processing service against a specific channel registry / PR-detection setup. */
     private TicketProcessingService buildService(
             SlackChannelRegistry channelRegistry, Optional<PrDetectionService> prDetection) {
         return new TicketProcessingService(
                 ticketRepository,
+                touchBuffer,
                 slackService,
                 escalationQueryService,
                 slackTicketsProps,
@@ -117,7 +141,8 @@ public class TicketProcessingServiceTests {
                 publisher,
                 prDetection,
                 rbacService,
-                supportTeamProps);
+                supportTeamProps,
+                permalinkService);
     }
 
     @Test
@@ -128,6 +153,66 @@ public class TicketProcessingServiceTests {
 
         // then
         assertTrue(ticketRepository.queryExists(threadRef), "Query is created");
+        assertEquals(
+                new QueryMessage("some message", SlackId.user(USER_ID)), ticketRepository.findQueryMessage(threadRef));
+        verify(permalinkService).getPermalink(SlackGetMessageByTsRequest.of(threadRef));
+    }
+
+    @Test
+    public void shouldCreateQueryWhenPermalinkFails() {
+        // given
+        MessageRef threadRef = new MessageRef(MESSAGE_TS, null, CHANNEL_ID);
+        when(permalinkService.getPermalink(SlackGetMessageByTsRequest.of(threadRef)))
+                .thenThrow(new SlackException(new RuntimeException("slack down")));
+
+        // when
+        ticketProcessingService.handleMessagePosted(new MessagePosted("some message", USER_ID, threadRef));
+
+        // then
+        assertTrue(ticketRepository.queryExists(threadRef), "Query is created");
+    }
+
+    @Test
+    public void shouldUpdateQueryMessageOnEditOfThreadRoot() {
+        // given
+        MessageRef threadRef = new MessageRef(MESSAGE_TS, null, CHANNEL_ID);
+        ticketProcessingService.handleMessagePosted(new MessagePosted("some message", USER_ID, threadRef));
+
+        // Slack sets thread_ts == ts on the edited message once the query has replies
+        MessageChangedEvent.Message edited = new MessageChangedEvent.Message();
+        edited.setTs(MESSAGE_TS.ts());
+        edited.setThreadTs(MESSAGE_TS.ts());
+        edited.setText("edited message");
+        edited.setUser(USER_ID);
+        MessageChangedEvent event = new MessageChangedEvent();
+        event.setChannel(CHANNEL_ID);
+        event.setMessage(edited);
+        EventsApiPayload<MessageChangedEvent> payload = new MessageChangedPayload();
+        payload.setEvent(event);
+
+        // when
+        ticketProcessingService.handleMessageChanged(
+                requireNonNull(MessageChanged.fromMessageChangedEvent(payload)));
+
+        // then
+        assertEquals(
+                new QueryMessage("edited message", SlackId.user(USER_ID)),
+                ticketRepository.findQueryMessage(threadRef));
+    }
+
+    @Test
+    public void shouldIgnoreEditOfReply() {
+        // given
+        MessageRef threadRef = new MessageRef(MESSAGE_TS, null, CHANNEL_ID);
+        ticketProcessingService.handleMessagePosted(new MessagePosted("some message", USER_ID, threadRef));
+        MessageRef replyRef = new MessageRef(MessageTs.of("reply-ts"), MESSAGE_TS, CHANNEL_ID);
+
+        // when
+        ticketProcessingService.handleMessageChanged(new MessageChanged("edited reply", USER_ID, null, replyRef));
+
+        // then
+        assertEquals(
+                new QueryMessage("some message", SlackId.user(USER_ID)), ticketRepository.findQueryMessage(threadRef));
     }
 
     @Test
@@ -579,6 +664,35 @@ public class TicketProcessingServiceTests {
         assertEquals("low", afterSecondClose.impact());
     }
 
+    @Test
+    public void shouldCloseAndNotifyOnceWhenTwoPrResolutionsRace() {
+        // given — a second PR resolution closes the ticket just after the first one has read it
+        Ticket ticket = createTrackedTicket();
+        TicketId ticketId = requireNonNull(ticket.id());
+        ticketRepository = spy(ticketRepository);
+        TicketProcessingService service = buildService(new SlackChannelRegistry(slackTicketsProps), Optional.empty());
+        AtomicBoolean raced = new AtomicBoolean();
+        doAnswer(inv -> {
+                    Object read = inv.callRealMethod();
+                    if (raced.compareAndSet(false, true)) {
+                        service.closeForPrResolution(ticketId, ImmutableList.of("second"), "high");
+                    }
+                    return read;
+                })
+                .when(ticketRepository)
+                .findTicketById(ticketId);
+
+        // when
+        service.closeForPrResolution(ticketId, ImmutableList.of("first"), "low");
+
+        // then — only the second resolution closed the ticket
+        Ticket closed = ticketRepository.findTicketById(ticketId);
+        assertNotNull(closed);
+        assertEquals(TicketStatus.closed, closed.status());
+        assertEquals(ImmutableList.of("second"), closed.tags());
+        verify(slackService, times(1)).markTicketClosed(any());
+    }
+
     @Test
     public void shouldTagAssigneeWhenMarkingStaleAndAssignmentEnabled() {
         // given
@@ -756,9 +870,11 @@ public class TicketProcessingServiceTests {
                 new EscalationQueryService(new EscalationInMemoryRepository(timezone));
         if (resetRepository) {
             ticketRepository = new TicketInMemoryRepository(escalationQueryService, timezone);
+            touchBuffer = newTouchBuffer(ticketRepository);
         }
         ticketProcessingService = new TicketProcessingService(
                 ticketRepository,
+                touchBuffer,
                 slackService,
                 escalationQueryService,
                 slackTicketsProps,
@@ -767,7 +883,8 @@ public class TicketProcessingServiceTests {
                 publisher,
                 Optional.empty(),
                 rbacService,
-                supportTeamProps);
+                supportTeamProps,
+                permalinkService);
     }
 
     private void assertStalenessTargetIsUser(String expectedUserId) {
@@ -850,7 +967,8 @@ public class TicketProcessingServiceTests {
         MessageRef replyRef = new MessageRef(MessageTs.of("bot-reply-ts"), MESSAGE_TS, CHANNEL_ID);
         ticketProcessingService.handleMessagePosted(new MessagePosted("bot reply", "B_BOT_ID", replyRef));
 
-        // then — lastInteractedAt is updated beyond the initial value
+        // then — lastInteractedAt is updated beyond the initial value once the touch buffer is flushed
+        touchBuffer.flush();
         Ticket updated = ticketRepository.findTicketById(ticketId);
         assertNotNull(updated);
         assertTrue(
@@ -858,9 +976,50 @@ public class TicketProcessingServiceTests {
                 "lastInteractedAt should be updated after bot thread reply");
     }
 
+    @Test
+    public void shouldBufferTouchWhenRemindingOfStaleTicket() {
+        // given — a stale ticket
+        Ticket ticket = createTrackedTicket();
+        TicketId ticketId = requireNonNull(ticket.id());
+        ticketProcessingService.markAsStale(ticketId);
+        Instant staleLastInteracted =
+                requireNonNull(ticketRepository.findTicketById(ticketId)).lastInteractedAt();
+
+        // when
+        ticketProcessingService.remindOfStaleTicket(ticketId);
+
+        // then — the reminder's touch goes through the buffer and lands with its next flush
+        assertEquals(
+                staleLastInteracted,
+                requireNonNull(ticketRepository.findTicketById(ticketId)).lastInteractedAt());
+        touchBuffer.flush();
+        Ticket reminded = ticketRepository.findTicketById(ticketId);
+        assertNotNull(reminded);
+        assertTrue(reminded.lastInteractedAt().isAfter(staleLastInteracted));
+    }
+
+    @Test
+    public void shouldFlushBufferedTouchBeforeStatusChange() {
+        // given — ticket whose latest interaction is still sitting in the touch buffer
+        Ticket ticket = createTrackedTicket();
+        TicketId ticketId = requireNonNull(ticket.id());
+        Instant lastMessageTime = Instant.now().plusSeconds(60);
+        touchBuffer.touch(ticketId, lastMessageTime);
+
+        // when
+        ticketProcessingService.closeForPrResolution(ticketId, ImmutableList.of("pr-review"), "low");
+
+        // then — the buffered time is written before the status change and used as closed-at
+        Ticket closed = ticketRepository.findTicketById(ticketId);
+        assertNotNull(closed);
+        assertEquals(lastMessageTime, closed.lastInteractedAt());
+        assertEquals(lastMessageTime, closed.statusLog().getLast().date());
+    }
+
     private TicketProcessingService serviceWithPrDetection() {
         return new TicketProcessingService(
                 ticketRepository,
+                touchBuffer,
                 slackService,
                 new EscalationQueryService(new EscalationInMemoryRepository(ZoneId.of("UTC"))),
                 slackTicketsProps,
@@ -869,7 +1028,8 @@ public class TicketProcessingServiceTests {
                 publisher,
                 Optional.of(prDetectionService),
                 rbacService,
-                supportTeamProps);
+                supportTeamProps,
+                permalinkService);
     }
 
     private Ticket createTrackedTicket() {
@@ -16,9 +16,14 @@ import com.coreeng.supportbot.config.AnalysisProps.Llm;
 import com.coreeng.supportbot.config.AnalysisProps.Prompt;
 import com.coreeng.supportbot.config.AnalysisProps.Proxy;
 import com.coreeng.supportbot.config.AnalysisProps.Vertex;
+import com.coreeng.supportbot.config.ThreadCrawlProps;
+import com.coreeng.supportbot.summarydata.ThreadCrawler;
+import com.coreeng.supportbot.summarydata.ThreadService;
 import com.google.common.collect.ImmutableList;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -41,6 +46,9 @@ class AnalysisServiceTest {
     @Mock
     private LlmAnalysisService llmAnalysisService;
 
+    @Mock
+    private ThreadService threadService;
+
     @Mock
     private AnalysisRepository analysisRepository;
 
@@ -57,19 +65,27 @@ class AnalysisServiceTest {
 
     @BeforeEach
     void setUp() {
+        service = serviceWithLlmConcurrency(1);
+    }
+
+    private AnalysisService serviceWithLlmConcurrency(int concurrency) {
         Llm llm = new Llm(
                 "gemini-2.5-flash",
                 Duration.ofMillis(100),
+                concurrency,
+                0,
+                0,
                 new Vertex(true, "test-project", "europe-west2"),
                 new Proxy(false, "", new Proxy.Auth(""), Duration.ofSeconds(30)));
         Bundle bundle = new Bundle("classpath:placeholder-analysis-bundle.zip");
         Prompt prompt = new Prompt(true);
         analysisProps = new AnalysisProps(llm, bundle, prompt);
 
-        service = new AnalysisService(
+        return new AnalysisService(
                 asyncJobRepository,
                 threadsAwaitingAnalysisService,
                 llmAnalysisService,
+                new ThreadCrawler(threadService, new ThreadCrawlProps(2)),
                 analysisRepository,
                 analysisPromptRepository,
                 analysisProps,
@@ -156,7 +172,7 @@ class AnalysisServiceTest {
     @Test
     void analysisStatus_shouldHaveCorrectFields() {
         // given
-        AnalysisStatus status = new AnalysisStatus("job-1", 10, 5, true, null);
+        AnalysisStatus status = new AnalysisStatus("job-1", 10, 5, true, null, 1, 2, 3.5);
 
         // then
         assertThat(status.jobId()).isEqualTo("job-1");
@@ -164,12 +180,15 @@ class AnalysisServiceTest {
         assertThat(status.analyzedCount()).isEqualTo(5);
         assertThat(status.running()).isTrue();
         assertThat(status.error()).isNull();
+        assertThat(status.failedCount()).isEqualTo(1);
+        assertThat(status.queueDepth()).isEqualTo(2);
+        assertThat(status.threadsPerMinute()).isEqualTo(3.5);
     }
 
     @Test
     void analysisStatus_shouldHandleErrorState() {
         // given
-        AnalysisStatus status = new AnalysisStatus("job-1", 0, 0, false, "LLM API error");
+        AnalysisStatus status = new AnalysisStatus("job-1", 0, 0, false, "LLM API error", 0, 0, null);
 
         // then
         assertThat(status.jobId()).isEqualTo("job-1");
@@ -275,9 +294,11 @@ class AnalysisServiceTest {
         when(threadsAwaitingAnalysisService.find(eq(7), anyString()))
                 .thenReturn(ImmutableList.of(
                         new ThreadToAnalyze(1L, "ts1", "C123456"), new ThreadToAnalyze(2L, "ts2", "C123456")));
-        when(llmAnalysisService.analyzeThread(eq("C123456"), eq("ts1"), eq(1L), anyString()))
+        when(threadService.getThreadAsText("C123456", "ts1")).thenReturn("thread 1");
+        when(llmAnalysisService.analyzeThreadText(eq("ts1"), eq("thread 1"), eq(1L), anyString()))
                 .thenReturn(new AnalysisRecord(1, "Bug", "Config", "networking", "Issue 1", null));
-        when(llmAnalysisService.analyzeThread(eq("C123456"), eq("ts2"), eq(2L), anyString()))
+        when(threadService.getThreadAsText("C123456", "ts2")).thenReturn("thread 2");
+        when(llmAnalysisService.analyzeThreadText(eq("ts2"), eq("thread 2"), eq(2L), anyString()))
                 .thenReturn(new AnalysisRecord(2, "Knowledge Gap", "Monitoring", "compute", "Issue 2", null));
 
         // when
@@ -302,6 +323,37 @@ class AnalysisServiceTest {
         assertThat(status.error()).isNull();
     }
 
+    @Test
+    void runAsyncAnalysis_runsLlmCallsConcurrently_upToTheConfiguredLimit() {
+        // given — each LLM call only returns once the other one has started
+        service = serviceWithLlmConcurrency(2);
+        givenPromptInUse();
+        when(threadsAwaitingAnalysisService.find(eq(7), anyString()))
+                .thenReturn(ImmutableList.of(
+                        new ThreadToAnalyze(1L, "ts1", "C123456"), new ThreadToAnalyze(2L, "ts2", "C123456")));
+        when(threadService.getThreadAsText(eq("C123456"), anyString())).thenReturn("thread");
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        when(llmAnalysisService.analyzeThreadText(anyString(), eq("thread"), anyLong(), anyString()))
+                .thenAnswer(invocation -> {
+                    bothStarted.countDown();
+                    assertThat(bothStarted.await(5, TimeUnit.SECONDS)).isTrue();
+                    Long ticketId = invocation.getArgument(2);
+                    return new AnalysisRecord(ticketId.intValue(), "Bug", "Config", "networking", "Issue", null);
+                });
+
+        // when
+        service.runAsyncAnalysis(7);
+
+        // then
+        verify(analysisRepository, times(2)).upsert(any(AnalysisRecord.class));
+        AnalysisStatus status = service.getStatus();
+        assertThat(status.running()).isFalse();
+        assertThat(status.analyzedCount()).isEqualTo(2);
+        assertThat(status.failedCount()).isZero();
+        assertThat(status.queueDepth()).isZero();
+        assertThat(status.threadsPerMinute()).isPositive();
+    }
+
     @Test
     void runAsyncAnalysis_skipsInvalidRecords() {
         // given — first thread returns null (LLM failure), second returns valid record
@@ -309,9 +361,11 @@ class AnalysisServiceTest {
         when(threadsAwaitingAnalysisService.find(eq(7), anyString()))
                 .thenReturn(ImmutableList.of(
                         new ThreadToAnalyze(1L, "ts1", "C123456"), new ThreadToAnalyze(2L, "ts2", "C123456")));
-        when(llmAnalysisService.analyzeThread(eq("C123456"), eq("ts1"), eq(1L), anyString()))
+        when(threadService.getThreadAsText("C123456", "ts1")).thenReturn("thread 1");
+        when(llmAnalysisService.analyzeThreadText(eq("ts1"), eq("thread 1"), eq(1L), anyString()))
                 .thenReturn(null);
-        when(llmAnalysisService.analyzeThread(eq("C123456"), eq("ts2"), eq(2L), anyString()))
+        when(threadService.getThreadAsText("C123456", "ts2")).thenReturn("thread 2");
+        when(llmAnalysisService.analyzeThreadText(eq("ts2"), eq("thread 2"), eq(2L), anyString()))
                 .thenReturn(new AnalysisRecord(2, "Bug", "Config", "networking", "Issue", null));
 
         // when
@@ -324,6 +378,8 @@ class AnalysisServiceTest {
         AnalysisStatus status = service.getStatus();
         assertThat(status.analyzedCount()).isEqualTo(1);
         assertThat(status.exportedCount()).isEqualTo(2);
+        assertThat(status.failedCount()).isEqualTo(1);
+        assertThat(status.queueDepth()).isZero();
     }
 
     @Test
@@ -372,18 +428,20 @@ class AnalysisServiceTest {
 
     @Test
     void runAsyncAnalysis_continuesAfterPerThreadException() {
-        // given — first thread throws, second and third return valid records
+        // given — fetching the first thread fails, second and third return valid records
         givenPromptInUse();
         when(threadsAwaitingAnalysisService.find(eq(7), anyString()))
                 .thenReturn(ImmutableList.of(
                         new ThreadToAnalyze(1L, "ts1", "C123456"),
                         new ThreadToAnalyze(2L, "ts2", "C123456"),
                         new ThreadToAnalyze(3L, "ts3", "C123456")));
-        when(llmAnalysisService.analyzeThread(eq("C123456"), eq("ts1"), eq(1L), anyString()))
+        when(threadService.getThreadAsText("C123456", "ts1"))
                 .thenThrow(new RuntimeException("Slack timeout for thread ts1"));
-        when(llmAnalysisService.analyzeThread(eq("C123456"), eq("ts2"), eq(2L), anyString()))
+        when(threadService.getThreadAsText("C123456", "ts2")).thenReturn("thread 2");
+        when(llmAnalysisService.analyzeThreadText(eq("ts2"), eq("thread 2"), eq(2L), anyString()))
                 .thenReturn(new AnalysisRecord(2, "Bug", "Config", "networking", "Issue 2", null));
-        when(llmAnalysisService.analyzeThread(eq("C123456"), eq("ts3"), eq(3L), anyString()))
+        when(threadService.getThreadAsText("C123456", "ts3")).thenReturn("thread 3");
+        when(llmAnalysisService.analyzeThreadText(eq("ts3"), eq("thread 3"), eq(3L), anyString()))
                 .thenReturn(new AnalysisRecord(3, "Knowledge Gap", "Monitoring", "compute", "Issue 3", null));
 
         // when
@@ -391,14 +449,49 @@ class AnalysisServiceTest {
 
         // then — 2 records persisted (skipping the failed one)
         verify(analysisRepository, times(2)).upsert(any(AnalysisRecord.class));
+        verify(llmAnalysisService, never()).analyzeThreadText(eq("ts1"), anyString(), anyLong(), anyString());
         verify(asyncJobRepository).deleteJob("analysis");
 
         AnalysisStatus status = service.getStatus();
         assertThat(status.analyzedCount()).isEqualTo(2);
         assertThat(status.exportedCount()).isEqualTo(3);
+        assertThat(status.failedCount()).isEqualTo(1);
         assertThat(status.error()).isNull();
     }
 
+    @Test
+    void runAsyncAnalysis_keepsJobForResume_whenInterruptedByShutdown() {
+        // given — a shutdown interrupts the job while the LLM call waits for the rate budget
+        givenPromptInUse();
+        when(threadsAwaitingAnalysisService.find(eq(7), anyString()))
+                .thenReturn(ImmutableList.of(new ThreadToAnalyze(1L, "ts1", "C123456")));
+        when(threadService.getThreadAsText("C123456", "ts1")).thenReturn("thread 1");
+        Thread runner = Thread.currentThread();
+        when(llmAnalysisService.analyzeThreadText(eq("ts1"), eq("thread 1"), eq(1L), anyString()))
+                .thenAnswer(invocation -> {
+                    runner.interrupt();
+                    // What LlmAnalysisService returns when its rate budget wait is interrupted
+                    Thread.currentThread().interrupt();
+                    return null;
+                });
+
+        // when
+        try {
+            service.runAsyncAnalysis(7);
+
+            assertThat(Thread.currentThread().isInterrupted()).isTrue();
+        } finally {
+            Thread.interrupted();
+        }
+
+        // then — the job is left for the next start, and the thread isn't counted as failed
+        verify(asyncJobRepository, never()).deleteJob(anyString());
+        verify(analysisRepository, never()).upsert(any(AnalysisRecord.class));
+        AnalysisStatus status = service.getStatus();
+        assertThat(status.running()).isFalse();
+        assertThat(status.failedCount()).isZero();
+    }
+
     @Test
     void runAsyncAnalysis_setsErrorOnPromptLoadFailure() {
         // given — no prompt version is marked as in use
@@ -26,7 +26,7 @@ class LlmAnalysisServiceTest {
 
     @BeforeEach
     void setUp() {
-        service = new LlmAnalysisService(chatModel, threadService);
+        service = new LlmAnalysisService(chatModel, threadService, new LlmRateBudget(0, 0));
     }
 
     @Test
@@ -0,0 +1,46 @@
+package com.coreeng.supportbot.analysis.llm;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class LlmRateBudgetTest {
+
+    @Test
+    void unlimitedBudgetNeverWaits() {
+        LlmRateBudget budget = new LlmRateBudget(0, 0);
+
+        for (int i = 0; i < 1000; i++) {
+            assertThat(budget.reserve("x".repeat(10_000))).isZero();
+        }
+    }
+
+    @Test
+    void requestsBeyondAMinutesWorthWait() {
+        LlmRateBudget budget = new LlmRateBudget(2, 0);
+
+        assertThat(budget.reserve("prompt")).isZero();
+        assertThat(budget.reserve("prompt")).isZero();
+        // Two a minute: the third waits for about half a minute
+        assertThat(budget.reserve("prompt")).isBetween(TimeUnit.SECONDS.toNanos(25), TimeUnit.SECONDS.toNanos(30));
+    }
+
+    @Test
+    void tokensAreEstimatedFromThePromptLength() {
+        LlmRateBudget budget = new LlmRateBudget(0, 1000);
+
+        // 4000 characters is about 1000 tokens, the whole minute's budget
+        assertThat(budget.reserve("x".repeat(4000))).isZero();
+        assertThat(budget.reserve("x".repeat(400))).isBetween(TimeUnit.SECONDS.toNanos(5), TimeUnit.SECONDS.toNanos(6));
+    }
+
+    @Test
+    void promptBiggerThanTheWholeBudgetWaitsForAFullBucketOnly() {
+        LlmRateBudget budget = new LlmRateBudget(0, 100);
+
+        assertThat(budget.reserve("x".repeat(4000))).isZero();
+        assertThat(budget.reserve("x".repeat(4000)))
+                .isBetween(TimeUnit.SECONDS.toNanos(59), TimeUnit.SECONDS.toNanos(60));
+    }
+}
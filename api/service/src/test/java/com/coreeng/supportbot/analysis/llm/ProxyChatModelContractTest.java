@@ -88,6 +88,9 @@ class ProxyChatModelContractTest {
         AnalysisProps.Llm llm = new AnalysisProps.Llm(
                 "gemini-2.5-flash",
                 Duration.ofMillis(1),
+                1,
+                0,
+                0,
                 new AnalysisProps.Vertex(false, "", ""),
                 new AnalysisProps.Proxy(true, BASE_URL, new AnalysisProps.Proxy.Auth(BASE64_TOKEN), timeout));
         AnalysisProps analysisProps = new AnalysisProps(
@@ -64,7 +64,7 @@ class AnalysisControllerTest {
 
     @Test
     void getStatus_returnsCurrentStatus() {
-        AnalysisStatus status = new AnalysisStatus("analysis", 10, 5, true, null);
+        AnalysisStatus status = new AnalysisStatus("analysis", 10, 5, true, null, 1, 2, 3.5);
         when(analysisService.getStatus()).thenReturn(status);
 
         ResponseEntity<AnalysisController.AnalysisStatusResponse> response = controller.getStatus();
@@ -77,6 +77,9 @@ class AnalysisControllerTest {
         assertThat(body.analyzedCount()).isEqualTo(5);
         assertThat(body.running()).isTrue();
         assertThat(body.error()).isNull();
+        assertThat(body.failedCount()).isEqualTo(1);
+        assertThat(body.queueDepth()).isEqualTo(2);
+        assertThat(body.threadsPerMinute()).isEqualTo(3.5);
     }
 
     @Test
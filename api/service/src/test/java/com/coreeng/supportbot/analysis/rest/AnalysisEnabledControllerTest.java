@@ -37,6 +37,9 @@ class AnalysisEnabledControllerTest {
         AnalysisProps.Llm llm = new AnalysisProps.Llm(
                 "gemini-2.5-flash",
                 Duration.ofMillis(100),
+                1,
+                0,
+                0,
                 new AnalysisProps.Vertex(true, "test-project", "europe-west2"),
                 new AnalysisProps.Proxy(false, "", new AnalysisProps.Proxy.Auth(""), Duration.ofSeconds(30)));
         AnalysisProps.Bundle bundle = new AnalysisProps.Bundle("classpath:placeholder-analysis-bundle.zip");
@@ -23,6 +23,9 @@ class AnalysisPropsTest {
         assertThat(llm.proxy().enabled()).isFalse();
         assertThat(llm.modelName()).isEqualTo("gemini-2.5-flash");
         assertThat(llm.requestDelay()).isEqualTo(Duration.ofMillis(500));
+        assertThat(llm.concurrency()).isEqualTo(1);
+        assertThat(llm.requestsPerMinute()).isZero();
+        assertThat(llm.tokensPerMinute()).isZero();
         assertThat(llm.vertex().projectId()).isEqualTo("test-project");
         assertThat(llm.vertex().location()).isEqualTo("europe-west2");
         assertThat(llm.proxy().baseUrl()).isEmpty();
@@ -85,6 +88,27 @@ class AnalysisPropsTest {
         assertThatThrownBy(() -> bind(values)).hasRootCauseMessage("analysis.llm.request-delay must not be negative");
     }
 
+    @Test
+    void rejectsNonPositiveConcurrency() {
+        Map<String, Object> values = vertexValues();
+        values.put("analysis.llm.concurrency", "0");
+
+        assertThatThrownBy(() -> bind(values)).hasRootCauseMessage("analysis.llm.concurrency must be positive");
+    }
+
+    @Test
+    void rejectsNegativeRateBudgets() {
+        Map<String, Object> requests = vertexValues();
+        requests.put("analysis.llm.requests-per-minute", "-1");
+        Map<String, Object> tokens = vertexValues();
+        tokens.put("analysis.llm.tokens-per-minute", "-1");
+
+        assertThatThrownBy(() -> bind(requests))
+                .hasRootCauseMessage("analysis.llm.requests-per-minute must not be negative");
+        assertThatThrownBy(() -> bind(tokens))
+                .hasRootCauseMessage("analysis.llm.tokens-per-minute must not be negative");
+    }
+
     @Test
     void proxyModeDoesNotRequireVertexSettings() {
         Llm llm = bind(proxyValues());
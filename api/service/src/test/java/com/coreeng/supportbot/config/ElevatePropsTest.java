@@ -29,6 +29,7 @@ class ElevatePropsTest {
         assertThat(props.maxPagesPerResource()).isEqualTo(100);
         assertThat(props.maxTotalEntities()).isEqualTo(20_000);
         assertThat(props.maxMaterializedRelationships()).isEqualTo(100_000);
+        assertThat(props.resourceFetchConcurrency()).isEqualTo(3);
         assertThat(props.syncRetryBurstAttempts()).isEqualTo(3);
         assertThat(props.syncRetryInitialDelay()).isEqualTo(Duration.ofSeconds(30));
         assertThat(props.syncRetryMaxDelay()).isEqualTo(Duration.ofMinutes(5));
@@ -174,6 +175,17 @@ class ElevatePropsTest {
                 .hasRootCauseMessage("elevate.sync-retry-initial-delay must not exceed elevate.sync-retry-max-delay");
     }
 
+    @Test
+    void rejectsResourceFetchConcurrencyOutsideTheNumberOfCollections() {
+        for (String concurrency : List.of("0", "4")) {
+            Map<String, Object> values = connectionValues();
+            values.put("elevate.resource-fetch-concurrency", concurrency);
+
+            assertThatThrownBy(() -> bind(values))
+                    .hasRootCauseMessage("elevate.resource-fetch-concurrency must be between 1 and 3");
+        }
+    }
+
     @Test
     void toStringNeverIncludesCredentials() {
         ElevateProps props = bind(connectionValues());
@@ -6,12 +6,16 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import com.coreeng.supportbot.github.GitHubClient;
 import com.coreeng.supportbot.prtracking.PrTrackingGitHubConfig;
+import com.coreeng.supportbot.prtracking.source.PrSnapshotStore;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.file.Path;
 import java.security.KeyPairGenerator;
 import java.security.PrivateKey;
 import java.time.Duration;
 import java.util.Base64;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 import org.junit.jupiter.api.Test;
 import org.kohsuke.github.GitHub;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -23,6 +27,8 @@ class PrTrackingGitHubConfigTest {
 
     private static final PrTrackingProps.SlaDiscovery DEFAULT_SLA_DISCOVERY =
             new PrTrackingProps.SlaDiscovery(Duration.ofHours(24));
+    private static final PrTrackingGitHubConfig.GitHubHttpCache NO_HTTP_CACHE =
+            new PrTrackingGitHubConfig.GitHubHttpCache(null, null);
 
     private final ApplicationContextRunner contextRunner =
             new ApplicationContextRunner().withUserConfiguration(TestConfig.class, PrTrackingGitHubConfig.class);
@@ -51,10 +57,15 @@ class PrTrackingGitHubConfigTest {
                 "pr-review-tracking.github.token=test-token");
 
         // when / then
+        AtomicReference<Path> httpCacheDirectory = new AtomicReference<>();
         runner.run(context -> {
             assertThat(context).hasSingleBean(GitHub.class);
             assertThat(context).hasSingleBean(GitHubClient.class);
+            httpCacheDirectory.set(context.getBean(PrTrackingGitHubConfig.GitHubHttpCache.class)
+                    .directory());
+            assertThat(httpCacheDirectory.get()).isDirectory();
         });
+        assertThat(httpCacheDirectory.get()).doesNotExist();
     }
 
     @Test
@@ -86,7 +97,7 @@ class PrTrackingGitHubConfigTest {
                 DEFAULT_SLA_DISCOVERY);
 
         // when
-        GitHub gitHub = config.gitHub(props, config.gitHubAuthorizationProvider(props));
+        GitHub gitHub = config.gitHub(props, NO_HTTP_CACHE, config.gitHubAuthorizationProvider(props));
 
         // then
         assertThat(gitHub).isNotNull();
@@ -119,7 +130,7 @@ class PrTrackingGitHubConfigTest {
                 DEFAULT_SLA_DISCOVERY);
 
         // when
-        GitHub gitHub = config.gitHub(props, config.gitHubAuthorizationProvider(props));
+        GitHub gitHub = config.gitHub(props, NO_HTTP_CACHE, config.gitHubAuthorizationProvider(props));
 
         // then
         assertThat(gitHub).isNotNull();
@@ -172,12 +183,17 @@ class PrTrackingGitHubConfigTest {
     }
 
     @Configuration
-    @EnableConfigurationProperties(PrTrackingProps.class)
+    @EnableConfigurationProperties({PrTrackingProps.class, PrSnapshotProps.class})
     static class TestConfig {
 
         @Bean
         ObjectMapper objectMapper() {
             return new ObjectMapper();
         }
+
+        @Bean
+        PrSnapshotStore prSnapshotStore(PrSnapshotProps props) {
+            return new PrSnapshotStore(props, new SimpleMeterRegistry());
+        }
     }
 }
@@ -0,0 +1,229 @@
+package com.coreeng.supportbot.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.coreeng.supportbot.config.SlackEventDispatcher.ThreadKey;
+import com.slack.api.model.event.AppHomeOpenedEvent;
+import com.slack.api.model.event.MessageEvent;
+import com.slack.api.model.event.MessageThreadBroadcastEvent;
+import com.slack.api.model.event.ReactionAddedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SlackEventDispatcherTest {
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void runsEventsOfTheSameThreadInOrder() throws InterruptedException {
+        SlackEventDispatcher dispatcher =
+                new SlackEventDispatcher(executor, new SlackDispatcherProps(8, 100), meterRegistry);
+        ThreadKey key = new ThreadKey("C1", "1700000000.000100");
+        List<Integer> order = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(20);
+
+        for (int i = 0; i < 20; i++) {
+            int n = i;
+            dispatcher.dispatch("event", "message", key, () -> {
+                // Make earlier tasks slower so any reordering would show up
+                sleep(20 - n);
+                order.add(n);
+                done.countDown();
+            });
+        }
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(order).containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19);
+    }
+
+    @Test
+    void runsDifferentThreadsConcurrentlyUpToTheInFlightLimit() throws InterruptedException {
+        SlackEventDispatcher dispatcher =
+                new SlackEventDispatcher(executor, new SlackDispatcherProps(3, 100), meterRegistry);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(12);
+
+        for (int i = 0; i < 12; i++) {
+            dispatcher.dispatch("event", "message", new ThreadKey("C1", "ts-" + i), () -> {
+                int now = running.incrementAndGet();
+                maxRunning.accumulateAndGet(now, Math::max);
+                sleep(30);
+                running.decrementAndGet();
+                done.countDown();
+            });
+        }
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(maxRunning.get()).isEqualTo(3);
+    }
+
+    @Test
+    void shedsEventsOnceTheQueueIsFull() throws InterruptedException {
+        SlackEventDispatcher dispatcher =
+                new SlackEventDispatcher(executor, new SlackDispatcherProps(1, 2), meterRegistry);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(3);
+
+        // Occupies the only slot, so everything after it stays queued
+        dispatcher.dispatch("event", "message", new ThreadKey("C1", "busy"), () -> {
+            started.countDown();
+            await(release);
+            done.countDown();
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        ThreadKey key = new ThreadKey("C1", "ts");
+        boolean second = dispatcher.dispatch("event", "message", key, done::countDown);
+        boolean third = dispatcher.dispatch("event", "message", key, done::countDown);
+        boolean fourth = dispatcher.dispatch("event", "message", key, done::countDown);
+
+        assertThat(second).isTrue();
+        assertThat(third).isTrue();
+        assertThat(fourth).isFalse();
+        assertThat(meterRegistry
+                        .get("slack_notifications_shed_total")
+                        .tag("type", "event")
+                        .tag("handler", "message")
+                        .counter()
+                        .count())
+                .isEqualTo(1.0);
+
+        release.countDown();
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void keepsDrainingTheThreadWhenAHandlerThrows() throws InterruptedException {
+        SlackEventDispatcher dispatcher =
+                new SlackEventDispatcher(executor, new SlackDispatcherProps(2, 10), meterRegistry);
+        ThreadKey key = new ThreadKey("C1", "ts");
+        CountDownLatch done = new CountDownLatch(1);
+
+        dispatcher.dispatch("event", "message", key, () -> {
+            throw new IllegalStateException("boom");
+        });
+        dispatcher.dispatch("event", "message", key, done::countDown);
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void publishesQueueDepthAndWaitTime() throws InterruptedException {
+        SlackEventDispatcher dispatcher =
+                new SlackEventDispatcher(executor, new SlackDispatcherProps(1, 10), meterRegistry);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(3);
+
+        dispatcher.dispatch("event", "message", new ThreadKey("C1", "a"), () -> {
+            await(release);
+            done.countDown();
+        });
+        dispatcher.dispatch("event", "message", new ThreadKey("C1", "b"), done::countDown);
+        dispatcher.dispatch("event", "message", new ThreadKey("C1", "c"), done::countDown);
+
+        Gauge depth = meterRegistry.get("slack_notifications_queue_depth").gauge();
+        awaitCondition(() -> depth.value() == 2.0);
+
+        release.countDown();
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        awaitCondition(() -> depth.value() == 0.0);
+        assertThat(meterRegistry
+                        .get("slack_notifications_queue_wait_seconds")
+                        .tag("type", "event")
+                        .tag("handler", "message")
+                        .timer()
+                        .count())
+                .isEqualTo(3);
+    }
+
+    @Test
+    void threadKeyUsesThreadRootForReplies() {
+        MessageEvent reply = new MessageEvent();
+        reply.setChannel("C1");
+        reply.setTs("1700000000.000200");
+        reply.setThreadTs("1700000000.000100");
+
+        MessageEvent query = new MessageEvent();
+        query.setChannel("C1");
+        query.setTs("1700000000.000100");
+
+        assertThat(ThreadKey.of(reply)).isEqualTo(new ThreadKey("C1", "1700000000.000100"));
+        assertThat(ThreadKey.of(query)).isEqualTo(ThreadKey.of(reply));
+    }
+
+    @Test
+    void threadKeyUsesThreadRootForBroadcastReplies() {
+        MessageThreadBroadcastEvent broadcast = new MessageThreadBroadcastEvent();
+        broadcast.setChannel("C1");
+        broadcast.setTs("1700000000.000200");
+        broadcast.setThreadTs("1700000000.000100");
+
+        assertThat(ThreadKey.of(broadcast)).isEqualTo(new ThreadKey("C1", "1700000000.000100"));
+    }
+
+    @Test
+    void threadKeyForReactionUsesReactedMessage() {
+        ReactionAddedEvent reaction = new ReactionAddedEvent();
+        ReactionAddedEvent.Item item = new ReactionAddedEvent.Item();
+        item.setChannel("C1");
+        item.setTs("1700000000.000100");
+        reaction.setItem(item);
+
+        assertThat(ThreadKey.of(reaction)).isEqualTo(new ThreadKey("C1", "1700000000.000100"));
+    }
+
+    @Test
+    void threadKeyIsAbsentForEventsWithoutAThread() {
+        assertThat(ThreadKey.of(new AppHomeOpenedEvent())).isNull();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Condition not met in time");
+            }
+            Thread.sleep(5);
+        }
+    }
+}
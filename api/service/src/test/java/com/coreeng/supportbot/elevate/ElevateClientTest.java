@@ -11,7 +11,9 @@ import static org.springframework.test.web.client.response.MockRestResponseCreat
 
 import com.coreeng.supportbot.config.ElevateProps;
 import com.coreeng.supportbot.util.JsonMapper;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.net.SocketTimeoutException;
 import java.time.Clock;
 import java.time.Duration;
@@ -21,6 +23,8 @@ import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpHeaders;
@@ -41,6 +45,7 @@ class ElevateClientTest {
     private RestClient.Builder restClientBuilder;
     private ObjectMapper objectMapper;
     private List<Long> retryDelays;
+    private SimpleMeterRegistry meterRegistry;
 
     @BeforeEach
     void setUp() {
@@ -48,8 +53,14 @@ class ElevateClientTest {
         server = MockRestServiceServer.bindTo(restClientBuilder).build();
         objectMapper = new JsonMapper().getObjectMapper();
         retryDelays = new ArrayList<>();
+        meterRegistry = new SimpleMeterRegistry();
         client = new ElevateClient(
-                configuredProps(), restClientBuilder, objectMapper, retryDelays::add, Clock.fixed(NOW, ZoneOffset.UTC));
+                configuredProps(),
+                restClientBuilder,
+                objectMapper,
+                retryDelays::add,
+                Clock.fixed(NOW, ZoneOffset.UTC),
+                meterRegistry);
     }
 
     @Test
@@ -99,7 +110,7 @@ class ElevateClientTest {
         server.expect(requestTo(BASE_URL + "/api/sync/v1/insights/products?limit=500"))
                 .andRespond(withSuccess("{\"items\":[]}", MediaType.APPLICATION_JSON));
 
-        assertThatThrownBy(client::fetchSnapshot)
+        assertThatThrownBy(() -> ElevateSnapshotCollector.fetch(client))
                 .isInstanceOf(ElevateApiException.class)
                 .hasMessage("Elevate returned a products page without nextCursor");
         server.verify();
@@ -171,7 +182,7 @@ class ElevateClientTest {
                         }
                         """, MediaType.APPLICATION_JSON));
 
-        ElevateSnapshot snapshot = client.fetchSnapshot();
+        ElevateSnapshot snapshot = ElevateSnapshotCollector.fetch(client);
 
         assertThat(snapshot.products()).extracting(ElevateProduct::id).containsExactly("product-1", "product-2");
         assertThat(Objects.requireNonNull(snapshot.productPayloads().get("product-1"))
@@ -189,6 +200,107 @@ class ElevateClientTest {
         server.verify();
     }
 
+    @Test
+    void handsEachPageToTheSinkAsItArrives() {
+        useProps(configuredProps(10, 20_000, 100_000));
+        expectToken("access-token");
+        server.expect(requestTo(BASE_URL + "/api/sync/v1/insights/products?limit=500"))
+                .andRespond(page("[" + productJson("product-1") + "]", "\"cursor-a\""));
+        server.expect(requestTo(BASE_URL + "/api/sync/v1/insights/products?limit=500&cursor=cursor-a"))
+                .andRespond(page("[" + productJson("product-2") + "]", "null"));
+        expectCollection("users", "[]");
+        expectCollection("journeys", "[" + journeyJson("product-2", "[]") + "]");
+        List<String> pages = new ArrayList<>();
+
+        client.fetchSnapshot(new ElevateSnapshotSink() {
+            @Override
+            public void products(List<ElevateProduct> products, List<JsonNode> payloads) {
+                assertThat(payloads).hasSameSizeAs(products);
+                pages.add("products " + products.stream().map(ElevateProduct::id).toList());
+            }
+
+            @Override
+            public void users(List<ElevateUser> users, List<JsonNode> payloads) {
+                pages.add("users " + users.size());
+            }
+
+            @Override
+            public void journeys(List<ElevateJourney> journeys, List<JsonNode> payloads) {
+                pages.add("journeys " + journeys.stream().map(ElevateJourney::id).toList());
+            }
+        });
+
+        assertThat(pages)
+                .containsExactly("products [product-1]", "products [product-2]", "users 0", "journeys [journey-1]");
+        server.verify();
+    }
+
+    @Test
+    void crawlsTheCollectionsConcurrentlyAndTimesEachOne() {
+        RestClient.Builder concurrentBuilder = RestClient.builder().baseUrl(BASE_URL);
+        MockRestServiceServer concurrentServer =
+                MockRestServiceServer.bindTo(concurrentBuilder).ignoreExpectOrder(true).build();
+        ElevateClient concurrentClient = new ElevateClient(
+                configuredProps(100, 20_000, 100_000, 16_777_216, 67_108_864, Duration.ofMinutes(10), 3),
+                concurrentBuilder,
+                objectMapper,
+                ignored -> {},
+                Clock.fixed(NOW, ZoneOffset.UTC),
+                meterRegistry);
+        expectToken(concurrentServer, "access-token");
+        concurrentServer
+                .expect(requestTo(BASE_URL + "/api/sync/v1/insights/products?limit=500"))
+                .andRespond(page("[" + productJson("product-1") + "]", "null"));
+        concurrentServer
+                .expect(requestTo(BASE_URL + "/api/sync/v1/insights/users?limit=500"))
+                .andRespond(emptyPage());
+        concurrentServer
+                .expect(requestTo(BASE_URL + "/api/sync/v1/insights/journeys?limit=500"))
+                .andRespond(page("[" + journeyJson("product-1", "[]") + "]", "null"));
+        CountDownLatch othersArrived = new CountDownLatch(2);
+        List<Boolean> productsSawOthers = new ArrayList<>();
+
+        concurrentClient.fetchSnapshot(new ElevateSnapshotSink() {
+            @Override
+            public void products(List<ElevateProduct> products, List<JsonNode> payloads) {
+                // Only returns early when the other crawls aren't waiting for this one to finish
+                try {
+                    productsSawOthers.add(othersArrived.await(5, TimeUnit.SECONDS));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException(e);
+                }
+            }
+
+            @Override
+            public void users(List<ElevateUser> users, List<JsonNode> payloads) {
+                othersArrived.countDown();
+            }
+
+            @Override
+            public void journeys(List<ElevateJourney> journeys, List<JsonNode> payloads) {
+                othersArrived.countDown();
+            }
+        });
+
+        assertThat(productsSawOthers).containsExactly(true);
+        for (String resource : List.of("products", "users", "journeys")) {
+            assertThat(meterRegistry
+                            .get("elevate_fetch_page_duration_seconds")
+                            .tag("resource", resource)
+                            .timer()
+                            .count())
+                    .isEqualTo(1);
+            assertThat(meterRegistry
+                            .get("elevate_fetch_resource_duration_seconds")
+                            .tag("resource", resource)
+                            .timer()
+                            .count())
+                    .isEqualTo(1);
+        }
+        concurrentServer.verify();
+    }
+
     @Test
     void rejectsCursorCyclesBeforeReplacingTheStoredSnapshot() {
         useProps(configuredProps(10, 20_000, 100_000));
@@ -198,7 +310,7 @@ class ElevateClientTest {
         server.expect(requestTo(BASE_URL + "/api/sync/v1/insights/products?limit=500&cursor=cursor-a"))
                 .andRespond(page("[]", "\"cursor-a\""));
 
-        assertThatThrownBy(client::fetchSnapshot)
+        assertThatThrownBy(() -> ElevateSnapshotCollector.fetch(client))
                 .isInstanceOf(ElevateApiException.class)
                 .hasMessage("Elevate returned a cyclic products cursor");
         server.verify();
@@ -213,7 +325,7 @@ class ElevateClientTest {
         server.expect(requestTo(BASE_URL + "/api/sync/v1/insights/products?limit=500&cursor=cursor-a"))
                 .andRespond(page("[]", "\"cursor-b\""));
 
-        assertThatThrownBy(client::fetchSnapshot)
+        assertThatThrownBy(() -> ElevateSnapshotCollector.fetch(client))
                 .isInstanceOf(ElevateApiException.class)
                 .hasMessage("Elevate products pagination exceeded the configured limit of 2 pages");
         server.verify();
@@ -226,7 +338,7 @@ class ElevateClientTest {
         server.expect(requestTo(BASE_URL + "/api/sync/v1/insights/products?limit=500"))
                 .andRespond(page("[" + productJson("product-1") + "," + productJson("product-2") + "]", "null"));
 
-        assertThatThrownBy(client::fetchSnapshot)
+        assertThatThrownBy(() -> ElevateSnapshotCollector.fetch(client))
                 .isInstanceOf(ElevateApiException.class)
                 .hasMessage("Elevate snapshot exceeded the configured total entity limit while fetching products");
         server.verify();
@@ -239,7 +351,7 @@ class ElevateClientTest {
         server.expect(requestTo(BASE_URL + "/api/sync/v1/insights/products?limit=500"))
                 .andRespond(page("[" + invalidItems + "]", "null"));
 
-        assertThatThrownBy(client::fetchSnapshot)
+        assertThatThrownBy(() -> ElevateSnapshotCollector.fetch(client))
                 .isInstanceOf(ElevateApiException.class)
                 .hasMessage("Elevate returned a products page exceeding the requested 500 items");
         server.verify();
@@ -251,15 +363,15 @@ class ElevateClientTest {
         RestClient.Builder limitedBuilder = RestClient.builder().baseUrl(BASE_URL);
         MockRestServiceServer limitedServer =
                 MockRestServiceServer.bindTo(limitedBuilder).build();
-        ElevateClient limitedClient =
-                new ElevateClient(props, limitedBuilder, objectMapper, ignored -> {}, Clock.fixed(NOW, ZoneOffset.UTC));
+        ElevateClient limitedClient = new ElevateClient(
+                props, limitedBuilder, objectMapper, ignored -> {}, Clock.fixed(NOW, ZoneOffset.UTC), meterRegistry);
         expectToken(limitedServer, "access-token");
         String response = "{\"items\":[],\"padding\":\"" + "x".repeat(512) + "\",\"nextCursor\":null}";
         limitedServer
                 .expect(requestTo(BASE_URL + "/api/sync/v1/insights/products?limit=500"))
                 .andRespond(withSuccess(response, MediaType.APPLICATION_JSON).header(HttpHeaders.CONTENT_LENGTH, "1"));
 
-        assertThatThrownBy(limitedClient::fetchSnapshot)
+        assertThatThrownBy(() -> ElevateSnapshotCollector.fetch(limitedClient))
                 .isInstanceOf(ElevateApiException.class)
                 .hasMessage("Elevate insights page exceeded the configured response size limit of 256 bytes")
                 .hasMessageNotContaining("padding");
@@ -281,7 +393,7 @@ class ElevateClientTest {
                         "{\"items\":[],\"padding\":\"" + padding + "\",\"nextCursor\":null}",
                         MediaType.APPLICATION_JSON));
 
-        assertThatThrownBy(client::fetchSnapshot)
+        assertThatThrownBy(() -> ElevateSnapshotCollector.fetch(client))
                 .isInstanceOf(ElevateApiException.class)
                 .hasMessage(
                         "Elevate insights snapshot exceeded the configured cumulative response size limit of 600 bytes")
@@ -296,7 +408,7 @@ class ElevateClientTest {
         server.expect(requestTo(BASE_URL + "/api/sync/v1/insights/products?limit=500"))
                 .andRespond(withStatus(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "11"));
 
-        assertThatThrownBy(client::fetchSnapshot)
+        assertThatThrownBy(() -> ElevateSnapshotCollector.fetch(client))
                 .isInstanceOf(ElevateApiException.class)
                 .hasMessage("Elevate insights sync exceeded the configured time limit");
         assertThat(retryDelays).isEmpty();
@@ -317,7 +429,7 @@ class ElevateClientTest {
                                 "[\"11111111-1111-1111-1111-111111111111\",\"22222222-2222-2222-2222-222222222222\"]")
                         + "]");
 
-        assertThatThrownBy(client::fetchSnapshot)
+        assertThatThrownBy(() -> ElevateSnapshotCollector.fetch(client))
                 .isInstanceOf(ElevateApiException.class)
                 .hasMessage(
                         "Elevate snapshot exceeded the configured materialized relationship limit while fetching journeys");
@@ -331,7 +443,7 @@ class ElevateClientTest {
         expectCollection("users", "[]");
         expectCollection("journeys", "[" + journeyJson("missing-product", "[]") + "]");
 
-        assertThatThrownBy(client::fetchSnapshot)
+        assertThatThrownBy(() -> ElevateSnapshotCollector.fetch(client))
                 .isInstanceOf(ElevateApiException.class)
                 .hasMessage("Elevate returned a journey whose product was absent from the fetched snapshot");
         server.verify();
@@ -345,7 +457,7 @@ class ElevateClientTest {
         expectCollection(
                 "journeys", "[" + journeyJson("product-1", "[\"33333333-3333-3333-3333-333333333333\"]") + "]");
 
-        ElevateSnapshot snapshot = client.fetchSnapshot();
+        ElevateSnapshot snapshot = ElevateSnapshotCollector.fetch(client);
 
         assertThat(snapshot.journeys().getFirst().userIds())
                 .containsExactly(java.util.UUID.fromString("33333333-3333-3333-3333-333333333333"));
@@ -373,7 +485,7 @@ class ElevateClientTest {
                 .andExpect(header("Authorization", "Bearer second-fresh-token"))
                 .andRespond(emptyPage());
 
-        assertThat(client.fetchSnapshot())
+        assertThat(ElevateSnapshotCollector.fetch(client))
                 .isEqualTo(new ElevateSnapshot(java.util.List.of(), java.util.List.of(), java.util.List.of()));
         server.verify();
     }
@@ -384,7 +496,7 @@ class ElevateClientTest {
         server.expect(ExpectedCount.times(3), requestTo(BASE_URL + "/api/sync/v1/insights/products?limit=500"))
                 .andRespond(withStatus(HttpStatus.SERVICE_UNAVAILABLE));
 
-        assertThatThrownBy(client::fetchSnapshot)
+        assertThatThrownBy(() -> ElevateSnapshotCollector.fetch(client))
                 .isInstanceOf(ElevateApiException.class)
                 .hasMessage("Elevate returned HTTP 503");
         assertThat(retryDelays).hasSize(2).allSatisfy(delay -> assertThat(delay).isBetween(0L, 500L));
@@ -403,7 +515,7 @@ class ElevateClientTest {
         server.expect(requestTo(BASE_URL + "/api/sync/v1/insights/journeys?limit=500"))
                 .andRespond(emptyPage());
 
-        assertThat(client.fetchSnapshot())
+        assertThat(ElevateSnapshotCollector.fetch(client))
                 .isEqualTo(new ElevateSnapshot(java.util.List.of(), java.util.List.of(), java.util.List.of()));
         assertThat(retryDelays).containsExactly(60_000L);
         server.verify();
@@ -423,7 +535,7 @@ class ElevateClientTest {
         server.expect(requestTo(BASE_URL + "/api/sync/v1/insights/journeys?limit=500"))
                 .andRespond(emptyPage());
 
-        assertThat(client.fetchSnapshot())
+        assertThat(ElevateSnapshotCollector.fetch(client))
                 .isEqualTo(new ElevateSnapshot(java.util.List.of(), java.util.List.of(), java.util.List.of()));
         assertThat(retryDelays).containsExactly(45_000L);
         server.verify();
@@ -435,7 +547,7 @@ class ElevateClientTest {
         server.expect(requestTo(BASE_URL + "/api/sync/v1/insights/products?limit=500"))
                 .andRespond(withStatus(HttpStatus.TOO_MANY_REQUESTS).header("Retry-After", "61"));
 
-        assertThatThrownBy(client::fetchSnapshot)
+        assertThatThrownBy(() -> ElevateSnapshotCollector.fetch(client))
                 .isInstanceOf(ElevateApiException.class)
                 .hasMessage("Elevate returned HTTP 429 with Retry-After beyond the configured maximum")
                 .hasMessageNotContaining("61")
@@ -450,7 +562,7 @@ class ElevateClientTest {
         server.expect(requestTo(BASE_URL + "/api/sync/v1/insights/products?limit=500"))
                 .andRespond(withStatus(HttpStatus.BAD_REQUEST));
 
-        assertThatThrownBy(client::fetchSnapshot)
+        assertThatThrownBy(() -> ElevateSnapshotCollector.fetch(client))
                 .isInstanceOf(ElevateApiException.class)
                 .hasMessage("Elevate returned HTTP 400");
         assertThat(retryDelays).isEmpty();
@@ -464,7 +576,7 @@ class ElevateClientTest {
                     throw new SocketTimeoutException("socket details must not be exposed");
                 });
 
-        assertThatThrownBy(client::fetchSnapshot)
+        assertThatThrownBy(() -> ElevateSnapshotCollector.fetch(client))
                 .isInstanceOf(ElevateApiException.class)
                 .hasMessage("Elevate request failed: request timed out")
                 .hasMessageNotContaining("socket details");
@@ -531,7 +643,12 @@ class ElevateClientTest {
     private void useProps(ElevateProps props) {
         retryDelays = new ArrayList<>();
         client = new ElevateClient(
-                props, restClientBuilder, objectMapper, retryDelays::add, Clock.fixed(NOW, ZoneOffset.UTC));
+                props,
+                restClientBuilder,
+                objectMapper,
+                retryDelays::add,
+                Clock.fixed(NOW, ZoneOffset.UTC),
+                meterRegistry);
     }
 
     private static org.springframework.test.web.client.response.DefaultResponseCreator emptyPage() {
@@ -559,6 +676,19 @@ class ElevateClientTest {
             long maxResponseBytes,
             long maxSnapshotResponseBytes,
             Duration syncTimeout) {
+        // One collection at a time, so requests arrive in the order the tests expect them
+        return configuredProps(
+                maxPages, maxEntities, maxRelationships, maxResponseBytes, maxSnapshotResponseBytes, syncTimeout, 1);
+    }
+
+    private static ElevateProps configuredProps(
+            int maxPages,
+            long maxEntities,
+            long maxRelationships,
+            long maxResponseBytes,
+            long maxSnapshotResponseBytes,
+            Duration syncTimeout,
+            int resourceFetchConcurrency) {
         return new ElevateProps(
                 BASE_URL,
                 "esc_client",
@@ -574,6 +704,7 @@ class ElevateClientTest {
                 maxPages,
                 maxEntities,
                 maxRelationships,
+                resourceFetchConcurrency,
                 3,
                 Duration.ofSeconds(30),
                 Duration.ofMinutes(5),
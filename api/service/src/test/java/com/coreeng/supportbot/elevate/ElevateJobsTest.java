@@ -11,12 +11,13 @@ import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import com.coreeng.supportbot.config.ElevateProps;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.lang.reflect.Method;
 import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneOffset;
-import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InOrder;
@@ -29,38 +30,78 @@ class ElevateJobsTest {
     private final ElevateRepository repository = mock(ElevateRepository.class);
     private final ElevateProps props = configuredProps();
     private final ElevateErrorSanitizer sanitizer = new ElevateErrorSanitizer(props);
+    private final ElevateSnapshotStage stage = mock(ElevateSnapshotStage.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
     private final ElevateJobs jobs =
-            new ElevateJobs(props, client, repository, sanitizer, Clock.fixed(NOW, ZoneOffset.UTC));
+            new ElevateJobs(props, client, repository, sanitizer, Clock.fixed(NOW, ZoneOffset.UTC), meterRegistry);
 
     @Test
-    void successfulSyncAtomicallyHandsCompleteSnapshotToRepository() {
-        ElevateSnapshot snapshot = new ElevateSnapshot(List.of(), List.of(), List.of());
-        when(client.fetchSnapshot()).thenReturn(snapshot);
+    void successfulSyncStreamsTheSnapshotIntoAStageThenAppliesIt() {
+        when(repository.openStage()).thenReturn(stage);
+        when(repository.applyStage(stage, NOW, NOW)).thenReturn(delta(ElevateSnapshotDelta.Change.NONE));
 
         assertThat(jobs.syncInsights()).isTrue();
 
         InOrder sync = inOrder(repository, client);
         sync.verify(repository).recordSyncAttempt(NOW);
-        sync.verify(client).fetchSnapshot();
-        sync.verify(repository).replaceSnapshot(snapshot, NOW, NOW);
+        sync.verify(repository).openStage();
+        sync.verify(client).fetchSnapshot(stage);
+        sync.verify(repository).applyStage(stage, NOW, NOW);
+        verify(repository, never()).discardStage(stage);
         verify(repository, never())
                 .recordSyncFailure(org.mockito.ArgumentMatchers.any(), org.mockito.ArgumentMatchers.any());
     }
 
+    @Test
+    void successfulSyncReportsItsDeltaAndDuration() {
+        when(repository.openStage()).thenReturn(stage);
+        when(repository.applyStage(stage, NOW, NOW))
+                .thenReturn(new ElevateSnapshotDelta(
+                        new ElevateSnapshotDelta.Change(2, 1, 0),
+                        ElevateSnapshotDelta.Change.NONE,
+                        new ElevateSnapshotDelta.Change(0, 3, 1),
+                        new ElevateSnapshotDelta.Change(4, 0, 0),
+                        ElevateSnapshotDelta.Change.NONE));
+
+        assertThat(jobs.syncInsights()).isTrue();
+
+        assertThat(deltaRows("products", "inserted").totalAmount()).isEqualTo(2);
+        assertThat(deltaRows("products", "updated").totalAmount()).isEqualTo(1);
+        assertThat(deltaRows("journeys", "updated").totalAmount()).isEqualTo(3);
+        assertThat(deltaRows("journeys", "deleted").totalAmount()).isEqualTo(1);
+        assertThat(deltaRows("assignments", "inserted").totalAmount()).isEqualTo(4);
+        assertThat(deltaRows("users", "inserted").count()).isEqualTo(1);
+        assertThat(deltaRows("users", "inserted").totalAmount()).isZero();
+        assertThat(meterRegistry
+                        .get("elevate_sync_duration_seconds")
+                        .tag("phase", "apply")
+                        .timer()
+                        .count())
+                .isEqualTo(1);
+        assertThat(meterRegistry
+                        .get("elevate_sync_duration_seconds")
+                        .tag("phase", "fetch")
+                        .timer()
+                        .count())
+                .isEqualTo(1);
+    }
+
     @Test
     void failedCollectionRetainsLastGoodSnapshotAndRecordsSanitizedAttempt() {
+        when(repository.openStage()).thenReturn(stage);
         doThrow(new ElevateApiException("HTTP 401 Bearer token-value client_secret=secret-value esc_client"))
                 .when(client)
-                .fetchSnapshot();
+                .fetchSnapshot(stage);
 
         assertThat(jobs.syncInsights()).isFalse();
 
         verify(repository).recordSyncAttempt(NOW);
         verify(repository, never())
-                .replaceSnapshot(
+                .applyStage(
                         org.mockito.ArgumentMatchers.any(),
                         org.mockito.ArgumentMatchers.any(),
                         org.mockito.ArgumentMatchers.any());
+        verify(repository).discardStage(stage);
         ArgumentCaptor<String> error = ArgumentCaptor.forClass(String.class);
         verify(repository).recordSyncFailure(org.mockito.ArgumentMatchers.eq(NOW), error.capture());
         assertThat(error.getValue())
@@ -71,18 +112,33 @@ class ElevateJobsTest {
     @Test
     void oversizedPageUsesTheNormalSanitizedFailurePath() {
         String failure = "Elevate insights page exceeded the configured response size limit of 16777216 bytes";
-        doThrow(new ElevateApiException(failure)).when(client).fetchSnapshot();
+        when(repository.openStage()).thenReturn(stage);
+        doThrow(new ElevateApiException(failure)).when(client).fetchSnapshot(stage);
 
         assertThat(jobs.syncInsights()).isFalse();
 
         verify(repository, never())
-                .replaceSnapshot(
+                .applyStage(
                         org.mockito.ArgumentMatchers.any(),
                         org.mockito.ArgumentMatchers.any(),
                         org.mockito.ArgumentMatchers.any());
         verify(repository).recordSyncFailure(NOW, failure);
     }
 
+    @Test
+    void failureToDiscardTheStageDoesNotHideTheSyncFailure() {
+        String failure = "Elevate returned HTTP 503";
+        when(repository.openStage()).thenReturn(stage);
+        doThrow(new ElevateApiException(failure)).when(client).fetchSnapshot(stage);
+        doThrow(new IllegalStateException("database unavailable"))
+                .when(repository)
+                .discardStage(stage);
+
+        assertThat(jobs.syncInsights()).isFalse();
+
+        verify(repository).recordSyncFailure(NOW, failure);
+    }
+
     @Test
     void doesNotFetchWhenTheAttemptCannotBePersisted() {
         doThrow(new IllegalStateException("database unavailable"))
@@ -93,7 +149,7 @@ class ElevateJobsTest {
                 .isInstanceOf(IllegalStateException.class)
                 .hasMessage("database unavailable");
 
-        verify(client, never()).fetchSnapshot();
+        verify(client, never()).fetchSnapshot(org.mockito.ArgumentMatchers.any());
     }
 
     @Test
@@ -123,6 +179,7 @@ class ElevateJobsTest {
                 20_000,
                 100_000,
                 3,
+                3,
                 Duration.ofSeconds(30),
                 Duration.ofMinutes(5),
                 "Support Bot",
@@ -135,7 +192,8 @@ class ElevateJobsTest {
                 disabledClient,
                 disabledRepository,
                 new ElevateErrorSanitizer(disabledProps),
-                Clock.fixed(NOW, ZoneOffset.UTC));
+                Clock.fixed(NOW, ZoneOffset.UTC),
+                new SimpleMeterRegistry());
 
         disabledJobs.reportStatus();
         assertThat(disabledJobs.syncInsights()).isTrue();
@@ -154,6 +212,18 @@ class ElevateJobsTest {
         });
     }
 
+    private DistributionSummary deltaRows(String table, String change) {
+        return meterRegistry
+                .get("elevate_sync_delta_rows")
+                .tag("table", table)
+                .tag("change", change)
+                .summary();
+    }
+
+    private static ElevateSnapshotDelta delta(ElevateSnapshotDelta.Change change) {
+        return new ElevateSnapshotDelta(change, change, change, change, change);
+    }
+
     private static ElevateProps configuredProps() {
         return new ElevateProps(
                 "https://elevate.example.test",
@@ -171,6 +241,7 @@ class ElevateJobsTest {
                 20_000,
                 100_000,
                 3,
+                3,
                 Duration.ofSeconds(30),
                 Duration.ofMinutes(5),
                 "Support Bot",
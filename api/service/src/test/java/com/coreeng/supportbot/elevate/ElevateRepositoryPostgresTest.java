@@ -4,6 +4,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import com.coreeng.supportbot.util.JsonMapper;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import java.time.Instant;
@@ -12,6 +13,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Function;
 import javax.sql.DataSource;
 import org.jooq.DSLContext;
 import org.jooq.SQLDialect;
@@ -39,10 +41,12 @@ class ElevateRepositoryPostgresTest {
 
     private final ElevateRepository repository;
     private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
 
-    ElevateRepositoryPostgresTest(ElevateRepository repository, JdbcTemplate jdbcTemplate) {
+    ElevateRepositoryPostgresTest(ElevateRepository repository, JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
         this.repository = repository;
         this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
     }
 
     static boolean localDatabaseEnabled() {
@@ -51,6 +55,7 @@ class ElevateRepositoryPostgresTest {
 
     @BeforeEach
     void clearSnapshot() {
+        jdbcTemplate.update("DELETE FROM elevate_snapshot_stage");
         jdbcTemplate.update("DELETE FROM elevate_integrity_items");
         jdbcTemplate.update("DELETE FROM elevate_journey_users");
         jdbcTemplate.update("DELETE FROM elevate_journeys");
@@ -73,10 +78,10 @@ class ElevateRepositoryPostgresTest {
 
     @Test
     void replacesExistingSnapshotIncludingWithAuthoritativeEmptyCollections() {
-        repository.replaceSnapshot(snapshot(product("old")), ATTEMPTED_AT, COMPLETED_AT);
+        replaceSnapshot(snapshot(product("old")), ATTEMPTED_AT, COMPLETED_AT);
         UUID populatedVersion = repository.getStoredStatus().snapshotVersion();
 
-        repository.replaceSnapshot(new ElevateSnapshot(List.of(), List.of(), List.of()), ATTEMPTED_AT, COMPLETED_AT);
+        replaceSnapshot(new ElevateSnapshot(List.of(), List.of(), List.of()), ATTEMPTED_AT, COMPLETED_AT);
 
         ElevateStoredStatus storedStatus = repository.getStoredStatus();
         assertThat(repository.getSnapshot()).isEqualTo(new ElevateSnapshot(List.of(), List.of(), List.of()));
@@ -88,10 +93,109 @@ class ElevateRepositoryPostgresTest {
         assertThat(state.lastSyncSuccessAt()).isEqualTo(COMPLETED_AT);
     }
 
+    @Test
+    void writesOnlyTheRowsThatChangedSinceTheStoredSnapshot() {
+        UUID keptUserId = UUID.fromString("11111111-1111-1111-1111-111111111111");
+        UUID removedUserId = UUID.fromString("22222222-2222-2222-2222-222222222222");
+        UUID addedUserId = UUID.fromString("33333333-3333-3333-3333-333333333333");
+        ElevateProduct kept = product("kept");
+        ElevateProduct removed = product("removed");
+        ElevateUser keptUser = user(keptUserId, "kept", "Kept user");
+        ElevateUser removedUser = user(removedUserId, "kept", "Removed user");
+        ElevateJourney journey = journey("journey-1", "kept", List.of(keptUserId, removedUserId));
+        ElevateSnapshotDelta initial = replaceSnapshot(
+                new ElevateSnapshot(List.of(kept, removed), List.of(keptUser, removedUser), List.of(journey)),
+                ATTEMPTED_AT,
+                COMPLETED_AT);
+        assertThat(initial.products()).isEqualTo(new ElevateSnapshotDelta.Change(2, 0, 0));
+        assertThat(initial.assignments()).isEqualTo(new ElevateSnapshotDelta.Change(2, 0, 0));
+        assertThat(initial.integrityItems()).isEqualTo(new ElevateSnapshotDelta.Change(0, 0, 0));
+
+        ElevateProduct added = product("added");
+        ElevateUser renamedUser = user(keptUserId, "kept", "Renamed user");
+        ElevateUser addedUser = user(addedUserId, "added", "Added user");
+        ElevateJourney changedJourney = journey("journey-1", "kept", List.of(keptUserId, addedUserId));
+        ElevateSnapshotDelta delta = replaceSnapshot(
+                new ElevateSnapshot(List.of(kept, added), List.of(renamedUser, addedUser), List.of(changedJourney)),
+                ATTEMPTED_AT,
+                COMPLETED_AT);
+
+        assertThat(delta.products()).isEqualTo(new ElevateSnapshotDelta.Change(1, 0, 1));
+        assertThat(delta.users()).isEqualTo(new ElevateSnapshotDelta.Change(1, 1, 1));
+        assertThat(delta.journeys()).isEqualTo(new ElevateSnapshotDelta.Change(0, 1, 0));
+        assertThat(delta.assignments()).isEqualTo(new ElevateSnapshotDelta.Change(1, 0, 1));
+        assertThat(delta.integrityItems()).isEqualTo(new ElevateSnapshotDelta.Change(1, 0, 0));
+        assertThat(repository.getSnapshot())
+                .isEqualTo(new ElevateSnapshot(
+                        List.of(added, kept), List.of(renamedUser, addedUser), List.of(changedJourney)));
+        assertThat(repository.getStoredStatus().integrity()).isEqualTo(new ElevateIntegrityCounts(0, 0, 1));
+    }
+
+    @Test
+    void unchangedSnapshotWritesNoRowsButStillPublishesANewVersion() {
+        UUID userId = UUID.fromString("11111111-1111-1111-1111-111111111111");
+        ElevateSnapshot snapshot = new ElevateSnapshot(
+                List.of(product("product-1")),
+                List.of(user(userId, "missing-product", "Orphan user")),
+                List.of(journey("journey-1", "product-1", List.of(userId))));
+        replaceSnapshot(snapshot, ATTEMPTED_AT, COMPLETED_AT);
+        UUID firstVersion = repository.getStoredStatus().snapshotVersion();
+
+        ElevateSnapshotDelta delta = replaceSnapshot(snapshot, ATTEMPTED_AT, COMPLETED_AT);
+
+        assertThat(delta.isEmpty()).isTrue();
+        ElevateStoredStatus status = repository.getStoredStatus();
+        assertThat(status.snapshotVersion()).isNotNull().isNotEqualTo(firstVersion);
+        assertThat(status.integrity()).isEqualTo(new ElevateIntegrityCounts(1, 0, 1));
+        assertThat(repository.getSnapshot()).isEqualTo(snapshot);
+    }
+
+    @Test
+    void appliesASnapshotStreamedIntoAStagePageByPage() {
+        UUID userId = UUID.fromString("11111111-1111-1111-1111-111111111111");
+        ElevateProduct first = product("first");
+        ElevateProduct second = product("second");
+        ElevateUser user = user(userId, "second", "Quoted \"user\", with a comma");
+        ElevateJourney journey = journey("journey-1", "second", List.of(userId, userId));
+        ObjectMapper mapper = new JsonMapper().getObjectMapper();
+
+        ElevateSnapshotStage stage = repository.openStage();
+        stage.products(List.of(first), List.of(mapper.valueToTree(first)));
+        stage.products(List.of(second), List.of(mapper.valueToTree(second)));
+        stage.users(List.of(user), List.of(mapper.valueToTree(user)));
+        stage.journeys(List.of(journey), List.of(mapper.valueToTree(journey)));
+        assertThat(repository.getSnapshot().products()).isEmpty();
+        ElevateSnapshotDelta delta = repository.applyStage(stage, ATTEMPTED_AT, COMPLETED_AT);
+
+        assertThat(delta.products()).isEqualTo(new ElevateSnapshotDelta.Change(2, 0, 0));
+        assertThat(delta.assignments()).isEqualTo(new ElevateSnapshotDelta.Change(1, 0, 0));
+        assertThat(repository.getSnapshot())
+                .isEqualTo(new ElevateSnapshot(List.of(first, second), List.of(user), List.of(journey)));
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM elevate_products_staged", Integer.class))
+                .isZero();
+    }
+
+    @Test
+    void discardingAStageLeavesTheStoredSnapshotAndDropsTheStagedRows() {
+        ElevateProduct stored = product("stored");
+        replaceSnapshot(snapshot(stored), ATTEMPTED_AT, COMPLETED_AT);
+        ElevateProduct staged = product("staged");
+
+        ElevateSnapshotStage stage = repository.openStage();
+        stage.products(List.of(staged), List.of(new JsonMapper().getObjectMapper().valueToTree(staged)));
+        repository.discardStage(stage);
+
+        assertThat(repository.getSnapshot().products()).containsExactly(stored);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM elevate_snapshot_stage", Integer.class))
+                .isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM elevate_products_staged", Integer.class))
+                .isZero();
+    }
+
     @Test
     void recordsAnAttemptBeforeItsOutcomeWithoutDiscardingTheLastSnapshot() {
         ElevateProduct product = product("retained");
-        repository.replaceSnapshot(snapshot(product), ATTEMPTED_AT.minusSeconds(10), ATTEMPTED_AT.minusSeconds(5));
+        replaceSnapshot(snapshot(product), ATTEMPTED_AT.minusSeconds(10), ATTEMPTED_AT.minusSeconds(5));
 
         repository.recordSyncAttempt(ATTEMPTED_AT);
 
@@ -106,14 +210,14 @@ class ElevateRepositoryPostgresTest {
     @Test
     void rollsBackWholeReplacementAndRetainsLastGoodSnapshotOnInsertFailure() {
         ElevateProduct oldProduct = product("old");
-        repository.replaceSnapshot(
+        replaceSnapshot(
                 new ElevateSnapshot(List.of(oldProduct), List.of(), List.of()), ATTEMPTED_AT, COMPLETED_AT);
         UUID lastGoodVersion =
                 Objects.requireNonNull(repository.getStoredStatus().snapshotVersion());
         ElevateProduct duplicate = product("duplicate");
         ElevateSnapshot invalidSnapshot = new ElevateSnapshot(List.of(duplicate, duplicate), List.of(), List.of());
 
-        assertThatThrownBy(() -> repository.replaceSnapshot(invalidSnapshot, ATTEMPTED_AT, COMPLETED_AT))
+        assertThatThrownBy(() -> replaceSnapshot(invalidSnapshot, ATTEMPTED_AT, COMPLETED_AT))
                 .isInstanceOf(RuntimeException.class);
 
         assertThat(repository.getSnapshot().products()).containsExactly(oldProduct);
@@ -140,7 +244,7 @@ class ElevateRepositoryPostgresTest {
 
         ObjectNode rawJourney = new JsonMapper().getObjectMapper().valueToTree(journey);
         rawJourney.put("futureField", "retained");
-        repository.replaceSnapshot(
+        replaceSnapshot(
                 new ElevateSnapshot(
                         List.of(product, otherProduct),
                         List.of(linkedUser, crossProductUser, orphanUser),
@@ -215,7 +319,7 @@ class ElevateRepositoryPostgresTest {
         ElevateProduct special = product("special!%_");
         ElevateJourney linkedJourney =
                 journey("linked", "beta", List.of(UUID.fromString("11111111-1111-1111-1111-111111111111")));
-        repository.replaceSnapshot(
+        replaceSnapshot(
                 new ElevateSnapshot(List.of(beta, special, alpha), List.of(), List.of(linkedJourney)),
                 ATTEMPTED_AT,
                 COMPLETED_AT);
@@ -277,7 +381,7 @@ class ElevateRepositoryPostgresTest {
                 targetProduct.lastUpdatedAt());
         ElevateUser targetUser = user(targetUserId, targetProduct.id(), "Z target user");
         ElevateUser collisionUser = user(collisionUserId, targetProduct.id(), targetUserId.toString());
-        repository.replaceSnapshot(
+        replaceSnapshot(
                 new ElevateSnapshot(
                         List.of(collisionProduct, targetProduct),
                         List.of(collisionUser, targetUser),
@@ -306,7 +410,7 @@ class ElevateRepositoryPostgresTest {
     void excludesCrossProductAssignmentsFromDirectRelationshipsAndLinkedFilters() {
         UUID userId = UUID.fromString("11111111-1111-1111-1111-111111111111");
         ElevateJourney journey = journey("cross-only", "product-1", List.of(userId));
-        repository.replaceSnapshot(
+        replaceSnapshot(
                 new ElevateSnapshot(
                         List.of(product("product-1"), product("product-2")),
                         List.of(user(userId, "product-2", "Other product user")),
@@ -343,7 +447,7 @@ class ElevateRepositoryPostgresTest {
 
     @Test
     void nestedReadsDistinguishAMissingParentFromAnEmptyRelationshipPage() {
-        repository.replaceSnapshot(snapshot(product("product-1")), ATTEMPTED_AT, COMPLETED_AT);
+        replaceSnapshot(snapshot(product("product-1")), ATTEMPTED_AT, COMPLETED_AT);
         UUID version = repository.getStoredStatus().snapshotVersion();
         assertThat(version).isNotNull();
 
@@ -358,15 +462,41 @@ class ElevateRepositoryPostgresTest {
 
     @Test
     void rejectsAReadAfterSnapshotRollover() {
-        repository.replaceSnapshot(snapshot(product("first")), ATTEMPTED_AT, COMPLETED_AT);
+        replaceSnapshot(snapshot(product("first")), ATTEMPTED_AT, COMPLETED_AT);
         UUID firstVersion = repository.getStoredStatus().snapshotVersion();
         assertThat(firstVersion).isNotNull();
-        repository.replaceSnapshot(snapshot(product("second")), ATTEMPTED_AT, COMPLETED_AT);
+        replaceSnapshot(snapshot(product("second")), ATTEMPTED_AT, COMPLETED_AT);
 
         assertThatThrownBy(() -> repository.findProducts(firstVersion, defaultQuery()))
                 .isInstanceOf(ElevateSnapshotChangedException.class);
     }
 
+    // Streams an in-memory snapshot through a stage the way a sync does; items without a payload store their own JSON
+    private ElevateSnapshotDelta replaceSnapshot(ElevateSnapshot snapshot, Instant attemptedAt, Instant completedAt) {
+        ElevateSnapshotStage stage = repository.openStage();
+        try {
+            stage.products(
+                    snapshot.products(), payloads(snapshot.products(), snapshot.productPayloads(), ElevateProduct::id));
+            stage.users(snapshot.users(), payloads(snapshot.users(), snapshot.userPayloads(), ElevateUser::id));
+            stage.journeys(
+                    snapshot.journeys(),
+                    payloads(snapshot.journeys(), snapshot.journeyPayloads(), ElevateJourney::id));
+            return repository.applyStage(stage, attemptedAt, completedAt);
+        } catch (RuntimeException e) {
+            repository.discardStage(stage);
+            throw e;
+        }
+    }
+
+    private <T, K> List<JsonNode> payloads(List<T> items, Map<K, JsonNode> payloads, Function<T, K> id) {
+        return items.stream()
+                .map(item -> {
+                    JsonNode payload = payloads.get(id.apply(item));
+                    return payload == null ? objectMapper.<JsonNode>valueToTree(item) : payload;
+                })
+                .toList();
+    }
+
     private static ElevateSnapshot snapshot(ElevateProduct product) {
         return new ElevateSnapshot(List.of(product), List.of(), List.of());
     }
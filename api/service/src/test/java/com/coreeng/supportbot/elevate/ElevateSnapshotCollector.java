@@ -0,0 +1,54 @@
+package com.coreeng.supportbot.elevate;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/** Holds a whole fetched snapshot in memory, so tests can assert on it as one value. */
+final class ElevateSnapshotCollector implements ElevateSnapshotSink {
+    private final List<ElevateProduct> products = new ArrayList<>();
+    private final List<ElevateUser> users = new ArrayList<>();
+    private final List<ElevateJourney> journeys = new ArrayList<>();
+    private final Map<String, JsonNode> productPayloads = new LinkedHashMap<>();
+    private final Map<UUID, JsonNode> userPayloads = new LinkedHashMap<>();
+    private final Map<String, JsonNode> journeyPayloads = new LinkedHashMap<>();
+
+    static ElevateSnapshot fetch(ElevateClient client) {
+        ElevateSnapshotCollector collector = new ElevateSnapshotCollector();
+        client.fetchSnapshot(collector);
+        return collector.snapshot();
+    }
+
+    @Override
+    public void products(List<ElevateProduct> items, List<JsonNode> payloads) {
+        products.addAll(items);
+        putPayloads(productPayloads, items, payloads, ElevateProduct::id);
+    }
+
+    @Override
+    public void users(List<ElevateUser> items, List<JsonNode> payloads) {
+        users.addAll(items);
+        putPayloads(userPayloads, items, payloads, ElevateUser::id);
+    }
+
+    @Override
+    public void journeys(List<ElevateJourney> items, List<JsonNode> payloads) {
+        journeys.addAll(items);
+        putPayloads(journeyPayloads, items, payloads, ElevateJourney::id);
+    }
+
+    ElevateSnapshot snapshot() {
+        return new ElevateSnapshot(products, users, journeys, productPayloads, userPayloads, journeyPayloads);
+    }
+
+    private static <T, I> void putPayloads(
+            Map<I, JsonNode> payloads, List<T> items, List<JsonNode> pagePayloads, Function<T, I> id) {
+        for (int index = 0; index < items.size(); index++) {
+            payloads.put(id.apply(items.get(index)), pagePayloads.get(index));
+        }
+    }
+}
@@ -178,6 +178,7 @@ class ElevateStatusControllerTest {
                     20_000,
                     100_000,
                     3,
+                    3,
                     Duration.ofSeconds(30),
                     Duration.ofMinutes(5),
                     "Support Bot",
@@ -77,6 +77,7 @@ class ElevateSyncSchedulerTest {
                 20_000,
                 100_000,
                 3,
+                3,
                 Duration.ofSeconds(30),
                 Duration.ofMinutes(5),
                 "Support Bot",
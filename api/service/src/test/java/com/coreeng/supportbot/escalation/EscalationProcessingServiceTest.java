@@ -19,6 +19,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 @ExtendWith(MockitoExtension.class)
 class EscalationProcessingServiceTest {
@@ -36,10 +37,13 @@ class EscalationProcessingServiceTest {
     @Mock
     private EscalationTeamsRegistry escalationTeamsRegistry;
 
+    @Mock
+    private ApplicationEventPublisher publisher;
+
     @BeforeEach
     public void setup() {
         processingService = new EscalationProcessingService(
-                escalationRepository, escalationMapper, slackClient, escalationTeamsRegistry);
+                escalationRepository, escalationMapper, slackClient, escalationTeamsRegistry, publisher);
     }
 
     @Test
@@ -0,0 +1,202 @@
+package com.coreeng.supportbot.escalation;
+
+import static java.util.Objects.requireNonNull;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.coreeng.supportbot.config.BusinessHoursProps;
+import com.coreeng.supportbot.config.CacheConfig;
+import com.coreeng.supportbot.config.TicketAssignmentProps;
+import com.coreeng.supportbot.enums.Tag;
+import com.coreeng.supportbot.enums.TagsRepository;
+import com.coreeng.supportbot.facts.BusinessCalendar;
+import com.coreeng.supportbot.facts.FactsRepository;
+import com.coreeng.supportbot.facts.JdbcFactsRepository;
+import com.coreeng.supportbot.slack.MessageRef;
+import com.coreeng.supportbot.slack.MessageTs;
+import com.coreeng.supportbot.ticket.AssigneeCrypto;
+import com.coreeng.supportbot.ticket.JdbcTicketRepository;
+import com.coreeng.supportbot.ticket.Ticket;
+import com.coreeng.supportbot.ticket.TicketId;
+import com.coreeng.supportbot.ticket.TicketRepository;
+import com.coreeng.supportbot.util.Page;
+import com.google.common.collect.ImmutableList;
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.jooq.DSLContext;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.TransactionAwareDataSourceProxy;
+import org.springframework.test.context.TestConstructor;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+
+@SpringJUnitConfig(JdbcEscalationRepositoryPostgresTest.TestConfig.class)
+@TestConstructor(autowireMode = TestConstructor.AutowireMode.ALL)
+@EnabledIf("localDatabaseEnabled")
+class JdbcEscalationRepositoryPostgresTest {
+    private final EscalationRepository repository;
+    private final TicketRepository ticketRepository;
+    private final TagsRepository tagsRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final String channelId = "C-" + UUID.randomUUID();
+    private final String tagCode = "tag-" + UUID.randomUUID();
+
+    JdbcEscalationRepositoryPostgresTest(
+            EscalationRepository repository,
+            TicketRepository ticketRepository,
+            TagsRepository tagsRepository,
+            JdbcTemplate jdbcTemplate) {
+        this.repository = repository;
+        this.ticketRepository = ticketRepository;
+        this.tagsRepository = tagsRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    static boolean localDatabaseEnabled() {
+        return Boolean.getBoolean("docker") || "true".equals(System.getenv("SUPPORTBOT_USE_LOCAL_DB"));
+    }
+
+    @BeforeEach
+    void setUp() {
+        tagsRepository.insertOrActivate(ImmutableList.of(new Tag("Networking", tagCode)));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        String ticketIds = "SELECT t.id FROM ticket t JOIN query q ON q.id = t.query_id WHERE q.channel_id = ?";
+        String escalationIds = "SELECT id FROM escalation WHERE ticket_id IN (" + ticketIds + ")";
+        jdbcTemplate.update("DELETE FROM escalation_log WHERE escalation_id IN (" + escalationIds + ")", channelId);
+        jdbcTemplate.update("DELETE FROM escalation_to_tag WHERE escalation_id IN (" + escalationIds + ")", channelId);
+        jdbcTemplate.update("DELETE FROM escalation WHERE ticket_id IN (" + ticketIds + ")", channelId);
+        jdbcTemplate.update("DELETE FROM ticket_log WHERE ticket_id IN (" + ticketIds + ")", channelId);
+        jdbcTemplate.update("DELETE FROM ticket_to_tag WHERE ticket_id IN (" + ticketIds + ")", channelId);
+        jdbcTemplate.update("DELETE FROM ticket WHERE id IN (" + ticketIds + ")", channelId);
+        jdbcTemplate.update("DELETE FROM query WHERE channel_id = ?", channelId);
+        jdbcTemplate.update("DELETE FROM tag WHERE code = ?", tagCode);
+    }
+
+    @Test
+    void cursorPagesMatchOffsetPages() {
+        List<TicketId> ticketIds = new ArrayList<>();
+        List<EscalationId> created = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            MessageRef queryRef = new MessageRef(MessageTs.of("1700000000.00000" + i), channelId);
+            Ticket ticket = ticketRepository.createTicketIfNotExists(Ticket.createNew(queryRef.ts(), channelId));
+            TicketId ticketId = requireNonNull(ticket.id());
+            Escalation escalation = requireNonNull(repository.createIfNotExists(Escalation.createNew(
+                    ticketId, "wow", ImmutableList.of(tagCode), queryRef, EscalationSource.manual)));
+            ticketIds.add(ticketId);
+            created.add(requireNonNull(escalation.id()));
+        }
+
+        EscalationQuery first = EscalationQuery.builder()
+                .ticketIds(ImmutableList.copyOf(ticketIds))
+                .pageSize(2)
+                .build();
+        List<EscalationId> walked = new ArrayList<>();
+        Page<Escalation> page = repository.findByQuery(first);
+        for (long p = 0; ; p++) {
+            assertThat(ids(page))
+                    .as("page %d", p)
+                    .isEqualTo(ids(repository.findByQuery(first.toBuilder().page(p).build())));
+            walked.addAll(ids(page));
+            String cursor = page.nextCursor();
+            if (cursor == null) {
+                break;
+            }
+            page = repository.findByQuery(first.toBuilder()
+                    .page(p + 1)
+                    .after(new EscalationId(Long.parseLong(cursor)))
+                    .build());
+        }
+
+        assertThat(walked).isEqualTo(created.reversed());
+    }
+
+    private static List<EscalationId> ids(Page<Escalation> page) {
+        return page.content().stream().map(e -> requireNonNull(e.id())).toList();
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @EnableTransactionManagement
+    static class TestConfig {
+        @Bean
+        DataSource dataSource() {
+            String url = System.getProperty("supportbot.localDb.url", "jdbc:postgresql://localhost:5432/postgres");
+            String username = System.getProperty("supportbot.localDb.user", "postgres");
+            String password = System.getProperty("supportbot.localDb.password", "postgres");
+            return new DriverManagerDataSource(url, username, password);
+        }
+
+        @Bean
+        JdbcTemplate jdbcTemplate(DataSource dataSource) {
+            return new JdbcTemplate(dataSource);
+        }
+
+        @Bean
+        DSLContext dslContext(DataSource dataSource) {
+            return DSL.using(new TransactionAwareDataSourceProxy(dataSource), SQLDialect.POSTGRES);
+        }
+
+        @Bean
+        BusinessCalendar businessCalendar() {
+            return new BusinessCalendar(new BusinessHoursProps(
+                    ZoneId.of("Europe/London"),
+                    LocalTime.of(9, 0),
+                    LocalTime.of(17, 0),
+                    EnumSet.range(DayOfWeek.MONDAY, DayOfWeek.FRIDAY),
+                    Set.of()));
+        }
+
+        @Bean
+        FactsRepository factsRepository(DSLContext dslContext, BusinessCalendar businessCalendar) {
+            return new JdbcFactsRepository(dslContext, businessCalendar);
+        }
+
+        @Bean
+        TicketRepository ticketRepository(DSLContext dslContext, FactsRepository factsRepository) {
+            CacheConfig cacheConfig = new CacheConfig();
+            return new JdbcTicketRepository(
+                    dslContext,
+                    new AssigneeCrypto(
+                            new TicketAssignmentProps(false, new TicketAssignmentProps.Encryption(false, null))),
+                    cacheConfig.ticketByQueryCache(),
+                    cacheConfig.noTicketByQueryCache(),
+                    cacheConfig.ticketCountCache(),
+                    factsRepository);
+        }
+
+        @Bean
+        EscalationRepository escalationRepository(DSLContext dslContext, FactsRepository factsRepository) {
+            return new JdbcEscalationRepository(
+                    dslContext, factsRepository, new CacheConfig().escalationCountCache());
+        }
+
+        @Bean
+        TagsRepository tagsRepository(DSLContext dslContext, FactsRepository factsRepository) {
+            return new TagsRepository(dslContext, factsRepository);
+        }
+
+        @Bean
+        PlatformTransactionManager transactionManager(DataSource dataSource) {
+            return new DataSourceTransactionManager(dataSource);
+        }
+    }
+}
@@ -68,7 +68,8 @@ class EscalationControllerTest {
                 LocalDate.now(ZoneId.systemDefault()).minusDays(1),
                 LocalDate.now(ZoneId.systemDefault()),
                 EscalationStatus.opened,
-                "TeamA");
+                "TeamA",
+                null);
 
         // then
         assertThat(result.content()).hasSize(1);
@@ -89,7 +90,7 @@ class EscalationControllerTest {
         when(ticketQueryService.findByQuery(any())).thenReturn(new Page<>(ImmutableList.of(), 0, 1, 0));
 
         // when
-        Page<EscalationUI> result = controller.list(0L, 10L, List.of(), null, null, null, null, null);
+        Page<EscalationUI> result = controller.list(0L, 10L, List.of(), null, null, null, null, null, null);
 
         // then
         assertThat(result.content()).isEmpty();
@@ -115,7 +116,8 @@ class EscalationControllerTest {
                 LocalDate.of(2024, 1, 1),
                 LocalDate.of(2024, 12, 31),
                 EscalationStatus.resolved,
-                "Ops");
+                "Ops",
+                null);
 
         // then
         ArgumentCaptor<EscalationQuery> captor = ArgumentCaptor.forClass(EscalationQuery.class);
@@ -0,0 +1,81 @@
+package com.coreeng.supportbot.facts;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.coreeng.supportbot.config.BusinessHoursProps;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.EnumSet;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class BusinessCalendarTest {
+    private static final ZoneId LONDON = ZoneId.of("Europe/London");
+
+    private final BusinessCalendar calendar = new BusinessCalendar(new BusinessHoursProps(
+            LONDON,
+            LocalTime.of(9, 0),
+            LocalTime.of(17, 0),
+            EnumSet.range(DayOfWeek.MONDAY, DayOfWeek.FRIDAY),
+            Set.of(LocalDate.of(2025, 12, 25))));
+
+    @Test
+    void countsOnlyTimeWithinWorkingHours() {
+        // Monday 08:00 to Monday 10:30
+        Duration duration = calendar.businessTimeBetween(at("2025-06-02T08:00"), at("2025-06-02T10:30"));
+
+        assertThat(duration).isEqualTo(Duration.ofMinutes(90));
+    }
+
+    @Test
+    void skipsWeekendsAcrossDays() {
+        // Friday 16:00 to Monday 10:00
+        Duration duration = calendar.businessTimeBetween(at("2025-06-06T16:00"), at("2025-06-09T10:00"));
+
+        assertThat(duration).isEqualTo(Duration.ofHours(2));
+    }
+
+    @Test
+    void skipsHolidays() {
+        // Wednesday 24th to Friday 26th December, the 25th being a holiday
+        Duration duration = calendar.businessTimeBetween(at("2025-12-24T09:00"), at("2025-12-26T17:00"));
+
+        assertThat(duration).isEqualTo(Duration.ofHours(16));
+    }
+
+    @Test
+    void isSymmetric() {
+        Instant from = at("2025-06-02T11:00");
+        Instant to = at("2025-06-03T12:00");
+
+        assertThat(calendar.businessTimeBetween(to, from))
+                .isEqualTo(calendar.businessTimeBetween(from, to))
+                .isEqualTo(Duration.ofHours(7));
+    }
+
+    @Test
+    void outsideWorkingHoursIsZero() {
+        // Saturday
+        Duration duration = calendar.businessTimeBetween(at("2025-06-07T10:00"), at("2025-06-07T15:00"));
+
+        assertThat(duration).isZero();
+    }
+
+    @Test
+    void workingDayKeepsItsLengthOnDaylightSavingChange() {
+        // Monday 31st March 2025 follows the switch to BST; the span covers the whole of it
+        Duration duration = calendar.businessTimeBetween(at("2025-03-30T12:00"), at("2025-03-31T18:00"));
+
+        assertThat(duration).isEqualTo(Duration.ofHours(8));
+    }
+
+    private static Instant at(String localDateTime) {
+        return ZonedDateTime.of(LocalDateTime.parse(localDateTime), LONDON).toInstant();
+    }
+}
@@ -0,0 +1,300 @@
+package com.coreeng.supportbot.facts;
+
+import static java.util.Objects.requireNonNull;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.coreeng.supportbot.config.BusinessHoursProps;
+import com.coreeng.supportbot.config.CacheConfig;
+import com.coreeng.supportbot.config.TicketAssignmentProps;
+import com.coreeng.supportbot.enums.Tag;
+import com.coreeng.supportbot.enums.TagsRepository;
+import com.coreeng.supportbot.escalation.Escalation;
+import com.coreeng.supportbot.escalation.EscalationId;
+import com.coreeng.supportbot.escalation.EscalationRepository;
+import com.coreeng.supportbot.escalation.EscalationSource;
+import com.coreeng.supportbot.escalation.JdbcEscalationRepository;
+import com.coreeng.supportbot.slack.MessageRef;
+import com.coreeng.supportbot.slack.MessageTs;
+import com.coreeng.supportbot.ticket.AssigneeCrypto;
+import com.coreeng.supportbot.ticket.JdbcTicketRepository;
+import com.coreeng.supportbot.ticket.Ticket;
+import com.coreeng.supportbot.ticket.TicketId;
+import com.coreeng.supportbot.ticket.TicketRepository;
+import com.coreeng.supportbot.ticket.TicketStatus;
+import com.google.common.collect.ImmutableList;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.jooq.DSLContext;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.TransactionAwareDataSourceProxy;
+import org.springframework.test.context.TestConstructor;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+
+@SpringJUnitConfig(JdbcFactsRepositoryPostgresTest.TestConfig.class)
+@TestConstructor(autowireMode = TestConstructor.AutowireMode.ALL)
+@EnabledIf("localDatabaseEnabled")
+class JdbcFactsRepositoryPostgresTest {
+    private final FactsRepository factsRepository;
+    private final TicketRepository ticketRepository;
+    private final EscalationRepository escalationRepository;
+    private final TagsRepository tagsRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final String channelId = "C-" + UUID.randomUUID();
+    private final String tagCode = "tag-" + UUID.randomUUID();
+
+    JdbcFactsRepositoryPostgresTest(
+            FactsRepository factsRepository,
+            TicketRepository ticketRepository,
+            EscalationRepository escalationRepository,
+            TagsRepository tagsRepository,
+            JdbcTemplate jdbcTemplate) {
+        this.factsRepository = factsRepository;
+        this.ticketRepository = ticketRepository;
+        this.escalationRepository = escalationRepository;
+        this.tagsRepository = tagsRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    static boolean localDatabaseEnabled() {
+        return Boolean.getBoolean("docker") || "true".equals(System.getenv("SUPPORTBOT_USE_LOCAL_DB"));
+    }
+
+    @BeforeEach
+    void setUp() {
+        tagsRepository.insertOrActivate(ImmutableList.of(new Tag("Networking", tagCode)));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        String ticketIds = "SELECT t.id FROM ticket t JOIN query q ON q.id = t.query_id WHERE q.channel_id = ?";
+        String escalationIds = "SELECT id FROM escalation WHERE ticket_id IN (" + ticketIds + ")";
+        jdbcTemplate.update("DELETE FROM escalation_log WHERE escalation_id IN (" + escalationIds + ")", channelId);
+        jdbcTemplate.update("DELETE FROM escalation_to_tag WHERE escalation_id IN (" + escalationIds + ")", channelId);
+        jdbcTemplate.update("DELETE FROM escalation WHERE ticket_id IN (" + ticketIds + ")", channelId);
+        jdbcTemplate.update("DELETE FROM ticket_log WHERE ticket_id IN (" + ticketIds + ")", channelId);
+        jdbcTemplate.update("DELETE FROM ticket_to_tag WHERE ticket_id IN (" + ticketIds + ")", channelId);
+        jdbcTemplate.update("DELETE FROM ticket WHERE id IN (" + ticketIds + ")", channelId);
+        jdbcTemplate.update("DELETE FROM query WHERE channel_id = ?", channelId);
+        jdbcTemplate.update("DELETE FROM tag WHERE code = ?", tagCode);
+    }
+
+    @Test
+    void queryWithoutTicketHasFactRow() {
+        MessageRef queryRef = queryRef("1700000000.000100");
+        ticketRepository.createQueryIfNotExists(queryRef);
+
+        Map<String, Object> facts = ticketFacts(queryRef);
+        assertThat(facts.get("ticket_id")).isNull();
+        assertThat(facts.get("query_posted_ts")).isNotNull();
+
+        assertThat(ticketRepository.deleteQueryIfNoTicket(queryRef)).isTrue();
+        assertThat(countTicketFacts(queryRef)).isZero();
+    }
+
+    @Test
+    void statusLogAndTagWritesRefreshTicketFacts() {
+        MessageRef queryRef = queryRef("1700000000.000200");
+        Ticket ticket = ticketRepository.createTicketIfNotExists(Ticket.createNew(queryRef.ts(), channelId));
+        Instant openedAt = ticket.statusLog().getFirst().date().truncatedTo(ChronoUnit.MICROS);
+
+        Map<String, Object> opened = ticketFacts(queryRef);
+        assertThat(opened.get("ticket_id"))
+                .isEqualTo(requireNonNull(ticket.id()).id());
+        assertThat(opened.get("status")).hasToString("opened");
+        assertThat(((Timestamp) opened.get("first_open_ts")).toInstant()).isEqualTo(openedAt);
+        assertThat(opened.get("last_closed_ts")).isNull();
+
+        Instant closedAt = openedAt.plus(1, ChronoUnit.HOURS);
+        Ticket closed = ticketRepository.insertStatusLog(
+                ticket.toBuilder().status(TicketStatus.closed).build(), closedAt);
+        ticketRepository.updateTicket(
+                closed.toBuilder().tags(ImmutableList.of(tagCode)).build());
+
+        Map<String, Object> updated = ticketFacts(queryRef);
+        assertThat(updated.get("status")).hasToString("closed");
+        assertThat(((Timestamp) updated.get("last_closed_ts")).toInstant()).isEqualTo(closedAt);
+        assertThat(updated.get("resolution_business_seconds")).isNotNull();
+        assertThat(jdbcTemplate.queryForObject(
+                        "SELECT tags[1] FROM ticket_facts WHERE ticket_id = ?",
+                        String.class,
+                        ticket.id().id()))
+                .isEqualTo("Networking");
+    }
+
+    @Test
+    void escalationWritesAndTagRelabelRefreshEscalationFacts() {
+        MessageRef queryRef = queryRef("1700000000.000300");
+        Ticket ticket = ticketRepository.createTicketIfNotExists(Ticket.createNew(queryRef.ts(), channelId));
+        Escalation escalation = requireNonNull(escalationRepository.createIfNotExists(Escalation.createNew(
+                requireNonNull(ticket.id()), "wow", ImmutableList.of(tagCode), queryRef, EscalationSource.manual)));
+        EscalationId escalationId = requireNonNull(escalation.id());
+
+        assertThat(escalationFacts(escalationId).get("resolved_ts")).isNull();
+
+        Instant resolvedAt =
+                escalation.openedAt().truncatedTo(ChronoUnit.MICROS).plus(1, ChronoUnit.HOURS);
+        escalationRepository.markResolved(escalation, resolvedAt);
+        tagsRepository.insertOrActivate(ImmutableList.of(new Tag("Ingress & Networking", tagCode)));
+
+        Map<String, Object> resolved = escalationFacts(escalationId);
+        assertThat(resolved.get("status")).hasToString("resolved");
+        assertThat(((Timestamp) resolved.get("resolved_ts")).toInstant()).isEqualTo(resolvedAt);
+        assertThat(resolved.get("resolution_business_seconds")).isNotNull();
+        assertThat(jdbcTemplate.queryForObject(
+                        "SELECT tags[1] FROM escalation_facts WHERE escalation_id = ?",
+                        String.class,
+                        escalationId.id()))
+                .isEqualTo("Ingress & Networking");
+    }
+
+    @Test
+    void findsAndRepairsFactsChangedBehindTheRepositories() {
+        MessageRef queryRef = queryRef("1700000000.000400");
+        Ticket ticket = ticketRepository.createTicketIfNotExists(Ticket.createNew(queryRef.ts(), channelId));
+        TicketId ticketId = requireNonNull(ticket.id());
+        long queryId = queryId(queryRef);
+
+        jdbcTemplate.update(
+                "INSERT INTO ticket_log (ticket_id, event, date) VALUES (?, 'stale', now())", ticketId.id());
+
+        FactsInconsistencies inconsistencies = factsRepository.findInconsistencies();
+        assertThat(inconsistencies.queryIds()).contains(queryId);
+
+        factsRepository.repair(inconsistencies);
+
+        assertThat(factsRepository.findInconsistencies().queryIds()).doesNotContain(queryId);
+        assertThat(ticketFacts(queryRef).get("last_stale_ts")).isNotNull();
+    }
+
+    @Test
+    void rebuildRestoresDeletedFacts() {
+        MessageRef queryRef = queryRef("1700000000.000500");
+        ticketRepository.createTicketIfNotExists(Ticket.createNew(queryRef.ts(), channelId));
+        jdbcTemplate.update("DELETE FROM ticket_facts WHERE query_id = ?", queryId(queryRef));
+
+        FactsRebuildResult result = factsRepository.rebuild();
+
+        assertThat(result.ticketFacts()).isPositive();
+        assertThat(countTicketFacts(queryRef)).isEqualTo(1);
+    }
+
+    private Map<String, Object> ticketFacts(MessageRef queryRef) {
+        return jdbcTemplate.queryForMap(
+                "SELECT * FROM ticket_facts WHERE query_msg_ts = ? AND query_channel_id = ?",
+                queryRef.ts().ts(),
+                queryRef.channelId());
+    }
+
+    private Map<String, Object> escalationFacts(EscalationId escalationId) {
+        return jdbcTemplate.queryForMap("SELECT * FROM escalation_facts WHERE escalation_id = ?", escalationId.id());
+    }
+
+    private int countTicketFacts(MessageRef queryRef) {
+        List<Integer> rows = jdbcTemplate.queryForList(
+                "SELECT 1 FROM ticket_facts WHERE query_msg_ts = ? AND query_channel_id = ?",
+                Integer.class,
+                queryRef.ts().ts(),
+                queryRef.channelId());
+        return rows.size();
+    }
+
+    private long queryId(MessageRef queryRef) {
+        return requireNonNull(jdbcTemplate.queryForObject(
+                "SELECT id FROM query WHERE ts = ? AND channel_id = ?",
+                Long.class,
+                queryRef.ts().ts(),
+                queryRef.channelId()));
+    }
+
+    private MessageRef queryRef(String ts) {
+        return new MessageRef(MessageTs.of(ts), channelId);
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @EnableTransactionManagement
+    static class TestConfig {
+        @Bean
+        DataSource dataSource() {
+            String url = System.getProperty("supportbot.localDb.url", "jdbc:postgresql://localhost:5432/postgres");
+            String username = System.getProperty("supportbot.localDb.user", "postgres");
+            String password = System.getProperty("supportbot.localDb.password", "postgres");
+            return new DriverManagerDataSource(url, username, password);
+        }
+
+        @Bean
+        JdbcTemplate jdbcTemplate(DataSource dataSource) {
+            return new JdbcTemplate(dataSource);
+        }
+
+        @Bean
+        DSLContext dslContext(DataSource dataSource) {
+            return DSL.using(new TransactionAwareDataSourceProxy(dataSource), SQLDialect.POSTGRES);
+        }
+
+        @Bean
+        BusinessCalendar businessCalendar() {
+            return new BusinessCalendar(new BusinessHoursProps(
+                    ZoneId.of("Europe/London"),
+                    LocalTime.of(9, 0),
+                    LocalTime.of(17, 0),
+                    EnumSet.range(DayOfWeek.MONDAY, DayOfWeek.FRIDAY),
+                    Set.of()));
+        }
+
+        @Bean
+        FactsRepository factsRepository(DSLContext dslContext, BusinessCalendar businessCalendar) {
+            return new JdbcFactsRepository(dslContext, businessCalendar);
+        }
+
+        @Bean
+        TicketRepository ticketRepository(DSLContext dslContext, FactsRepository factsRepository) {
+            CacheConfig cacheConfig = new CacheConfig();
+            return new JdbcTicketRepository(
+                    dslContext,
+                    new AssigneeCrypto(
+                            new TicketAssignmentProps(false, new TicketAssignmentProps.Encryption(false, null))),
+                    cacheConfig.ticketByQueryCache(),
+                    cacheConfig.noTicketByQueryCache(),
+                    cacheConfig.ticketCountCache(),
+                    factsRepository);
+        }
+
+        @Bean
+        EscalationRepository escalationRepository(DSLContext dslContext, FactsRepository factsRepository) {
+            return new JdbcEscalationRepository(
+                    dslContext, factsRepository, new CacheConfig().escalationCountCache());
+        }
+
+        @Bean
+        TagsRepository tagsRepository(DSLContext dslContext, FactsRepository factsRepository) {
+            return new TagsRepository(dslContext, factsRepository);
+        }
+
+        @Bean
+        PlatformTransactionManager transactionManager(DataSource dataSource) {
+            return new DataSourceTransactionManager(dataSource);
+        }
+    }
+}
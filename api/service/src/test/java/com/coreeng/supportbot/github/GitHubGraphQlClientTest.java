@@ -9,6 +9,10 @@ import static org.springframework.test.web.client.response.MockRestResponseCreat
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.ImmutableList;
 import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpMethod;
@@ -143,6 +147,102 @@ class GitHubGraphQlClientTest {
         server.verify();
     }
 
+    @Test
+    void fetchesPullRequestsOfSeveralRepositoriesInOneQuery() {
+        server.expect(requestTo(GRAPHQL_URL))
+                .andExpect(method(HttpMethod.POST))
+                .andRespond(withSuccess("""
+                        {"data":{
+                          "repo0":{
+                            "pr1":{"number":1,"state":"OPEN","isDraft":false,"createdAt":"2026-01-01T10:00:00Z",
+                              "mergeable":"MERGEABLE","author":{"login":"dev"},"reviewDecision":"REVIEW_REQUIRED",
+                              "reviews":{"pageInfo":{"hasNextPage":false},"nodes":[
+                                {"state":"APPROVED","submittedAt":"2026-01-02T10:00:00Z","author":{"login":"alice"}},
+                                {"state":"PENDING","submittedAt":null,"author":{"login":"bob"}}
+                              ]},
+                              "reviewRequests":{"pageInfo":{"hasNextPage":false},"nodes":[
+                                {"asCodeOwner":true,"requestedReviewer":{"combinedSlug":"my-org/platform","url":null}}
+                              ]},
+                              "requestedTeams":{"nodes":[
+                                {"requestedReviewer":{"members":{"pageInfo":{"hasNextPage":false},
+                                  "nodes":[{"login":"carol"},{"login":"dave"}]}}}
+                              ]}},
+                            "pr2":{"number":2,"state":"MERGED","isDraft":false,"createdAt":"2026-01-01T10:00:00Z",
+                              "mergeable":"UNKNOWN","author":{"login":"dev"},"reviewDecision":null,
+                              "reviews":{"pageInfo":{"hasNextPage":false},"nodes":[]},
+                              "reviewRequests":{"pageInfo":{"hasNextPage":false},"nodes":[]}}
+                          },
+                          "repo1":{
+                            "pr7":{"number":7,"state":"OPEN","isDraft":true,"createdAt":"2026-01-03T10:00:00Z",
+                              "mergeable":"CONFLICTING","author":null,"reviewDecision":null,
+                              "reviews":{"pageInfo":{"hasNextPage":false},"nodes":[]},
+                              "reviewRequests":{"pageInfo":{"hasNextPage":false},"nodes":[]}}
+                          }
+                        }}""", MediaType.APPLICATION_JSON));
+        GitHubGraphQlClient.PullRequestRef first = new GitHubGraphQlClient.PullRequestRef("my-org/repo", 1);
+        GitHubGraphQlClient.PullRequestRef merged = new GitHubGraphQlClient.PullRequestRef("my-org/repo", 2);
+        GitHubGraphQlClient.PullRequestRef draft = new GitHubGraphQlClient.PullRequestRef("my-org/other", 7);
+
+        Map<GitHubGraphQlClient.PullRequestRef, GitHubPullRequest> prs =
+                client.fetchPullRequests(List.of(first, merged, draft), Set.of("my-org/repo"));
+
+        server.verify();
+        assertThat(prs).containsOnlyKeys(first, merged, draft);
+        GitHubPullRequest open = prs.get(first);
+        assertThat(open.state()).isEqualTo(GitHubPullRequest.PrState.OPEN);
+        assertThat(open.mergeable()).isTrue();
+        assertThat(open.authorLogin()).isEqualTo("dev");
+        assertThat(open.reviewDecision()).isEqualTo(GitHubPullRequest.ReviewDecision.REVIEW_REQUIRED);
+        // Pending reviews are left out, as on the REST path
+        assertThat(open.reviews())
+                .containsExactly(new GitHubPullRequestReview(
+                        "alice", GitHubPullRequestReview.ReviewState.APPROVED, Instant.parse("2026-01-02T10:00:00Z")));
+        assertThat(open.requestedTeamReviewerLogins()).containsExactly("carol", "dave");
+        assertThat(open.codeOwnerReviewers()).containsExactly(new CodeOwnerReviewer(true, "my-org/platform", null));
+        assertThat(prs.get(merged).state()).isEqualTo(GitHubPullRequest.PrState.MERGED);
+        assertThat(prs.get(merged).mergeable()).isNull();
+        assertThat(prs.get(draft).isDraft()).isTrue();
+        assertThat(prs.get(draft).mergeable()).isFalse();
+        assertThat(prs.get(draft).requestedTeamReviewerLogins()).isEmpty();
+    }
+
+    @Test
+    void batchLeavesOutPullRequestsItCouldNotReadCompletely() {
+        server.expect(requestTo(GRAPHQL_URL)).andRespond(withSuccess("""
+                        {"data":{"repo0":{
+                          "pr1":null,
+                          "pr2":{"number":2,"state":"OPEN","isDraft":false,"createdAt":"2026-01-01T10:00:00Z",
+                            "mergeable":"MERGEABLE","author":{"login":"dev"},"reviewDecision":null,
+                            "reviews":{"pageInfo":{"hasNextPage":true},"nodes":[]},
+                            "reviewRequests":{"pageInfo":{"hasNextPage":false},"nodes":[]}},
+                          "pr3":{"number":3,"state":"OPEN","isDraft":false,"createdAt":"2026-01-01T10:00:00Z",
+                            "mergeable":"MERGEABLE","author":{"login":"dev"},"reviewDecision":null,
+                            "reviews":{"pageInfo":{"hasNextPage":false},"nodes":[]},
+                            "reviewRequests":{"pageInfo":{"hasNextPage":false},"nodes":[]}}
+                        }},
+                         "errors":[{"message":"Could not resolve to a PullRequest","path":["repo0","pr1"]}]}""",
+                MediaType.APPLICATION_JSON));
+
+        Map<GitHubGraphQlClient.PullRequestRef, GitHubPullRequest> prs = client.fetchPullRequests(
+                List.of(
+                        new GitHubGraphQlClient.PullRequestRef("my-org/repo", 1),
+                        new GitHubGraphQlClient.PullRequestRef("my-org/repo", 2),
+                        new GitHubGraphQlClient.PullRequestRef("my-org/repo", 3)),
+                Set.of());
+
+        // #1 errored and #2 has more reviews than one page; #3 is complete
+        assertThat(prs).containsOnlyKeys(new GitHubGraphQlClient.PullRequestRef("my-org/repo", 3));
+    }
+
+    @Test
+    void failedBatchReturnsNothing() {
+        server.expect(requestTo(GRAPHQL_URL)).andRespond(withServerError());
+
+        assertThat(client.fetchPullRequests(
+                        List.of(new GitHubGraphQlClient.PullRequestRef("my-org/repo", 1)), Set.of()))
+                .isEmpty();
+    }
+
     @Test
     void derivesGraphqlEndpointForDotComAndEnterprise() {
         assertThat(GitHubGraphQlClient.graphqlEndpoint("https://api.github.com"))
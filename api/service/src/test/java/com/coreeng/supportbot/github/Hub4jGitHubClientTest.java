@@ -13,7 +13,9 @@ import java.io.UncheckedIOException;
 import java.lang.reflect.Method;
 import java.time.Instant;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import org.jspecify.annotations.Nullable;
 import org.junit.jupiter.api.Test;
 import org.kohsuke.github.GHContent;
@@ -54,6 +56,9 @@ class Hub4jGitHubClientTest {
 
     private final GitHub gitHub = mock(GitHub.class);
     private final Hub4jGitHubClient client = new Hub4jGitHubClient(gitHub);
+    // Requested teams' members by slug; a team missing here couldn't be listed
+    private final Map<String, List<String>> teamMembers = new HashMap<>();
+    private final RequestedTeamMembers requestedTeamMembers = (repositoryName, teamSlug) -> teamMembers.get(teamSlug);
 
     @Test
     void returnsPullRequestOnHappyPath() throws IOException {
@@ -65,7 +70,7 @@ class Hub4jGitHubClientTest {
         stubReviews(pr, List.of());
 
         // when
-        GitHubPullRequest result = client.getPullRequest("my-org/my-repo", 42);
+        GitHubPullRequest result = client.getPullRequest("my-org/my-repo", 42, requestedTeamMembers);
 
         // then
         assertThat(result.repositoryName()).isEqualTo("my-org/my-repo");
@@ -76,6 +81,23 @@ class Hub4jGitHubClientTest {
         assertThat(result.mergeableState()).isEqualTo("clean");
     }
 
+    @Test
+    void returnsPullRequestVersionWithoutReadingReviewsOrTeams() throws IOException {
+        // given
+        TestPullRequest pr = stubPullRequest("my-org/my-repo", 42, instant("2026-01-01T00:00:00Z"), GHIssueState.OPEN);
+        pr.testUpdatedAt = instant("2026-01-02T00:00:00Z");
+        pr.testMergeable = true;
+
+        // when
+        GitHubPullRequestVersion result = client.getPullRequestVersion("my-org/my-repo", 42);
+
+        // then
+        assertThat(result.updatedAt()).isEqualTo(instant("2026-01-02T00:00:00Z"));
+        assertThat(result.mergeable()).isTrue();
+        assertThat(pr.requestedTeamsAccessCount).isZero();
+        assertThat(pr.listReviewsAccessCount).isZero();
+    }
+
     @Test
     void capturesAuthorLoginFromPullRequest() throws IOException {
         // given
@@ -87,7 +109,7 @@ class Hub4jGitHubClientTest {
         stubReviews(pr, List.of());
 
         // when
-        GitHubPullRequest result = client.getPullRequest("my-org/my-repo", 42);
+        GitHubPullRequest result = client.getPullRequest("my-org/my-repo", 42, requestedTeamMembers);
 
         // then
         assertThat(result.authorLogin()).isEqualTo("octocat");
@@ -103,7 +125,7 @@ class Hub4jGitHubClientTest {
         pr.testMergeableState = "clean";
 
         // when
-        GitHubPullRequest result = client.getPullRequest("my-org/my-repo", 42);
+        GitHubPullRequest result = client.getPullRequest("my-org/my-repo", 42, requestedTeamMembers);
 
         // then
         assertThat(result.state()).isEqualTo(GitHubPullRequest.PrState.MERGED);
@@ -121,7 +143,7 @@ class Hub4jGitHubClientTest {
         stubReviews(pr, List.of());
 
         // when
-        GitHubPullRequest result = client.getPullRequest("my-org/my-repo", 42);
+        GitHubPullRequest result = client.getPullRequest("my-org/my-repo", 42, requestedTeamMembers);
 
         // then
         assertThat(result.mergeable()).isNull();
@@ -134,7 +156,7 @@ class Hub4jGitHubClientTest {
         stubPullRequest("my-org/my-repo", 42, null, GHIssueState.OPEN);
 
         // when / then
-        assertThatThrownBy(() -> client.getPullRequest("my-org/my-repo", 42))
+        assertThatThrownBy(() -> client.getPullRequest("my-org/my-repo", 42, requestedTeamMembers))
                 .isInstanceOf(GitHubApiException.class)
                 .satisfies(
                         ex -> assertThat(((GitHubApiException) ex).statusCode()).isEqualTo(0))
@@ -148,7 +170,7 @@ class Hub4jGitHubClientTest {
         pr.returnNullIssueState = true;
 
         // when / then
-        assertThatThrownBy(() -> client.getPullRequest("my-org/my-repo", 42))
+        assertThatThrownBy(() -> client.getPullRequest("my-org/my-repo", 42, requestedTeamMembers))
                 .isInstanceOf(GitHubApiException.class)
                 .satisfies(
                         ex -> assertThat(((GitHubApiException) ex).statusCode()).isEqualTo(0))
@@ -161,7 +183,7 @@ class Hub4jGitHubClientTest {
         when(gitHub.getRepository("my-org/my-repo")).thenThrow(new GHFileNotFoundException("Not Found"));
 
         // when / then
-        assertThatThrownBy(() -> client.getPullRequest("my-org/my-repo", 999))
+        assertThatThrownBy(() -> client.getPullRequest("my-org/my-repo", 999, requestedTeamMembers))
                 .isInstanceOf(GitHubApiException.class)
                 .satisfies(
                         ex -> assertThat(((GitHubApiException) ex).statusCode()).isEqualTo(404))
@@ -175,7 +197,7 @@ class Hub4jGitHubClientTest {
                 .thenThrow(new HttpException(401, "Unauthorized", (String) null, null));
 
         // when / then
-        assertThatThrownBy(() -> client.getPullRequest("my-org/my-repo", 1))
+        assertThatThrownBy(() -> client.getPullRequest("my-org/my-repo", 1, requestedTeamMembers))
                 .isInstanceOf(GitHubApiException.class)
                 .satisfies(
                         ex -> assertThat(((GitHubApiException) ex).statusCode()).isEqualTo(401))
@@ -188,7 +210,7 @@ class Hub4jGitHubClientTest {
         when(gitHub.getRepository("my-org/my-repo")).thenThrow(new IOException("Connection refused"));
 
         // when / then
-        assertThatThrownBy(() -> client.getPullRequest("my-org/my-repo", 1))
+        assertThatThrownBy(() -> client.getPullRequest("my-org/my-repo", 1, requestedTeamMembers))
                 .isInstanceOf(GitHubApiException.class)
                 .satisfies(
                         ex -> assertThat(((GitHubApiException) ex).statusCode()).isEqualTo(0))
@@ -338,7 +360,7 @@ class Hub4jGitHubClientTest {
         stubReviews(pr, List.of(approvedReview, pendingReview));
 
         // when
-        GitHubPullRequest result = client.getPullRequest("my-org/my-repo", 42);
+        GitHubPullRequest result = client.getPullRequest("my-org/my-repo", 42, requestedTeamMembers);
 
         // then
         assertThat(result.reviews()).hasSize(1);
@@ -354,7 +376,7 @@ class Hub4jGitHubClientTest {
         stubReviews(pr, List.of());
 
         // when
-        GitHubPullRequest result = client.getPullRequest("my-org/my-repo", 42);
+        GitHubPullRequest result = client.getPullRequest("my-org/my-repo", 42, requestedTeamMembers);
 
         // then
         assertThat(result.isDraft()).isTrue();
@@ -367,7 +389,7 @@ class Hub4jGitHubClientTest {
         stubReviews(pr, List.of());
 
         // when
-        GitHubPullRequest result = client.getPullRequest("my-org/my-repo", 42);
+        GitHubPullRequest result = client.getPullRequest("my-org/my-repo", 42, requestedTeamMembers);
 
         // then
         assertThat(result.isDraft()).isFalse();
@@ -380,7 +402,7 @@ class Hub4jGitHubClientTest {
         stubReviews(pr, List.of(review("alice", GHPullRequestReviewState.APPROVED, "2026-01-15T14:30:00Z")));
 
         // when
-        GitHubPullRequest result = client.getPullRequest("my-org/my-repo", 42);
+        GitHubPullRequest result = client.getPullRequest("my-org/my-repo", 42, requestedTeamMembers);
 
         // then
         assertThat(result.reviews()).hasSize(1);
@@ -397,7 +419,7 @@ class Hub4jGitHubClientTest {
         stubReviews(pr, List.of(review("bob", GHPullRequestReviewState.DISMISSED, "2026-01-10T08:00:00Z")));
 
         // when
-        GitHubPullRequest result = client.getPullRequest("my-org/my-repo", 42);
+        GitHubPullRequest result = client.getPullRequest("my-org/my-repo", 42, requestedTeamMembers);
 
         // then
         assertThat(result.reviews()).hasSize(1);
@@ -413,7 +435,7 @@ class Hub4jGitHubClientTest {
         stubReviews(pr, List.of(review("carol", requestChanges, "2026-01-12T09:00:00Z")));
 
         // when
-        GitHubPullRequest result = client.getPullRequest("my-org/my-repo", 42);
+        GitHubPullRequest result = client.getPullRequest("my-org/my-repo", 42, requestedTeamMembers);
 
         // then
         assertThat(result.reviews()).hasSize(1);
@@ -429,7 +451,7 @@ class Hub4jGitHubClientTest {
         pr.testMergeableState = "dirty";
 
         // when
-        GitHubPullRequest result = client.getPullRequest("my-org/my-repo", 42);
+        GitHubPullRequest result = client.getPullRequest("my-org/my-repo", 42, requestedTeamMembers);
 
         // then
         assertThat(pr.requestedTeamsAccessCount).isZero();
@@ -448,7 +470,7 @@ class Hub4jGitHubClientTest {
         pr.testMergeableState = "clean";
 
         // when
-        GitHubPullRequest result = client.getPullRequest("my-org/my-repo", 42);
+        GitHubPullRequest result = client.getPullRequest("my-org/my-repo", 42, requestedTeamMembers);
 
         // then
         assertThat(pr.requestedTeamsAccessCount).isZero();
@@ -464,7 +486,7 @@ class Hub4jGitHubClientTest {
         pr.testRequestedTeamsException = new IOException("teams API failed");
 
         // when / then
-        assertThatThrownBy(() -> client.getPullRequest("my-org/my-repo", 42))
+        assertThatThrownBy(() -> client.getPullRequest("my-org/my-repo", 42, requestedTeamMembers))
                 .isInstanceOf(GitHubApiException.class)
                 .hasMessageContaining("my-org/my-repo#42");
     }
@@ -477,26 +499,11 @@ class Hub4jGitHubClientTest {
         // alone — that would look like a complete, authoritative set while actually excluding the forbidden
         // team's members, wrongly filtering out a real review of theirs downstream in TeamReviewFilter.
         TestPullRequest pr = stubOpenPullRequest("my-org/my-repo", 42);
-
-        GHUser alice = mock(GHUser.class);
-        when(alice.getLogin()).thenReturn("alice");
-        @SuppressWarnings("unchecked")
-        PagedIterable<GHUser> readable = mock(PagedIterable.class);
-        when(readable.toList()).thenReturn(List.of(alice));
-        GHTeam readableTeam = mock(GHTeam.class);
-        when(readableTeam.listMembers()).thenReturn(readable);
-
-        @SuppressWarnings("unchecked")
-        PagedIterable<GHUser> forbidden = mock(PagedIterable.class);
-        when(forbidden.toList()).thenThrow(new IOException("403 Forbidden"));
-        GHTeam forbiddenTeam = mock(GHTeam.class);
-        when(forbiddenTeam.getName()).thenReturn("secret-team");
-        when(forbiddenTeam.listMembers()).thenReturn(forbidden);
-
-        pr.testRequestedTeams = List.of(readableTeam, forbiddenTeam);
+        teamMembers.put("readable-team", List.of("alice"));
+        pr.testRequestedTeams = List.of(team("readable-team"), team("secret-team"));
 
         // when
-        GitHubPullRequest result = client.getPullRequest("my-org/my-repo", 42);
+        GitHubPullRequest result = client.getPullRequest("my-org/my-repo", 42, requestedTeamMembers);
 
         // then — the PR is still returned (fetch doesn't throw), but requestedTeamReviewerLogins is null:
         // "unresolved", not a confident partial list.
@@ -507,27 +514,12 @@ class Hub4jGitHubClientTest {
     void getPullRequestReturnsRequestedTeamLoginsWhenAllTeamsResolve() throws IOException {
         // given — two requested teams, both resolve successfully: the union of their members is authoritative.
         TestPullRequest pr = stubOpenPullRequest("my-org/my-repo", 42);
-
-        GHUser alice = mock(GHUser.class);
-        when(alice.getLogin()).thenReturn("alice");
-        @SuppressWarnings("unchecked")
-        PagedIterable<GHUser> teamAMembers = mock(PagedIterable.class);
-        when(teamAMembers.toList()).thenReturn(List.of(alice));
-        GHTeam teamA = mock(GHTeam.class);
-        when(teamA.listMembers()).thenReturn(teamAMembers);
-
-        GHUser bob = mock(GHUser.class);
-        when(bob.getLogin()).thenReturn("bob");
-        @SuppressWarnings("unchecked")
-        PagedIterable<GHUser> teamBMembers = mock(PagedIterable.class);
-        when(teamBMembers.toList()).thenReturn(List.of(bob));
-        GHTeam teamB = mock(GHTeam.class);
-        when(teamB.listMembers()).thenReturn(teamBMembers);
-
-        pr.testRequestedTeams = List.of(teamA, teamB);
+        teamMembers.put("team-a", List.of("alice"));
+        teamMembers.put("team-b", List.of("bob", "alice"));
+        pr.testRequestedTeams = List.of(team("team-a"), team("team-b"));
 
         // when
-        GitHubPullRequest result = client.getPullRequest("my-org/my-repo", 42);
+        GitHubPullRequest result = client.getPullRequest("my-org/my-repo", 42, requestedTeamMembers);
 
         // then
         assertThat(result.requestedTeamReviewerLogins()).containsExactlyInAnyOrder("alice", "bob");
@@ -539,11 +531,11 @@ class Hub4jGitHubClientTest {
         TestPullRequest pr = stubOpenPullRequest("my-org/my-repo", 42);
         pr.testRequestedTeams = List.of(mock(GHTeam.class));
 
-        // when — includeRequestedTeamMembers = false (e.g. a github-team-slug or requires-codeowners repo)
-        GitHubPullRequest result = client.getPullRequest("my-org/my-repo", 42, false);
+        // when — no requested-team lookup (e.g. a github-team-slug or requires-codeowners repo)
+        GitHubPullRequest result = client.getPullRequest("my-org/my-repo", 42, null);
 
         // then — the requested-team path is skipped entirely: no member logins, and getRequestedTeams()
-        // (which would trigger the org Members:Read listMembers call) is never even consulted.
+        // (whose teams would go to the members lookup) is never even consulted.
         assertThat(result.requestedTeamReviewerLogins()).isEmpty();
         assertThat(pr.requestedTeamsAccessCount).isZero();
     }
@@ -555,7 +547,7 @@ class Hub4jGitHubClientTest {
         pr.testReviewsException = new IOException("Connection refused");
 
         // when / then
-        assertThatThrownBy(() -> client.getPullRequest("my-org/my-repo", 42))
+        assertThatThrownBy(() -> client.getPullRequest("my-org/my-repo", 42, requestedTeamMembers))
                 .isInstanceOf(GitHubApiException.class)
                 .hasMessageContaining("my-org/my-repo");
     }
@@ -573,7 +565,7 @@ class Hub4jGitHubClientTest {
         stubReviews(pr, List.of(review));
 
         // when / then
-        assertThatThrownBy(() -> client.getPullRequest("my-org/my-repo", 42))
+        assertThatThrownBy(() -> client.getPullRequest("my-org/my-repo", 42, requestedTeamMembers))
                 .isInstanceOf(GitHubApiException.class)
                 .hasMessageContaining("null user");
     }
@@ -587,7 +579,7 @@ class Hub4jGitHubClientTest {
         stubReviews(pr, List.of(review));
 
         // when / then
-        assertThatThrownBy(() -> client.getPullRequest("my-org/my-repo", 42))
+        assertThatThrownBy(() -> client.getPullRequest("my-org/my-repo", 42, requestedTeamMembers))
                 .isInstanceOf(GitHubApiException.class)
                 .hasMessageContaining("null submitted_at");
     }
@@ -669,6 +661,8 @@ class Hub4jGitHubClientTest {
 
         @Nullable Instant testCreatedAt;
 
+        @Nullable Instant testUpdatedAt;
+
         @Nullable Instant testMergedAt;
 
         @Nullable Boolean testMergeable;
@@ -692,6 +686,11 @@ class Hub4jGitHubClientTest {
             return testCreatedAt == null ? null : Date.from(testCreatedAt);
         }
 
+        @Override
+        public Date getUpdatedAt() throws IOException {
+            return testUpdatedAt == null ? null : Date.from(testUpdatedAt);
+        }
+
         @Override
         public GHIssueState getState() {
             if (returnNullIssueState) {
@@ -819,6 +818,12 @@ class Hub4jGitHubClientTest {
         return review;
     }
 
+    private static GHTeam team(String slug) {
+        GHTeam team = mock(GHTeam.class);
+        when(team.getSlug()).thenReturn(slug);
+        return team;
+    }
+
     private static Instant instant(String iso) {
         return Instant.parse(iso);
     }
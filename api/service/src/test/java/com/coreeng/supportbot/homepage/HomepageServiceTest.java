@@ -15,7 +15,8 @@ import com.coreeng.supportbot.escalation.EscalationId;
 import com.coreeng.supportbot.escalation.EscalationStatus;
 import com.coreeng.supportbot.slack.MessageTs;
 import com.coreeng.supportbot.slack.SlackId;
-import com.coreeng.supportbot.slack.client.SlackClient;
+import com.coreeng.supportbot.slack.client.SlackGetMessageByTsRequest;
+import com.coreeng.supportbot.slack.permalink.PermalinkService;
 import com.coreeng.supportbot.teams.SupportTeamService;
 import com.coreeng.supportbot.teams.TeamMemberFetcher;
 import com.coreeng.supportbot.ticket.DetailedTicket;
@@ -26,13 +27,14 @@ import com.coreeng.supportbot.ticket.TicketStatus;
 import com.coreeng.supportbot.ticket.TicketTeam;
 import com.coreeng.supportbot.util.Page;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Maps;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
-import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -47,13 +49,12 @@ class HomepageServiceTest {
     private final EscalationStatus escalationStatus = EscalationStatus.opened;
 
     HomepageService homepageService;
-    ExecutorService executorService = Executors.newSingleThreadExecutor();
 
     @Mock
     TicketQueryService ticketQueryService;
 
     @Mock
-    SlackClient slackClient;
+    PermalinkService permalinkService;
 
     @Mock
     ImpactsRegistry impactsRegistry;
@@ -68,8 +69,7 @@ class HomepageServiceTest {
     void setup() {
         homepageService = new HomepageService(
                 ticketQueryService,
-                executorService,
-                slackClient,
+                permalinkService,
                 new SlackChannelRegistry(
                         new SlackTicketsProps(channelId, List.of(), "eyes", "ticket", "tick", "rocket")),
                 impactsRegistry,
@@ -77,11 +77,6 @@ class HomepageServiceTest {
                 assignmentProps);
     }
 
-    @AfterEach
-    void tearDown() {
-        executorService.shutdownNow();
-    }
-
     @Test
     public void shouldReturnExpectedSingleTicketWithEscalation() {
         // given
@@ -99,7 +94,7 @@ class HomepageServiceTest {
         Page<DetailedTicket> ticketPage = new Page<>(buildDetailedTickets(tickets, escalations), 1, 1, 1);
 
         when(ticketQueryService.findDetailedTicketByQuery(any())).thenReturn(ticketPage);
-        when(slackClient.getPermalink(any())).thenReturn("perma.link");
+        stubPermalinks();
         when(impactsRegistry.findImpactByCode(any()))
                 .thenReturn(new TicketImpact("Production Blocking", "productionBlocking"));
 
@@ -119,6 +114,7 @@ class HomepageServiceTest {
         assertThat(requireNonNull(ticketsView.tickets().getFirst()).status()).isEqualTo(TicketStatus.opened);
         assertThat(requireNonNull(ticketsView.tickets().getFirst()).impact())
                 .isEqualTo(new TicketImpact("Production Blocking", "productionBlocking"));
+        assertThat(ticketsView.tickets().getFirst().queryPermalink()).isEqualTo("perma.link");
     }
 
     @Test
@@ -140,7 +136,7 @@ class HomepageServiceTest {
 
         when(ticketQueryService.findDetailedTicketByQuery(any()))
                 .thenReturn(new Page<>(detailedTickets, 1, 1, detailedTickets.size()));
-        when(slackClient.getPermalink(any())).thenReturn("perma.link");
+        stubPermalinks();
         when(impactsRegistry.findImpactByCode(any()))
                 .thenReturn(new TicketImpact("Production Blocking", "productionBlocking"));
 
@@ -187,7 +183,7 @@ class HomepageServiceTest {
 
         when(ticketQueryService.findDetailedTicketByQuery(any()))
                 .thenReturn(new Page<>(detailedTickets, 1, 1, detailedTickets.size()));
-        when(slackClient.getPermalink(any())).thenReturn("perma.link");
+        stubPermalinks();
         when(impactsRegistry.findImpactByCode(any()))
                 .thenReturn(new TicketImpact("Production Blocking", "productionBlocking"));
 
@@ -229,7 +225,7 @@ class HomepageServiceTest {
 
         when(ticketQueryService.findDetailedTicketByQuery(any()))
                 .thenReturn(new Page<>(detailedTickets, 1, 1, detailedTickets.size()));
-        when(slackClient.getPermalink(any())).thenReturn("perma.link");
+        stubPermalinks();
         when(impactsRegistry.findImpactByCode(any()))
                 .thenReturn(new TicketImpact("Production Blocking", "productionBlocking"));
         // assignmentProps.enabled() is not called when tickets have no assignee (assignedTo is null)
@@ -277,7 +273,7 @@ class HomepageServiceTest {
                 new Page<>(buildDetailedTickets(ImmutableList.of(ticket), ImmutableList.of()), 1, 1, 1);
 
         when(ticketQueryService.findDetailedTicketByQuery(any())).thenReturn(ticketPage);
-        when(slackClient.getPermalink(any())).thenReturn("perma.link");
+        stubPermalinks();
         when(impactsRegistry.findImpactByCode(any()))
                 .thenReturn(new TicketImpact("Production Blocking", "productionBlocking"));
         when(assignmentProps.enabled()).thenReturn(true);
@@ -318,7 +314,7 @@ class HomepageServiceTest {
                 new Page<>(buildDetailedTickets(ImmutableList.of(ticket), ImmutableList.of()), 1, 1, 1);
 
         when(ticketQueryService.findDetailedTicketByQuery(any())).thenReturn(ticketPage);
-        when(slackClient.getPermalink(any())).thenReturn("perma.link");
+        stubPermalinks();
         when(impactsRegistry.findImpactByCode(any()))
                 .thenReturn(new TicketImpact("Production Blocking", "productionBlocking"));
         when(assignmentProps.enabled()).thenReturn(false);
@@ -358,7 +354,7 @@ class HomepageServiceTest {
                 new Page<>(buildDetailedTickets(ImmutableList.of(ticket), ImmutableList.of()), 1, 1, 1);
 
         when(ticketQueryService.findDetailedTicketByQuery(any())).thenReturn(ticketPage);
-        when(slackClient.getPermalink(any())).thenReturn("perma.link");
+        stubPermalinks();
         when(impactsRegistry.findImpactByCode(any()))
                 .thenReturn(new TicketImpact("Production Blocking", "productionBlocking"));
         // assignmentProps.enabled() is not called when orphaned is true (returns early)
@@ -401,7 +397,7 @@ class HomepageServiceTest {
                 new Page<>(buildDetailedTickets(ImmutableList.of(ticket), ImmutableList.of()), 1, 1, 1);
 
         when(ticketQueryService.findDetailedTicketByQuery(any())).thenReturn(ticketPage);
-        when(slackClient.getPermalink(any())).thenReturn("perma.link");
+        stubPermalinks();
         when(impactsRegistry.findImpactByCode(any()))
                 .thenReturn(new TicketImpact("Production Blocking", "productionBlocking"));
         when(assignmentProps.enabled()).thenReturn(true);
@@ -441,7 +437,7 @@ class HomepageServiceTest {
                 new Page<>(buildDetailedTickets(ImmutableList.of(ticket), ImmutableList.of()), 1, 1, 1);
 
         when(ticketQueryService.findDetailedTicketByQuery(any())).thenReturn(ticketPage);
-        when(slackClient.getPermalink(any())).thenReturn("perma.link");
+        stubPermalinks();
         when(impactsRegistry.findImpactByCode(any()))
                 .thenReturn(new TicketImpact("Production Blocking", "productionBlocking"));
         // assignmentProps.enabled() is not called when assignedTo is null (returns early)
@@ -455,6 +451,31 @@ class HomepageServiceTest {
         assertThat(ticketsView.tickets().getFirst().assignedTo()).isNull();
     }
 
+    @Test
+    public void shouldRenderTicketWithoutLinkWhenPermalinkIsUnresolved() {
+        // given
+        HomepageView.State state = HomepageView.State.getDefault();
+        ImmutableList<Ticket> tickets = buildTickets(1);
+        ImmutableList<DetailedTicket> detailedTickets = buildDetailedTickets(tickets, ImmutableList.of());
+
+        when(ticketQueryService.findDetailedTicketByQuery(any())).thenReturn(new Page<>(detailedTickets, 0, 1, 1));
+        when(permalinkService.getPermalinks(any())).thenReturn(ImmutableMap.of());
+
+        // when
+        HomepageView ticketsView = homepageService.getTicketsView(state);
+
+        // then
+        assertThat(ticketsView.tickets().size()).isEqualTo(1);
+        assertThat(ticketsView.tickets().getFirst().queryPermalink()).isNull();
+    }
+
+    private void stubPermalinks() {
+        when(permalinkService.getPermalinks(any())).thenAnswer(invocation -> {
+            Collection<SlackGetMessageByTsRequest> messages = invocation.getArgument(0);
+            return Maps.toMap(ImmutableSet.copyOf(messages), m -> "perma.link");
+        });
+    }
+
     private ImmutableList<Ticket> buildTickets(int numberOfTickets) {
         ImmutableList.Builder<Ticket> builder = ImmutableList.builder();
         for (int i = 1; i <= numberOfTickets; i++) {
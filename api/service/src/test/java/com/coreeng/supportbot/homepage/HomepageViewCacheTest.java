@@ -0,0 +1,151 @@
+package com.coreeng.supportbot.homepage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.coreeng.supportbot.config.HomepageViewCacheProps;
+import com.coreeng.supportbot.slack.client.SimpleSlackView;
+import com.coreeng.supportbot.slack.client.SlackView;
+import com.coreeng.supportbot.ticket.TicketId;
+import com.coreeng.supportbot.ticket.TicketStatus;
+import com.coreeng.supportbot.ticket.TicketStatusChanged;
+import com.google.common.collect.ImmutableList;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class HomepageViewCacheTest {
+    private final SlackView renderedView = new SimpleSlackView(ImmutableList.of(), "metadata");
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Mock
+    private HomepageService homepageService;
+
+    @Mock
+    private HomepageViewMapper viewMapper;
+
+    private HomepageViewCache viewCache;
+
+    @BeforeEach
+    void setup() {
+        viewCache = new HomepageViewCache(
+                homepageService, viewMapper, new HomepageViewCacheProps(Duration.ofMinutes(1), 100), meterRegistry);
+    }
+
+    @Test
+    void repeatedRequestsForSameStateRenderOnce() {
+        HomepageView.State state = HomepageView.State.getDefault();
+        stubRender();
+
+        SlackView first = viewCache.getView(state);
+        SlackView second = viewCache.getView(state);
+
+        assertThat(first).isSameAs(renderedView);
+        assertThat(second).isSameAs(renderedView);
+        verify(homepageService, times(1)).getTicketsView(state);
+        assertThat(requests("default", "miss")).isEqualTo(1);
+        assertThat(requests("default", "hit")).isEqualTo(1);
+        assertThat(meterRegistry
+                        .get("homepage_view_render")
+                        .tag("view", "default")
+                        .timer()
+                        .count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void differentStatesAreRenderedSeparately() {
+        HomepageView.State defaultState = HomepageView.State.getDefault();
+        HomepageView.State nextPage = defaultState.toBuilder().page(1).build();
+        stubRender();
+
+        viewCache.getView(defaultState);
+        viewCache.getView(nextPage);
+
+        verify(homepageService).getTicketsView(defaultState);
+        verify(homepageService).getTicketsView(nextPage);
+        assertThat(requests("default", "miss")).isEqualTo(1);
+        assertThat(requests("custom", "miss")).isEqualTo(1);
+    }
+
+    @Test
+    void ticketChangeInvalidatesCachedViews() {
+        HomepageView.State state = HomepageView.State.getDefault();
+        stubRender();
+
+        viewCache.getView(state);
+        viewCache.onTicketStatusChanged(new TicketStatusChanged(new TicketId(1), TicketStatus.closed));
+        viewCache.getView(state);
+
+        verify(homepageService, times(2)).getTicketsView(state);
+    }
+
+    @Test
+    void concurrentRequestsShareOneRender() throws Exception {
+        HomepageView.State state = HomepageView.State.getDefault();
+        CountDownLatch renderStarted = new CountDownLatch(1);
+        CountDownLatch releaseRender = new CountDownLatch(1);
+        when(homepageService.getTicketsView(state)).thenAnswer(invocation -> {
+            renderStarted.countDown();
+            assertThat(releaseRender.await(5, TimeUnit.SECONDS)).isTrue();
+            return HomepageView.builder().state(state).build();
+        });
+        when(viewMapper.render(any())).thenReturn(renderedView);
+
+        CompletableFuture<SlackView> first = CompletableFuture.supplyAsync(() -> viewCache.getView(state));
+        assertThat(renderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<SlackView> second = CompletableFuture.supplyAsync(() -> viewCache.getView(state));
+        while (requests("default", "hit") == 0) {
+            Thread.onSpinWait();
+        }
+        releaseRender.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isSameAs(renderedView);
+        assertThat(second.get(5, TimeUnit.SECONDS)).isSameAs(renderedView);
+        verify(homepageService, times(1)).getTicketsView(state);
+    }
+
+    @Test
+    void failedRenderIsNotCached() {
+        HomepageView.State state = HomepageView.State.getDefault();
+        when(homepageService.getTicketsView(state))
+                .thenThrow(new IllegalStateException("Slack unavailable"))
+                .thenReturn(HomepageView.builder().state(state).build());
+        when(viewMapper.render(any())).thenReturn(renderedView);
+
+        assertThatThrownBy(() -> viewCache.getView(state)).isInstanceOf(IllegalStateException.class);
+        SlackView view = viewCache.getView(state);
+
+        assertThat(view).isSameAs(renderedView);
+        verify(homepageService, times(2)).getTicketsView(state);
+    }
+
+    private void stubRender() {
+        when(homepageService.getTicketsView(any()))
+                .thenAnswer(invocation -> HomepageView.builder()
+                        .state(invocation.getArgument(0))
+                        .build());
+        when(viewMapper.render(any())).thenReturn(renderedView);
+    }
+
+    private double requests(String view, String result) {
+        return meterRegistry
+                .get("homepage_view_requests")
+                .tag("view", view)
+                .tag("result", result)
+                .counter()
+                .count();
+    }
+}
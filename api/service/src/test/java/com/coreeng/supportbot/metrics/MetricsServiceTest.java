@@ -1,11 +1,15 @@
 package com.coreeng.supportbot.metrics;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -25,14 +29,16 @@ class MetricsServiceTest {
     @BeforeEach
     void setUp() {
         meterRegistry = new SimpleMeterRegistry();
-        metricsService = new MetricsService(metricsRepository, meterRegistry);
+        metricsService = new MetricsService(metricsRepository, meterRegistry, Duration.ofSeconds(60));
     }
 
     @Test
     void registersMetricWithCorrectTags() {
-        when(metricsRepository.getTicketMetrics())
-                .thenReturn(
-                        List.of(new TicketMetric("opened", "productionBlocking", "infra-integration", true, false, 5)));
+        when(metricsRepository.refreshSnapshot(any()))
+                .thenReturn(snapshot()
+                        .tickets(List.of(
+                                new TicketMetric("opened", "productionBlocking", "infra-integration", true, false, 5)))
+                        .build());
 
         metricsService.refreshMetrics();
 
@@ -51,8 +57,11 @@ class MetricsServiceTest {
 
     @Test
     void registersMetricEscalations() {
-        when(metricsRepository.getEscalationMetrics())
-                .thenReturn(List.of(new EscalationMetric("pending", "infra-integration", "productionBlocking", 3)));
+        when(metricsRepository.refreshSnapshot(any()))
+                .thenReturn(snapshot()
+                        .escalations(
+                                List.of(new EscalationMetric("pending", "infra-integration", "productionBlocking", 3)))
+                        .build());
 
         metricsService.refreshMetrics();
 
@@ -69,7 +78,10 @@ class MetricsServiceTest {
 
     @Test
     void registersRatingMetrics() {
-        when(metricsRepository.getRatingMetrics()).thenReturn(List.of(new RatingMetric(4, 10), new RatingMetric(5, 5)));
+        when(metricsRepository.refreshSnapshot(any()))
+                .thenReturn(snapshot()
+                        .ratings(List.of(new RatingMetric(4, 10), new RatingMetric(5, 5)))
+                        .build());
 
         metricsService.refreshMetrics();
 
@@ -86,7 +98,8 @@ class MetricsServiceTest {
 
     @Test
     void registersUnattendedQueryMetric() {
-        when(metricsRepository.getUnattendedQueryCount()).thenReturn(15L);
+        when(metricsRepository.refreshSnapshot(any()))
+                .thenReturn(snapshot().unattendedQueryCount(15L).build());
 
         metricsService.refreshMetrics();
 
@@ -97,7 +110,8 @@ class MetricsServiceTest {
 
     @Test
     void registersResponseSLAMetrics() {
-        when(metricsRepository.getResponseSLAMetrics()).thenReturn(new ResponseSLAMetric(3600.0, 86_400.0));
+        when(metricsRepository.refreshSnapshot(any()))
+                .thenReturn(snapshot().responseSla(new ResponseSLAMetric(3600.0, 86_400.0)).build());
 
         metricsService.refreshMetrics();
 
@@ -118,8 +132,10 @@ class MetricsServiceTest {
 
     @Test
     void registersResolutionSLAMetrics() {
-        when(metricsRepository.getResolutionSLAMetrics())
-                .thenReturn(new ResolutionSLAMetric(7200.0, 86_400.0, 172_800.0));
+        when(metricsRepository.refreshSnapshot(any()))
+                .thenReturn(snapshot()
+                        .resolutionSla(new ResolutionSLAMetric(7200.0, 86_400.0, 172_800.0))
+                        .build());
 
         metricsService.refreshMetrics();
 
@@ -147,9 +163,11 @@ class MetricsServiceTest {
 
     @Test
     void registersEscalationsByTagMetrics() {
-        when(metricsRepository.getEscalationsByTag())
-                .thenReturn(
-                        List.of(new EscalationByTagMetric("networking", 10), new EscalationByTagMetric("vault", 5)));
+        when(metricsRepository.refreshSnapshot(any()))
+                .thenReturn(snapshot()
+                        .escalationsByTag(List.of(
+                                new EscalationByTagMetric("networking", 10), new EscalationByTagMetric("vault", 5)))
+                        .build());
 
         metricsService.refreshMetrics();
 
@@ -170,7 +188,8 @@ class MetricsServiceTest {
 
     @Test
     void registersLongestActiveTicketMetric() {
-        when(metricsRepository.getLongestActiveTicketSeconds()).thenReturn(604_800.0); // 7 days in seconds
+        when(metricsRepository.refreshSnapshot(any()))
+                .thenReturn(snapshot().longestActiveTicketSeconds(604_800.0).build()); // 7 days in seconds
 
         metricsService.refreshMetrics();
 
@@ -182,12 +201,14 @@ class MetricsServiceTest {
 
     @Test
     void registersWeeklyActivityMetrics() {
-        when(metricsRepository.getWeeklyActivity())
-                .thenReturn(List.of(
-                        new WeeklyActivityMetric("opened", "current", 10),
-                        new WeeklyActivityMetric("opened", "previous", 15),
-                        new WeeklyActivityMetric("closed", "current", 8),
-                        new WeeklyActivityMetric("closed", "previous", 12)));
+        when(metricsRepository.refreshSnapshot(any()))
+                .thenReturn(snapshot()
+                        .weeklyActivity(List.of(
+                                new WeeklyActivityMetric("opened", "current", 10),
+                                new WeeklyActivityMetric("opened", "previous", 15),
+                                new WeeklyActivityMetric("closed", "current", 8),
+                                new WeeklyActivityMetric("closed", "previous", 12)))
+                        .build());
 
         metricsService.refreshMetrics();
 
@@ -218,10 +239,12 @@ class MetricsServiceTest {
 
     @Test
     void registersResolutionTimeByTagMetrics() {
-        when(metricsRepository.getResolutionTimeByTag())
-                .thenReturn(List.of(
-                        new ResolutionTimeByTagMetric("networking", 3600.0, 7200.0),
-                        new ResolutionTimeByTagMetric("vault", 1800.0, 5400.0)));
+        when(metricsRepository.refreshSnapshot(any()))
+                .thenReturn(snapshot()
+                        .resolutionTimeByTag(List.of(
+                                new ResolutionTimeByTagMetric("networking", 3600.0, 7200.0),
+                                new ResolutionTimeByTagMetric("vault", 1800.0, 5400.0)))
+                        .build());
 
         metricsService.refreshMetrics();
 
@@ -249,4 +272,84 @@ class MetricsServiceTest {
         assertThat(vaultP50).isNotNull();
         assertThat(vaultP50.value()).isEqualTo(1800.0);
     }
+
+    @Test
+    void keepsMeterOfUnchangedRowsAndUpdatesChangedValues() {
+        when(metricsRepository.refreshSnapshot(any()))
+                .thenReturn(snapshot()
+                        .escalationsByTag(List.of(
+                                new EscalationByTagMetric("networking", 10), new EscalationByTagMetric("vault", 5)))
+                        .build())
+                .thenReturn(snapshot()
+                        .escalationsByTag(List.of(
+                                new EscalationByTagMetric("networking", 12), new EscalationByTagMetric("dns", 1)))
+                        .build());
+
+        metricsService.refreshMetrics();
+        Gauge networking = meterRegistry
+                .find("supportbot_escalations_by_tag")
+                .tag("tag", "networking")
+                .gauge();
+        assertThat(networking).isNotNull();
+        metricsService.refreshMetrics();
+
+        assertThat(meterRegistry
+                        .find("supportbot_escalations_by_tag")
+                        .tag("tag", "networking")
+                        .gauge())
+                .isSameAs(networking);
+        assertThat(networking.value()).isEqualTo(12.0);
+        assertThat(meterRegistry
+                        .find("supportbot_escalations_by_tag")
+                        .tag("tag", "vault")
+                        .gauge())
+                .isNull();
+        assertThat(meterRegistry
+                        .find("supportbot_escalations_by_tag")
+                        .tag("tag", "dns")
+                        .gauge())
+                .isNotNull();
+    }
+
+    @Test
+    void publishesStoredSnapshotWhenAnotherReplicaComputesIt() {
+        when(metricsRepository.refreshSnapshot(any())).thenReturn(null);
+        when(metricsRepository.findSnapshot())
+                .thenReturn(snapshot().unattendedQueryCount(7L).build());
+
+        metricsService.refreshMetrics();
+
+        Gauge metric = meterRegistry.find("supportbot_unattended_queries").gauge();
+        assertThat(metric).isNotNull();
+        assertThat(metric.value()).isEqualTo(7.0);
+        Timer load = meterRegistry
+                .find("supportbot_metrics_refresh")
+                .tag("section", "load")
+                .timer();
+        assertThat(load).isNotNull();
+        assertThat(load.count()).isEqualTo(1);
+    }
+
+    @Test
+    void publishesNothingBeforeFirstSnapshot() {
+        metricsService.refreshMetrics();
+
+        Gauge metric = meterRegistry.find("supportbot_unattended_queries").gauge();
+        assertThat(metric).isNotNull();
+        assertThat(metric.value()).isZero();
+        assertThat(meterRegistry.find("supportbot_tickets").gauges()).isEmpty();
+    }
+
+    private static MetricsSnapshot.MetricsSnapshotBuilder snapshot() {
+        return MetricsSnapshot.builder()
+                .computedAt(Instant.now())
+                .tickets(List.of())
+                .escalations(List.of())
+                .ratings(List.of())
+                .responseSla(new ResponseSLAMetric(0.0, 0.0))
+                .resolutionSla(new ResolutionSLAMetric(0.0, 0.0, 0.0))
+                .escalationsByTag(List.of())
+                .weeklyActivity(List.of())
+                .resolutionTimeByTag(List.of());
+    }
 }
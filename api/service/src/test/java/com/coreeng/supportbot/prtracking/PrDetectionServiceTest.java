@@ -4,6 +4,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
+import com.coreeng.supportbot.config.PrTeamMembersProps;
 import com.coreeng.supportbot.config.PrTrackingProps;
 import com.coreeng.supportbot.config.SlackTicketsProps;
 import com.coreeng.supportbot.dbschema.enums.PrTrackingStatus;
@@ -33,6 +34,7 @@ import com.coreeng.supportbot.ticket.*;
 import com.coreeng.supportbot.ticket.slack.TicketSlackService;
 import com.google.common.collect.ImmutableList;
 import com.slack.api.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
@@ -47,6 +49,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 @ExtendWith(MockitoExtension.class)
 class PrDetectionServiceTest {
@@ -111,6 +114,9 @@ class PrDetectionServiceTest {
     @Mock
     private PrMessageRenderer messageRenderer;
 
+    @Mock
+    private ApplicationEventPublisher publisher;
+
     @Captor
     private ArgumentCaptor<SlackPostMessageRequest> postMessageCaptor;
 
@@ -130,7 +136,10 @@ class PrDetectionServiceTest {
         service = new PrDetectionService(
                 prUrlParser,
                 prSourceClients,
-                new TeamReviewFilter(prSourceClients),
+                new TeamReviewFilter(new TeamMemberCache(
+                        prSourceClients,
+                        new PrTeamMembersProps(Duration.ofMinutes(15), Duration.ofHours(24), Duration.ofMinutes(1)),
+                        new SimpleMeterRegistry())),
                 prTrackingRepository,
                 prTrackingProps,
                 escalationTeamsRegistry,
@@ -143,7 +152,8 @@ class PrDetectionServiceTest {
                 slackTicketsProps,
                 slaLookup,
                 messageRenderer,
-                prUrlResolver);
+                prUrlResolver,
+                publisher);
         lenient().when(slackTicketsProps.expectedInitialReaction()).thenReturn("eyes");
         lenient().when(slaLookup.getSla(any(), any(), anyInt())).thenReturn(SLA_24H);
         lenient().when(prTrackingProps.tags()).thenReturn(List.of("pr-review"));
@@ -1816,6 +1826,7 @@ class PrDetectionServiceTest {
                             && "wow".equals(ticket.team().toCode())
                             && ticket.tags().equals(ImmutableList.of("pr-review"))
                             && "medium".equals(ticket.impact())));
+            verify(publisher).publishEvent(new TicketUpdated(new TicketId(1L)));
         }
 
         @Test
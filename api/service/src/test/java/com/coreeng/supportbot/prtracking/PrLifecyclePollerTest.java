@@ -4,6 +4,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.within;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isNull;
@@ -14,6 +15,8 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import com.coreeng.supportbot.config.PrPollProps;
+import com.coreeng.supportbot.config.PrTeamMembersProps;
 import com.coreeng.supportbot.config.PrTrackingProps;
 import com.coreeng.supportbot.dbschema.enums.PrTrackingStatus;
 import com.coreeng.supportbot.enums.EscalationTeamsRegistry;
@@ -22,6 +25,7 @@ import com.coreeng.supportbot.escalation.EscalationId;
 import com.coreeng.supportbot.escalation.EscalationProcessingService;
 import com.coreeng.supportbot.prtracking.source.CodeOwnerRef;
 import com.coreeng.supportbot.prtracking.source.PrMetadata;
+import com.coreeng.supportbot.prtracking.source.PrRef;
 import com.coreeng.supportbot.prtracking.source.PrSourceClient;
 import com.coreeng.supportbot.prtracking.source.PrSourceClients;
 import com.coreeng.supportbot.prtracking.source.PrSourceException;
@@ -39,11 +43,16 @@ import com.coreeng.supportbot.ticket.TicketRepository;
 import com.coreeng.supportbot.ticket.TicketStatus;
 import com.coreeng.supportbot.ticket.slack.TicketSlackService;
 import com.google.common.collect.ImmutableList;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.time.Duration;
 import java.time.Instant;
-import java.util.HashMap;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.jspecify.annotations.Nullable;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
@@ -100,7 +109,9 @@ class PrLifecyclePollerTest {
     // default null. PrLifecyclePoller.apply() now threads that returned record into the effects it runs
     // (see the real-fix commit for #11: an effect like NotifyAwaitingMerge must see the deadline this
     // transition just wrote, not a stale pre-write value), so a null return would NPE inside the effect.
-    private final Map<Long, PrTrackingRecord> knownRecords = new HashMap<>();
+    private final Map<Long, PrTrackingRecord> knownRecords = new ConcurrentHashMap<>();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
 
     @BeforeEach
     void setUp() {
@@ -284,6 +295,168 @@ class PrLifecyclePollerTest {
         verify(prSourceClient).fetchPullRequest(RepoCoord.github(second.repo()), second.prNumber());
     }
 
+    @Test
+    void processesRecordsConcurrentlyWithinConfiguredLimit() {
+        // given — 4 permits (see createPoller), 6 records whose fetches overlap
+        PrLifecyclePoller poller = createPoller();
+        List<PrTrackingRecord> records = new ArrayList<>();
+        for (int i = 1; i <= 6; i++) {
+            records.add(record(
+                    i, i * 100L, "my-org/repo-" + i, i, PrTrackingStatus.OPEN, Instant.now().plusSeconds(7200)));
+        }
+        when(prTrackingRepository.findAllActive()).thenReturn(records);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch overlapping = new CountDownLatch(2);
+        when(prSourceClient.fetchPullRequest(any(), anyInt())).thenAnswer(inv -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            overlapping.countDown();
+            assertThat(overlapping.await(5, TimeUnit.SECONDS)).isTrue();
+            Thread.sleep(20);
+            running.decrementAndGet();
+            int prNumber = inv.getArgument(1);
+            return openPr(records.get(prNumber - 1));
+        });
+
+        // when
+        poller.poll();
+
+        // then
+        verify(prSourceClient, times(6)).fetchPullRequest(any(), anyInt());
+        assertThat(maxRunning.get()).isBetween(2, 4);
+        assertThat(meterRegistry
+                        .get("pr_tracking_poll_records_total")
+                        .tag("outcome", "processed")
+                        .counter()
+                        .count())
+                .isEqualTo(6);
+        assertThat(meterRegistry
+                        .get("pr_tracking_provider_fetch_seconds")
+                        .tag("provider", "github")
+                        .timer()
+                        .count())
+                .isEqualTo(6);
+        assertThat(meterRegistry
+                        .get("pr_tracking_poll_duration_seconds")
+                        .timer()
+                        .count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void pollFetchesPrsInBatchesWhenTheProviderCan() {
+        // given — batches of 2 (see createPoller), 3 records
+        PrLifecyclePoller poller = createPoller();
+        PrTrackingRecord first = record(
+                1L, 100L, "my-org/repo-a", 11, PrTrackingStatus.OPEN, Instant.now().plusSeconds(7200));
+        PrTrackingRecord second = record(
+                2L, 200L, "my-org/repo-a", 12, PrTrackingStatus.OPEN, Instant.now().plusSeconds(7200));
+        PrTrackingRecord third = record(
+                3L, 300L, "my-org/repo-b", 13, PrTrackingStatus.OPEN, Instant.now().plusSeconds(7200));
+        PrRef firstRef = new PrRef(RepoCoord.github(first.repo()), first.prNumber());
+        PrRef secondRef = new PrRef(RepoCoord.github(second.repo()), second.prNumber());
+        PrRef thirdRef = new PrRef(RepoCoord.github(third.repo()), third.prNumber());
+        when(prTrackingRepository.findAllActive()).thenReturn(List.of(third, first, second));
+        when(prSourceClient.supportsBatchFetch()).thenReturn(true);
+        when(prSourceClient.getProvider()).thenReturn(Provider.GITHUB);
+        when(prSourceClient.fetchPullRequests(List.of(firstRef, secondRef)))
+                .thenReturn(Map.of(firstRef, openPr(first), secondRef, openPr(second)));
+        // A PR its batch didn't return is fetched on its own
+        when(prSourceClient.fetchPullRequests(List.of(thirdRef))).thenReturn(Map.of());
+        when(prSourceClient.fetchPullRequest(RepoCoord.github(third.repo()), third.prNumber()))
+                .thenReturn(openPr(third));
+
+        // when
+        poller.poll();
+
+        // then
+        verify(prSourceClient).fetchPullRequest(RepoCoord.github(third.repo()), third.prNumber());
+        verify(prSourceClient, times(1)).fetchPullRequest(any(), anyInt());
+        assertThat(meterRegistry
+                        .get("pr_tracking_poll_records_total")
+                        .tag("outcome", "processed")
+                        .counter()
+                        .count())
+                .isEqualTo(3);
+        assertThat(meterRegistry
+                        .get("pr_tracking_provider_batch_fetch_seconds")
+                        .tag("provider", "github")
+                        .timer()
+                        .count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    void processPullRequestProcessesOnlyThatPrsRecords() {
+        // given
+        PrLifecyclePoller poller = createPoller();
+        PrTrackingRecord record = record(
+                1L,
+                100L,
+                "my-org/repo-a",
+                11,
+                PrTrackingStatus.OPEN,
+                Instant.now().plusSeconds(7200));
+        when(prTrackingRepository.findActiveByPullRequest(Provider.GITHUB, "my-org/repo-a", 11))
+                .thenReturn(List.of(record));
+        when(prSourceClient.fetchPullRequest(RepoCoord.github(record.repo()), record.prNumber()))
+                .thenReturn(openPr(record));
+
+        // when
+        int processed = poller.processPullRequest(Provider.GITHUB, "my-org/repo-a", 11);
+
+        // then
+        assertThat(processed).isEqualTo(1);
+        verify(prSourceClient).fetchPullRequest(RepoCoord.github(record.repo()), record.prNumber());
+        verify(prTrackingRepository, never()).findAllActive();
+    }
+
+    @Test
+    void processPullRequestReRunsARecordThePollIsStillProcessing() throws Exception {
+        // given — the poll's fetch blocks until the webhook has arrived
+        PrLifecyclePoller poller = createPoller();
+        PrTrackingRecord record = record(
+                1L, 100L, "my-org/repo-a", 11, PrTrackingStatus.OPEN, Instant.now().plusSeconds(7200));
+        when(prTrackingRepository.findAllActive()).thenReturn(List.of(record));
+        when(prTrackingRepository.findActiveByPullRequest(Provider.GITHUB, "my-org/repo-a", 11))
+                .thenReturn(List.of(record));
+        when(prTrackingRepository.findById(record.id())).thenReturn(record);
+        CountDownLatch fetching = new CountDownLatch(1);
+        CountDownLatch webhookHandled = new CountDownLatch(1);
+        AtomicInteger fetches = new AtomicInteger();
+        when(prSourceClient.fetchPullRequest(RepoCoord.github(record.repo()), record.prNumber()))
+                .thenAnswer(inv -> {
+                    if (fetches.incrementAndGet() == 1) {
+                        fetching.countDown();
+                        assertThat(webhookHandled.await(5, TimeUnit.SECONDS)).isTrue();
+                    }
+                    return openPr(record);
+                });
+
+        // when
+        Thread poll = Thread.ofVirtual().start(poller::poll);
+        assertThat(fetching.await(5, TimeUnit.SECONDS)).isTrue();
+        int processed = poller.processPullRequest(Provider.GITHUB, "my-org/repo-a", 11);
+        webhookHandled.countDown();
+        assertThat(poll.join(Duration.ofSeconds(5))).isTrue();
+
+        // then — the webhook left the record to the poll, which fetched the PR again once it finished
+        assertThat(processed).isZero();
+        assertThat(fetches.get()).isEqualTo(2);
+        assertThat(meterRegistry
+                        .get("pr_tracking_poll_records_total")
+                        .tag("outcome", "deferred")
+                        .counter()
+                        .count())
+                .isEqualTo(1);
+        assertThat(meterRegistry
+                        .get("pr_tracking_poll_records_total")
+                        .tag("outcome", "processed")
+                        .counter()
+                        .count())
+                .isEqualTo(2);
+    }
+
     @Test
     void closesTicketWhenClosedPrIsLastActiveRecord() {
         // given
@@ -2472,7 +2645,10 @@ class PrLifecyclePollerTest {
         return new PrLifecyclePoller(
                 prTrackingRepository,
                 prSourceClients,
-                new TeamReviewFilter(prSourceClients),
+                new TeamReviewFilter(new TeamMemberCache(
+                        prSourceClients,
+                        new PrTeamMembersProps(Duration.ofMinutes(15), Duration.ofHours(24), Duration.ofMinutes(1)),
+                        meterRegistry)),
                 ticketRepository,
                 ticketProcessingService,
                 escalationProcessingService,
@@ -2481,7 +2657,9 @@ class PrLifecyclePollerTest {
                 prTrackingProps,
                 slaLookup,
                 messageRenderer,
-                escalationTeamsRegistry);
+                escalationTeamsRegistry,
+                new PrPollProps(4, 2),
+                meterRegistry);
     }
 
     /** mergePhaseEntered is derived from status: AWAITING_MERGE/MERGE_ESCALATED means it's already true. */
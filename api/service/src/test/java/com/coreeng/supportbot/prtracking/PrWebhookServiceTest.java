@@ -0,0 +1,151 @@
+package com.coreeng.supportbot.prtracking;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.coreeng.supportbot.config.PrWebhookProps;
+import com.coreeng.supportbot.prtracking.source.Provider;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
+import java.util.Objects;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/** Replays recorded GitHub and GitLab deliveries from {@code src/test/resources/prtracking/webhook}. */
+@ExtendWith(MockitoExtension.class)
+class PrWebhookServiceTest {
+    private static final String GITHUB_SECRET = "github-webhook-secret";
+    private static final String GITLAB_TOKEN = "gitlab-webhook-token";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Mock
+    private PrLifecyclePoller poller;
+
+    private PrWebhookService service;
+
+    @BeforeEach
+    void setup() {
+        service = new PrWebhookService(
+                new PrWebhookProps(true, GITHUB_SECRET, GITLAB_TOKEN),
+                poller,
+                new ObjectMapper(),
+                Runnable::run,
+                meterRegistry);
+    }
+
+    @Test
+    void githubReviewProcessesReviewedPr() throws Exception {
+        byte[] body = fixture("github-pull-request-review-submitted.json");
+
+        PrWebhookService.Outcome outcome = service.handleGitHub("pull_request_review", sign(body), body);
+
+        assertThat(outcome).isEqualTo(PrWebhookService.Outcome.ACCEPTED);
+        verify(poller).processPullRequest(Provider.GITHUB, "my-org/my-repo", 42);
+        assertThat(deliveries("github", "accepted")).isEqualTo(1);
+    }
+
+    @Test
+    void githubDeliveryWithWrongSignatureIsRejected() throws Exception {
+        byte[] body = fixture("github-pull-request-review-submitted.json");
+        String signature = sign("{}".getBytes(StandardCharsets.UTF_8));
+
+        PrWebhookService.Outcome outcome = service.handleGitHub("pull_request_review", signature, body);
+
+        assertThat(outcome).isEqualTo(PrWebhookService.Outcome.REJECTED);
+        verify(poller, never()).processPullRequest(any(), anyString(), anyInt());
+    }
+
+    @Test
+    void githubDeliveryWithoutSignatureIsRejected() throws Exception {
+        byte[] body = fixture("github-pull-request-review-submitted.json");
+
+        assertThat(service.handleGitHub("pull_request_review", null, body))
+                .isEqualTo(PrWebhookService.Outcome.REJECTED);
+        assertThat(service.handleGitHub("pull_request_review", "sha256=not-hex", body))
+                .isEqualTo(PrWebhookService.Outcome.REJECTED);
+    }
+
+    @Test
+    void githubEventsOtherThanPrChangesAreIgnored() throws Exception {
+        byte[] body = fixture("github-pull-request-review-submitted.json");
+
+        PrWebhookService.Outcome outcome = service.handleGitHub("issue_comment", sign(body), body);
+
+        assertThat(outcome).isEqualTo(PrWebhookService.Outcome.IGNORED);
+        verify(poller, never()).processPullRequest(any(), anyString(), anyInt());
+    }
+
+    @Test
+    void gitlabMergeRequestProcessesMr() throws Exception {
+        byte[] body = fixture("gitlab-merge-request-approved.json");
+
+        PrWebhookService.Outcome outcome = service.handleGitLab(GITLAB_TOKEN, body);
+
+        assertThat(outcome).isEqualTo(PrWebhookService.Outcome.ACCEPTED);
+        verify(poller).processPullRequest(Provider.GITLAB, "my-group/sub-group/project", 7);
+    }
+
+    @Test
+    void gitlabDeliveryWithWrongTokenIsRejected() throws Exception {
+        byte[] body = fixture("gitlab-merge-request-approved.json");
+
+        assertThat(service.handleGitLab("wrong", body)).isEqualTo(PrWebhookService.Outcome.REJECTED);
+        assertThat(service.handleGitLab(null, body)).isEqualTo(PrWebhookService.Outcome.REJECTED);
+        verify(poller, never()).processPullRequest(any(), anyString(), anyInt());
+        assertThat(deliveries("gitlab", "rejected")).isEqualTo(2);
+    }
+
+    @Test
+    void gitlabEventsOtherThanMergeRequestsAreIgnored() throws Exception {
+        byte[] body = fixture("gitlab-push.json");
+
+        assertThat(service.handleGitLab(GITLAB_TOKEN, body)).isEqualTo(PrWebhookService.Outcome.IGNORED);
+        verify(poller, never()).processPullRequest(any(), anyString(), anyInt());
+    }
+
+    @Test
+    void providerWithoutSecretRejectsDeliveries() throws Exception {
+        service = new PrWebhookService(
+                new PrWebhookProps(true, "", GITLAB_TOKEN), poller, new ObjectMapper(), Runnable::run, meterRegistry);
+        byte[] body = fixture("github-pull-request-review-submitted.json");
+
+        assertThat(service.handleGitHub("pull_request_review", sign(body), body))
+                .isEqualTo(PrWebhookService.Outcome.REJECTED);
+    }
+
+    private double deliveries(String provider, String outcome) {
+        return meterRegistry
+                .get("pr_tracking_webhook_deliveries_total")
+                .tag("provider", provider)
+                .tag("outcome", outcome)
+                .counter()
+                .count();
+    }
+
+    private static String sign(byte[] body) throws Exception {
+        Mac hmac = Mac.getInstance("HmacSHA256");
+        hmac.init(new SecretKeySpec(GITHUB_SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        return "sha256=" + HexFormat.of().formatHex(hmac.doFinal(body));
+    }
+
+    private byte[] fixture(String name) throws IOException {
+        try (InputStream in = Objects.requireNonNull(
+                getClass().getClassLoader().getResourceAsStream("prtracking/webhook/" + name), name)) {
+            return in.readAllBytes();
+        }
+    }
+}
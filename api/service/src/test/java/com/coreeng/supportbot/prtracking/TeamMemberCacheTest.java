@@ -0,0 +1,152 @@
+package com.coreeng.supportbot.prtracking;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.coreeng.supportbot.config.PrTeamMembersProps;
+import com.coreeng.supportbot.prtracking.source.PrSourceClient;
+import com.coreeng.supportbot.prtracking.source.PrSourceClients;
+import com.coreeng.supportbot.prtracking.source.PrSourceException;
+import com.coreeng.supportbot.prtracking.source.Provider;
+import com.coreeng.supportbot.prtracking.source.RepoCoord;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class TeamMemberCacheTest {
+    private static final RepoCoord REPO_A = RepoCoord.github("my-org/repo-a");
+    private static final RepoCoord REPO_B = RepoCoord.github("my-org/repo-b");
+
+    private final AtomicLong now = new AtomicLong();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Mock
+    private PrSourceClients prSourceClients;
+
+    @Mock
+    private PrSourceClient prSourceClient;
+
+    private TeamMemberCache cache;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(prSourceClients.forProvider(Provider.GITHUB)).thenReturn(prSourceClient);
+        cache = new TeamMemberCache(
+                prSourceClients,
+                new PrTeamMembersProps(Duration.ofMinutes(15), Duration.ofHours(1), Duration.ofMinutes(1)),
+                meterRegistry,
+                now::get,
+                Runnable::run);
+    }
+
+    @Test
+    void reposOfOneOrgShareTheirTeams() {
+        when(prSourceClient.resolveTeamMembers(REPO_A, "platform")).thenReturn(List.of("alice"));
+
+        assertThat(cache.getMembers(REPO_A, "platform")).containsExactly("alice");
+        assertThat(cache.getMembers(REPO_B, "platform")).containsExactly("alice");
+
+        verify(prSourceClient, times(1)).resolveTeamMembers(any(), any());
+    }
+
+    @Test
+    void concurrentLookupsShareOneFetch() throws Exception {
+        CountDownLatch fetchStarted = new CountDownLatch(1);
+        CountDownLatch releaseFetch = new CountDownLatch(1);
+        when(prSourceClient.resolveTeamMembers(REPO_A, "platform")).thenAnswer(inv -> {
+            fetchStarted.countDown();
+            assertThat(releaseFetch.await(5, TimeUnit.SECONDS)).isTrue();
+            return List.of("alice");
+        });
+
+        CompletableFuture<?> first = CompletableFuture.supplyAsync(() -> cache.getMembers(REPO_A, "platform"));
+        assertThat(fetchStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<?> second = CompletableFuture.supplyAsync(() -> cache.getMembers(REPO_B, "platform"));
+        Thread.sleep(50);
+        releaseFetch.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo(second.get(5, TimeUnit.SECONDS));
+        verify(prSourceClient, times(1)).resolveTeamMembers(any(), any());
+    }
+
+    @Test
+    void staleMembersAreRefreshed() {
+        when(prSourceClient.resolveTeamMembers(REPO_A, "platform"))
+                .thenReturn(List.of("alice"))
+                .thenReturn(List.of("alice", "bob"));
+        cache.getMembers(REPO_A, "platform");
+
+        now.addAndGet(Duration.ofMinutes(16).toNanos());
+        // Served while the refresh runs; the refresh executor here runs it inline
+        cache.getMembers(REPO_A, "platform");
+
+        assertThat(cache.getMembers(REPO_A, "platform")).containsExactlyInAnyOrder("alice", "bob");
+        assertThat(refreshes("refreshed")).isEqualTo(1);
+    }
+
+    @Test
+    void sharedTeamIsRefreshedThroughTheRepoItWasFirstLookedUpFor() {
+        when(prSourceClient.resolveTeamMembers(REPO_A, "platform"))
+                .thenReturn(List.of("alice"))
+                .thenReturn(List.of("alice", "bob"));
+        cache.getMembers(REPO_A, "platform");
+
+        now.addAndGet(Duration.ofMinutes(16).toNanos());
+        cache.getMembers(REPO_B, "platform");
+
+        assertThat(cache.getMembers(REPO_B, "platform")).containsExactlyInAnyOrder("alice", "bob");
+        verify(prSourceClient, times(2)).resolveTeamMembers(REPO_A, "platform");
+    }
+
+    @Test
+    void failedRefreshKeepsServingMembersUntilTheyExpire() {
+        when(prSourceClient.resolveTeamMembers(REPO_A, "platform"))
+                .thenReturn(List.of("alice"))
+                .thenThrow(new PrSourceException("GitHub unavailable"));
+        cache.getMembers(REPO_A, "platform");
+
+        now.addAndGet(Duration.ofMinutes(16).toNanos());
+        assertThat(cache.getMembers(REPO_A, "platform")).containsExactly("alice");
+        assertThat(cache.getMembers(REPO_A, "platform")).containsExactly("alice");
+        assertThat(refreshes("stale")).isEqualTo(1);
+
+        now.addAndGet(Duration.ofMinutes(45).toNanos());
+        assertThat(cache.getMembers(REPO_A, "platform")).isNull();
+    }
+
+    @Test
+    void failedFetchIsRetriedAfterFailureRetryPeriod() {
+        when(prSourceClient.resolveTeamMembers(REPO_A, "platform"))
+                .thenThrow(new PrSourceException("GitHub unavailable"))
+                .thenReturn(List.of("alice"));
+
+        assertThat(cache.getMembers(REPO_A, "platform")).isNull();
+        assertThat(cache.getMembers(REPO_A, "platform")).isNull();
+        verify(prSourceClient, times(1)).resolveTeamMembers(any(), any());
+
+        now.addAndGet(Duration.ofMinutes(2).toNanos());
+        assertThat(cache.getMembers(REPO_A, "platform")).containsExactly("alice");
+    }
+
+    private double refreshes(String outcome) {
+        return meterRegistry
+                .get("pr_tracking_team_members_refresh_total")
+                .tag("outcome", outcome)
+                .counter()
+                .count();
+    }
+}
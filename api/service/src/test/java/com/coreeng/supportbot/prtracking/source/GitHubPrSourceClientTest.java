@@ -1,21 +1,32 @@
 package com.coreeng.supportbot.prtracking.source;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import com.coreeng.supportbot.config.PrSnapshotProps;
 import com.coreeng.supportbot.config.PrTrackingProps;
+import com.coreeng.supportbot.github.CodeOwnerReviewer;
 import com.coreeng.supportbot.github.GitHubClient;
 import com.coreeng.supportbot.github.GitHubGraphQlClient;
 import com.coreeng.supportbot.github.GitHubPullRequest;
+import com.coreeng.supportbot.github.GitHubPullRequestVersion;
+import com.coreeng.supportbot.github.RequestedTeamMembers;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import org.jspecify.annotations.Nullable;
 import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
 
 /**
  * Focuses on how {@link GitHubPrSourceClient} maps GitHub's GraphQL {@code reviewDecision} onto the
@@ -30,6 +41,7 @@ class GitHubPrSourceClientTest {
 
     private final GitHubClient gitHubClient = mock(GitHubClient.class);
     private final GitHubGraphQlClient graphQlClient = mock(GitHubGraphQlClient.class);
+    private final RequestedTeamMembers requestedTeamMembers = (repositoryName, teamSlug) -> Set.of("alice");
 
     @Test
     void mapsApprovedReviewDecisionToGateSatisfied() {
@@ -76,7 +88,7 @@ class GitHubPrSourceClientTest {
     @Test
     void mapsIsDraftFromTheUnderlyingPullRequest() {
         GitHubPrSourceClient client = codeownerClient();
-        when(gitHubClient.getPullRequest(eq(REPO), eq(PR), anyBoolean()))
+        when(gitHubClient.getPullRequest(eq(REPO), eq(PR), any()))
                 .thenReturn(new GitHubPullRequest(
                         REPO,
                         PR,
@@ -95,21 +107,161 @@ class GitHubPrSourceClientTest {
 
     @Test
     void doesNotQueryGraphQlForNonCodeownerRepo() {
-        GitHubPrSourceClient client = new GitHubPrSourceClient(gitHubClient, graphQlClient, props(false));
+        GitHubPrSourceClient client = nonCodeownerClient();
         stubOpenPr();
 
         assertThat(client.fetchPullRequest(COORD, PR).codeOwnersApproved()).isNull();
         verifyNoInteractions(graphQlClient);
     }
 
+    @Test
+    void resolvesRequestedTeamsThroughTheSuppliedLookup() {
+        GitHubPrSourceClient client = nonCodeownerClient();
+        stubOpenPr();
+
+        client.fetchPullRequest(COORD, PR);
+
+        verify(gitHubClient).getPullRequest(REPO, PR, requestedTeamMembers);
+    }
+
+    @Test
+    void skipsRequestedTeamsOfRequiresCodeownersRepo() {
+        GitHubPrSourceClient client = codeownerClient();
+        stubOpenPr();
+        stubReview(GitHubPullRequest.ReviewDecision.APPROVED);
+
+        client.fetchPullRequest(COORD, PR);
+
+        verify(gitHubClient).getPullRequest(eq(REPO), eq(PR), isNull());
+    }
+
+    @Test
+    void reusesSnapshotWhilePullRequestIsUnchanged() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        GitHubPrSourceClient client = snapshotClient(meterRegistry);
+        Instant updatedAt = Instant.parse("2026-01-01T10:00:00Z");
+        when(gitHubClient.getPullRequestVersion(REPO, PR))
+                .thenReturn(new GitHubPullRequestVersion(updatedAt, true))
+                .thenReturn(new GitHubPullRequestVersion(updatedAt, false));
+        stubOpenPr();
+        stubReview(GitHubPullRequest.ReviewDecision.APPROVED);
+
+        PrMetadata first = client.fetchPullRequest(COORD, PR);
+        PrMetadata second = client.fetchPullRequest(COORD, PR);
+
+        assertThat(second.codeOwnersApproved()).isEqualTo(first.codeOwnersApproved());
+        assertThat(second.mergeable()).isFalse();
+        verify(gitHubClient, times(1)).getPullRequest(eq(REPO), eq(PR), any());
+        verify(graphQlClient, times(1)).fetchCodeownerReview(REPO, PR);
+        assertThat(fetches(meterRegistry, "provider")).isEqualTo(1);
+        assertThat(fetches(meterRegistry, "snapshot")).isEqualTo(1);
+    }
+
+    @Test
+    void refetchesWhenPullRequestWasUpdated() {
+        GitHubPrSourceClient client = snapshotClient(new SimpleMeterRegistry());
+        when(gitHubClient.getPullRequestVersion(REPO, PR))
+                .thenReturn(new GitHubPullRequestVersion(Instant.parse("2026-01-01T10:00:00Z"), true))
+                .thenReturn(new GitHubPullRequestVersion(Instant.parse("2026-01-01T11:00:00Z"), true));
+        stubOpenPr();
+        stubReview(GitHubPullRequest.ReviewDecision.APPROVED);
+
+        client.fetchPullRequest(COORD, PR);
+        client.fetchPullRequest(COORD, PR);
+
+        verify(gitHubClient, times(2)).getPullRequest(eq(REPO), eq(PR), any());
+    }
+
+    @Test
+    void doesNotReuseFetchWithFailedCodeownerRead() {
+        GitHubPrSourceClient client = snapshotClient(new SimpleMeterRegistry());
+        when(gitHubClient.getPullRequestVersion(REPO, PR))
+                .thenReturn(new GitHubPullRequestVersion(Instant.parse("2026-01-01T10:00:00Z"), true));
+        stubOpenPr();
+        when(graphQlClient.fetchCodeownerReview(REPO, PR)).thenReturn(null);
+
+        client.fetchPullRequest(COORD, PR);
+        client.fetchPullRequest(COORD, PR);
+
+        verify(graphQlClient, times(2)).fetchCodeownerReview(REPO, PR);
+    }
+
+    @Test
+    void batchMapsCodeownerReviewOfRequiresCodeownersRepo() {
+        GitHubPrSourceClient client = codeownerClient();
+        GitHubGraphQlClient.PullRequestRef ref = new GitHubGraphQlClient.PullRequestRef(REPO, PR);
+        when(graphQlClient.fetchPullRequests(List.of(ref), Set.of()))
+                .thenReturn(Map.of(ref, batchedPr(GitHubPullRequest.ReviewDecision.CHANGES_REQUESTED)));
+
+        Map<PrRef, PrMetadata> prs = client.fetchPullRequests(List.of(new PrRef(COORD, PR)));
+
+        PrMetadata pr = prs.get(new PrRef(COORD, PR));
+        assertThat(pr).isNotNull();
+        assertThat(pr.codeOwnersApproved()).isFalse();
+        assertThat(pr.codeownerChangesRequested()).isTrue();
+        assertThat(pr.codeOwnerReviewers()).hasSize(1);
+        verifyNoInteractions(gitHubClient);
+    }
+
+    @Test
+    void batchIgnoresReviewDecisionOfOtherRepos() {
+        GitHubPrSourceClient client = nonCodeownerClient();
+        GitHubGraphQlClient.PullRequestRef ref = new GitHubGraphQlClient.PullRequestRef(REPO, PR);
+        // Not requires-codeowners, and no github-team-slug: the batch resolves requested team members
+        when(graphQlClient.fetchPullRequests(List.of(ref), Set.of(REPO)))
+                .thenReturn(Map.of(ref, batchedPr(GitHubPullRequest.ReviewDecision.CHANGES_REQUESTED)));
+
+        PrMetadata pr = client.fetchPullRequests(List.of(new PrRef(COORD, PR))).get(new PrRef(COORD, PR));
+
+        assertThat(pr).isNotNull();
+        assertThat(pr.codeOwnersApproved()).isNull();
+        assertThat(pr.codeownerChangesRequested()).isFalse();
+        assertThat(pr.codeOwnerReviewers()).isEmpty();
+    }
+
+    @Test
+    void countsBatchedPullRequestsAsBatchFetches() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        GitHubPrSourceClient client = snapshotClient(meterRegistry);
+        GitHubGraphQlClient.PullRequestRef ref = new GitHubGraphQlClient.PullRequestRef(REPO, PR);
+        GitHubGraphQlClient.PullRequestRef missing = new GitHubGraphQlClient.PullRequestRef(REPO, PR + 1);
+        when(graphQlClient.fetchPullRequests(List.of(ref, missing), Set.of()))
+                .thenReturn(Map.of(ref, batchedPr(GitHubPullRequest.ReviewDecision.APPROVED)));
+
+        client.fetchPullRequests(List.of(new PrRef(COORD, PR), new PrRef(COORD, PR + 1)));
+
+        // Only the PR the batch returned; the missing one is fetched, and counted, on its own
+        assertThat(fetches(meterRegistry, "batch")).isEqualTo(1);
+        verifyNoInteractions(gitHubClient);
+    }
+
     // ── helpers ──
 
+    private GitHubPrSourceClient snapshotClient(SimpleMeterRegistry meterRegistry) {
+        PrSnapshotStore snapshots = new PrSnapshotStore(
+                new PrSnapshotProps(Duration.ofMinutes(30), 100, DataSize.ofBytes(0)), meterRegistry);
+        return new GitHubPrSourceClient(gitHubClient, graphQlClient, props(true), snapshots, requestedTeamMembers);
+    }
+
+    private static double fetches(SimpleMeterRegistry meterRegistry, String source) {
+        return meterRegistry
+                .get("pr_tracking_pr_fetch_total")
+                .tag("provider", Provider.GITHUB.storageValue())
+                .tag("source", source)
+                .counter()
+                .count();
+    }
+
     private GitHubPrSourceClient codeownerClient() {
-        return new GitHubPrSourceClient(gitHubClient, graphQlClient, props(true));
+        return new GitHubPrSourceClient(gitHubClient, graphQlClient, props(true), null, requestedTeamMembers);
+    }
+
+    private GitHubPrSourceClient nonCodeownerClient() {
+        return new GitHubPrSourceClient(gitHubClient, graphQlClient, props(false), null, requestedTeamMembers);
     }
 
     private void stubOpenPr() {
-        when(gitHubClient.getPullRequest(eq(REPO), eq(PR), anyBoolean()))
+        when(gitHubClient.getPullRequest(eq(REPO), eq(PR), any()))
                 .thenReturn(new GitHubPullRequest(
                         REPO,
                         PR,
@@ -122,6 +274,22 @@ class GitHubPrSourceClientTest {
                         "author"));
     }
 
+    private static GitHubPullRequest batchedPr(GitHubPullRequest.ReviewDecision decision) {
+        return new GitHubPullRequest(
+                REPO,
+                PR,
+                Instant.now(),
+                GitHubPullRequest.PrState.OPEN,
+                true,
+                null,
+                List.of(),
+                List.of(),
+                "author",
+                decision,
+                List.of(new CodeOwnerReviewer(true, "my-org/platform", null)),
+                false);
+    }
+
     // A null decision models GitHub's "no code-owner review required" response; NullAway can't see the
     // record component's type-use @Nullable on CodeownerReview's constructor across compilation units.
     @SuppressWarnings("NullAway")
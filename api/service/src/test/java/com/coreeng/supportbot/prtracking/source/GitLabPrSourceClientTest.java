@@ -9,10 +9,12 @@ import static org.springframework.test.web.client.response.MockRestResponseCreat
 import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
 import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
 
+import com.coreeng.supportbot.config.PrSnapshotProps;
 import com.coreeng.supportbot.config.PrTrackingProps;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.google.common.collect.ImmutableList;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
@@ -22,6 +24,7 @@ import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.client.RestClient;
 
 class GitLabPrSourceClientTest {
@@ -34,7 +37,6 @@ class GitLabPrSourceClientTest {
 
     private MockRestServiceServer server;
     private GitLabPrSourceClient client;
-    private GitLabGroupMemberCache memberCache;
 
     @BeforeEach
     void setUp() {
@@ -46,8 +48,7 @@ class GitLabPrSourceClientTest {
                                 java.nio.charset.StandardCharsets.UTF_8)));
         server = MockRestServiceServer.bindTo(builder).build();
         RestClient restClient = builder.build();
-        memberCache = new GitLabGroupMemberCache(Duration.ofMinutes(5));
-        client = new GitLabPrSourceClient(restClient, propsWithSingleGitLabRepo(), memberCache);
+        client = new GitLabPrSourceClient(restClient, propsWithSingleGitLabRepo());
     }
 
     @Test
@@ -325,7 +326,7 @@ class GitLabPrSourceClientTest {
     }
 
     @Test
-    void resolveTeamMembersDelegatesToCacheAndPaginates() {
+    void resolveTeamMembersPaginates() {
         // 100 members on page 1 forces a second page; 5 on page 2 stops the loop. Verifies the
         // pagination-until-short-page exit condition.
         StringBuilder page1 = new StringBuilder("[");
@@ -344,10 +345,6 @@ class GitLabPrSourceClientTest {
         List<String> members = client.resolveTeamMembers(RepoCoord.gitlab(REPO), "my-group/sub-group");
 
         assertThat(members).hasSize(102).contains("user0", "user99", "late1", "late2");
-
-        // Second call must hit the cache, not the network.
-        List<String> cached = client.resolveTeamMembers(RepoCoord.gitlab(REPO), "my-group/sub-group");
-        assertThat(cached).isSameAs(members);
         server.verify();
     }
 
@@ -405,8 +402,7 @@ class GitLabPrSourceClientTest {
                                 java.nio.charset.StandardCharsets.UTF_8)));
         MockRestServiceServer overrideServer =
                 MockRestServiceServer.bindTo(builder).build();
-        GitLabPrSourceClient overrideClient =
-                new GitLabPrSourceClient(builder.build(), props, new GitLabGroupMemberCache(Duration.ofMinutes(5)));
+        GitLabPrSourceClient overrideClient = new GitLabPrSourceClient(builder.build(), props);
 
         overrideServer
                 .expect(requestTo(overrideApi + "/projects/" + REPO_ENC + "/merge_requests/1"))
@@ -585,6 +581,44 @@ class GitLabPrSourceClientTest {
         h.server().verify();
     }
 
+    @Test
+    void fetchPullRequestReusesApprovalsWhileMrIsUnchanged() {
+        RestClient.Builder builder = RestClient.builder()
+                .messageConverters(ImmutableList.of(
+                        new MappingJackson2HttpMessageConverter(
+                                new ObjectMapper().registerModule(new JavaTimeModule())),
+                        new org.springframework.http.converter.StringHttpMessageConverter(
+                                java.nio.charset.StandardCharsets.UTF_8)));
+        MockRestServiceServer snapshotServer =
+                MockRestServiceServer.bindTo(builder).build();
+        PrSnapshotStore snapshots = new PrSnapshotStore(
+                new PrSnapshotProps(Duration.ofMinutes(30), 100, DataSize.ofBytes(0)), new SimpleMeterRegistry());
+        GitLabPrSourceClient snapshotClient =
+                new GitLabPrSourceClient(builder.build(), propsWithSingleGitLabRepo(), snapshots);
+
+        snapshotServer
+                .expect(requestTo(API + "/projects/" + REPO_ENC + "/merge_requests/42"))
+                .andRespond(withSuccess(openMergeableMr(42), MediaType.APPLICATION_JSON));
+        snapshotServer
+                .expect(requestTo(API + "/projects/" + REPO_ENC + "/merge_requests/42/approvals"))
+                .andRespond(withSuccess("""
+                        {"approved_by": [{"user": {"username": "alice"}}]}
+                        """, MediaType.APPLICATION_JSON));
+        // Same updated_at, but the target branch moved: only the merge status differs
+        snapshotServer
+                .expect(requestTo(API + "/projects/" + REPO_ENC + "/merge_requests/42"))
+                .andRespond(withSuccess(
+                        openMergeableMr(42).replace("\"mergeable\"}", "\"conflict\"}"), MediaType.APPLICATION_JSON));
+
+        PrMetadata first = snapshotClient.fetchPullRequest(RepoCoord.gitlab(REPO), 42);
+        PrMetadata second = snapshotClient.fetchPullRequest(RepoCoord.gitlab(REPO), 42);
+
+        assertThat(first.mergeable()).isTrue();
+        assertThat(second.mergeable()).isFalse();
+        assertThat(second.reviews()).isEqualTo(first.reviews());
+        snapshotServer.verify();
+    }
+
     private static String openMergeableMr(int iid) {
         return """
                 {"iid":%d,"state":"opened","created_at":"2026-01-01T10:00:00Z",
@@ -604,8 +638,7 @@ class GitLabPrSourceClientTest {
                                 java.nio.charset.StandardCharsets.UTF_8)));
         MockRestServiceServer codeownerServer =
                 MockRestServiceServer.bindTo(builder).build();
-        GitLabPrSourceClient codeownerClient = new GitLabPrSourceClient(
-                builder.build(), propsWithCodeownerGitLabRepo(), new GitLabGroupMemberCache(Duration.ofMinutes(5)));
+        GitLabPrSourceClient codeownerClient = new GitLabPrSourceClient(builder.build(), propsWithCodeownerGitLabRepo());
         return new CodeownerHarness(codeownerServer, codeownerClient);
     }
 
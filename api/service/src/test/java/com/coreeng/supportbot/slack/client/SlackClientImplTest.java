@@ -4,6 +4,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
+import com.coreeng.supportbot.config.SlackRateLimitProps;
 import com.coreeng.supportbot.slack.SlackId;
 import com.slack.api.methods.MethodsClient;
 import com.slack.api.methods.request.conversations.ConversationsInfoRequest;
@@ -12,6 +13,7 @@ import com.slack.api.methods.response.conversations.ConversationsInfoResponse;
 import com.slack.api.methods.response.usergroups.UsergroupsListResponse;
 import com.slack.api.model.Usergroup;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.cache.Cache;
@@ -35,8 +37,15 @@ class SlackClientImplTest {
         groupCache = new ConcurrentMapCache("group");
         channelCache = new ConcurrentMapCache("channel");
         meterRegistry = new SimpleMeterRegistry();
-        slackClient =
-                new SlackClientImpl(methodsClient, permalinkCache, userCache, groupCache, channelCache, meterRegistry);
+        slackClient = new SlackClientImpl(
+                methodsClient,
+                permalinkCache,
+                userCache,
+                groupCache,
+                channelCache,
+                meterRegistry,
+                new SlackRateGovernor(
+                        new SlackRateLimitProps(true, 1, Duration.ofSeconds(1), Duration.ofMillis(10)), meterRegistry));
     }
 
     @Test
@@ -132,4 +141,58 @@ class SlackClientImplTest {
         // Then
         assertThat(result).isNull();
     }
+
+    @Test
+    public void shouldRetryCallRateLimitedBySlack() throws Exception {
+        // Given
+        ConversationsInfoResponse rateLimited = new ConversationsInfoResponse();
+        rateLimited.setOk(false);
+        rateLimited.setError("ratelimited");
+        com.slack.api.model.Conversation channel = new com.slack.api.model.Conversation();
+        channel.setName("general");
+        ConversationsInfoResponse response = new ConversationsInfoResponse();
+        response.setOk(true);
+        response.setChannel(channel);
+        when(methodsClient.conversationsInfo(any(ConversationsInfoRequest.class)))
+                .thenReturn(rateLimited)
+                .thenReturn(response);
+
+        // When
+        String result = slackClient.getChannelName("C1");
+
+        // Then
+        assertThat(result).isEqualTo("general");
+        verify(methodsClient, times(2)).conversationsInfo(any(ConversationsInfoRequest.class));
+        assertThat(meterRegistry
+                        .get("slack_api_calls_throttled_total")
+                        .tag("method", "conversations.info")
+                        .tag("outcome", "retried")
+                        .counter()
+                        .count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    public void shouldFailCallStillRateLimitedAfterRetries() throws Exception {
+        // Given
+        ConversationsInfoResponse rateLimited = new ConversationsInfoResponse();
+        rateLimited.setOk(false);
+        rateLimited.setError("ratelimited");
+        when(methodsClient.conversationsInfo(any(ConversationsInfoRequest.class)))
+                .thenReturn(rateLimited);
+
+        // When
+        String result = slackClient.getChannelName("C1");
+
+        // Then
+        assertThat(result).isNull();
+        verify(methodsClient, times(2)).conversationsInfo(any(ConversationsInfoRequest.class));
+        assertThat(meterRegistry
+                        .get("slack_api_calls_throttled_total")
+                        .tag("method", "conversations.info")
+                        .tag("outcome", "failed")
+                        .counter()
+                        .count())
+                .isEqualTo(1);
+    }
 }
@@ -0,0 +1,66 @@
+package com.coreeng.supportbot.slack.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.coreeng.supportbot.config.SlackRateLimitProps;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class SlackRateGovernorTest {
+    // Tier 2 method: 20 calls per minute
+    private static final String METHOD = "usergroups.list";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SlackRateGovernor governor = new SlackRateGovernor(
+            new SlackRateLimitProps(true, 3, Duration.ofSeconds(30), Duration.ofSeconds(5)), meterRegistry);
+
+    @Test
+    void lowerLanesLeaveCapacityToHigherLanes() {
+        // Background calls leave 30% of the bucket, 6 of 20 tokens
+        for (int i = 0; i < 14; i++) {
+            assertThat(governor.tryTake(METHOD, SlackLane.background)).isZero();
+        }
+
+        assertThat(governor.tryTake(METHOD, SlackLane.background)).isPositive();
+        assertThat(governor.tryTake(METHOD, SlackLane.normal)).isZero();
+        assertThat(governor.tryTake(METHOD, SlackLane.interactive)).isZero();
+    }
+
+    @Test
+    void interactiveCallsMayUseWholeBucket() {
+        for (int i = 0; i < 20; i++) {
+            assertThat(governor.tryTake(METHOD, SlackLane.interactive)).isZero();
+        }
+
+        assertThat(governor.tryTake(METHOD, SlackLane.interactive)).isPositive();
+    }
+
+    @Test
+    void rateLimitedMethodIsPausedForRetryAfter() {
+        boolean retry = governor.onRateLimited(METHOD, Duration.ofSeconds(10), 0);
+
+        assertThat(retry).isTrue();
+        assertThat(governor.tryTake(METHOD, SlackLane.interactive))
+                .isGreaterThan(Duration.ofSeconds(9).toNanos());
+        assertThat(governor.tryTake("users.info", SlackLane.interactive)).isZero();
+    }
+
+    @Test
+    void callIsNotRetriedWhenRetryAfterIsTooLong() {
+        assertThat(governor.onRateLimited(METHOD, Duration.ofMinutes(5), 0)).isFalse();
+        assertThat(governor.onRateLimited(METHOD, Duration.ofSeconds(1), 3)).isFalse();
+    }
+
+    @Test
+    void laneEnteredOnThreadIsRestoredOnClose() {
+        try (SlackLane.Scope ignored = SlackLane.background.enter()) {
+            assertThat(SlackLane.current()).isEqualTo(SlackLane.background);
+            try (SlackLane.Scope nested = SlackLane.interactive.enter()) {
+                assertThat(SlackLane.current()).isEqualTo(SlackLane.interactive);
+            }
+            assertThat(SlackLane.current()).isEqualTo(SlackLane.background);
+        }
+        assertThat(SlackLane.current()).isNull();
+    }
+}
@@ -0,0 +1,91 @@
+package com.coreeng.supportbot.slack.permalink;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.coreeng.supportbot.config.SlackPermalinkProps;
+import com.coreeng.supportbot.slack.MessageTs;
+import com.coreeng.supportbot.slack.SlackException;
+import com.coreeng.supportbot.slack.client.SlackClient;
+import com.coreeng.supportbot.slack.client.SlackGetMessageByTsRequest;
+import com.google.common.collect.ImmutableMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class PermalinkServiceTest {
+    private final SlackGetMessageByTsRequest stored = message("1.1");
+    private final SlackGetMessageByTsRequest missing = message("2.2");
+    private final SlackGetMessageByTsRequest failing = message("3.3");
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Mock
+    private PermalinkRepository repository;
+
+    @Mock
+    private SlackClient slackClient;
+
+    private PermalinkService service;
+
+    @BeforeEach
+    void setup() {
+        service = new PermalinkService(repository, slackClient, executor, new SlackPermalinkProps(2, 1000));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void storedPermalinkIsReadWithoutSlack() {
+        when(repository.findPermalinks(List.of(stored))).thenReturn(ImmutableMap.of(stored, "https://stored"));
+
+        String permalink = service.getPermalink(stored);
+
+        assertThat(permalink).isEqualTo("https://stored");
+        verify(slackClient, never()).getPermalink(any());
+        verify(repository, never()).savePermalinks(any());
+    }
+
+    @Test
+    void missingPermalinkIsResolvedAndStored() {
+        when(repository.findPermalinks(List.of(missing))).thenReturn(ImmutableMap.of());
+        when(slackClient.getPermalink(missing)).thenReturn("https://resolved");
+
+        String permalink = service.getPermalink(missing);
+
+        assertThat(permalink).isEqualTo("https://resolved");
+        verify(repository).savePermalinks(Map.of(missing, "https://resolved"));
+    }
+
+    @Test
+    void bulkLookupResolvesOnlyMissingPermalinksAndSkipsFailures() {
+        when(repository.findPermalinks(any())).thenReturn(ImmutableMap.of(stored, "https://stored"));
+        when(slackClient.getPermalink(missing)).thenReturn("https://resolved");
+        when(slackClient.getPermalink(failing)).thenThrow(new SlackException(new RuntimeException("not_found")));
+
+        ImmutableMap<SlackGetMessageByTsRequest, String> permalinks =
+                service.getPermalinks(List.of(stored, missing, failing, missing));
+
+        assertThat(permalinks)
+                .containsExactlyInAnyOrderEntriesOf(Map.of(stored, "https://stored", missing, "https://resolved"));
+        verify(slackClient, never()).getPermalink(stored);
+        verify(repository).savePermalinks(Map.of(missing, "https://resolved"));
+    }
+
+    private static SlackGetMessageByTsRequest message(String ts) {
+        return new SlackGetMessageByTsRequest("C123", MessageTs.of(ts));
+    }
+}
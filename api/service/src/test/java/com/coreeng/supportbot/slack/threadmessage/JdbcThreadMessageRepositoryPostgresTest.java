@@ -0,0 +1,108 @@
+package com.coreeng.supportbot.slack.threadmessage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.jooq.DSLContext;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.TestConstructor;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+@SpringJUnitConfig(JdbcThreadMessageRepositoryPostgresTest.TestConfig.class)
+@TestConstructor(autowireMode = TestConstructor.AutowireMode.ALL)
+@EnabledIf("localDatabaseEnabled")
+class JdbcThreadMessageRepositoryPostgresTest {
+    private static final String ROOT_TS = "1700000000.000100";
+    private static final String REPLY_TS = "1700000000.000200";
+
+    private final ThreadMessageRepository repository;
+    private final JdbcTemplate jdbcTemplate;
+    private final String channelId = "C-" + UUID.randomUUID();
+
+    JdbcThreadMessageRepositoryPostgresTest(ThreadMessageRepository repository, JdbcTemplate jdbcTemplate) {
+        this.repository = repository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    static boolean localDatabaseEnabled() {
+        return Boolean.getBoolean("docker") || "true".equals(System.getenv("SUPPORTBOT_USE_LOCAL_DB"));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM slack_thread_message WHERE channel_id = ?", channelId);
+    }
+
+    @Test
+    void threadIsReadWithItsEditsAndDeletes() {
+        repository.recordPosted(channelId, message(ROOT_TS, "help please"));
+        repository.recordPosted(channelId, message(REPLY_TS, "on it"));
+        repository.recordPosted(channelId, message("1700000000.000300", "typo"));
+        repository.recordEdited(channelId, message(ROOT_TS, "help please, prod is down"));
+        repository.recordDeleted(channelId, "1700000000.000300");
+
+        assertThat(repository.findThread(channelId, ROOT_TS))
+                .containsExactly(message(ROOT_TS, "help please, prod is down"), message(REPLY_TS, "on it"));
+    }
+
+    @Test
+    void threadWhoseRootWasNeitherPostedNorCrawledIsNotMirrored() {
+        repository.recordEdited(channelId, message(ROOT_TS, "edited root"));
+        repository.recordPosted(channelId, message(REPLY_TS, "reply"));
+
+        assertThat(repository.findThread(channelId, ROOT_TS)).isNull();
+
+        repository.saveCrawledThread(channelId, List.of(message(ROOT_TS, "edited root"), message(REPLY_TS, "reply")));
+
+        assertThat(repository.findThread(channelId, ROOT_TS)).hasSize(2);
+    }
+
+    @Test
+    void deleteOfUnknownMessageIsIgnored() {
+        repository.recordDeleted(channelId, ROOT_TS);
+
+        assertThat(jdbcTemplate.queryForObject(
+                        "SELECT count(*) FROM slack_thread_message WHERE channel_id = ?", Integer.class, channelId))
+                .isZero();
+    }
+
+    private static ThreadMessage message(String ts, String text) {
+        return new ThreadMessage(ROOT_TS, ts, "U123", null, text);
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    static class TestConfig {
+        @Bean
+        DataSource dataSource() {
+            String url = System.getProperty("supportbot.localDb.url", "jdbc:postgresql://localhost:5432/postgres");
+            String username = System.getProperty("supportbot.localDb.user", "postgres");
+            String password = System.getProperty("supportbot.localDb.password", "postgres");
+            return new DriverManagerDataSource(url, username, password);
+        }
+
+        @Bean
+        JdbcTemplate jdbcTemplate(DataSource dataSource) {
+            return new JdbcTemplate(dataSource);
+        }
+
+        @Bean
+        DSLContext dslContext(DataSource dataSource) {
+            return DSL.using(dataSource, SQLDialect.POSTGRES);
+        }
+
+        @Bean
+        ThreadMessageRepository threadMessageRepository(DSLContext dslContext) {
+            return new JdbcThreadMessageRepository(dslContext);
+        }
+    }
+}
@@ -8,12 +8,17 @@ import com.coreeng.supportbot.asyncjob.AsyncJobRepository;
 import com.coreeng.supportbot.config.SlackChannelProps;
 import com.coreeng.supportbot.config.SlackChannelRegistry;
 import com.coreeng.supportbot.config.SlackTicketsProps;
+import com.coreeng.supportbot.config.SummaryExportProps;
+import com.coreeng.supportbot.config.ThreadCrawlProps;
 import com.coreeng.supportbot.summarydata.SummaryExportService.CompletedExport;
 import com.coreeng.supportbot.summarydata.SummaryExportService.ExportStatus;
 import com.google.common.collect.ImmutableList;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
@@ -24,6 +29,7 @@ import java.util.zip.ZipInputStream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.ApplicationContext;
@@ -41,6 +47,9 @@ class SummaryExportServiceTest {
     @Mock
     private ApplicationContext applicationContext;
 
+    @TempDir
+    private Path exportDirectory;
+
     private SlackChannelRegistry channelRegistry;
     private SummaryExportService service;
 
@@ -48,17 +57,31 @@ class SummaryExportServiceTest {
     void setUp() {
         channelRegistry = new SlackChannelRegistry(
                 new SlackTicketsProps("C123", List.of(), "eyes", "eyes", "white_check_mark", "sos"));
-        service = new SummaryExportService(asyncJobRepository, threadService, channelRegistry, applicationContext);
+        service = serviceFor(channelRegistry);
+    }
+
+    private SummaryExportService serviceFor(SlackChannelRegistry registry) {
+        return new SummaryExportService(
+                asyncJobRepository,
+                threadService,
+                new ThreadCrawler(threadService, new ThreadCrawlProps(2)),
+                registry,
+                applicationContext,
+                new SummaryExportProps(exportDirectory.toString()));
     }
 
-    private static CompletedExport completedExport(
-            String content, String filename, Instant completedAt, Instant expiresAt) {
-        return new CompletedExport(content.getBytes(StandardCharsets.UTF_8), filename, 1, completedAt, expiresAt);
+    private CompletedExport completedExport(String content, String filename, Instant completedAt, Instant expiresAt) {
+        try {
+            Path file = Files.writeString(exportDirectory.resolve(filename), content, StandardCharsets.UTF_8);
+            return new CompletedExport(file, filename, 1, completedAt, expiresAt);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
-    private static List<String> zipEntryNames(byte[] zipBytes) throws IOException {
+    private static List<String> zipEntryNames(Path zip) throws IOException {
         List<String> names = new ArrayList<>();
-        try (ZipInputStream zis = new ZipInputStream(new ByteArrayInputStream(zipBytes))) {
+        try (ZipInputStream zis = new ZipInputStream(new ByteArrayInputStream(Files.readAllBytes(zip)))) {
             ZipEntry entry;
             while ((entry = zis.getNextEntry()) != null) {
                 names.add(entry.getName());
@@ -68,9 +91,9 @@ class SummaryExportServiceTest {
         return names;
     }
 
-    private static List<String> zipEntryContents(byte[] zipBytes) throws IOException {
+    private static List<String> zipEntryContents(Path zip) throws IOException {
         List<String> contents = new ArrayList<>();
-        try (ZipInputStream zis = new ZipInputStream(new ByteArrayInputStream(zipBytes))) {
+        try (ZipInputStream zis = new ZipInputStream(new ByteArrayInputStream(Files.readAllBytes(zip)))) {
             ZipEntry entry;
             while ((entry = zis.getNextEntry()) != null) {
                 contents.add(new String(zis.readAllBytes(), StandardCharsets.UTF_8));
@@ -80,16 +103,37 @@ class SummaryExportServiceTest {
         return contents;
     }
 
-    // --- resumeExportOnStartup: delete-without-resume ---
+    // --- resumeExportOnStartup: resume from the threads already written ---
 
     @Test
-    void resumeExportOnStartup_deletesStaleJobRow_withoutResuming() {
+    void resumeExportOnStartup_resumesJob_withoutRefetchingThreadsAlreadyWritten() throws IOException {
         AsyncJobRepository.AsyncJob staleJob = new AsyncJobRepository.AsyncJob("summary-export", "7", Instant.now());
         when(asyncJobRepository.findJob("summary-export")).thenReturn(staleJob);
+        when(applicationContext.getBean(SummaryExportService.class)).thenReturn(service);
+        Files.createDirectories(exportDirectory.resolve("entries"));
+        Files.writeString(
+                exportDirectory.resolve("entries").resolve("C123_1700000000.000001.txt"), "Written before restart");
+        when(threadService.getThreadsWithCheckMark("C123", 7))
+                .thenReturn(ImmutableList.of("1700000000.000001", "1700000000.000002"));
+        when(threadService.getThreadAsText("C123", "1700000000.000002")).thenReturn("Fetched after restart");
+
+        service.resumeExportOnStartup();
+
+        verify(threadService, never()).getThreadAsText("C123", "1700000000.000001");
+        verify(asyncJobRepository).deleteJob("summary-export");
+        Optional<CompletedExport> export = service.currentServableExport();
+        assertThat(export).isPresent();
+        assertThat(zipEntryContents(export.get().file()))
+                .containsExactly("Written before restart", "Fetched after restart");
+    }
+
+    @Test
+    void resumeExportOnStartup_deletesJobWithCorruptData() {
+        when(asyncJobRepository.findJob("summary-export"))
+                .thenReturn(new AsyncJobRepository.AsyncJob("summary-export", "not-a-number", Instant.now()));
 
         service.resumeExportOnStartup();
 
-        verify(asyncJobRepository).findJob("summary-export");
         verify(asyncJobRepository).deleteJob("summary-export");
         verifyNoInteractions(applicationContext, threadService);
     }
@@ -111,7 +155,7 @@ class SummaryExportServiceTest {
     void start_shouldStartJobWhenNotRunning() {
         when(asyncJobRepository.tryStartJob("summary-export", "7")).thenReturn(true);
         when(applicationContext.getBean(SummaryExportService.class)).thenReturn(service);
-        when(threadService.getThreadsWithCheckMarkAsText(anyString(), anyInt())).thenReturn(ImmutableList.of());
+        when(threadService.getThreadsWithCheckMark(anyString(), anyInt())).thenReturn(ImmutableList.of());
 
         boolean result = service.start(7);
 
@@ -148,7 +192,7 @@ class SummaryExportServiceTest {
 
         when(asyncJobRepository.tryStartJob("summary-export", "7")).thenReturn(true);
         when(applicationContext.getBean(SummaryExportService.class)).thenReturn(service);
-        when(threadService.getThreadsWithCheckMarkAsText(anyString(), anyInt())).thenReturn(ImmutableList.of());
+        when(threadService.getThreadsWithCheckMark(anyString(), anyInt())).thenReturn(ImmutableList.of());
 
         service.start(7);
 
@@ -165,8 +209,7 @@ class SummaryExportServiceTest {
 
         SlackChannelRegistry brokenRegistry = mock(SlackChannelRegistry.class);
         when(brokenRegistry.monitoredChannelIds()).thenThrow(new RuntimeException("registry unavailable"));
-        SummaryExportService brokenService =
-                new SummaryExportService(asyncJobRepository, threadService, brokenRegistry, applicationContext);
+        SummaryExportService brokenService = serviceFor(brokenRegistry);
         brokenService.seedCompletedExportForTest(completedExport(
                 "old content", "old-export.zip", Instant.now(), Instant.now().plus(1, ChronoUnit.DAYS)));
 
@@ -188,26 +231,12 @@ class SummaryExportServiceTest {
         assertThat(status.error()).isNull();
     }
 
-    @Test
-    void completedExport_equalsAndHashCode_areContentBased_notReferenceBased() {
-        Instant completedAt = Instant.now();
-        Instant expiresAt = completedAt.plus(1, ChronoUnit.HOURS);
-
-        CompletedExport first = completedExport("same content", "same.zip", completedAt, expiresAt);
-        CompletedExport second = completedExport("same content", "same.zip", completedAt, expiresAt);
-        CompletedExport differentContent = completedExport("different content", "same.zip", completedAt, expiresAt);
-
-        assertThat(first).isEqualTo(second);
-        assertThat(first.hashCode()).isEqualTo(second.hashCode());
-        assertThat(first).isNotEqualTo(differentContent);
-    }
-
     @Test
     void completedExport_rejectsNegativeThreadCount() {
         Instant completedAt = Instant.now();
 
         assertThatThrownBy(() -> new CompletedExport(
-                        "content".getBytes(StandardCharsets.UTF_8),
+                        exportDirectory.resolve("export.zip"),
                         "export.zip",
                         -1,
                         completedAt,
@@ -220,7 +249,7 @@ class SummaryExportServiceTest {
         Instant completedAt = Instant.now();
 
         assertThatThrownBy(() -> new CompletedExport(
-                        "content".getBytes(StandardCharsets.UTF_8), "export.zip", 1, completedAt, completedAt))
+                        exportDirectory.resolve("export.zip"), "export.zip", 1, completedAt, completedAt))
                 .isInstanceOf(IllegalArgumentException.class);
     }
 
@@ -338,10 +367,10 @@ class SummaryExportServiceTest {
 
     @Test
     void runAsyncExport_writesZipWithThreadFiles_andPublishesCompletedExport() throws IOException {
-        var threads = ImmutableList.of(
-                new ThreadService.ThreadData("1700000000.000001", "Thread one content"),
-                new ThreadService.ThreadData("1700000000.000002", "Thread two content"));
-        when(threadService.getThreadsWithCheckMarkAsText("C123", 31)).thenReturn(threads);
+        when(threadService.getThreadsWithCheckMark("C123", 31))
+                .thenReturn(ImmutableList.of("1700000000.000001", "1700000000.000002"));
+        when(threadService.getThreadAsText("C123", "1700000000.000001")).thenReturn("Thread one content");
+        when(threadService.getThreadAsText("C123", "1700000000.000002")).thenReturn("Thread two content");
 
         service.runAsyncExport(31);
 
@@ -356,9 +385,9 @@ class SummaryExportServiceTest {
                 .matches("downloaded-threads-\\d{4}-\\d{2}-\\d{2}-to-\\d{4}-\\d{2}-\\d{2}\\.zip");
         assertThat(export.get().expiresAt()).isAfter(export.get().completedAt());
 
-        assertThat(zipEntryNames(export.get().content()))
+        assertThat(zipEntryNames(export.get().file()))
                 .containsExactly("1700000000.000001.txt", "1700000000.000002.txt");
-        assertThat(zipEntryContents(export.get().content()))
+        assertThat(zipEntryContents(export.get().file()))
                 .containsExactly("Thread one content", "Thread two content");
     }
 
@@ -373,19 +402,33 @@ class SummaryExportServiceTest {
                 "eyes",
                 "white_check_mark",
                 "sos"));
-        SummaryExportService multiService =
-                new SummaryExportService(asyncJobRepository, threadService, multiChannel, applicationContext);
+        SummaryExportService multiService = serviceFor(multiChannel);
 
-        when(threadService.getThreadsWithCheckMarkAsText("C-a", 31)).thenThrow(new RuntimeException("not_in_channel"));
-        when(threadService.getThreadsWithCheckMarkAsText("C-b", 31))
-                .thenReturn(ImmutableList.of(new ThreadService.ThreadData("1700000000.000009", "Channel B content")));
+        when(threadService.getThreadsWithCheckMark("C-a", 31)).thenThrow(new RuntimeException("not_in_channel"));
+        when(threadService.getThreadsWithCheckMark("C-b", 31)).thenReturn(ImmutableList.of("1700000000.000009"));
+        when(threadService.getThreadAsText("C-b", "1700000000.000009")).thenReturn("Channel B content");
 
         multiService.runAsyncExport(31);
 
         assertThat(multiService.getStatus().error()).isNull();
         Optional<CompletedExport> export = multiService.currentServableExport();
         assertThat(export).isPresent();
-        assertThat(zipEntryNames(export.get().content())).containsExactly("1700000000.000009.txt");
+        assertThat(zipEntryNames(export.get().file())).containsExactly("1700000000.000009.txt");
+    }
+
+    @Test
+    void runAsyncExport_skipsThreadThatFailsToFetch_andExportsTheRestOfTheChannel() throws IOException {
+        when(threadService.getThreadsWithCheckMark("C123", 31))
+                .thenReturn(ImmutableList.of("1700000000.000001", "1700000000.000002"));
+        when(threadService.getThreadAsText("C123", "1700000000.000001")).thenThrow(new RuntimeException("timeout"));
+        when(threadService.getThreadAsText("C123", "1700000000.000002")).thenReturn("Thread two content");
+
+        service.runAsyncExport(31);
+
+        assertThat(service.getStatus().error()).isNull();
+        Optional<CompletedExport> export = service.currentServableExport();
+        assertThat(export).isPresent();
+        assertThat(zipEntryNames(export.get().file())).containsExactly("1700000000.000002.txt");
     }
 
     @Test
@@ -399,59 +442,96 @@ class SummaryExportServiceTest {
                 "eyes",
                 "white_check_mark",
                 "sos"));
-        SummaryExportService multiService =
-                new SummaryExportService(asyncJobRepository, threadService, multiChannel, applicationContext);
+        SummaryExportService multiService = serviceFor(multiChannel);
 
-        when(threadService.getThreadsWithCheckMarkAsText("C-a", 31))
-                .thenReturn(ImmutableList.of(new ThreadService.ThreadData("1700000000.000001", "from A")));
-        when(threadService.getThreadsWithCheckMarkAsText("C-b", 31))
-                .thenReturn(ImmutableList.of(new ThreadService.ThreadData("1700000000.000001", "from B")));
+        when(threadService.getThreadsWithCheckMark("C-a", 31)).thenReturn(ImmutableList.of("1700000000.000001"));
+        when(threadService.getThreadsWithCheckMark("C-b", 31)).thenReturn(ImmutableList.of("1700000000.000001"));
+        when(threadService.getThreadAsText("C-a", "1700000000.000001")).thenReturn("from A");
+        when(threadService.getThreadAsText("C-b", "1700000000.000001")).thenReturn("from B");
 
         multiService.runAsyncExport(31);
 
         Optional<CompletedExport> export = multiService.currentServableExport();
         assertThat(export).isPresent();
-        assertThat(zipEntryNames(export.get().content()))
+        assertThat(zipEntryNames(export.get().file()))
                 .containsExactlyInAnyOrder("1700000000.000001.txt", "1700000000.000001-2.txt");
-        assertThat(zipEntryContents(export.get().content())).containsExactlyInAnyOrder("from A", "from B");
+        assertThat(zipEntryContents(export.get().file())).containsExactlyInAnyOrder("from A", "from B");
     }
 
     @Test
     void runAsyncExport_writesEmptyZip_whenNoThreadsFound() throws IOException {
-        when(threadService.getThreadsWithCheckMarkAsText("C123", 31)).thenReturn(ImmutableList.of());
+        when(threadService.getThreadsWithCheckMark("C123", 31)).thenReturn(ImmutableList.of());
 
         service.runAsyncExport(31);
 
         Optional<CompletedExport> export = service.currentServableExport();
         assertThat(export).isPresent();
         assertThat(export.get().threadCount()).isEqualTo(0);
-        assertThat(zipEntryNames(export.get().content())).isEmpty();
+        assertThat(zipEntryNames(export.get().file())).isEmpty();
     }
 
     @Test
-    void runAsyncExport_disambiguatesDuplicateFileNames_withoutFailing() throws IOException {
-        var threads = ImmutableList.of(
-                new ThreadService.ThreadData("1700000000.000001", "First content"),
-                new ThreadService.ThreadData("1700000000.000001", "Duplicate content"),
-                new ThreadService.ThreadData("1700000000.000002", "Second content"));
-        when(threadService.getThreadsWithCheckMarkAsText("C123", 31)).thenReturn(threads);
+    void runAsyncExport_writesAThreadListedTwiceOnce() throws IOException {
+        when(threadService.getThreadsWithCheckMark("C123", 31))
+                .thenReturn(ImmutableList.of("1700000000.000001", "1700000000.000001", "1700000000.000002"));
+        when(threadService.getThreadAsText("C123", "1700000000.000001")).thenReturn("First content");
+        when(threadService.getThreadAsText("C123", "1700000000.000002")).thenReturn("Second content");
 
         service.runAsyncExport(31);
 
         Optional<CompletedExport> export = service.currentServableExport();
         assertThat(export).isPresent();
-        assertThat(zipEntryNames(export.get().content()))
-                .containsExactly("1700000000.000001.txt", "1700000000.000001-2.txt", "1700000000.000002.txt");
-        assertThat(zipEntryContents(export.get().content()))
-                .containsExactly("First content", "Duplicate content", "Second content");
+        assertThat(zipEntryNames(export.get().file()))
+                .containsExactly("1700000000.000001.txt", "1700000000.000002.txt");
+        assertThat(zipEntryContents(export.get().file())).containsExactly("First content", "Second content");
+        verify(threadService, times(1)).getThreadAsText("C123", "1700000000.000001");
+    }
+
+    @Test
+    void runAsyncExport_startsOverFromAnEmptyWorkDirectory() throws IOException {
+        Files.createDirectories(exportDirectory.resolve("entries"));
+        Files.writeString(exportDirectory.resolve("entries").resolve("C123_1600000000.000001.txt"), "Stale");
+        when(threadService.getThreadsWithCheckMark("C123", 31)).thenReturn(ImmutableList.of());
+
+        service.runAsyncExport(31);
+
+        Optional<CompletedExport> export = service.currentServableExport();
+        assertThat(export).isPresent();
+        assertThat(zipEntryNames(export.get().file())).isEmpty();
+        assertThat(exportDirectory.resolve("entries")).doesNotExist();
+    }
+
+    @Test
+    void consumeCurrentExport_keepsTheClaimedExportForRangeRequests_untilItExpires() {
+        CompletedExport export = completedExport(
+                "content", "export.zip", Instant.now(), Instant.now().plus(1, ChronoUnit.HOURS));
+        service.seedCompletedExportForTest(export);
+
+        assertThat(service.consumeCurrentExport()).contains(export);
+
+        assertThat(service.claimedExport()).contains(export);
+        assertThat(export.file()).exists();
+    }
+
+    @Test
+    void start_deletesTheDiscardedExportsFile() {
+        CompletedExport old = completedExport(
+                "old content", "old-export.zip", Instant.now(), Instant.now().plus(1, ChronoUnit.DAYS));
+        service.seedCompletedExportForTest(old);
+        when(asyncJobRepository.tryStartJob("summary-export", "7")).thenReturn(true);
+        when(applicationContext.getBean(SummaryExportService.class)).thenReturn(service);
+        when(threadService.getThreadsWithCheckMark(anyString(), anyInt())).thenReturn(ImmutableList.of());
+
+        service.start(7);
+
+        assertThat(old.file()).doesNotExist();
     }
 
     @Test
     void runAsyncExport_onFailure_setsErrorStatus_andLeavesNoServableExport() {
         SlackChannelRegistry brokenRegistry = mock(SlackChannelRegistry.class);
         when(brokenRegistry.monitoredChannelIds()).thenThrow(new RuntimeException("registry unavailable"));
-        SummaryExportService badService =
-                new SummaryExportService(asyncJobRepository, threadService, brokenRegistry, applicationContext);
+        SummaryExportService badService = serviceFor(brokenRegistry);
 
         badService.runAsyncExport(31);
 
@@ -461,4 +541,28 @@ class SummaryExportServiceTest {
         verify(asyncJobRepository).deleteJob("summary-export");
         verifyNoInteractions(threadService);
     }
+
+    @Test
+    void resumeAsyncExport_keepsJobAndWrittenThreads_whenInterruptedByShutdown() throws IOException {
+        Path written = exportDirectory.resolve("entries").resolve("C123_1700000000.000001.txt");
+        Files.createDirectories(written.getParent());
+        Files.writeString(written, "Written before shutdown");
+        when(threadService.getThreadsWithCheckMark("C123", 7)).thenAnswer(inv -> {
+            // What a Slack call cut short by a shutdown leaves behind
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("interrupted");
+        });
+
+        try {
+            service.resumeAsyncExport(7);
+
+            assertThat(Thread.currentThread().isInterrupted()).isTrue();
+        } finally {
+            Thread.interrupted();
+        }
+        verify(asyncJobRepository, never()).deleteJob(anyString());
+        assertThat(service.getStatus().error()).isNull();
+        assertThat(service.currentServableExport()).isEmpty();
+        assertThat(written).hasContent("Written before shutdown");
+    }
 }
@@ -0,0 +1,92 @@
+package com.coreeng.supportbot.summarydata;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import com.coreeng.supportbot.config.ThreadCrawlProps;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ThreadCrawlerTest {
+    private static final String CHANNEL_ID = "C123";
+
+    @Mock
+    private ThreadService threadService;
+
+    @Test
+    void handsThreadsOnInTheOrderAsked_evenWhenALaterOneIsFetchedFirst() throws InterruptedException {
+        CountDownLatch secondFetched = new CountDownLatch(1);
+        when(threadService.getThreadAsText(eq(CHANNEL_ID), anyString())).thenAnswer(invocation -> {
+            String threadTs = invocation.getArgument(1);
+            if (threadTs.equals("ts1")) {
+                // Only returns once ts2 was fetched alongside it
+                assertThat(secondFetched.await(5, TimeUnit.SECONDS)).isTrue();
+            } else {
+                secondFetched.countDown();
+            }
+            return "text " + threadTs;
+        });
+        ThreadCrawler crawler = new ThreadCrawler(threadService, new ThreadCrawlProps(2));
+        List<String> handed = new ArrayList<>();
+
+        crawler.crawl(
+                List.of("ts1", "ts2", "ts3"),
+                ts -> new ThreadCrawler.ThreadRef(CHANNEL_ID, ts),
+                crawled -> handed.add(crawled.item() + "=" + crawled.text()));
+
+        assertThat(handed).containsExactly("ts1=text ts1", "ts2=text ts2", "ts3=text ts3");
+    }
+
+    @Test
+    void passesOnAThreadThatFailsToFetch_andCarriesOn() throws InterruptedException {
+        RuntimeException failure = new RuntimeException("thread_not_found");
+        when(threadService.getThreadAsText(eq(CHANNEL_ID), anyString())).thenAnswer(invocation -> {
+            if (invocation.getArgument(1).equals("ts1")) {
+                throw failure;
+            }
+            return "text";
+        });
+        ThreadCrawler crawler = new ThreadCrawler(threadService, new ThreadCrawlProps(4));
+        List<ThreadCrawler.CrawledThread<String>> handed = new ArrayList<>();
+
+        crawler.crawl(List.of("ts1", "ts2"), ts -> new ThreadCrawler.ThreadRef(CHANNEL_ID, ts), handed::add);
+
+        assertThat(handed).hasSize(2);
+        assertThat(handed.get(0).text()).isNull();
+        assertThat(handed.get(0).failure()).isSameAs(failure);
+        assertThat(handed.get(1).text()).isEqualTo("text");
+        assertThat(handed.get(1).failure()).isNull();
+    }
+
+    @Test
+    void neverFetchesMoreThanMaxConcurrencyAtOnce() throws InterruptedException {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        when(threadService.getThreadAsText(eq(CHANNEL_ID), anyString())).thenAnswer(invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            Thread.sleep(20);
+            inFlight.decrementAndGet();
+            return "text";
+        });
+        ThreadCrawler crawler = new ThreadCrawler(threadService, new ThreadCrawlProps(3));
+        AtomicInteger handed = new AtomicInteger();
+
+        crawler.crawl(
+                List.of("ts1", "ts2", "ts3", "ts4", "ts5", "ts6", "ts7", "ts8"),
+                ts -> new ThreadCrawler.ThreadRef(CHANNEL_ID, ts),
+                crawled -> handed.incrementAndGet());
+
+        assertThat(handed).hasValue(8);
+        assertThat(maxInFlight.get()).isBetween(1, 3);
+    }
+}
@@ -3,6 +3,11 @@ package com.coreeng.supportbot.summarydata;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -11,12 +16,16 @@ import com.coreeng.supportbot.config.SummaryDataProps;
 import com.coreeng.supportbot.config.SummaryDataProps.SanitisationProperties;
 import com.coreeng.supportbot.slack.SlackException;
 import com.coreeng.supportbot.slack.client.SlackClient;
+import com.coreeng.supportbot.slack.threadmessage.ThreadMessage;
+import com.coreeng.supportbot.slack.threadmessage.ThreadMessageRepository;
+import com.google.common.collect.ImmutableList;
 import com.slack.api.methods.SlackApiException;
 import com.slack.api.methods.response.conversations.ConversationsHistoryResponse;
 import com.slack.api.methods.response.conversations.ConversationsRepliesResponse;
 import com.slack.api.model.Message;
 import com.slack.api.model.Reaction;
 import com.slack.api.model.ResponseMetadata;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.List;
 import okhttp3.Protocol;
 import okhttp3.Request;
@@ -25,6 +34,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
 
 @ExtendWith(MockitoExtension.class)
 class ThreadServiceTest {
@@ -32,9 +42,14 @@ class ThreadServiceTest {
     private static final String CHANNEL_ID = "C123456";
     private static final String THREAD_TS = "1234567890.123456";
 
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @Mock
     private SlackClient slackClient;
 
+    @Mock
+    private ThreadMessageRepository threadMessageRepository;
+
     @Test
     void getThreadAsText_noPatternsConfigured_textUnchanged() {
         // Given — no sanitisation patterns configured
@@ -253,22 +268,6 @@ class ThreadServiceTest {
         assertThat(result).contains("contact:");
     }
 
-    @Test
-    void getAllThreadMessageTexts_shouldRetryOnceOnRateLimit() {
-        // Given
-        var service = serviceWithSanitisation(List.of(), List.of());
-        when(slackClient.getThreadPage(any()))
-                .thenThrow(rateLimitedSlackException("1"))
-                .thenReturn(singlePageResponse(List.of(messageWithText("recovered"))));
-
-        // When
-        var result = service.getAllThreadMessageTexts(CHANNEL_ID, THREAD_TS);
-
-        // Then
-        assertThat(result).containsExactly("recovered");
-        verify(slackClient, times(2)).getThreadPage(any());
-    }
-
     @Test
     void getAllThreadMessageTexts_shouldRethrowNonRateLimitSlackException() {
         // Given
@@ -282,15 +281,16 @@ class ThreadServiceTest {
     }
 
     @Test
-    void getAllThreadMessageTexts_shouldPropagateWhenRetryAlsoFails() {
-        // Given
+    void getAllThreadMessageTexts_shouldLeaveRateLimitRetriesToTheSlackClient() {
+        // Given — the Slack client's rate governor has already waited out and retried the rate limit
         var service = serviceWithSanitisation(List.of(), List.of());
-        when(slackClient.getThreadPage(any())).thenThrow(rateLimitedSlackException("1"));
+        var exception = rateLimitedSlackException("1");
+        when(slackClient.getThreadPage(any())).thenThrow(exception);
 
         // When / Then
         assertThatThrownBy(() -> service.getAllThreadMessageTexts(CHANNEL_ID, THREAD_TS))
-                .isInstanceOf(SlackException.class);
-        verify(slackClient, times(2)).getThreadPage(any());
+                .isSameAs(exception);
+        verify(slackClient, times(1)).getThreadPage(any());
     }
 
     @Test
@@ -322,10 +322,115 @@ class ThreadServiceTest {
         assertThat(result).containsExactly("1700000000.000001", "1700000000.000002");
     }
 
+    @Test
+    void getThreadAsText_mirroredThread_isNotFetchedFromSlack() {
+        // Given — the mirror holds the whole thread
+        var service = serviceWithSanitisation(List.of(), List.of());
+        when(threadMessageRepository.findThread(CHANNEL_ID, THREAD_TS))
+                .thenReturn(ImmutableList.of(
+                        new ThreadMessage(THREAD_TS, THREAD_TS, "U1", null, "question"),
+                        new ThreadMessage(THREAD_TS, "1234567890.200000", "U2", null, "answer")));
+
+        // When
+        String result = service.getThreadAsText(CHANNEL_ID, THREAD_TS);
+
+        // Then — read from the mirror only
+        assertThat(result).isEqualTo("question\n\nanswer");
+        verify(slackClient, never()).getThreadPage(any());
+        assertThat(threadReads("mirror")).isEqualTo(1);
+    }
+
+    @Test
+    void getThreadMessages_threadMissingFromMirror_isCrawledAndMirrored() {
+        // Given — the mirror doesn't hold the thread
+        var service = serviceWithSanitisation(List.of(), List.of());
+        var root = messageWithText("question");
+        root.setTs(THREAD_TS);
+        root.setUser("U1");
+        var reply = messageWithText("answer");
+        reply.setTs("1234567890.200000");
+        reply.setThreadTs(THREAD_TS);
+        reply.setUser("U2");
+        when(slackClient.getThreadPage(any())).thenReturn(singlePageResponse(List.of(root, reply)));
+
+        // When
+        var result = service.getThreadMessages(CHANNEL_ID, THREAD_TS);
+
+        // Then — the crawl is returned and stored in the mirror
+        var expected = List.of(
+                new ThreadMessage(THREAD_TS, THREAD_TS, "U1", null, "question"),
+                new ThreadMessage(THREAD_TS, "1234567890.200000", "U2", null, "answer"));
+        assertThat(result).isEqualTo(expected);
+        verify(threadMessageRepository).saveCrawledThread(CHANNEL_ID, expected);
+        assertThat(threadReads("slack")).isEqualTo(1);
+    }
+
+    @Test
+    void backfill_mirrorsOnlyThreadsMissingFromMirror() {
+        // Given — one unanswered message, one mirrored thread and one thread missing from the mirror
+        var service = serviceWithSanitisation(List.of(), List.of());
+        var single = messageWithText("unanswered");
+        single.setTs("1700000000.000001");
+        var mirrored = messageWithText("mirrored");
+        mirrored.setTs("1700000000.000002");
+        mirrored.setThreadTs("1700000000.000002");
+        mirrored.setReplyCount(1);
+        var missing = messageWithText("missing");
+        missing.setTs("1700000000.000003");
+        missing.setThreadTs("1700000000.000003");
+        missing.setReplyCount(1);
+        when(slackClient.getHistoryPage(any())).thenReturn(historyResponse(List.of(single, mirrored, missing)));
+        when(threadMessageRepository.findThread(eq(CHANNEL_ID), anyString()))
+                .thenAnswer(invocation ->
+                        "1700000000.000002".equals(invocation.getArgument(1)) ? ImmutableList.of() : null);
+        when(slackClient.getThreadPage(any())).thenReturn(singlePageResponse(List.of(missing)));
+
+        // When
+        int backfilled = service.backfill(CHANNEL_ID, 7);
+
+        // Then — the unanswered message is stored as is, only the missing thread is crawled
+        assertThat(backfilled).isEqualTo(2);
+        verify(threadMessageRepository)
+                .saveCrawledThread(
+                        CHANNEL_ID,
+                        List.of(new ThreadMessage("1700000000.000001", "1700000000.000001", null, null, "unanswered")));
+        verify(threadMessageRepository)
+                .saveCrawledThread(
+                        CHANNEL_ID,
+                        List.of(new ThreadMessage("1700000000.000003", "1700000000.000003", null, null, "missing")));
+        verify(slackClient, times(1)).getThreadPage(any());
+    }
+
+    @Test
+    void getAllThreadMessageTexts_mirrorWriteFailure_doesNotFailTheRead() {
+        // Given — the crawl can't be stored
+        var service = serviceWithSanitisation(List.of(), List.of());
+        var root = messageWithText("question");
+        root.setTs(THREAD_TS);
+        when(slackClient.getThreadPage(any())).thenReturn(singlePageResponse(List.of(root)));
+        doThrow(new DataAccessResourceFailureException("db down"))
+                .when(threadMessageRepository)
+                .saveCrawledThread(anyString(), anyList());
+
+        // When
+        var result = service.getAllThreadMessageTexts(CHANNEL_ID, THREAD_TS);
+
+        // Then
+        assertThat(result).containsExactly("question");
+    }
+
+    private double threadReads(String source) {
+        return meterRegistry
+                .get("slack_thread_reads_total")
+                .tag("source", source)
+                .counter()
+                .count();
+    }
+
     private ThreadService serviceWithSanitisation(List<String> patterns, List<String> exceptions) {
         var sanitisation = new SanitisationProperties(patterns, exceptions);
         var props = new SummaryDataProps(sanitisation);
-        return new ThreadService(slackClient, props);
+        return new ThreadService(slackClient, props, threadMessageRepository, meterRegistry);
     }
 
     private ConversationsRepliesResponse singlePageResponse(List<Message> messages) {
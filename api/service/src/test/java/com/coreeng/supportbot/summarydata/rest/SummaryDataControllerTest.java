@@ -285,6 +285,9 @@ class SummaryDataControllerTest {
         return new AnalysisProps.Llm(
                 "gemini-2.5-flash",
                 Duration.ofSeconds(1),
+                1,
+                0,
+                0,
                 new AnalysisProps.Vertex(true, "test-project", "europe-west2"),
                 new AnalysisProps.Proxy(false, "", new AnalysisProps.Proxy.Auth(""), Duration.ofSeconds(30)));
     }
@@ -9,12 +9,15 @@ import com.coreeng.supportbot.summarydata.SummaryExportService.CompletedExport;
 import com.coreeng.supportbot.summarydata.SummaryExportService.ExportStatus;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.core.io.Resource;
@@ -34,14 +37,13 @@ class SummaryExportControllerTest {
         controller = new SummaryExportController(exportService);
     }
 
-    private static CompletedExport completedExport(
-            String content, String filename, int threadCount, Instant completedAt) {
-        return new CompletedExport(
-                content.getBytes(StandardCharsets.UTF_8),
-                filename,
-                threadCount,
-                completedAt,
-                completedAt.plus(8, ChronoUnit.HOURS));
+    @TempDir
+    private Path tempDir;
+
+    private CompletedExport completedExport(String content, String filename, int threadCount, Instant completedAt)
+            throws IOException {
+        Path file = Files.writeString(tempDir.resolve(filename), content, StandardCharsets.UTF_8);
+        return new CompletedExport(file, filename, threadCount, completedAt, completedAt.plus(8, ChronoUnit.HOURS));
     }
 
     // --- start ---
@@ -110,7 +112,7 @@ class SummaryExportControllerTest {
     }
 
     @Test
-    void status_reportsReady_withExportDetails_whenCompleted() {
+    void status_reportsReady_withExportDetails_whenCompleted() throws IOException {
         Instant completedAt = Instant.now();
         CompletedExport export =
                 completedExport("zip bytes", "downloaded-threads-2026-06-03-to-2026-07-03.zip", 12, completedAt);
@@ -147,7 +149,7 @@ class SummaryExportControllerTest {
     void download_returns404_whenNoExportReady() {
         when(exportService.consumeCurrentExport()).thenReturn(Optional.empty());
 
-        ResponseEntity<Resource> response = controller.download();
+        ResponseEntity<Resource> response = controller.download(null);
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
     }
@@ -158,25 +160,38 @@ class SummaryExportControllerTest {
                 "zip bytes go here", "downloaded-threads-2026-06-03-to-2026-07-03.zip", 3, Instant.now());
         when(exportService.consumeCurrentExport()).thenReturn(Optional.of(export));
 
-        ResponseEntity<Resource> response = controller.download();
+        ResponseEntity<Resource> response = controller.download(null);
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getHeaders().getFirst("Content-Disposition"))
                 .isEqualTo("attachment; filename=\"downloaded-threads-2026-06-03-to-2026-07-03.zip\"");
-        assertThat(response.getHeaders().getContentLength()).isEqualTo(export.content().length);
         assertThat(response.getBody()).isNotNull();
-        assertThat(response.getBody().getContentAsByteArray()).isEqualTo(export.content());
+        assertThat(response.getBody().contentLength()).isEqualTo(Files.size(export.file()));
+        assertThat(response.getBody().getContentAsByteArray()).isEqualTo(Files.readAllBytes(export.file()));
     }
 
     @Test
-    void download_returns404_onASecondCall_becauseTheFirstAlreadyConsumedIt() {
+    void download_returns404_onASecondCall_becauseTheFirstAlreadyConsumedIt() throws IOException {
         CompletedExport export = completedExport("zip bytes", "downloaded-threads.zip", 3, Instant.now());
         when(exportService.consumeCurrentExport()).thenReturn(Optional.of(export), Optional.empty());
 
-        ResponseEntity<Resource> first = controller.download();
-        ResponseEntity<Resource> second = controller.download();
+        ResponseEntity<Resource> first = controller.download(null);
+        ResponseEntity<Resource> second = controller.download(null);
 
         assertThat(first.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(second.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
     }
+
+    @Test
+    void download_withRange_resumesTheClaimedExport() throws IOException {
+        CompletedExport export = completedExport("zip bytes", "downloaded-threads.zip", 3, Instant.now());
+        when(exportService.consumeCurrentExport()).thenReturn(Optional.empty());
+        when(exportService.claimedExport()).thenReturn(Optional.of(export));
+
+        ResponseEntity<Resource> response = controller.download("bytes=4-");
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().getFile().toPath()).isEqualTo(export.file());
+    }
 }
@@ -0,0 +1,328 @@
+package com.coreeng.supportbot.ticket;
+
+import static java.util.Objects.requireNonNull;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.coreeng.supportbot.config.BusinessHoursProps;
+import com.coreeng.supportbot.config.CacheConfig;
+import com.coreeng.supportbot.config.TicketAssignmentProps;
+import com.coreeng.supportbot.facts.BusinessCalendar;
+import com.coreeng.supportbot.facts.JdbcFactsRepository;
+import com.coreeng.supportbot.slack.MessageRef;
+import com.coreeng.supportbot.slack.MessageTs;
+import com.coreeng.supportbot.slack.SlackId;
+import com.coreeng.supportbot.util.Page;
+import com.google.common.collect.ImmutableList;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.jooq.DSLContext;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.Cache;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.TransactionAwareDataSourceProxy;
+import org.springframework.test.context.TestConstructor;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+
+@SpringJUnitConfig(JdbcTicketRepositoryPostgresTest.TestConfig.class)
+@TestConstructor(autowireMode = TestConstructor.AutowireMode.ALL)
+@EnabledIf("localDatabaseEnabled")
+class JdbcTicketRepositoryPostgresTest {
+    private final TicketRepository repository;
+    private final JdbcTemplate jdbcTemplate;
+    private final String channelId = "C-" + UUID.randomUUID();
+
+    JdbcTicketRepositoryPostgresTest(TicketRepository repository, JdbcTemplate jdbcTemplate) {
+        this.repository = repository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    static boolean localDatabaseEnabled() {
+        return Boolean.getBoolean("docker") || "true".equals(System.getenv("SUPPORTBOT_USE_LOCAL_DB"));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        String ticketIds = "SELECT t.id FROM ticket t JOIN query q ON q.id = t.query_id WHERE q.channel_id = ?";
+        jdbcTemplate.update("DELETE FROM ticket_log WHERE ticket_id IN (" + ticketIds + ")", channelId);
+        jdbcTemplate.update("DELETE FROM ticket_to_tag WHERE ticket_id IN (" + ticketIds + ")", channelId);
+        jdbcTemplate.update("DELETE FROM ticket WHERE id IN (" + ticketIds + ")", channelId);
+        jdbcTemplate.update("DELETE FROM query WHERE channel_id = ?", channelId);
+    }
+
+    @Test
+    void cachesMissingTicketUntilTicketIsCreated() {
+        MessageRef queryRef = queryRef("1700000000.000100");
+        repository.createQueryIfNotExists(queryRef);
+        assertThat(repository.findTicketByQuery(queryRef)).isNull();
+
+        // Written behind the repository's back, so only a cache miss would see it
+        insertTicketDirectly(queryRef);
+        assertThat(repository.findTicketByQuery(queryRef)).isNull();
+
+        Ticket created = repository.createTicketIfNotExists(Ticket.createNew(queryRef.ts(), channelId));
+
+        Ticket found = repository.findTicketByQuery(queryRef);
+        assertThat(found).isNotNull();
+        assertThat(found.id()).isEqualTo(created.id());
+    }
+
+    @Test
+    void servesRepeatedLookupsFromCacheUntilTicketIsUpdated() {
+        MessageRef queryRef = queryRef("1700000000.000200");
+        repository.createTicketIfNotExists(Ticket.createNew(queryRef.ts(), channelId));
+
+        Ticket first = requireNonNull(repository.findTicketByQuery(queryRef));
+        assertThat(repository.findTicketByQuery(queryRef)).isSameAs(first);
+
+        repository.updateTicket(first.toBuilder().status(TicketStatus.stale).build());
+
+        Ticket updated = requireNonNull(repository.findTicketByQuery(queryRef));
+        assertThat(updated.status()).isEqualTo(TicketStatus.stale);
+    }
+
+    @Test
+    void statusLogAndAssignmentEvictCachedTicket() {
+        MessageRef queryRef = queryRef("1700000000.000300");
+        repository.createTicketIfNotExists(Ticket.createNew(queryRef.ts(), channelId));
+        Ticket cached = requireNonNull(repository.findTicketByQuery(queryRef));
+        TicketId ticketId = requireNonNull(cached.id());
+
+        repository.insertStatusLog(
+                cached.toBuilder().status(TicketStatus.closed).build(), Instant.now());
+        assertThat(requireNonNull(repository.findTicketByQuery(queryRef)).statusLog())
+                .hasSize(2);
+
+        assertThat(repository.assign(ticketId, "U123")).isTrue();
+        assertThat(requireNonNull(repository.findTicketByQuery(queryRef)).assignedTo())
+                .isEqualTo(SlackId.user("U123"));
+    }
+
+    @Test
+    void onlyTheFirstConditionalCloseClosesTheTicket() {
+        MessageRef queryRef = queryRef("1700000000.000350");
+        repository.createTicketIfNotExists(Ticket.createNew(queryRef.ts(), channelId));
+        TicketId ticketId = requireNonNull(requireNonNull(repository.findTicketByQuery(queryRef)).id());
+
+        assertThat(repository.tryMarkTicketAsClosed(ticketId)).isTrue();
+        assertThat(repository.tryMarkTicketAsClosed(ticketId)).isFalse();
+        assertThat(requireNonNull(repository.findTicketByQuery(queryRef)).status())
+                .isEqualTo(TicketStatus.closed);
+    }
+
+    @Test
+    void batchTouchOnlyMovesLastInteractionForward() {
+        MessageRef queryRef = queryRef("1700000000.000400");
+        Ticket ticket = repository.createTicketIfNotExists(Ticket.createNew(queryRef.ts(), channelId));
+        TicketId ticketId = requireNonNull(ticket.id());
+        Instant initial = requireNonNull(repository.findTicketByQuery(queryRef)).lastInteractedAt();
+
+        Instant later = initial.plus(1, ChronoUnit.HOURS);
+        assertThat(repository.touchTicketsByIds(Map.of(ticketId, later, new TicketId(-1), later)))
+                .isEqualTo(1);
+        assertThat(requireNonNull(repository.findTicketByQuery(queryRef)).lastInteractedAt())
+                .isEqualTo(later);
+
+        repository.touchTicketsByIds(Map.of(ticketId, initial));
+        assertThat(requireNonNull(repository.findTicketByQuery(queryRef)).lastInteractedAt())
+                .isEqualTo(later);
+    }
+
+    @Test
+    void deletingQueryEvictsNegativeEntry() {
+        MessageRef queryRef = queryRef("1700000000.000500");
+        repository.createQueryIfNotExists(queryRef);
+        assertThat(repository.findTicketByQuery(queryRef)).isNull();
+
+        assertThat(repository.deleteQueryIfNoTicket(queryRef)).isTrue();
+        repository.createQueryIfNotExists(queryRef);
+        insertTicketDirectly(queryRef);
+
+        assertThat(repository.findTicketByQuery(queryRef)).isNotNull();
+    }
+
+    @Test
+    void storesQueryMessageAndKeepsItWhenTicketIsCreated() {
+        MessageRef queryRef = queryRef("1700000000.000600");
+        repository.createQueryIfNotExists(queryRef, new QueryMessage("help please", SlackId.user("U123")));
+        assertThat(repository.findQueryMessage(queryRef))
+                .isEqualTo(new QueryMessage("help please", SlackId.user("U123")));
+
+        assertThat(repository.updateQueryMessage(queryRef, new QueryMessage("edited", SlackId.bot("B123"))))
+                .isTrue();
+        repository.createTicketIfNotExists(Ticket.createNew(queryRef.ts(), channelId));
+
+        assertThat(repository.findQueryMessage(queryRef)).isEqualTo(new QueryMessage("edited", SlackId.bot("B123")));
+    }
+
+    @Test
+    void redeliveredQueryKeepsEditedMessage() {
+        MessageRef queryRef = queryRef("1700000000.000650");
+        repository.createQueryIfNotExists(queryRef, new QueryMessage("help please", SlackId.user("U123")));
+        repository.updateQueryMessage(queryRef, new QueryMessage("edited", SlackId.user("U123")));
+
+        repository.createQueryIfNotExists(queryRef, new QueryMessage("help please", SlackId.user("U123")));
+
+        assertThat(repository.findQueryMessage(queryRef)).isEqualTo(new QueryMessage("edited", SlackId.user("U123")));
+    }
+
+    @Test
+    void queryRecordedWithoutMessageHasNone() {
+        MessageRef queryRef = queryRef("1700000000.000700");
+        repository.createQueryIfNotExists(queryRef);
+
+        assertThat(repository.findQueryMessage(queryRef)).isNull();
+        assertThat(repository.updateQueryMessage(queryRef("1700000000.000701"), new QueryMessage("", null)))
+                .isFalse();
+    }
+
+    @Test
+    void cursorPagesMatchOffsetPagesInBothOrders() {
+        // Three queries share a second, so only the query id tells them apart
+        List<MessageRef> refs = List.of(
+                queryRef("1700000100.000100"),
+                queryRef("1700000100.000200"),
+                queryRef("1700000100.000300"),
+                queryRef("1700000101.000100"),
+                queryRef("1700000102.000100"));
+        refs.forEach(repository::createQueryIfNotExists);
+        // Created backwards, so ticket ids run against query ids
+        Map<MessageRef, TicketId> ticketIds = new HashMap<>();
+        for (MessageRef ref : refs.reversed()) {
+            Ticket ticket = repository.createTicketIfNotExists(Ticket.createNew(ref.ts(), channelId));
+            ticketIds.put(ref, requireNonNull(ticket.id()));
+        }
+        List<TicketId> ascending = refs.stream().map(ticketIds::get).toList();
+
+        for (TicketsQuery.Order order : TicketsQuery.Order.values()) {
+            TicketsQuery first = TicketsQuery.builder()
+                    .ids(ImmutableList.copyOf(ascending))
+                    .order(order)
+                    .pageSize(2)
+                    .build();
+            List<TicketId> walked = new ArrayList<>();
+            Page<Ticket> page = repository.listTickets(first);
+            for (long p = 0; ; p++) {
+                assertThat(ids(page))
+                        .as("%s page %d", order, p)
+                        .isEqualTo(ids(repository.listTickets(first.toBuilder().page(p).build())));
+                walked.addAll(ids(page));
+                String cursor = page.nextCursor();
+                if (cursor == null) {
+                    break;
+                }
+                page = repository.listTickets(first.toBuilder()
+                        .page(p + 1)
+                        .after(TicketCursor.parse(cursor))
+                        .build());
+            }
+
+            assertThat(walked).isEqualTo(order == TicketsQuery.Order.asc ? ascending : ascending.reversed());
+        }
+    }
+
+    private void insertTicketDirectly(MessageRef queryRef) {
+        jdbcTemplate.update("""
+            INSERT INTO ticket (query_id, status, last_interacted_at)
+            SELECT id, 'opened', now() FROM query WHERE ts = ? AND channel_id = ?
+            """, queryRef.ts().ts(), queryRef.channelId());
+    }
+
+    private static List<TicketId> ids(Page<Ticket> page) {
+        return page.content().stream().map(t -> requireNonNull(t.id())).toList();
+    }
+
+    private MessageRef queryRef(String ts) {
+        return new MessageRef(MessageTs.of(ts), channelId);
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @EnableTransactionManagement
+    static class TestConfig {
+        @Bean
+        DataSource dataSource() {
+            String url = System.getProperty("supportbot.localDb.url", "jdbc:postgresql://localhost:5432/postgres");
+            String username = System.getProperty("supportbot.localDb.user", "postgres");
+            String password = System.getProperty("supportbot.localDb.password", "postgres");
+            return new DriverManagerDataSource(url, username, password);
+        }
+
+        @Bean
+        JdbcTemplate jdbcTemplate(DataSource dataSource) {
+            return new JdbcTemplate(dataSource);
+        }
+
+        @Bean
+        DSLContext dslContext(DataSource dataSource) {
+            return DSL.using(new TransactionAwareDataSourceProxy(dataSource), SQLDialect.POSTGRES);
+        }
+
+        @Bean("ticket-by-query-cache")
+        Cache ticketByQueryCache() {
+            return new CacheConfig().ticketByQueryCache();
+        }
+
+        @Bean("no-ticket-by-query-cache")
+        Cache noTicketByQueryCache() {
+            return new CacheConfig().noTicketByQueryCache();
+        }
+
+        @Bean("ticket-count-cache")
+        Cache ticketCountCache() {
+            return new CacheConfig().ticketCountCache();
+        }
+
+        @Bean
+        BusinessCalendar businessCalendar() {
+            return new BusinessCalendar(new BusinessHoursProps(
+                    ZoneId.of("Europe/London"),
+                    LocalTime.of(9, 0),
+                    LocalTime.of(17, 0),
+                    EnumSet.range(DayOfWeek.MONDAY, DayOfWeek.FRIDAY),
+                    Set.of()));
+        }
+
+        @Bean
+        TicketRepository ticketRepository(
+                DSLContext dslContext,
+                @Qualifier("ticket-by-query-cache") Cache ticketByQueryCache,
+                @Qualifier("no-ticket-by-query-cache") Cache noTicketByQueryCache,
+                @Qualifier("ticket-count-cache") Cache ticketCountCache,
+                BusinessCalendar businessCalendar) {
+            return new JdbcTicketRepository(
+                    dslContext,
+                    new AssigneeCrypto(
+                            new TicketAssignmentProps(false, new TicketAssignmentProps.Encryption(false, null))),
+                    ticketByQueryCache,
+                    noTicketByQueryCache,
+                    ticketCountCache,
+                    new JdbcFactsRepository(dslContext, businessCalendar));
+        }
+
+        @Bean
+        PlatformTransactionManager transactionManager(DataSource dataSource) {
+            return new DataSourceTransactionManager(dataSource);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.coreeng.supportbot.ticket;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+
+class TicketCursorTest {
+    @Test
+    public void testRoundTrip() {
+        TicketCursor cursor = new TicketCursor(Instant.parse("2025-03-04T10:15:30.123456Z"), 42);
+        String token = cursor.render();
+        assertFalse(token.contains("/"));
+        assertEquals(cursor, TicketCursor.parse(token));
+    }
+
+    @Test
+    public void testRejectsInvalidToken() {
+        assertThrows(IllegalArgumentException.class, () -> TicketCursor.parse("not a cursor"));
+        assertThrows(IllegalArgumentException.class, () -> TicketCursor.parse("bm8tc2VwYXJhdG9y"));
+    }
+}
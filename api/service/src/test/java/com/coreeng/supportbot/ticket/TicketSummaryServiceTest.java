@@ -26,6 +26,7 @@ import com.coreeng.supportbot.slack.SlackException;
 import com.coreeng.supportbot.slack.SlackId;
 import com.coreeng.supportbot.slack.client.SlackClient;
 import com.coreeng.supportbot.slack.client.SlackGetMessageByTsRequest;
+import com.coreeng.supportbot.slack.permalink.PermalinkService;
 import com.coreeng.supportbot.teams.SupportTeamService;
 import com.coreeng.supportbot.teams.TeamMemberFetcher;
 import com.coreeng.supportbot.teams.groups.GroupRef;
@@ -53,6 +54,9 @@ class TicketSummaryServiceTest {
     @Mock
     private SlackClient slackClient;
 
+    @Mock
+    private PermalinkService permalinkService;
+
     @Mock
     private EscalationQueryService escalationQueryService;
 
@@ -110,6 +114,7 @@ class TicketSummaryServiceTest {
         service = new TicketSummaryService(
                 repository,
                 slackClient,
+                permalinkService,
                 escalationQueryService,
                 tagsRegistry,
                 impactsRegistry,
@@ -129,6 +134,7 @@ class TicketSummaryServiceTest {
         service = new TicketSummaryService(
                 repository,
                 slackClient,
+                permalinkService,
                 escalationQueryService,
                 tagsRegistry,
                 impactsRegistry,
@@ -138,7 +144,8 @@ class TicketSummaryServiceTest {
 
         when(repository.findTicketById(ticketId)).thenReturn(ticket);
         when(slackClient.getMessageByTs(any(SlackGetMessageByTsRequest.class))).thenReturn(slackMessage);
-        when(slackClient.getPermalink(any(SlackGetMessageByTsRequest.class))).thenReturn("https://slack.com/permalink");
+        when(permalinkService.getPermalink(any(SlackGetMessageByTsRequest.class)))
+                .thenReturn("https://slack.com/permalink");
         when(escalationQueryService.listByTicketId(ticketId)).thenReturn(ImmutableList.of());
         when(impactsRegistry.listAllImpacts())
                 .thenReturn(ImmutableList.of(new TicketImpact("Production Blocking", "production-blocking")));
@@ -161,6 +168,7 @@ class TicketSummaryServiceTest {
         service = new TicketSummaryService(
                 repository,
                 slackClient,
+                permalinkService,
                 escalationQueryService,
                 tagsRegistry,
                 impactsRegistry,
@@ -177,7 +185,8 @@ class TicketSummaryServiceTest {
 
         when(repository.findTicketById(ticketId)).thenReturn(assignedTicket);
         when(slackClient.getMessageByTs(any(SlackGetMessageByTsRequest.class))).thenReturn(slackMessage);
-        when(slackClient.getPermalink(any(SlackGetMessageByTsRequest.class))).thenReturn("https://slack.com/permalink");
+        when(permalinkService.getPermalink(any(SlackGetMessageByTsRequest.class)))
+                .thenReturn("https://slack.com/permalink");
         when(escalationQueryService.listByTicketId(ticketId)).thenReturn(ImmutableList.of());
         when(impactsRegistry.listAllImpacts()).thenReturn(ImmutableList.of());
         when(supportTeamService.members()).thenReturn(members);
@@ -204,6 +213,7 @@ class TicketSummaryServiceTest {
         service = new TicketSummaryService(
                 repository,
                 slackClient,
+                permalinkService,
                 escalationQueryService,
                 tagsRegistry,
                 impactsRegistry,
@@ -231,7 +241,7 @@ class TicketSummaryServiceTest {
 
         when(repository.findTicketById(ticketId)).thenReturn(ticket);
         when(slackClient.getMessageByTs(any(SlackGetMessageByTsRequest.class))).thenReturn(slackMessage);
-        when(slackClient.getPermalink(any(SlackGetMessageByTsRequest.class)))
+        when(permalinkService.getPermalink(any(SlackGetMessageByTsRequest.class)))
                 .thenReturn("https://slack.com/query-permalink")
                 .thenReturn("https://slack.com/escalation1-permalink")
                 .thenReturn("https://slack.com/escalation2-permalink");
@@ -263,6 +273,7 @@ class TicketSummaryServiceTest {
         service = new TicketSummaryService(
                 repository,
                 slackClient,
+                permalinkService,
                 escalationQueryService,
                 tagsRegistry,
                 impactsRegistry,
@@ -291,7 +302,8 @@ class TicketSummaryServiceTest {
 
         when(repository.findTicketById(ticketId)).thenReturn(ticket);
         when(slackClient.getMessageByTs(any(SlackGetMessageByTsRequest.class))).thenReturn(slackMessage);
-        when(slackClient.getPermalink(any(SlackGetMessageByTsRequest.class))).thenReturn("https://slack.com/permalink");
+        when(permalinkService.getPermalink(any(SlackGetMessageByTsRequest.class)))
+                .thenReturn("https://slack.com/permalink");
         when(escalationQueryService.listByTicketId(ticketId)).thenReturn(ImmutableList.of(resolvable, orphaned));
         when(impactsRegistry.listAllImpacts()).thenReturn(ImmutableList.of());
         when(escalationTeamsRegistry.findEscalationTeamByCode("platform-team"))
@@ -319,6 +331,7 @@ class TicketSummaryServiceTest {
         service = new TicketSummaryService(
                 repository,
                 slackClient,
+                permalinkService,
                 escalationQueryService,
                 tagsRegistry,
                 impactsRegistry,
@@ -328,7 +341,8 @@ class TicketSummaryServiceTest {
 
         when(repository.findTicketById(ticketId)).thenReturn(ticket);
         when(slackClient.getMessageByTs(any(SlackGetMessageByTsRequest.class))).thenReturn(slackMessage);
-        when(slackClient.getPermalink(any(SlackGetMessageByTsRequest.class))).thenReturn("https://slack.com/permalink");
+        when(permalinkService.getPermalink(any(SlackGetMessageByTsRequest.class)))
+                .thenReturn("https://slack.com/permalink");
         when(escalationQueryService.listByTicketId(ticketId)).thenReturn(ImmutableList.of());
         when(impactsRegistry.listAllImpacts()).thenReturn(ImmutableList.of());
 
@@ -351,6 +365,7 @@ class TicketSummaryServiceTest {
         service = new TicketSummaryService(
                 repository,
                 slackClient,
+                permalinkService,
                 escalationQueryService,
                 tagsRegistry,
                 impactsRegistry,
@@ -366,7 +381,8 @@ class TicketSummaryServiceTest {
 
         when(repository.findTicketById(ticketId)).thenReturn(ticket);
         when(slackClient.getMessageByTs(any(SlackGetMessageByTsRequest.class))).thenReturn(botMessage);
-        when(slackClient.getPermalink(any(SlackGetMessageByTsRequest.class))).thenReturn("https://slack.com/permalink");
+        when(permalinkService.getPermalink(any(SlackGetMessageByTsRequest.class)))
+                .thenReturn("https://slack.com/permalink");
         when(escalationQueryService.listByTicketId(ticketId)).thenReturn(ImmutableList.of());
         when(impactsRegistry.listAllImpacts()).thenReturn(ImmutableList.of());
 
@@ -385,6 +401,7 @@ class TicketSummaryServiceTest {
         service = new TicketSummaryService(
                 repository,
                 slackClient,
+                permalinkService,
                 escalationQueryService,
                 tagsRegistry,
                 impactsRegistry,
@@ -408,6 +425,7 @@ class TicketSummaryServiceTest {
         service = new TicketSummaryService(
                 repository,
                 slackClient,
+                permalinkService,
                 escalationQueryService,
                 tagsRegistry,
                 impactsRegistry,
@@ -417,7 +435,8 @@ class TicketSummaryServiceTest {
 
         when(repository.findTicketById(ticketId)).thenReturn(ticket);
         when(slackClient.getMessageByTs(any(SlackGetMessageByTsRequest.class))).thenReturn(slackMessage);
-        when(slackClient.getPermalink(any(SlackGetMessageByTsRequest.class))).thenReturn("https://slack.com/permalink");
+        when(permalinkService.getPermalink(any(SlackGetMessageByTsRequest.class)))
+                .thenReturn("https://slack.com/permalink");
         when(escalationQueryService.listByTicketId(ticketId)).thenReturn(ImmutableList.of());
         when(tagsRegistry.listTagsByCodes(ticket.tags()))
                 .thenReturn(ImmutableList.of(new Tag("Bug", "bug"), new Tag("Urgent", "urgent")));
@@ -444,7 +463,8 @@ class TicketSummaryServiceTest {
 
         when(repository.findTicketById(ticketId)).thenReturn(taggedTicket);
         when(slackClient.getMessageByTs(any(SlackGetMessageByTsRequest.class))).thenReturn(slackMessage);
-        when(slackClient.getPermalink(any(SlackGetMessageByTsRequest.class))).thenReturn("https://slack.com/permalink");
+        when(permalinkService.getPermalink(any(SlackGetMessageByTsRequest.class)))
+                .thenReturn("https://slack.com/permalink");
         when(escalationQueryService.listByTicketId(ticketId)).thenReturn(ImmutableList.of());
         // listTagsByCodes() returns all matching tags regardless of deletion status in the database
         when(tagsRegistry.listTagsByCodes(taggedTicket.tags()))
@@ -465,6 +485,7 @@ class TicketSummaryServiceTest {
         service = new TicketSummaryService(
                 repository,
                 slackClient,
+                permalinkService,
                 escalationQueryService,
                 tagsRegistry,
                 impactsRegistry,
@@ -474,7 +495,8 @@ class TicketSummaryServiceTest {
 
         when(repository.findTicketById(ticketId)).thenReturn(ticket);
         when(slackClient.getMessageByTs(any(SlackGetMessageByTsRequest.class))).thenReturn(slackMessage);
-        when(slackClient.getPermalink(any(SlackGetMessageByTsRequest.class))).thenReturn("https://slack.com/permalink");
+        when(permalinkService.getPermalink(any(SlackGetMessageByTsRequest.class)))
+                .thenReturn("https://slack.com/permalink");
         when(escalationQueryService.listByTicketId(ticketId)).thenReturn(ImmutableList.of());
         when(impactsRegistry.listAllImpacts())
                 .thenReturn(ImmutableList.of(
@@ -500,6 +522,7 @@ class TicketSummaryServiceTest {
         service = new TicketSummaryService(
                 repository,
                 slackClient,
+                permalinkService,
                 escalationQueryService,
                 tagsRegistry,
                 impactsRegistry,
@@ -511,7 +534,8 @@ class TicketSummaryServiceTest {
 
         when(repository.findTicketById(ticketId)).thenReturn(ticketWithoutImpact);
         when(slackClient.getMessageByTs(any(SlackGetMessageByTsRequest.class))).thenReturn(slackMessage);
-        when(slackClient.getPermalink(any(SlackGetMessageByTsRequest.class))).thenReturn("https://slack.com/permalink");
+        when(permalinkService.getPermalink(any(SlackGetMessageByTsRequest.class)))
+                .thenReturn("https://slack.com/permalink");
         when(escalationQueryService.listByTicketId(ticketId)).thenReturn(ImmutableList.of());
         when(impactsRegistry.listAllImpacts())
                 .thenReturn(ImmutableList.of(new TicketImpact("Production Blocking", "production-blocking")));
@@ -530,7 +554,8 @@ class TicketSummaryServiceTest {
         // Slack rejects the view and the modal won't open.
         when(repository.findTicketById(ticketId)).thenReturn(ticket);
         when(slackClient.getMessageByTs(any(SlackGetMessageByTsRequest.class))).thenReturn(slackMessage);
-        when(slackClient.getPermalink(any(SlackGetMessageByTsRequest.class))).thenReturn("https://slack.com/permalink");
+        when(permalinkService.getPermalink(any(SlackGetMessageByTsRequest.class)))
+                .thenReturn("https://slack.com/permalink");
         when(escalationQueryService.listByTicketId(ticketId)).thenReturn(ImmutableList.of());
         when(impactsRegistry.listAllImpacts())
                 .thenReturn(ImmutableList.of(new TicketImpact("Minor Issue", "minor-issue")));
@@ -566,7 +591,7 @@ class TicketSummaryServiceTest {
         tombstone.setText("This message was deleted");
 
         when(slackClient.getMessageByTs(any(SlackGetMessageByTsRequest.class))).thenReturn(tombstone);
-        when(slackClient.getPermalink(any(SlackGetMessageByTsRequest.class)))
+        when(permalinkService.getPermalink(any(SlackGetMessageByTsRequest.class)))
                 .thenReturn("https://slack.test/permalink");
 
         TicketSummaryView summary = service.summaryView(sampleTicketId);
@@ -589,7 +614,7 @@ class TicketSummaryServiceTest {
 
         when(slackClient.getMessageByTs(any(SlackGetMessageByTsRequest.class)))
                 .thenThrow(new SlackException(new RuntimeException("boom")));
-        when(slackClient.getPermalink(any(SlackGetMessageByTsRequest.class)))
+        when(permalinkService.getPermalink(any(SlackGetMessageByTsRequest.class)))
                 .thenReturn("https://slack.test/permalink")
                 .thenThrow(new SlackException(new RuntimeException("permalink boom")));
 
@@ -638,7 +663,7 @@ class TicketSummaryServiceTest {
         message.setUser("U123");
         message.setText("Hello");
         when(slackClient.getMessageByTs(any(SlackGetMessageByTsRequest.class))).thenReturn(message);
-        when(slackClient.getPermalink(any(SlackGetMessageByTsRequest.class)))
+        when(permalinkService.getPermalink(any(SlackGetMessageByTsRequest.class)))
                 .thenThrow(new SlackException(new RuntimeException("permalink boom")));
 
         TicketSummaryView summary = service.summaryView(sampleTicketId);
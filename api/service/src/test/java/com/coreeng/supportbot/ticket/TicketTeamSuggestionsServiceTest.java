@@ -2,6 +2,8 @@ package com.coreeng.supportbot.ticket;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.coreeng.supportbot.slack.MessageTs;
@@ -41,7 +43,11 @@ class TicketTeamSuggestionsServiceTest {
 
     @BeforeEach
     void setUp() {
-        service = new TicketTeamSuggestionsService(slackClient, platformTeamsService, ticketRepository);
+        service = new TicketTeamSuggestionsService(
+                slackClient,
+                platformTeamsService,
+                ticketRepository,
+                new QueryMessageService(ticketRepository, slackClient));
         ticketId = new TicketId(123L);
     }
 
@@ -77,6 +83,54 @@ class TicketTeamSuggestionsServiceTest {
         assertThat(result.get().otherTeams()).containsExactly("OtherTeam");
     }
 
+    @Test
+    void getTeamSuggestionsForTicket_storedAuthor_doesNotFetchQueryMessage() {
+        // given
+        Ticket ticket = ticketWithQueryTs(ticketId);
+        when(ticketRepository.findTicketById(ticketId)).thenReturn(ticket);
+        when(ticketRepository.findQueryMessage(ticket.queryRef()))
+                .thenReturn(new QueryMessage("help", SlackId.user("U456")));
+
+        User user = new User();
+        User.Profile profile = new User.Profile();
+        profile.setEmail("user@example.com");
+        user.setProfile(profile);
+        when(slackClient.getUserById(SlackId.user("U456"))).thenReturn(user);
+
+        when(platformTeamsService.listTeamsByUserEmail("user@example.com"))
+                .thenReturn(ImmutableList.of(new PlatformTeam("AuthorTeam", Set.of(), Set.of())));
+        when(platformTeamsService.listTeams())
+                .thenReturn(ImmutableList.of(new PlatformTeam("AuthorTeam", Set.of(), Set.of())));
+
+        // when
+        Optional<TicketTeamsSuggestion> result = service.getTeamSuggestionsForTicket(ticketId);
+
+        // then
+        assertThat(result).isPresent();
+        assertThat(result.get().userTeams()).containsExactly("AuthorTeam");
+        verify(slackClient, never()).getMessageByTs(any(SlackGetMessageByTsRequest.class));
+    }
+
+    @Test
+    void getTeamSuggestionsForTicket_messageNotStored_storesFetchedMessage() {
+        // given
+        Ticket ticket = ticketWithQueryTs(ticketId);
+        when(ticketRepository.findTicketById(ticketId)).thenReturn(ticket);
+
+        Message message = new Message();
+        message.setText("help");
+        message.setBotId("B789");
+        when(slackClient.getMessageByTs(any(SlackGetMessageByTsRequest.class))).thenReturn(message);
+        when(platformTeamsService.listTeams()).thenReturn(ImmutableList.of());
+
+        // when
+        service.getTeamSuggestionsForTicket(ticketId);
+
+        // then
+        verify(ticketRepository)
+                .updateQueryMessage(ticket.queryRef(), new QueryMessage("help", SlackId.bot("B789")));
+    }
+
     @Test
     void getTeamSuggestionsForTicket_ticketNotFound_returnsEmpty() {
         // given
@@ -0,0 +1,119 @@
+package com.coreeng.supportbot.ticket;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.coreeng.supportbot.config.TicketTouchBufferProps;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class TicketTouchBufferTest {
+    private static final TicketId TICKET_1 = new TicketId(1);
+    private static final TicketId TICKET_2 = new TicketId(2);
+    private static final Instant T0 = Instant.parse("2025-01-01T10:00:00Z");
+
+    @Mock
+    private TicketRepository repository;
+
+    private MeterRegistry meterRegistry;
+    private TicketTouchBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        buffer = new TicketTouchBuffer(
+                repository, new TicketTouchBufferProps(true, Duration.ofSeconds(5)), meterRegistry);
+    }
+
+    @Test
+    void coalescesTouchesIntoOneBatchWithLatestTimestamp() {
+        buffer.touch(TICKET_1, T0);
+        buffer.touch(TICKET_1, T0.plusSeconds(30));
+        buffer.touch(TICKET_1, T0.plusSeconds(10));
+        buffer.touch(TICKET_2, T0);
+        verifyNoInteractions(repository);
+
+        buffer.flush();
+
+        verify(repository).touchTicketsByIds(Map.of(TICKET_1, T0.plusSeconds(30), TICKET_2, T0));
+        assertThat(meterRegistry.get("ticket_touch_buffer_flush_size").summary().totalAmount())
+                .isEqualTo(2.0);
+        assertThat(meterRegistry
+                        .get("ticket_touch_buffer_flush_lag_seconds")
+                        .timer()
+                        .count())
+                .isEqualTo(2);
+        assertThat(meterRegistry.get("ticket_touch_buffer_pending").gauge().value())
+                .isZero();
+    }
+
+    @Test
+    void flushOfSingleTicketLeavesOthersBuffered() {
+        buffer.touch(TICKET_1, T0);
+        buffer.touch(TICKET_2, T0);
+
+        buffer.flush(TICKET_1);
+
+        verify(repository).touchTicketsByIds(Map.of(TICKET_1, T0));
+        assertThat(meterRegistry.get("ticket_touch_buffer_pending").gauge().value())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void flushOfTicketWithoutPendingTouchDoesNothing() {
+        buffer.flush(TICKET_1);
+        buffer.flush();
+
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void keepsTouchesForRetryWhenFlushFails() {
+        when(repository.touchTicketsByIds(any()))
+                .thenThrow(new IllegalStateException("db down"))
+                .thenReturn(1);
+        buffer.touch(TICKET_1, T0);
+
+        buffer.flush();
+        buffer.touch(TICKET_1, T0.minusSeconds(5));
+        buffer.flush();
+
+        verify(repository, times(2)).touchTicketsByIds(Map.of(TICKET_1, T0));
+    }
+
+    @Test
+    void singleTicketFlushFailureIsPropagated() {
+        when(repository.touchTicketsByIds(any())).thenThrow(new IllegalStateException("db down"));
+        buffer.touch(TICKET_1, T0);
+
+        assertThatThrownBy(() -> buffer.flush(TICKET_1)).isInstanceOf(IllegalStateException.class);
+        assertThat(meterRegistry.get("ticket_touch_buffer_pending").gauge().value())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void writesThroughWhenDisabled() {
+        TicketTouchBuffer disabled = new TicketTouchBuffer(
+                repository, new TicketTouchBufferProps(false, Duration.ofSeconds(5)), new SimpleMeterRegistry());
+
+        disabled.touch(TICKET_1, T0);
+
+        verify(repository).touchTicketById(TICKET_1, T0);
+        verify(repository, never()).touchTicketsByIds(any());
+    }
+}
@@ -7,6 +7,7 @@ import com.coreeng.supportbot.slack.SlackId;
 import com.coreeng.supportbot.slack.client.SlackClient;
 import com.coreeng.supportbot.teams.PlatformTeam;
 import com.coreeng.supportbot.teams.PlatformTeamsService;
+import com.coreeng.supportbot.ticket.QueryMessageService;
 import com.coreeng.supportbot.ticket.TicketRepository;
 import com.coreeng.supportbot.ticket.TicketSummaryView;
 import com.coreeng.supportbot.ticket.TicketSummaryViewMapper;
@@ -47,7 +48,11 @@ class TicketTeamSuggestionHandlerTest {
     void setUp() {
         jsonMapper = new JsonMapper();
         handler = new TicketTeamSuggestionHandler(
-                new TicketTeamSuggestionsService(slackClient, platformTeamsService, ticketRepository),
+                new TicketTeamSuggestionsService(
+                        slackClient,
+                        platformTeamsService,
+                        ticketRepository,
+                        new QueryMessageService(ticketRepository, slackClient)),
                 new TicketSummaryViewMapper(jsonMapper));
     }
 
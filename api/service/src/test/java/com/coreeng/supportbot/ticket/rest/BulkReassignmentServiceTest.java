@@ -10,10 +10,12 @@ import com.coreeng.supportbot.slack.SlackId;
 import com.coreeng.supportbot.slack.client.SlackClient;
 import com.coreeng.supportbot.slack.client.SlackGetMessageByTsRequest;
 import com.coreeng.supportbot.slack.client.SlackPostMessageRequest;
+import com.coreeng.supportbot.slack.permalink.PermalinkService;
 import com.coreeng.supportbot.ticket.Ticket;
 import com.coreeng.supportbot.ticket.TicketId;
 import com.coreeng.supportbot.ticket.TicketRepository;
 import com.coreeng.supportbot.ticket.TicketStatus;
+import com.coreeng.supportbot.ticket.TicketUpdated;
 import com.coreeng.supportbot.ticket.TicketsQuery;
 import com.coreeng.supportbot.util.Page;
 import com.google.common.collect.ImmutableList;
@@ -29,6 +31,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 @ExtendWith(MockitoExtension.class)
 class BulkReassignmentServiceTest {
@@ -42,12 +45,19 @@ class BulkReassignmentServiceTest {
     @Mock
     private SlackClient slackClient;
 
+    @Mock
+    private PermalinkService permalinkService;
+
+    @Mock
+    private ApplicationEventPublisher publisher;
+
     @InjectMocks
     private BulkReassignmentService service;
 
     @BeforeEach
     void setUp() {
-        service = new BulkReassignmentService(assignmentProps, ticketRepository, slackClient);
+        service = new BulkReassignmentService(
+                assignmentProps, ticketRepository, slackClient, permalinkService, publisher);
         // Lenient stubbing for SlackClient - notifications are optional and shouldn't break tests
         ConversationsOpenResponse dmResponse = mock(ConversationsOpenResponse.class);
         Conversation channel = mock(Conversation.class);
@@ -55,7 +65,7 @@ class BulkReassignmentServiceTest {
         lenient().when(dmResponse.isOk()).thenReturn(true);
         lenient().when(dmResponse.getChannel()).thenReturn(channel);
         lenient().when(slackClient.openDmConversation(any())).thenReturn(dmResponse);
-        lenient().when(slackClient.getPermalink(any())).thenReturn("https://slack.com/permalink");
+        lenient().when(permalinkService.getPermalink(any())).thenReturn("https://slack.com/permalink");
         lenient().when(slackClient.postMessage(any())).thenReturn(null);
     }
 
@@ -186,6 +196,9 @@ class BulkReassignmentServiceTest {
         verify(ticketRepository).assign(ticket2, assignedTo);
         verify(ticketRepository).assign(ticket3, assignedTo);
         verifyNoMoreInteractions(assignmentProps, ticketRepository);
+        verify(publisher).publishEvent(new TicketUpdated(ticket1));
+        verify(publisher).publishEvent(new TicketUpdated(ticket3));
+        verifyNoMoreInteractions(publisher);
     }
 
     @Test
@@ -281,7 +294,7 @@ class BulkReassignmentServiceTest {
         when(ticketRepository.listTickets(any(TicketsQuery.class)))
                 .thenReturn(new Page<>(ImmutableList.of(openTicket1, openTicket2), 0, 1, 2));
         when(slackClient.openDmConversation(SlackId.user(assignedTo))).thenReturn(dmResponse);
-        when(slackClient.getPermalink(any(SlackGetMessageByTsRequest.class)))
+        when(permalinkService.getPermalink(any(SlackGetMessageByTsRequest.class)))
                 .thenReturn("https://slack.com/permalink1", "https://slack.com/permalink2");
 
         BulkReassignRequest request = new BulkReassignRequest(List.of(ticket1, ticket2), assignedTo);
@@ -294,7 +307,7 @@ class BulkReassignmentServiceTest {
 
         ArgumentCaptor<SlackPostMessageRequest> messageCaptor = ArgumentCaptor.forClass(SlackPostMessageRequest.class);
         verify(slackClient).openDmConversation(SlackId.user(assignedTo));
-        verify(slackClient, times(2)).getPermalink(any(SlackGetMessageByTsRequest.class));
+        verify(permalinkService, times(2)).getPermalink(any(SlackGetMessageByTsRequest.class));
         verify(slackClient).postMessage(messageCaptor.capture());
 
         SlackPostMessageRequest sentMessage = messageCaptor.getValue();
@@ -400,7 +413,7 @@ class BulkReassignmentServiceTest {
         when(ticketRepository.listTickets(any(TicketsQuery.class)))
                 .thenReturn(new Page<>(ImmutableList.of(openTicket), 0, 1, 1));
         when(slackClient.openDmConversation(SlackId.user(assignedTo))).thenReturn(dmResponse);
-        when(slackClient.getPermalink(any(SlackGetMessageByTsRequest.class)))
+        when(permalinkService.getPermalink(any(SlackGetMessageByTsRequest.class)))
                 .thenReturn("https://slack.com/permalink1");
         when(slackClient.postMessage(any(SlackPostMessageRequest.class)))
                 .thenThrow(new SlackException(new RuntimeException("Failed to post message")));
@@ -447,7 +460,7 @@ class BulkReassignmentServiceTest {
         when(ticketRepository.listTickets(any(TicketsQuery.class)))
                 .thenReturn(new Page<>(ImmutableList.of(openTicket1, openTicket2), 0, 1, 2));
         when(slackClient.openDmConversation(SlackId.user(assignedTo))).thenReturn(dmResponse);
-        when(slackClient.getPermalink(any(SlackGetMessageByTsRequest.class)))
+        when(permalinkService.getPermalink(any(SlackGetMessageByTsRequest.class)))
                 .thenReturn("https://slack.com/permalink1", "https://slack.com/permalink2");
 
         BulkReassignRequest request = new BulkReassignRequest(List.of(ticket1, ticket2), assignedTo);
@@ -458,7 +471,7 @@ class BulkReassignmentServiceTest {
         // then
         ArgumentCaptor<SlackGetMessageByTsRequest> permalinkCaptor =
                 ArgumentCaptor.forClass(SlackGetMessageByTsRequest.class);
-        verify(slackClient, times(2)).getPermalink(permalinkCaptor.capture());
+        verify(permalinkService, times(2)).getPermalink(permalinkCaptor.capture());
 
         List<SlackGetMessageByTsRequest> permalinkRequests = permalinkCaptor.getAllValues();
         assertThat(permalinkRequests.get(0).channelId()).isEqualTo("C123");
@@ -358,7 +358,8 @@ class TicketControllerTest {
                 false,
                 List.of(),
                 List.of(),
-                "");
+                "",
+                null);
 
         // then
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
@@ -17,7 +17,7 @@ import com.coreeng.supportbot.escalation.rest.EscalationUIMapper;
 import com.coreeng.supportbot.slack.MessageTs;
 import com.coreeng.supportbot.slack.SlackException;
 import com.coreeng.supportbot.slack.SlackId;
-import com.coreeng.supportbot.slack.client.SlackClient;
+import com.coreeng.supportbot.slack.permalink.PermalinkService;
 import com.coreeng.supportbot.teams.SupportTeamService;
 import com.coreeng.supportbot.teams.TeamDisplay;
 import com.coreeng.supportbot.teams.TeamMemberFetcher;
@@ -49,7 +49,7 @@ public class TicketUIMapperTest {
     private EscalationUIMapper escalationUIMapper;
 
     @Mock
-    private SlackClient slackClient;
+    private PermalinkService permalinkService;
 
     @Mock
     private TeamService teamService;
@@ -70,7 +70,7 @@ public class TicketUIMapperTest {
         ticketUIMapper = new TicketUIMapper(
                 analysisRepository,
                 escalationUIMapper,
-                slackClient,
+                permalinkService,
                 teamService,
                 teamUIMapper,
                 supportTeamService,
@@ -356,7 +356,7 @@ public class TicketUIMapperTest {
 
         // then
         assertNull(result.query().link());
-        verify(slackClient, never()).getPermalink(any());
+        verify(permalinkService, never()).getPermalink(any());
     }
 
     @Test
@@ -376,7 +376,7 @@ public class TicketUIMapperTest {
                 .build();
 
         DetailedTicket detailedTicket = new DetailedTicket(ticket, ImmutableList.of());
-        when(slackClient.getPermalink(any())).thenThrow(new SlackException(new RuntimeException("rate limited")));
+        when(permalinkService.getPermalink(any())).thenThrow(new SlackException(new RuntimeException("rate limited")));
 
         // when
         TicketUI result = ticketUIMapper.mapToUI(detailedTicket, "some query text");
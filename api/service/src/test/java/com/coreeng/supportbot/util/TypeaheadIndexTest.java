@@ -0,0 +1,127 @@
+package com.coreeng.supportbot.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+
+class TypeaheadIndexTest {
+    private static final List<String> WORDS = List.of(
+            "platform", "payments", "ingress", "networking", "vault", "dns", "data", "core", "api", "Ops", "K8s",
+            "search", "identity", "billing", "éclair", "team");
+
+    @Test
+    void ranksExactThenPrefixThenWordPrefixThenInfix() {
+        TypeaheadIndex<String> index = TypeaheadIndex.of(
+                List.of("Data Core", "Core", "Hardcore", "Core Data", "core"), Function.identity());
+
+        assertThat(index.search("core")).containsExactly("Core", "core", "Core Data", "Data Core", "Hardcore");
+    }
+
+    @Test
+    void ignoresCase() {
+        TypeaheadIndex<String> index = TypeaheadIndex.of(List.of("Networking", "Vault", "DNS"), Function.identity());
+
+        assertThat(index.search("NET")).containsExactly("Networking");
+        assertThat(index.search("dns")).containsExactly("DNS");
+        assertThat(index.search("WORKING")).containsExactly("Networking");
+    }
+
+    @Test
+    void emptyQueryReturnsAllItemsInOrder() {
+        TypeaheadIndex<String> index = TypeaheadIndex.of(List.of("TeamB", "TeamA", "TeamC"), Function.identity());
+
+        assertThat(index.search("")).containsExactly("TeamB", "TeamA", "TeamC");
+        assertThat(index.search("", 2)).containsExactly("TeamB", "TeamA");
+        assertThat(index.all()).containsExactly("TeamB", "TeamA", "TeamC");
+    }
+
+    @Test
+    void limitsBestMatchesFirst() {
+        TypeaheadIndex<String> index =
+                TypeaheadIndex.of(List.of("hardcore", "data core", "core data", "core"), Function.identity());
+
+        assertThat(index.search("core", 2)).containsExactly("core", "core data");
+        assertThat(index.search("core", 0)).isEmpty();
+    }
+
+    @Test
+    void longQueryNeedsAllOfItInOnePlace() {
+        // Both labels contain every trigram of the query, only one contains the query
+        TypeaheadIndex<String> index = TypeaheadIndex.of(List.of("abcd bcde", "abcde"), Function.identity());
+
+        assertThat(index.search("abcde")).containsExactly("abcde");
+        assertThat(index.search("abcdef")).isEmpty();
+        assertThat(index.search("zzzz")).isEmpty();
+    }
+
+    @Test
+    void matchesANaiveScanOnARealisticCorpus() {
+        Random random = new Random(42);
+        List<String> teams = labels(random, 5_000);
+        List<String> tags = labels(random, 1_000);
+
+        for (List<String> labels : List.of(teams, tags)) {
+            TypeaheadIndex<String> index = TypeaheadIndex.of(labels, Function.identity());
+            for (int i = 0; i < 500; i++) {
+                String label = labels.get(random.nextInt(labels.size()));
+                int start = random.nextInt(label.length());
+                int end = start + 1 + random.nextInt(Math.min(8, label.length() - start));
+                String query = random.nextBoolean()
+                        ? label.substring(start, end).toUpperCase(Locale.ROOT)
+                        : label.substring(start, end);
+
+                assertThat(index.search(query))
+                        .as(query)
+                        .containsExactlyInAnyOrderElementsOf(naive(labels, query));
+            }
+        }
+    }
+
+    @Test
+    void holderReusesTheIndexForTheSameList() {
+        TypeaheadIndex.Holder<String> holder = new TypeaheadIndex.Holder<>(Function.identity());
+        List<String> source = List.of("TeamA", "TeamB");
+
+        assertThat(holder.indexOf(source)).isSameAs(holder.indexOf(source));
+    }
+
+    @Test
+    void holderRebuildsForANewList() {
+        TypeaheadIndex.Holder<String> holder = new TypeaheadIndex.Holder<>(Function.identity());
+
+        TypeaheadIndex<String> before = holder.indexOf(List.of("TeamA"));
+        TypeaheadIndex<String> after = holder.indexOf(List.of("TeamA", "TeamB"));
+
+        assertThat(after).isNotSameAs(before);
+        assertThat(after.search("team")).containsExactly("TeamA", "TeamB");
+    }
+
+    private static List<String> naive(List<String> labels, String query) {
+        String lowerQuery = query.toLowerCase(Locale.ROOT);
+        return labels.stream()
+                .filter(label -> label.toLowerCase(Locale.ROOT).contains(lowerQuery))
+                .toList();
+    }
+
+    private static List<String> labels(Random random, int count) {
+        List<String> labels = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            StringBuilder label = new StringBuilder();
+            int words = 1 + random.nextInt(3);
+            for (int w = 0; w < words; w++) {
+                if (w > 0) {
+                    label.append(random.nextBoolean() ? " " : "-");
+                }
+                label.append(WORDS.get(random.nextInt(WORDS.size())));
+            }
+            label.append(' ').append(i);
+            labels.add(label.toString());
+        }
+        return labels;
+    }
+}
@@ -140,6 +140,22 @@ public class SlackWiremock implements WireMockBackend {
         givenThat(post("/api/conversations.history")
                 .withName("conversations history catch-all")
                 .willReturn(okJson("{\"ok\":true,\"messages\":[],\"has_more\":false}")));
+        // Catch-all for chat.getPermalink (triggered by a query being recorded, which stores its permalink).
+        // Answers like Slack would, so a test that stubs it for the same message sees the same permalink.
+        givenThat(post("/api/chat.getPermalink")
+                .withName("get permalink catch-all")
+                .willReturn(aResponse()
+                        .withTransformers("response-template")
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("""
+                        {{formData request.body 'formArgs' urlDecode=true}}
+                        {
+                          "ok": true,
+                          "channel": "{{formArgs.channel}}",
+                          "permalink": "https://slack.com/messages/{{formArgs.channel}}/{{formArgs.message_ts}}"
+                        }
+                        """)));
         // Catch-alls for the PR lifecycle poller: when triggered (manually via the test endpoint
         // or via Spring's cron) it walks every active pr_tracking row, so stray records from other
         // tests can land on wiremock without a per-test stub. Returning an "open, no reviews"
@@ -158,7 +174,7 @@ public class SlackWiremock implements WireMockBackend {
                 .willReturn(okJson("{\"id\":1,\"name\":\"catchall\",\"full_name\":\"catchall/catchall\","
                         + "\"owner\":{\"login\":\"catchall\"},\"private\":false}")));
         // GitLab group members catch-all: the bot caches results from /groups/<path>/members/all
-        // for sla-discovery.cache (5 min in functional tests), so we can't rely on per-test stubs —
+        // for pr-review-tracking.team-members (process-wide), so we can't rely on per-test stubs —
         // the first test populates the cache and subsequent tests would never reach their stub.
         // An empty list makes TeamReviewFilter fall back to "accept all reviews", which matches
         // what the detection-path tests expect and is harmless for the poller tests.
@@ -126,7 +126,7 @@ public class SupportBotClient {
                     .as(TicketResponse.class);
         } finally {
             getPermalinkStub.cleanUp(); // it's cached so might be not called
-            getMessageStub.assertIsCalled();
+            getMessageStub.cleanUp(); // stored with the query, so only fetched the first time
         }
     }
 